@@ -0,0 +1,16 @@
+package com.amusement.amusement_park.Enums;
+
+public enum RecurrenceFrequency {
+    DAILY("Every N days"),
+    WEEKLY("On selected weekdays every N weeks");
+
+    private final String description;
+
+    RecurrenceFrequency(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,8 @@
+package com.amusement.amusement_park.Enums;
+
+public enum SyncEntityType {
+    RIDE,
+    MAINTENANCE_ALERT,
+    FOOD_ITEM,
+    MERCHANDISE_ITEM
+}
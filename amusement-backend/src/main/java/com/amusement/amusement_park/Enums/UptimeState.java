@@ -0,0 +1,27 @@
+package com.amusement.amusement_park.Enums;
+
+import java.util.List;
+
+public enum UptimeState {
+    UP,
+    OUT_OF_SERVICE,
+    SCHEDULED_MAINTENANCE,
+    EMERGENCY_CLOSURE,
+    WEATHER_CLOSURE,
+    INSPECTION;
+
+    private static final UptimeState[] VALUES = values();
+
+    // States a ride can be down in, in declaration order
+    public static final List<UptimeState> DOWN_STATES = List.of(VALUES).subList(1, VALUES.length);
+
+    // Downtime state caused by an alert of this type
+    public static UptimeState forAlert(AlertType alertType) {
+        return valueOf(alertType.name());
+    }
+
+    // State for a code written by TransitionLog
+    public static UptimeState fromCode(int code) {
+        return VALUES[code];
+    }
+}
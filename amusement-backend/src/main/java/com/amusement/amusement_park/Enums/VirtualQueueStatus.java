@@ -0,0 +1,7 @@
+package com.amusement.amusement_park.Enums;
+
+public enum VirtualQueueStatus {
+    WAITING,
+    CALLED,
+    CANCELLED
+}
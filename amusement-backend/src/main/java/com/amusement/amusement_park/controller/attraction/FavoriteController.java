@@ -89,6 +89,24 @@ public class FavoriteController {
         return ResponseEntity.ok(popularRides);
     }
 
+    // Get rides trending by recent favorites
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/trending")
+    public ResponseEntity<List<RideDto>> getTrendingRides(@RequestParam(defaultValue = "10") int limit) {
+        List<RideDto> trendingRides = favoriteService.getTrendingRides(limit);
+        return ResponseEntity.ok(trendingRides);
+    }
+
+    // Get rides recommended from a user's favorites, optionally for an age
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/user/{userId}/recommendations")
+    public ResponseEntity<List<RideDto>> getRecommendedRides(@PathVariable Long userId,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Integer age) {
+        List<RideDto> recommendedRides = favoriteService.getRecommendedRides(userId, limit, age);
+        return ResponseEntity.ok(recommendedRides);
+    }
+
     // Get favorites count for a user
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     @GetMapping("/user/{userId}/count")
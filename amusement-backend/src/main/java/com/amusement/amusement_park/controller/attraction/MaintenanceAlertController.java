@@ -2,7 +2,9 @@ package com.amusement.amusement_park.controller.attraction;
 
 import com.amusement.amusement_park.dto.attraction.MaintenanceAlertCreateDto;
 import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.MaintenanceImportResultDto;
 import com.amusement.amusement_park.service.attraction.MaintenanceAlertService;
+import com.amusement.amusement_park.service.attraction.MaintenanceImportService;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +24,9 @@ public class MaintenanceAlertController {
     @Autowired
     private MaintenanceAlertService maintenanceAlertService;
 
+    @Autowired
+    private MaintenanceImportService maintenanceImportService;
+
     // Get all active maintenance alerts (Everyone)
     @GetMapping("/alerts")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -54,6 +59,22 @@ public class MaintenanceAlertController {
         return new ResponseEntity<>(createdAlert, HttpStatus.CREATED);
     }
 
+    // Bulk import maintenance alerts, reporting each row's outcome (Admin)
+    @PostMapping("/alerts/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MaintenanceImportResultDto> importAlerts(@RequestBody List<MaintenanceAlertCreateDto> alerts) {
+        MaintenanceImportResultDto result = maintenanceImportService.importAlerts(alerts);
+        return ResponseEntity.ok(result);
+    }
+
+    // Bulk import maintenance alerts from CSV with a header line (Admin)
+    @PostMapping(value = "/alerts/bulk/csv", consumes = { "text/csv", "text/plain" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MaintenanceImportResultDto> importAlertsCsv(@RequestBody String csv) {
+        MaintenanceImportResultDto result = maintenanceImportService.importCsv(csv);
+        return ResponseEntity.ok(result);
+    }
+
     // Update maintenance alert (Admin )
     @PutMapping("/alerts/{id}")
     @PreAuthorize("hasAnyRole('ADMIN')")
@@ -0,0 +1,89 @@
+package com.amusement.amusement_park.controller.attraction;
+
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RecurringMaintenanceCreateDto;
+import com.amusement.amusement_park.dto.attraction.RecurringMaintenanceDto;
+import com.amusement.amusement_park.service.attraction.RecurringMaintenanceService;
+
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/maintenance/recurring")
+public class RecurringMaintenanceController {
+
+    @Autowired
+    private RecurringMaintenanceService recurringMaintenanceService;
+
+    // Get active recurring schedules, optionally for one ride (Everyone)
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<RecurringMaintenanceDto>> getSchedules(@RequestParam(required = false) Long rideId) {
+        List<RecurringMaintenanceDto> schedules = rideId != null
+                ? recurringMaintenanceService.getSchedulesByRideId(rideId)
+                : recurringMaintenanceService.getActiveSchedules();
+        return ResponseEntity.ok(schedules);
+    }
+
+    // Get specific recurring schedule details (Everyone)
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<RecurringMaintenanceDto> getScheduleById(@PathVariable Long id) {
+        RecurringMaintenanceDto schedule = recurringMaintenanceService.getScheduleById(id);
+        return ResponseEntity.ok(schedule);
+    }
+
+    // Get the occurrences of a schedule within a time range (Everyone)
+    @GetMapping("/{id}/occurrences")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<MaintenanceAlertDto>> getOccurrences(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        List<MaintenanceAlertDto> occurrences = recurringMaintenanceService.getOccurrences(id, from, to);
+        return ResponseEntity.ok(occurrences);
+    }
+
+    // Create new recurring schedule (Admin)
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringMaintenanceDto> createSchedule(@Valid @RequestBody RecurringMaintenanceCreateDto createDto) {
+        RecurringMaintenanceDto createdSchedule = recurringMaintenanceService.createSchedule(createDto);
+        return new ResponseEntity<>(createdSchedule, HttpStatus.CREATED);
+    }
+
+    // Update recurring schedule (Admin)
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringMaintenanceDto> updateSchedule(@PathVariable Long id,
+            @Valid @RequestBody RecurringMaintenanceCreateDto updateDto) {
+        RecurringMaintenanceDto updatedSchedule = recurringMaintenanceService.updateSchedule(id, updateDto);
+        return ResponseEntity.ok(updatedSchedule);
+    }
+
+    // Skip occurrences on the given dates (Admin)
+    @PostMapping("/{id}/exceptions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringMaintenanceDto> addExceptionDates(@PathVariable Long id,
+            @RequestBody List<LocalDate> dates) {
+        RecurringMaintenanceDto updatedSchedule = recurringMaintenanceService.addExceptionDates(id, dates);
+        return ResponseEntity.ok(updatedSchedule);
+    }
+
+    // Delete recurring schedule (Admin)
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> deleteSchedule(@PathVariable Long id) {
+        recurringMaintenanceService.deleteSchedule(id);
+        return ResponseEntity.ok(Map.of("message", "Recurring maintenance schedule deleted successfully"));
+    }
+}
@@ -1,21 +1,36 @@
 package com.amusement.amusement_park.controller.attraction;
 
 import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.QueueLengthReportDto;
 import com.amusement.amusement_park.dto.attraction.RideCreateDto;
 import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.dto.attraction.RidePhotoDto;
 import com.amusement.amusement_park.dto.attraction.RideUpdateDto;
+import com.amusement.amusement_park.dto.attraction.RideUptimeDto;
+import com.amusement.amusement_park.dto.attraction.WaitTimeDto;
 import com.amusement.amusement_park.service.attraction.RideService;
+import com.amusement.amusement_park.service.attraction.RideUptimeRecorder;
+import com.amusement.amusement_park.service.attraction.WaitTimeEstimator;
+import com.amusement.amusement_park.util.CursorPage;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/rides")
@@ -44,6 +59,67 @@ public class RideController {
         return ResponseEntity.ok(rides);
     }
 
+    /**
+     * Get all rides one page at a time by cursor, with the same sorting and filtering
+     * Pass the nextCursor of a page to get the one after it; the total is only counted on request
+     * Accessible by: USER, ADMIN
+     */
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<RideDto>> scrollRides(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) ThrillLevel thrillLevel,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Boolean operational,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<RideDto> rides = rideService.scrollRides(cursor, size, sort, direction, thrillLevel, minAge,
+                operational, includeTotal);
+        return ResponseEntity.ok(rides);
+    }
+
+    /**
+     * Get compact live wait times for all rides; honours If-None-Match
+     * Accessible by: everyone, e.g. kiosks
+     */
+    @GetMapping("/wait-times")
+    public ResponseEntity<List<WaitTimeDto>> getWaitTimes(WebRequest request) {
+        WaitTimeEstimator.Snapshot snapshot = rideService.getWaitTimeSnapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.maxAge(WaitTimeEstimator.TICK_MILLIS, TimeUnit.MILLISECONDS))
+                .body(rideService.getWaitTimes(snapshot));
+    }
+
+    /**
+     * Stream ride availability as Server-Sent Events: a snapshot, then deltas
+     * Accessible by: USER, ADMIN
+     */
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability() {
+        return rideService.streamAvailability();
+    }
+
+    /**
+     * Report the length of a ride's physical queue
+     * Accessible by: ADMIN only
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/queue-length")
+    public ResponseEntity<Map<String, String>> reportQueueLength(@PathVariable Long id,
+            @Valid @RequestBody QueueLengthReportDto report) {
+        rideService.reportQueueLength(id, report.getQueueLength());
+        return ResponseEntity.ok(Map.of("message", "Queue length recorded successfully"));
+    }
+
     /**
      * Get detailed ride information by ID
      * Accessible by: USER, ADMIN
@@ -77,6 +153,20 @@ public class RideController {
         return ResponseEntity.ok(updatedRide);
     }
 
+    /**
+     * Upload a JPEG, PNG or GIF photo for a ride; thumbnails are generated in the background
+     * Accessible by: ADMIN only
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/{id}/photos", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<RidePhotoDto> uploadRidePhoto(@PathVariable Long id,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String caption,
+            @RequestParam(defaultValue = "false") boolean isPrimary) {
+        RidePhotoDto photo = rideService.addRidePhoto(id, file, caption, isPrimary);
+        return new ResponseEntity<>(photo, HttpStatus.CREATED);
+    }
+
     /**
      * Delete ride
      * Accessible by: ADMIN only
@@ -105,7 +195,9 @@ public class RideController {
     }
 
     /**
-     * Search rides by name, thrill level, age suitability
+     * Search rides by keyword, thrill level, age suitability
+     * Keywords match name, description, location and safety text; results
+     * are ordered by relevance unless another sort is given
      * Accessible by: USER, ADMIN
      */
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
@@ -117,7 +209,7 @@ public class RideController {
             @RequestParam(required = false) Boolean operational,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = RideService.RELEVANCE_SORT) String sort,
             @RequestParam(defaultValue = "asc") String direction) {
 
         Page<RideDto> rides = rideService.searchRides(keyword, thrillLevel, suitableForAge, operational, page, size,
@@ -125,6 +217,28 @@ public class RideController {
         return ResponseEntity.ok(rides);
     }
 
+    /**
+     * Search rides one page at a time by cursor, in the same order as the search above
+     * Accessible by: USER, ADMIN
+     */
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPage<RideDto>> scrollSearchResults(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) ThrillLevel thrillLevel,
+            @RequestParam(required = false) Integer suitableForAge,
+            @RequestParam(required = false) Boolean operational,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = RideService.RELEVANCE_SORT) String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        CursorPage<RideDto> rides = rideService.scrollSearchResults(keyword, thrillLevel, suitableForAge, operational,
+                cursor, size, sort, direction, includeTotal);
+        return ResponseEntity.ok(rides);
+    }
+
     /**
      * Get rides suitable for specific age
      * Accessible by: USER, ADMIN
@@ -136,6 +250,21 @@ public class RideController {
         return ResponseEntity.ok(rides);
     }
 
+    /**
+     * Get rides a guest may ride, filtered by any combination of thrill level, age, height and availability
+     * Accessible by: USER, ADMIN
+     */
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/eligible")
+    public ResponseEntity<List<RideDto>> getEligibleRides(
+            @RequestParam(required = false) ThrillLevel thrillLevel,
+            @RequestParam(required = false) Integer age,
+            @RequestParam(required = false) Integer heightCm,
+            @RequestParam(defaultValue = "false") Boolean availableOnly) {
+        List<RideDto> rides = rideService.getEligibleRides(thrillLevel, age, heightCm, availableOnly);
+        return ResponseEntity.ok(rides);
+    }
+
     /**
      * Get available rides
      * Accessible by: USER, ADMIN
@@ -168,4 +297,52 @@ public class RideController {
         List<RideDto> rides = rideService.getMostPopularRides(limit);
         return ResponseEntity.ok(rides);
     }
+
+    /**
+     * Get rides often favorited together with this one, optionally for an age
+     * Accessible by: USER, ADMIN
+     */
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<RideDto>> getSimilarRides(@PathVariable Long id,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(required = false) Integer age) {
+        List<RideDto> rides = rideService.getSimilarRides(id, limit, age);
+        return ResponseEntity.ok(rides);
+    }
+
+    /**
+     * Uptime and downtime by cause for a ride over a range of days, the last 7 by default
+     * Accessible by: ADMIN only
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/uptime")
+    public ResponseEntity<RideUptimeDto> getRideUptime(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        return ResponseEntity.ok(rideService.getRideUptime(id, start, end));
+    }
+
+    /**
+     * Availability changes of a ride on one day, today by default
+     * Accessible by: ADMIN only
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/{id}/availability-history")
+    public ResponseEntity<List<RideUptimeRecorder.Transition>> getRideAvailabilityHistory(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok(rideService.getRideAvailabilityHistory(id, day != null ? day : LocalDate.now()));
+    }
+
+    /**
+     * Ride catalog cache hit/miss/rebuild metrics
+     * Accessible by: ADMIN only
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCatalogCacheStats() {
+        return ResponseEntity.ok(rideService.getCatalogCacheStats());
+    }
 }
@@ -0,0 +1,115 @@
+package com.amusement.amusement_park.controller.attraction;
+
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.service.attraction.RideMediaStore;
+import com.amusement.amusement_park.util.ByteRange;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves stored ride photos and their thumbnails.
+ *
+ * The body is never read into the heap: on Tomcat the file is handed to the
+ * connector's sendfile support, which lets the kernel copy it straight to the
+ * socket, and elsewhere it is streamed with {@link FileChannel#transferTo}.
+ * Photos are public, like the ride listing they belong to.
+ */
+@RestController
+@RequestMapping("/api/media/rides")
+public class RideMediaController {
+
+    // Request attributes of Tomcat's sendfile support
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private RideMediaStore rideMediaStore;
+
+    /**
+     * Get a photo, or one of its thumbnails (small, medium, large)
+     * Supports ETag revalidation and single byte ranges
+     * Accessible by: anyone
+     */
+    @GetMapping("/{key}")
+    public void getMedia(@PathVariable String key,
+                         @RequestParam(required = false) String variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        RideMediaStore.MediaFile file = rideMediaStore.find(key, variant)
+                .orElseThrow(() -> new NotFoundException("Photo not found: " + key));
+
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Names are content hashes, so a file never changes; a stand-in for a missing thumbnail is not kept
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.exact() ? "public, max-age=31536000, immutable" : "no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), file.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        String rangeHeader = ifRange == null || ifRange.equals(file.etag()) ? request.getHeader(HttpHeaders.RANGE) : null;
+        ByteRange range = file.length() == 0 ? ByteRange.full(0) : ByteRange.parse(rangeHeader, file.length());
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.length());
+            return;
+        }
+        if (range.isPartial()) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange());
+        }
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(range.getCount());
+        if ("HEAD".equals(request.getMethod()) || range.getCount() == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat sends the file once this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.path().toString());
+            request.setAttribute(SENDFILE_START, range.getStart());
+            request.setAttribute(SENDFILE_END, range.getEnd() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.getStart();
+            long remaining = range.getCount();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // Whether an If-None-Match header names this ETag
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package com.amusement.amusement_park.controller.attraction;
+
+import com.amusement.amusement_park.dto.attraction.VirtualQueueStatusDto;
+import com.amusement.amusement_park.dto.attraction.VirtualQueueTicketDto;
+import com.amusement.amusement_park.service.attraction.VirtualQueueService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/virtual-queue")
+public class VirtualQueueController {
+
+    @Autowired
+    private VirtualQueueService virtualQueueService;
+
+    // Get a ride's virtual queue length and call schedule (Everyone)
+    @GetMapping("/rides/{rideId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<VirtualQueueStatusDto> getQueueStatus(@PathVariable Long rideId) {
+        return ResponseEntity.ok(virtualQueueService.getQueueStatus(rideId));
+    }
+
+    // Join a ride's virtual queue (User)
+    @PostMapping("/rides/{rideId}/users/{userId}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<VirtualQueueTicketDto> joinQueue(@PathVariable Long rideId, @PathVariable Long userId) {
+        VirtualQueueTicketDto ticket = virtualQueueService.joinQueue(rideId, userId);
+        return new ResponseEntity<>(ticket, HttpStatus.CREATED);
+    }
+
+    // Get a guest's place and return time in a ride's virtual queue (Everyone)
+    @GetMapping("/rides/{rideId}/users/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<VirtualQueueTicketDto> getTicket(@PathVariable Long rideId, @PathVariable Long userId) {
+        return ResponseEntity.ok(virtualQueueService.getTicket(rideId, userId));
+    }
+
+    // Leave a ride's virtual queue (Everyone)
+    @DeleteMapping("/rides/{rideId}/users/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Map<String, String>> leaveQueue(@PathVariable Long rideId, @PathVariable Long userId) {
+        virtualQueueService.leaveQueue(rideId, userId);
+        return ResponseEntity.ok(Map.of("message", "Left the virtual queue successfully"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.amusement.amusement_park.controller.checkout;
+
+import com.amusement.amusement_park.dto.checkout.HoldResponse;
+import com.amusement.amusement_park.dto.checkout.TicketHoldConfirmRequest;
+import com.amusement.amusement_park.dto.checkout.TicketHoldRequest;
+import com.amusement.amusement_park.dto.ticket.TicketResponse;
+import com.amusement.amusement_park.entity.foodmerchorder.Order;
+import com.amusement.amusement_park.entity.user.User;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.exception.OutOfStockException;
+import com.amusement.amusement_park.exception.SoldOutException;
+import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.service.checkout.CheckoutHoldService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// Carts held for a while during checkout, then confirmed, cancelled or left to expire
+@RestController
+@RequestMapping("/holds")
+public class CheckoutHoldController {
+
+    @Autowired
+    private CheckoutHoldService checkoutHoldService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PostMapping("/tickets")
+    public ResponseEntity<HoldResponse> holdTickets(@Valid @RequestBody TicketHoldRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(checkoutHoldService.holdTickets(request));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (SoldOutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/tickets/{id}/confirm")
+    public ResponseEntity<List<TicketResponse>> confirmTickets(@PathVariable Long id,
+            @Valid @RequestBody TicketHoldConfirmRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(checkoutHoldService.confirmTickets(id, request));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/orders")
+    public ResponseEntity<HoldResponse> holdOrder(@Valid @RequestBody Order order) {
+        // The order belongs to the authenticated user, as in OrderController
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        User currentUser = userRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        order.setUserId(currentUser.getId());
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(checkoutHoldService.holdOrder(order));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (OutOfStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PreAuthorize("hasRole('USER')")
+    @PostMapping("/orders/{id}/confirm")
+    public ResponseEntity<Order> confirmOrder(@PathVariable Long id, @RequestParam(required = false) String couponCode) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(checkoutHoldService.confirmOrder(id, couponCode));
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id) {
+        try {
+            checkoutHoldService.cancel(id);
+            return ResponseEntity.noContent().build();
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.amusement.amusement_park.controller.feedback;
 import com.amusement.amusement_park.dto.feedback.FeedbackRequest;
 import com.amusement.amusement_park.dto.feedback.FeedbackResponse;
 import com.amusement.amusement_park.service.feedback.FeedbackService;
+import com.amusement.amusement_park.util.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +31,15 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getAll());
     }
 
+    @GetMapping("/scroll") // newest first, one page per cursor
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<FeedbackResponse>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(feedbackService.getPage(cursor, size, includeTotal));
+    }
+
     @PostMapping("/user")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<FeedbackResponse> save(Authentication authentication, @Valid @RequestBody FeedbackRequest request
@@ -4,6 +4,7 @@ import com.amusement.amusement_park.Enums.IssueStatus;
 import com.amusement.amusement_park.dto.feedback.IssueRequest;
 import com.amusement.amusement_park.dto.feedback.IssueResponse;
 import com.amusement.amusement_park.service.feedback.IssueService;
+import com.amusement.amusement_park.util.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -43,6 +44,15 @@ public class IssueController {
         return ResponseEntity.ok(issueService.getAllIssues());
     }
 
+    @GetMapping("/scroll") // newest first, one page per cursor
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<IssueResponse>> getIssuesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(issueService.getIssuesPage(cursor, size, includeTotal));
+    }
+
     @PatchMapping("/status/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<IssueResponse> updateStatus(@PathVariable Long id,
@@ -4,6 +4,7 @@ import com.amusement.amusement_park.entity.foodmerchorder.Order;
 import com.amusement.amusement_park.service.foodmerchorder.OrderService;
 import com.amusement.amusement_park.entity.user.User;
 import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.util.CursorPage;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -115,6 +116,16 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    // 6b. Page through all orders, newest first, by cursor (for dashboard)
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @GetMapping("/scroll")
+    public CursorPage<Order> getOrdersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return orderService.getOrdersPage(cursor, size, includeTotal);
+    }
+
     // 7. Get orders by status (e.g., READY, PREPARING)
     @PreAuthorize("hasAnyRole('ADMIN')")
     @GetMapping("/status/{status}")
@@ -0,0 +1,30 @@
+package com.amusement.amusement_park.controller.sync;
+
+import com.amusement.amusement_park.dto.sync.SyncChangesDto;
+import com.amusement.amusement_park.service.sync.SyncService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    /**
+     * Get rides, maintenance alerts, food and merchandise changed since a version
+     * Omit since for a full snapshot; repeat with the returned version while hasMore is true
+     * Accessible by: USER, ADMIN
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<SyncChangesDto> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "" + SyncService.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(syncService.getChanges(since, limit));
+    }
+}
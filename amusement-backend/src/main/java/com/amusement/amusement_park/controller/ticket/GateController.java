@@ -0,0 +1,50 @@
+package com.amusement.amusement_park.controller.ticket;
+
+import com.amusement.amusement_park.dto.ticket.GateScanResult;
+import com.amusement.amusement_park.service.ticket.GateTokenService;
+import com.amusement.amusement_park.service.ticket.TicketRevocationList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gate")
+public class GateController {
+
+    @Autowired
+    private GateTokenService gateTokenService;
+
+    @Autowired
+    private TicketRevocationList ticketRevocationList;
+
+    // Check a scanned gate token, for gates that are online
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/verify")
+    public ResponseEntity<GateScanResult> verify(@RequestParam String token) {
+        GateTokenService.Verification verification = gateTokenService.verify(token);
+        GateScanResult result = new GateScanResult();
+        result.setVerdict(verification.verdict().name());
+        GateTokenService.Claims claims = verification.claims();
+        if (claims != null) {
+            result.setTicketId(claims.ticketId());
+            result.setTicketTypeId(claims.ticketTypeId());
+            result.setValidFrom(claims.validFrom());
+            result.setValidTo(claims.validTo());
+            result.setIsVip(claims.vip());
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // Revocation list for offline gates: in full without since, otherwise what was added after it
+    // The blob starts with its version, to send back as since next time
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/revocations")
+    public ResponseEntity<byte[]> getRevocations(@RequestParam(required = false) Long since) {
+        byte[] blob = ticketRevocationList.blob(since);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(blob);
+    }
+}
@@ -1,14 +1,20 @@
 package com.amusement.amusement_park.controller.ticket;
 
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest;
 import com.amusement.amusement_park.dto.ticket.TicketCreateRequest;
 import com.amusement.amusement_park.dto.ticket.TicketResponse;
 import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.exception.SoldOutException;
 import com.amusement.amusement_park.entity.ticket.Ticket;
 import com.amusement.amusement_park.service.ticket.TicketService;
+import com.amusement.amusement_park.util.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,6 +32,14 @@ public class TicketController {
         return ResponseEntity.ok(tickets);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<Ticket>> getPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(service.getPage(cursor, size, includeTotal));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<Ticket>> getByUserId(@PathVariable Long userId) {
         List<Ticket> tickets = service.getByUserId(userId);
@@ -42,6 +56,24 @@ public class TicketController {
         }
     }
 
+    // Show a ticket's gate token again, e.g. after the purchase response was lost; null unless paid
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @GetMapping("/{id}/gate-token")
+    public ResponseEntity<TicketResponse> getGateToken(@PathVariable Long id, Authentication authentication) {
+        try {
+            boolean admin = authentication.getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            TicketResponse ticket = admin
+                    ? service.getWithGateToken(id)
+                    : service.getWithGateToken(id, authentication.getName());
+            return ResponseEntity.ok(ticket);
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
     @PostMapping("/create")
     public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody TicketCreateRequest request) {
         try {
@@ -49,6 +81,23 @@ public class TicketController {
             return ResponseEntity.status(HttpStatus.CREATED).body(createdTicket);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (SoldOutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    // Family and school-group bookings: many tickets, of mixed types, in one purchase
+    @PostMapping("/group")
+    public ResponseEntity<List<TicketResponse>> purchaseGroup(@Valid @RequestBody GroupTicketPurchaseRequest request) {
+        try {
+            List<TicketResponse> createdTickets = service.purchaseGroup(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdTickets);
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (SoldOutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
     }
 
@@ -60,6 +109,8 @@ public class TicketController {
             return ResponseEntity.ok(updatedTicket);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (SoldOutException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
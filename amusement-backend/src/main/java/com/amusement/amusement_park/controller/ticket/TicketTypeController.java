@@ -1,15 +1,20 @@
 package com.amusement.amusement_park.controller.ticket;
 
 import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
 import com.amusement.amusement_park.service.ticket.TicketTypeService;
 import com.amusement.amusement_park.exception.NotFoundException;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/ticket-types")
@@ -18,6 +23,9 @@ public class TicketTypeController {
     @Autowired
     private TicketTypeService service;
 
+    @Autowired
+    private TicketInventory ticketInventory;
+
     @GetMapping
     public ResponseEntity<List<TicketType>> getAll() {
         List<TicketType> ticketTypes = service.getAll();
@@ -44,18 +52,40 @@ public class TicketTypeController {
     public ResponseEntity<TicketType> update(@PathVariable Integer id, @Valid @RequestBody TicketType ticketType) {
         try {
             TicketType existingTicketType = service.getById(id);
+            Integer previousCapacity = existingTicketType.getDailyCapacity();
             existingTicketType.setName(ticketType.getName());
             existingTicketType.setDescription(ticketType.getDescription());
             existingTicketType.setPrice(ticketType.getPrice());
             existingTicketType.setValidityDays(ticketType.getValidityDays());
             existingTicketType.setIsVip(ticketType.getIsVip());
+            existingTicketType.setDailyCapacity(ticketType.getDailyCapacity());
             TicketType updatedTicketType = service.save(existingTicketType);
+            if (!Objects.equals(previousCapacity, updatedTicketType.getDailyCapacity())) {
+                ticketInventory.setDailyCapacity(updatedTicketType);
+            }
             return ResponseEntity.ok(updatedTicketType);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    // Capacity of one visit day, e.g. lowered for a maintenance day or raised for a holiday;
+    // later changes to the daily capacity leave it alone
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}/capacity")
+    public ResponseEntity<Void> setCapacity(@PathVariable Integer id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam int capacity) {
+        try {
+            ticketInventory.setCapacity(service.getById(id), date, capacity);
+            return ResponseEntity.noContent().build();
+        } catch (NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         try {
@@ -1,8 +1,11 @@
 package com.amusement.amusement_park.controller.user;
 
+import com.amusement.amusement_park.dto.user.OpsSnapshotDto;
 import com.amusement.amusement_park.entity.user.User;
 import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.service.user.OpsSnapshotService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -12,9 +15,18 @@ import java.util.List;
 public class AdminController {
 
     private final UserRepository userRepository;
+    private final OpsSnapshotService opsSnapshotService;
 
-    public AdminController(UserRepository userRepository) {
+    public AdminController(UserRepository userRepository, OpsSnapshotService opsSnapshotService) {
         this.userRepository = userRepository;
+        this.opsSnapshotService = opsSnapshotService;
+    }
+
+    // Live park-wide figures for the operations dashboard in one call
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/ops-snapshot")
+    public ResponseEntity<OpsSnapshotDto> getOpsSnapshot() {
+        return ResponseEntity.ok(opsSnapshotService.current());
     }
 
     @GetMapping("/users")
@@ -25,6 +25,9 @@ public class MaintenanceAlertDto {
     private Boolean isCurrentlyActive;
     private Priority priority;
     private String createdBy;
+
+    // Set on occurrences of a recurring schedule, which have no ID of their own
+    private Long recurringScheduleId;
     
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
@@ -147,4 +150,12 @@ public class MaintenanceAlertDto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Long getRecurringScheduleId() {
+        return recurringScheduleId;
+    }
+
+    public void setRecurringScheduleId(Long recurringScheduleId) {
+        this.recurringScheduleId = recurringScheduleId;
+    }
+}
@@ -0,0 +1,115 @@
+package com.amusement.amusement_park.dto.attraction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MaintenanceImportResultDto {
+
+    public enum RowStatus {
+        CREATED,
+        REJECTED
+    }
+
+    private int total;
+    private int created;
+    private int rejected;
+    private List<RowResult> rows = new ArrayList<>();
+
+    // Constructors
+    public MaintenanceImportResultDto() {}
+
+    // Record the outcome of one row
+    public void addCreated(int row, Long alertId) {
+        rows.add(new RowResult(row, RowStatus.CREATED, alertId, null));
+        created++;
+        total++;
+    }
+
+    public void addRejected(int row, String error) {
+        rows.add(new RowResult(row, RowStatus.REJECTED, null, error));
+        rejected++;
+        total++;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    public static class RowResult {
+        // 1-based position in the submitted list, or CSV data line
+        private int row;
+        private RowStatus status;
+        private Long alertId;
+        private String error;
+
+        public RowResult() {}
+
+        public RowResult(int row, RowStatus status, Long alertId, String error) {
+            this.row = row;
+            this.status = status;
+            this.alertId = alertId;
+            this.error = error;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public RowStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(RowStatus status) {
+            this.status = status;
+        }
+
+        public Long getAlertId() {
+            return alertId;
+        }
+
+        public void setAlertId(Long alertId) {
+            this.alertId = alertId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.amusement.amusement_park.dto.attraction;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+// Physical queue length counted by a ride operator
+public class QueueLengthReportDto {
+
+    @NotNull(message = "Queue length is required")
+    @Min(value = 0, message = "Queue length cannot be negative")
+    @Max(value = 10000, message = "Queue length cannot exceed 10000")
+    private Integer queueLength;
+
+    // Getters and Setters
+    public Integer getQueueLength() {
+        return queueLength;
+    }
+
+    public void setQueueLength(Integer queueLength) {
+        this.queueLength = queueLength;
+    }
+}
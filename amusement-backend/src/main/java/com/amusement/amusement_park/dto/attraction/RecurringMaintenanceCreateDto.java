@@ -0,0 +1,183 @@
+package com.amusement.amusement_park.dto.attraction;
+
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.RecurrenceFrequency;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+public class RecurringMaintenanceCreateDto {
+
+    @NotNull(message = "Ride ID is required")
+    private Long rideId;
+
+    @NotNull(message = "Alert type is required")
+    private AlertType alertType;
+
+    @NotBlank(message = "Title is required")
+    @Size(min = 5, max = 200, message = "Title must be between 5 and 200 characters")
+    private String title;
+
+    @Size(max = 1000, message = "Description cannot exceed 1000 characters")
+    private String description;
+
+    @NotNull(message = "Priority is required")
+    private Priority priority;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Min(value = 1, message = "Interval must be at least 1")
+    private Integer repeatInterval = 1;
+
+    // Weekdays for WEEKLY schedules; defaults to the weekday of validFrom
+    private Set<DayOfWeek> byDays = new HashSet<>();
+
+    @NotNull(message = "Start time of day is required")
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime startTimeOfDay;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration cannot exceed 24 hours")
+    private Integer durationMinutes;
+
+    @NotNull(message = "Valid from date is required")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validUntil;
+
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
+    @Size(max = 100, message = "Created by cannot exceed 100 characters")
+    private String createdBy;
+
+    // Constructors
+    public RecurringMaintenanceCreateDto() {}
+
+    // Getters and Setters
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public AlertType getAlertType() {
+        return alertType;
+    }
+
+    public void setAlertType(AlertType alertType) {
+        this.alertType = alertType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(Integer repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public Set<DayOfWeek> getByDays() {
+        return byDays;
+    }
+
+    public void setByDays(Set<DayOfWeek> byDays) {
+        this.byDays = byDays;
+    }
+
+    public LocalTime getStartTimeOfDay() {
+        return startTimeOfDay;
+    }
+
+    public void setStartTimeOfDay(LocalTime startTimeOfDay) {
+        this.startTimeOfDay = startTimeOfDay;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(LocalDate validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    public Set<LocalDate> getExceptionDates() {
+        return exceptionDates;
+    }
+
+    public void setExceptionDates(Set<LocalDate> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+}
@@ -37,6 +37,10 @@ public class RideCreateDto {
     @Max(value = 250, message = "Height requirement cannot exceed 250cm")
     private Integer heightRequirementCm;
 
+    @Min(value = 1, message = "Capacity must be at least 1 rider")
+    @Max(value = 500, message = "Capacity cannot exceed 500 riders")
+    private Integer capacity;
+
     @Size(max = 500, message = "Photo URL cannot exceed 500 characters")
     private String photoUrl;
 
@@ -113,6 +117,14 @@ public class RideCreateDto {
         this.heightRequirementCm = heightRequirementCm;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -16,6 +16,7 @@ public class RideDto {
     private Integer maxAge;
     private Integer durationMinutes;
     private Integer heightRequirementCm;
+    private Integer capacity;
     private String photoUrl;
     private String videoUrl;
     private Boolean isOperational;
@@ -31,11 +32,38 @@ public class RideDto {
     
     private List<MaintenanceAlertDto> activeMaintenanceAlerts;
     private Integer favoritesCount;
+    // Live estimate in minutes; null while closed
+    private Integer waitMinutes;
     private List<RidePhotoDto> photos;
 
     // Constructors
     public RideDto() {}
 
+    // Shallow copy, used to hand out cached catalog entries without exposing them
+    public RideDto(RideDto other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.thrillLevel = other.thrillLevel;
+        this.minAge = other.minAge;
+        this.maxAge = other.maxAge;
+        this.durationMinutes = other.durationMinutes;
+        this.heightRequirementCm = other.heightRequirementCm;
+        this.capacity = other.capacity;
+        this.photoUrl = other.photoUrl;
+        this.videoUrl = other.videoUrl;
+        this.isOperational = other.isOperational;
+        this.isAvailable = other.isAvailable;
+        this.locationDescription = other.locationDescription;
+        this.safetyInstructions = other.safetyInstructions;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.activeMaintenanceAlerts = other.activeMaintenanceAlerts;
+        this.favoritesCount = other.favoritesCount;
+        this.waitMinutes = other.waitMinutes;
+        this.photos = other.photos;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -101,6 +129,14 @@ public class RideDto {
         this.heightRequirementCm = heightRequirementCm;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -181,6 +217,14 @@ public class RideDto {
         this.favoritesCount = favoritesCount;
     }
 
+    public Integer getWaitMinutes() {
+        return waitMinutes;
+    }
+
+    public void setWaitMinutes(Integer waitMinutes) {
+        this.waitMinutes = waitMinutes;
+    }
+
     public List<RidePhotoDto> getPhotos() {
         return photos;
     }
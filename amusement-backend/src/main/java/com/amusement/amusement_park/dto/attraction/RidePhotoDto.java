@@ -3,6 +3,7 @@ package com.amusement.amusement_park.dto.attraction;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class RidePhotoDto {
     private Long id;
@@ -13,6 +14,9 @@ public class RidePhotoDto {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime uploadedAt;
 
+    // Thumbnail URLs by variant name; empty for external URLs and small images
+    private Map<String, String> thumbnails;
+
     // Constructors
     public RidePhotoDto() {}
 
@@ -56,4 +60,12 @@ public class RidePhotoDto {
     public void setUploadedAt(LocalDateTime uploadedAt) {
         this.uploadedAt = uploadedAt;
     }
-}
\ No newline at end of file
+
+    public Map<String, String> getThumbnails() {
+        return thumbnails;
+    }
+
+    public void setThumbnails(Map<String, String> thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+}
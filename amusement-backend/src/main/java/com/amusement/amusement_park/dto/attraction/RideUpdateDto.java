@@ -32,6 +32,10 @@ public class RideUpdateDto {
     @Max(value = 250, message = "Height requirement cannot exceed 250cm")
     private Integer heightRequirementCm;
 
+    @Min(value = 1, message = "Capacity must be at least 1 rider")
+    @Max(value = 500, message = "Capacity cannot exceed 500 riders")
+    private Integer capacity;
+
     @Size(max = 500, message = "Photo URL cannot exceed 500 characters")
     private String photoUrl;
 
@@ -104,6 +108,14 @@ public class RideUpdateDto {
         this.heightRequirementCm = heightRequirementCm;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -0,0 +1,77 @@
+package com.amusement.amusement_park.dto.attraction;
+
+import com.amusement.amusement_park.Enums.UptimeState;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Uptime of one ride over a range of days; uptimePercent is null when nothing was recorded
+public class RideUptimeDto {
+
+    private Long rideId;
+    private LocalDate from;
+    private LocalDate to;
+    private long upMinutes;
+    private long downMinutes;
+    private Double uptimePercent;
+    private Map<UptimeState, Long> downtimeMinutesByCause;
+
+    public RideUptimeDto() {}
+
+    // Getters and Setters
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getUpMinutes() {
+        return upMinutes;
+    }
+
+    public void setUpMinutes(long upMinutes) {
+        this.upMinutes = upMinutes;
+    }
+
+    public long getDownMinutes() {
+        return downMinutes;
+    }
+
+    public void setDownMinutes(long downMinutes) {
+        this.downMinutes = downMinutes;
+    }
+
+    public Double getUptimePercent() {
+        return uptimePercent;
+    }
+
+    public void setUptimePercent(Double uptimePercent) {
+        this.uptimePercent = uptimePercent;
+    }
+
+    public Map<UptimeState, Long> getDowntimeMinutesByCause() {
+        return downtimeMinutesByCause;
+    }
+
+    public void setDowntimeMinutesByCause(Map<UptimeState, Long> downtimeMinutesByCause) {
+        this.downtimeMinutesByCause = downtimeMinutesByCause;
+    }
+}
@@ -0,0 +1,73 @@
+package com.amusement.amusement_park.dto.attraction;
+
+
+import java.time.LocalDateTime;
+
+// Summary of one ride's virtual queue
+public class VirtualQueueStatusDto {
+
+    private Long rideId;
+    private String rideName;
+    private Integer waiting;
+    private Boolean paused;
+    private Integer batchSize;
+    private Integer cycleMinutes;
+    private LocalDateTime nextCallAt;
+
+    // Getters and Setters
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public String getRideName() {
+        return rideName;
+    }
+
+    public void setRideName(String rideName) {
+        this.rideName = rideName;
+    }
+
+    public Integer getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(Integer waiting) {
+        this.waiting = waiting;
+    }
+
+    public Boolean getPaused() {
+        return paused;
+    }
+
+    public void setPaused(Boolean paused) {
+        this.paused = paused;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getCycleMinutes() {
+        return cycleMinutes;
+    }
+
+    public void setCycleMinutes(Integer cycleMinutes) {
+        this.cycleMinutes = cycleMinutes;
+    }
+
+    public LocalDateTime getNextCallAt() {
+        return nextCallAt;
+    }
+
+    public void setNextCallAt(LocalDateTime nextCallAt) {
+        this.nextCallAt = nextCallAt;
+    }
+}
@@ -0,0 +1,101 @@
+package com.amusement.amusement_park.dto.attraction;
+
+
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+import java.time.LocalDateTime;
+
+// A guest's place in a virtual queue; the return window is set once they are called
+public class VirtualQueueTicketDto {
+
+    private Long rideId;
+    private String rideName;
+    private Long userId;
+    private Long position;
+    private VirtualQueueStatus status;
+    private Long guestsAhead;
+    private LocalDateTime estimatedReturnAt;
+    private LocalDateTime returnWindowStart;
+    private LocalDateTime returnWindowEnd;
+    private Boolean queuePaused;
+
+    // Getters and Setters
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public String getRideName() {
+        return rideName;
+    }
+
+    public void setRideName(String rideName) {
+        this.rideName = rideName;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public VirtualQueueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(VirtualQueueStatus status) {
+        this.status = status;
+    }
+
+    public Long getGuestsAhead() {
+        return guestsAhead;
+    }
+
+    public void setGuestsAhead(Long guestsAhead) {
+        this.guestsAhead = guestsAhead;
+    }
+
+    public LocalDateTime getEstimatedReturnAt() {
+        return estimatedReturnAt;
+    }
+
+    public void setEstimatedReturnAt(LocalDateTime estimatedReturnAt) {
+        this.estimatedReturnAt = estimatedReturnAt;
+    }
+
+    public LocalDateTime getReturnWindowStart() {
+        return returnWindowStart;
+    }
+
+    public void setReturnWindowStart(LocalDateTime returnWindowStart) {
+        this.returnWindowStart = returnWindowStart;
+    }
+
+    public LocalDateTime getReturnWindowEnd() {
+        return returnWindowEnd;
+    }
+
+    public void setReturnWindowEnd(LocalDateTime returnWindowEnd) {
+        this.returnWindowEnd = returnWindowEnd;
+    }
+
+    public Boolean getQueuePaused() {
+        return queuePaused;
+    }
+
+    public void setQueuePaused(Boolean queuePaused) {
+        this.queuePaused = queuePaused;
+    }
+}
@@ -0,0 +1,43 @@
+package com.amusement.amusement_park.dto.attraction;
+
+
+// Compact wait-time entry for kiosks; waitMinutes is null while the ride is closed
+public class WaitTimeDto {
+
+    private Long rideId;
+    private Integer waitMinutes;
+    private Boolean open;
+
+    public WaitTimeDto() {}
+
+    public WaitTimeDto(Long rideId, Integer waitMinutes, Boolean open) {
+        this.rideId = rideId;
+        this.waitMinutes = waitMinutes;
+        this.open = open;
+    }
+
+    // Getters and Setters
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public Integer getWaitMinutes() {
+        return waitMinutes;
+    }
+
+    public void setWaitMinutes(Integer waitMinutes) {
+        this.waitMinutes = waitMinutes;
+    }
+
+    public Boolean getOpen() {
+        return open;
+    }
+
+    public void setOpen(Boolean open) {
+        this.open = open;
+    }
+}
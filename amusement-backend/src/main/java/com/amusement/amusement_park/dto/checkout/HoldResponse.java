@@ -0,0 +1,38 @@
+package com.amusement.amusement_park.dto.checkout;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a checkout hold: what to confirm or cancel, and until when.
+ */
+public class HoldResponse {
+
+    private Long holdId;
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public HoldResponse() {
+    }
+
+    public HoldResponse(Long holdId, LocalDateTime expiresAt) {
+        this.holdId = holdId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(Long holdId) {
+        this.holdId = holdId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
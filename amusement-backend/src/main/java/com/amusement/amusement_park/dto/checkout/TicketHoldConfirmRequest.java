@@ -0,0 +1,32 @@
+package com.amusement.amusement_park.dto.checkout;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for paying for held tickets.
+ */
+public class TicketHoldConfirmRequest {
+
+    @NotBlank(message = "Payment status is required and cannot be blank")
+    private String paymentStatus;
+
+    @NotBlank(message = "Payment mode is required and cannot be blank")
+    private String paymentMode;
+
+    // Getters and Setters
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(String paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public String getPaymentMode() {
+        return paymentMode;
+    }
+
+    public void setPaymentMode(String paymentMode) {
+        this.paymentMode = paymentMode;
+    }
+}
@@ -0,0 +1,48 @@
+package com.amusement.amusement_park.dto.checkout;
+
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest.Item;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for holding tickets, of one or more ticket types, while the guest
+ * checks out. Payment details follow when the hold is confirmed.
+ */
+public class TicketHoldRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    private LocalDate validFrom;
+
+    @NotEmpty(message = "At least one ticket is required")
+    private List<@Valid @NotNull Item> tickets;
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public List<Item> getTickets() {
+        return tickets;
+    }
+
+    public void setTickets(List<Item> tickets) {
+        this.tickets = tickets;
+    }
+}
@@ -0,0 +1,98 @@
+package com.amusement.amusement_park.dto.sync;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.entity.foodmerchorder.FoodItem;
+import com.amusement.amusement_park.entity.foodmerchorder.MerchandiseItem;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// One page of the delta sync feed: entities changed since the client's version, and IDs deleted since then.
+// Clients store version and pass it as since on the next call; full means everything was sent and local data should be replaced.
+public class SyncChangesDto {
+
+    private long version;
+    private boolean hasMore;
+    private boolean full;
+    private List<RideDto> rides = new ArrayList<>();
+    private List<MaintenanceAlertDto> maintenanceAlerts = new ArrayList<>();
+    private List<FoodItem> foodItems = new ArrayList<>();
+    private List<MerchandiseItem> merchandiseItems = new ArrayList<>();
+    private Map<SyncEntityType, List<Long>> deleted = new EnumMap<>(SyncEntityType.class);
+
+    public SyncChangesDto() {}
+
+    // Record a tombstone
+    public void addDeleted(SyncEntityType type, Long id) {
+        deleted.computeIfAbsent(type, key -> new ArrayList<>()).add(id);
+    }
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public List<RideDto> getRides() {
+        return rides;
+    }
+
+    public void setRides(List<RideDto> rides) {
+        this.rides = rides;
+    }
+
+    public List<MaintenanceAlertDto> getMaintenanceAlerts() {
+        return maintenanceAlerts;
+    }
+
+    public void setMaintenanceAlerts(List<MaintenanceAlertDto> maintenanceAlerts) {
+        this.maintenanceAlerts = maintenanceAlerts;
+    }
+
+    public List<FoodItem> getFoodItems() {
+        return foodItems;
+    }
+
+    public void setFoodItems(List<FoodItem> foodItems) {
+        this.foodItems = foodItems;
+    }
+
+    public List<MerchandiseItem> getMerchandiseItems() {
+        return merchandiseItems;
+    }
+
+    public void setMerchandiseItems(List<MerchandiseItem> merchandiseItems) {
+        this.merchandiseItems = merchandiseItems;
+    }
+
+    public Map<SyncEntityType, List<Long>> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Map<SyncEntityType, List<Long>> deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,76 @@
+package com.amusement.amusement_park.dto.ticket;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the outcome of checking a gate token. Ticket details are only
+ * filled in when the token's signature is genuine.
+ */
+public class GateScanResult {
+
+    // VALID, MALFORMED, BAD_SIGNATURE, NOT_YET_VALID, EXPIRED or REVOKED
+    private String verdict;
+
+    private Long ticketId;
+    private Integer ticketTypeId;
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private Boolean isVip;
+
+    // Default constructor
+    public GateScanResult() {
+    }
+
+    // Getters and Setters
+    public boolean isValid() {
+        return "VALID".equals(verdict);
+    }
+
+    public String getVerdict() {
+        return verdict;
+    }
+
+    public void setVerdict(String verdict) {
+        this.verdict = verdict;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(Long ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Integer getTicketTypeId() {
+        return ticketTypeId;
+    }
+
+    public void setTicketTypeId(Integer ticketTypeId) {
+        this.ticketTypeId = ticketTypeId;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public Boolean getIsVip() {
+        return isVip;
+    }
+
+    public void setIsVip(Boolean isVip) {
+        this.isVip = isVip;
+    }
+}
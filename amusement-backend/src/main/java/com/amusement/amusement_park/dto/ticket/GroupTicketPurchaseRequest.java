@@ -0,0 +1,97 @@
+package com.amusement.amusement_park.dto.ticket;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for buying several tickets, of one or more ticket types, in one purchase.
+ * Each ticket is charged its ticket type's price.
+ */
+public class GroupTicketPurchaseRequest {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    private LocalDate validFrom;
+
+    @NotBlank(message = "Payment status is required and cannot be blank")
+    private String paymentStatus;
+
+    @NotBlank(message = "Payment mode is required and cannot be blank")
+    private String paymentMode;
+
+    @NotEmpty(message = "At least one ticket is required")
+    private List<@Valid @NotNull Item> tickets;
+
+    // Nested class for one ticket type and how many of it
+    public static class Item {
+        @NotNull(message = "Ticket type ID is required")
+        private Integer ticketTypeId;
+
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be positive and greater than zero")
+        private Integer quantity;
+
+        public Integer getTicketTypeId() {
+            return ticketTypeId;
+        }
+
+        public void setTicketTypeId(Integer ticketTypeId) {
+            this.ticketTypeId = ticketTypeId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(String paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public String getPaymentMode() {
+        return paymentMode;
+    }
+
+    public void setPaymentMode(String paymentMode) {
+        this.paymentMode = paymentMode;
+    }
+
+    public List<Item> getTickets() {
+        return tickets;
+    }
+
+    public void setTickets(List<Item> tickets) {
+        this.tickets = tickets;
+    }
+}
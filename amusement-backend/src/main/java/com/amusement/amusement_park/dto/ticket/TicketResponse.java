@@ -54,6 +54,9 @@ public class TicketResponse {
     // Unique invoice identifier
     private String invoiceId;
 
+    // Signed token for offline gate checks; null unless the ticket is paid
+    private String gateToken;
+
     // Default constructor
     public TicketResponse() {
     }
@@ -201,4 +204,12 @@ public class TicketResponse {
     public void setInvoiceId(String invoiceId) {
         this.invoiceId = invoiceId;
     }
-}
\ No newline at end of file
+
+    public String getGateToken() {
+        return gateToken;
+    }
+
+    public void setGateToken(String gateToken) {
+        this.gateToken = gateToken;
+    }
+}
@@ -0,0 +1,112 @@
+package com.amusement.amusement_park.dto.user;
+
+import com.amusement.amusement_park.Enums.IssueStatus;
+import com.amusement.amusement_park.Enums.Priority;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class OpsSnapshotDto {
+    private LocalDateTime generatedAt;
+    private int totalRides;
+    private int availableRides;
+    private int operationalRides;
+    private int ridesUnderMaintenance;
+    private Map<Priority, Long> activeAlertsByPriority;
+    private Map<String, Long> ordersByStatus;
+    private long openIssues;
+    private Map<IssueStatus, Long> issuesByStatus;
+    private long ticketsSoldToday;
+    private BigDecimal ticketRevenueToday;
+
+    // Getters
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public int getTotalRides() {
+        return totalRides;
+    }
+
+    public int getAvailableRides() {
+        return availableRides;
+    }
+
+    public int getOperationalRides() {
+        return operationalRides;
+    }
+
+    public int getRidesUnderMaintenance() {
+        return ridesUnderMaintenance;
+    }
+
+    public Map<Priority, Long> getActiveAlertsByPriority() {
+        return activeAlertsByPriority;
+    }
+
+    public Map<String, Long> getOrdersByStatus() {
+        return ordersByStatus;
+    }
+
+    public long getOpenIssues() {
+        return openIssues;
+    }
+
+    public Map<IssueStatus, Long> getIssuesByStatus() {
+        return issuesByStatus;
+    }
+
+    public long getTicketsSoldToday() {
+        return ticketsSoldToday;
+    }
+
+    public BigDecimal getTicketRevenueToday() {
+        return ticketRevenueToday;
+    }
+
+    // Setters
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public void setTotalRides(int totalRides) {
+        this.totalRides = totalRides;
+    }
+
+    public void setAvailableRides(int availableRides) {
+        this.availableRides = availableRides;
+    }
+
+    public void setOperationalRides(int operationalRides) {
+        this.operationalRides = operationalRides;
+    }
+
+    public void setRidesUnderMaintenance(int ridesUnderMaintenance) {
+        this.ridesUnderMaintenance = ridesUnderMaintenance;
+    }
+
+    public void setActiveAlertsByPriority(Map<Priority, Long> activeAlertsByPriority) {
+        this.activeAlertsByPriority = activeAlertsByPriority;
+    }
+
+    public void setOrdersByStatus(Map<String, Long> ordersByStatus) {
+        this.ordersByStatus = ordersByStatus;
+    }
+
+    public void setOpenIssues(long openIssues) {
+        this.openIssues = openIssues;
+    }
+
+    public void setIssuesByStatus(Map<IssueStatus, Long> issuesByStatus) {
+        this.issuesByStatus = issuesByStatus;
+    }
+
+    public void setTicketsSoldToday(long ticketsSoldToday) {
+        this.ticketsSoldToday = ticketsSoldToday;
+    }
+
+    public void setTicketRevenueToday(BigDecimal ticketRevenueToday) {
+        this.ticketRevenueToday = ticketRevenueToday;
+    }
+}
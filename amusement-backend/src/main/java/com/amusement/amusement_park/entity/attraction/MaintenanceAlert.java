@@ -14,7 +14,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "maintenance_alerts")
+@Table(name = "maintenance_alerts", indexes = {
+        @Index(name = "idx_maintenance_alerts_active_start", columnList = "is_active, start_time"),
+        @Index(name = "idx_maintenance_alerts_active_end", columnList = "is_active, end_time")
+})
 public class MaintenanceAlert {
 
     @Id
@@ -81,14 +84,17 @@ public class MaintenanceAlert {
 
     // Business logic methods
     public boolean isCurrentlyActive() {
+        return isActiveAt(LocalDateTime.now());
+    }
+
+    public boolean isActiveAt(LocalDateTime time) {
         if (!isActive) {
             return false;
         }
-        LocalDateTime now = LocalDateTime.now();
-        if (startTime.isAfter(now)) {
+        if (startTime.isAfter(time)) {
             return false;
         }
-        return endTime == null || endTime.isAfter(now);
+        return endTime == null || endTime.isAfter(time);
     }
 
     public boolean isScheduledInFuture() {
@@ -0,0 +1,269 @@
+package com.amusement.amusement_park.entity.attraction;
+
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.RecurrenceFrequency;
+import com.amusement.amusement_park.util.RecurrenceRule;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Table(name = "recurring_maintenance_schedules")
+public class RecurringMaintenanceSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ride_id", nullable = false)
+    @NotNull(message = "Ride is required")
+    @JsonBackReference
+    private Ride ride;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_type", nullable = false)
+    @NotNull(message = "Alert type is required")
+    private AlertType alertType;
+
+    @Column(name = "title", nullable = false, length = 200)
+    @NotBlank(message = "Title is required")
+    @Size(min = 5, max = 200, message = "Title must be between 5 and 200 characters")
+    private String title;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    @Size(max = 1000, message = "Description cannot exceed 1000 characters")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    @NotNull(message = "Priority is required")
+    private Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "repeat_interval", nullable = false)
+    @Min(value = 1, message = "Interval must be at least 1")
+    private Integer repeatInterval = 1;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @CollectionTable(name = "recurring_maintenance_days", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private Set<DayOfWeek> byDays = new HashSet<>();
+
+    @Column(name = "start_time_of_day", nullable = false)
+    @NotNull(message = "Start time of day is required")
+    private LocalTime startTimeOfDay;
+
+    @Column(name = "duration_minutes", nullable = false)
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    @Max(value = 1440, message = "Duration cannot exceed 24 hours")
+    private Integer durationMinutes;
+
+    @Column(name = "valid_from", nullable = false)
+    @NotNull(message = "Valid from date is required")
+    private LocalDate validFrom;
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
+    @CollectionTable(name = "recurring_maintenance_exceptions", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Column(name = "exception_date", nullable = false)
+    private Set<LocalDate> exceptionDates = new HashSet<>();
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @Column(name = "created_by", length = 100)
+    @Size(max = 100, message = "Created by cannot exceed 100 characters")
+    private String createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public RecurringMaintenanceSchedule() {}
+
+    // Business logic methods
+    public RecurrenceRule toRule() {
+        return new RecurrenceRule(frequency, repeatInterval,
+                byDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(byDays),
+                startTimeOfDay, Duration.ofMinutes(durationMinutes), validFrom, validUntil, exceptionDates);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Ride getRide() {
+        return ride;
+    }
+
+    public void setRide(Ride ride) {
+        this.ride = ride;
+    }
+
+    public AlertType getAlertType() {
+        return alertType;
+    }
+
+    public void setAlertType(AlertType alertType) {
+        this.alertType = alertType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getRepeatInterval() {
+        return repeatInterval;
+    }
+
+    public void setRepeatInterval(Integer repeatInterval) {
+        this.repeatInterval = repeatInterval;
+    }
+
+    public Set<DayOfWeek> getByDays() {
+        return byDays;
+    }
+
+    public void setByDays(Set<DayOfWeek> byDays) {
+        this.byDays = byDays;
+    }
+
+    public LocalTime getStartTimeOfDay() {
+        return startTimeOfDay;
+    }
+
+    public void setStartTimeOfDay(LocalTime startTimeOfDay) {
+        this.startTimeOfDay = startTimeOfDay;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDate validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    public LocalDate getValidUntil() {
+        return validUntil;
+    }
+
+    public void setValidUntil(LocalDate validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    public Set<LocalDate> getExceptionDates() {
+        return exceptionDates;
+    }
+
+    public void setExceptionDates(Set<LocalDate> exceptionDates) {
+        this.exceptionDates = exceptionDates;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -56,6 +56,12 @@ public class Ride {
     @Max(value = 250, message = "Height requirement cannot exceed 250cm")
     private Integer heightRequirementCm;
 
+    // Riders carried per cycle; the virtual queue calls guests in batches of this size
+    @Column(name = "capacity")
+    @Min(value = 1, message = "Capacity must be at least 1 rider")
+    @Max(value = 500, message = "Capacity cannot exceed 500 riders")
+    private Integer capacity;
+
     @Column(name = "photo_url", length = 500)
     @Size(max = 500, message = "Photo URL cannot exceed 500 characters")
     private String photoUrl;
@@ -67,6 +73,11 @@ public class Ride {
     @Column(name = "is_operational", nullable = false)
     private Boolean isOperational = true;
 
+    // Set when maintenance closed the ride; only such rides reopen when maintenance ends,
+    // so a ride an admin closed stays closed
+    @Column(name = "closed_for_maintenance", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean closedForMaintenance = false;
+
     @Column(name = "location_description", length = 200)
     @Size(max = 200, message = "Location description cannot exceed 200 characters")
     private String locationDescription;
@@ -75,6 +86,11 @@ public class Ride {
     @Size(max = 2000, message = "Safety instructions cannot exceed 2000 characters")
     private String safetyInstructions;
 
+    // Denormalized count of user_favorites rows; written only by FavoriteCountAccumulator,
+    // never by entity saves, so a stale copy cannot overwrite a flushed count
+    @Column(name = "favorites_count", nullable = false, updatable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long favoritesCount = 0L;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -95,6 +111,10 @@ public class Ride {
     @JsonManagedReference
     private List<RidePhoto> ridePhotos = new ArrayList<>();
 
+    @OneToMany(mappedBy = "ride", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonManagedReference
+    private List<RecurringMaintenanceSchedule> recurringMaintenanceSchedules = new ArrayList<>();
+
     // Constructors
     public Ride() {}
 
@@ -119,11 +139,9 @@ public class Ride {
     }
 
     public boolean isAvailable() {
+        LocalDateTime now = LocalDateTime.now();
         return isOperational && 
-               maintenanceAlerts.stream()
-                   .noneMatch(alert -> alert.getIsActive() && 
-                             alert.getStartTime().isBefore(LocalDateTime.now()) &&
-                             (alert.getEndTime() == null || alert.getEndTime().isAfter(LocalDateTime.now())));
+               maintenanceAlerts.stream().noneMatch(alert -> alert.isActiveAt(now));
     }
 
     // Getters and Setters
@@ -191,6 +209,14 @@ public class Ride {
         this.heightRequirementCm = heightRequirementCm;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -215,6 +241,14 @@ public class Ride {
         this.isOperational = isOperational;
     }
 
+    public Boolean getClosedForMaintenance() {
+        return closedForMaintenance;
+    }
+
+    public void setClosedForMaintenance(Boolean closedForMaintenance) {
+        this.closedForMaintenance = closedForMaintenance;
+    }
+
     public String getLocationDescription() {
         return locationDescription;
     }
@@ -231,6 +265,14 @@ public class Ride {
         this.safetyInstructions = safetyInstructions;
     }
 
+    public Long getFavoritesCount() {
+        return favoritesCount;
+    }
+
+    public void setFavoritesCount(Long favoritesCount) {
+        this.favoritesCount = favoritesCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -270,4 +312,12 @@ public class Ride {
     public void setRidePhotos(List<RidePhoto> ridePhotos) {
         this.ridePhotos = ridePhotos;
     }
+
+    public List<RecurringMaintenanceSchedule> getRecurringMaintenanceSchedules() {
+        return recurringMaintenanceSchedules;
+    }
+
+    public void setRecurringMaintenanceSchedules(List<RecurringMaintenanceSchedule> recurringMaintenanceSchedules) {
+        this.recurringMaintenanceSchedules = recurringMaintenanceSchedules;
+    }
 }
\ No newline at end of file
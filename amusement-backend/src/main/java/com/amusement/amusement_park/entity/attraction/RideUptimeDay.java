@@ -0,0 +1,160 @@
+package com.amusement.amusement_park.entity.attraction;
+
+import com.amusement.amusement_park.Enums.UptimeState;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// One ride's availability for one day: the encoded transition log plus seconds spent in each state
+@Entity
+@Table(name = "ride_uptime_days",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"ride_id", "day"}),
+       indexes = @Index(name = "idx_ride_uptime_days_day", columnList = "day"))
+public class RideUptimeDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ride_id", nullable = false)
+    private Long rideId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    // TransitionLog bytes, based at the day's first second
+    @Lob
+    @Column(name = "transitions", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] transitions;
+
+    @Column(name = "up_seconds", nullable = false)
+    private long upSeconds;
+
+    @Column(name = "out_of_service_seconds", nullable = false)
+    private long outOfServiceSeconds;
+
+    @Column(name = "scheduled_maintenance_seconds", nullable = false)
+    private long scheduledMaintenanceSeconds;
+
+    @Column(name = "emergency_closure_seconds", nullable = false)
+    private long emergencyClosureSeconds;
+
+    @Column(name = "weather_closure_seconds", nullable = false)
+    private long weatherClosureSeconds;
+
+    @Column(name = "inspection_seconds", nullable = false)
+    private long inspectionSeconds;
+
+    // Constructors
+    public RideUptimeDay() {}
+
+    public RideUptimeDay(Long rideId, LocalDate day) {
+        this.rideId = rideId;
+        this.day = day;
+        this.transitions = new byte[0];
+    }
+
+    // Seconds recorded in a state
+    public long getSeconds(UptimeState state) {
+        return switch (state) {
+            case UP -> upSeconds;
+            case OUT_OF_SERVICE -> outOfServiceSeconds;
+            case SCHEDULED_MAINTENANCE -> scheduledMaintenanceSeconds;
+            case EMERGENCY_CLOSURE -> emergencyClosureSeconds;
+            case WEATHER_CLOSURE -> weatherClosureSeconds;
+            case INSPECTION -> inspectionSeconds;
+        };
+    }
+
+    public void addSeconds(UptimeState state, long seconds) {
+        switch (state) {
+            case UP -> upSeconds += seconds;
+            case OUT_OF_SERVICE -> outOfServiceSeconds += seconds;
+            case SCHEDULED_MAINTENANCE -> scheduledMaintenanceSeconds += seconds;
+            case EMERGENCY_CLOSURE -> emergencyClosureSeconds += seconds;
+            case WEATHER_CLOSURE -> weatherClosureSeconds += seconds;
+            case INSPECTION -> inspectionSeconds += seconds;
+        }
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public byte[] getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(byte[] transitions) {
+        this.transitions = transitions;
+    }
+
+    public long getUpSeconds() {
+        return upSeconds;
+    }
+
+    public void setUpSeconds(long upSeconds) {
+        this.upSeconds = upSeconds;
+    }
+
+    public long getOutOfServiceSeconds() {
+        return outOfServiceSeconds;
+    }
+
+    public void setOutOfServiceSeconds(long outOfServiceSeconds) {
+        this.outOfServiceSeconds = outOfServiceSeconds;
+    }
+
+    public long getScheduledMaintenanceSeconds() {
+        return scheduledMaintenanceSeconds;
+    }
+
+    public void setScheduledMaintenanceSeconds(long scheduledMaintenanceSeconds) {
+        this.scheduledMaintenanceSeconds = scheduledMaintenanceSeconds;
+    }
+
+    public long getEmergencyClosureSeconds() {
+        return emergencyClosureSeconds;
+    }
+
+    public void setEmergencyClosureSeconds(long emergencyClosureSeconds) {
+        this.emergencyClosureSeconds = emergencyClosureSeconds;
+    }
+
+    public long getWeatherClosureSeconds() {
+        return weatherClosureSeconds;
+    }
+
+    public void setWeatherClosureSeconds(long weatherClosureSeconds) {
+        this.weatherClosureSeconds = weatherClosureSeconds;
+    }
+
+    public long getInspectionSeconds() {
+        return inspectionSeconds;
+    }
+
+    public void setInspectionSeconds(long inspectionSeconds) {
+        this.inspectionSeconds = inspectionSeconds;
+    }
+}
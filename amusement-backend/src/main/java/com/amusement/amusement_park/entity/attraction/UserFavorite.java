@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "user_favorites", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "ride_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "ride_id"}),
+       indexes = @Index(name = "idx_user_favorites_added_at", columnList = "added_at"))
 public class UserFavorite {
 
     @Id
@@ -0,0 +1,108 @@
+package com.amusement.amusement_park.entity.attraction;
+
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// A guest's place in a ride's virtual queue; rows are written behind by VirtualQueueWriter
+@Entity
+@Table(name = "virtual_queue_entries",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"ride_id", "position"}),
+       indexes = @Index(name = "idx_virtual_queue_entries_status", columnList = "status"))
+public class VirtualQueueEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ride_id", nullable = false)
+    private Long rideId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "position", nullable = false)
+    private Long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private VirtualQueueStatus status;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt;
+
+    @Column(name = "return_window_start")
+    private LocalDateTime returnWindowStart;
+
+    @Column(name = "return_window_end")
+    private LocalDateTime returnWindowEnd;
+
+    // Constructors
+    public VirtualQueueEntry() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public void setRideId(Long rideId) {
+        this.rideId = rideId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public VirtualQueueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(VirtualQueueStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public void setJoinedAt(LocalDateTime joinedAt) {
+        this.joinedAt = joinedAt;
+    }
+
+    public LocalDateTime getReturnWindowStart() {
+        return returnWindowStart;
+    }
+
+    public void setReturnWindowStart(LocalDateTime returnWindowStart) {
+        this.returnWindowStart = returnWindowStart;
+    }
+
+    public LocalDateTime getReturnWindowEnd() {
+        return returnWindowEnd;
+    }
+
+    public void setReturnWindowEnd(LocalDateTime returnWindowEnd) {
+        this.returnWindowEnd = returnWindowEnd;
+    }
+}
@@ -0,0 +1,50 @@
+package com.amusement.amusement_park.entity.checkout;
+
+import jakarta.persistence.*;
+
+// Merchandise stock taken by one checkout hold, so it can be given back even if the node holding it dies; written by MerchandiseStock
+@Entity
+@Table(name = "checkout_holds",
+       indexes = @Index(name = "idx_checkout_holds_expires_at", columnList = "expires_at"))
+public class CheckoutHold {
+
+    // The hold ID handed to the client
+    @Id
+    private Long id;
+
+    // Epoch millisecond; past it the hold's stock may be given back by any node
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    // Units per merchandise item ID, as "itemId:quantity,itemId:quantity"
+    @Column(name = "merchandise", nullable = false, columnDefinition = "TEXT")
+    private String merchandise;
+
+    // Constructors
+    public CheckoutHold() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getMerchandise() {
+        return merchandise;
+    }
+
+    public void setMerchandise(String merchandise) {
+        this.merchandise = merchandise;
+    }
+}
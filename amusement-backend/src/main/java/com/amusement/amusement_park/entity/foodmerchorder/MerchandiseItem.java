@@ -19,6 +19,9 @@ public class MerchandiseItem {
     @DecimalMin(value = "1", inclusive = true, message = "Price must be greater than 0")
     private BigDecimal price;
 
+    // Units left to sell; null when stock is not tracked
+    @PositiveOrZero(message = "Stock cannot be negative")
+    private Integer stock;
 
     // ✅ No-arg constructor (required by JPA)
     public MerchandiseItem() {
@@ -55,4 +58,12 @@ public class MerchandiseItem {
     public void setPrice(BigDecimal price) {
         this.price = price;
     }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
 }
@@ -0,0 +1,87 @@
+package com.amusement.amusement_park.entity.sync;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Latest change to one synced entity; rows are upserted by SyncChangeLog, so there is one per entity
+@Entity
+@Table(name = "sync_changes",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"entity_type", "entity_id"}),
+       indexes = @Index(name = "idx_sync_changes_version", columnList = "version", unique = true))
+public class SyncChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 30)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // True once the entity has been deleted; kept as a tombstone for clients still holding it
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public SyncChange() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(SyncEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.amusement.amusement_park.entity.ticket;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Capacity of one ticket type on one visit day, and how much of it nodes have taken to sell; written by TicketInventory
+@Entity
+@Table(name = "ticket_inventory_days",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"ticket_type_id", "day"}))
+public class TicketInventoryDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_type_id", nullable = false)
+    private Integer ticketTypeId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "capacity", nullable = false)
+    private Integer capacity;
+
+    // Tickets sold plus permits leased to nodes and not yet sold
+    @Column(name = "allocated", nullable = false)
+    private Integer allocated;
+
+    // Set by PUT /ticket-types/{id}/capacity; such days keep their capacity when the daily capacity changes
+    @Column(name = "overridden", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean overridden = false;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public TicketInventoryDay() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getTicketTypeId() {
+        return ticketTypeId;
+    }
+
+    public void setTicketTypeId(Integer ticketTypeId) {
+        this.ticketTypeId = ticketTypeId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+    public Integer getAllocated() {
+        return allocated;
+    }
+
+    public void setAllocated(Integer allocated) {
+        this.allocated = allocated;
+    }
+
+    public Boolean getOverridden() {
+        return overridden;
+    }
+
+    public void setOverridden(Boolean overridden) {
+        this.overridden = overridden;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,81 @@
+package com.amusement.amusement_park.entity.ticket;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Gate tokens of a ticket issued at or before revokedAt are no longer accepted; the ID orders revocations for delta updates
+@Entity
+@Table(name = "ticket_revocations",
+       indexes = @Index(name = "idx_ticket_revocations_valid_to", columnList = "valid_to"))
+public class TicketRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    // Epoch second; tokens issued at or before it are revoked
+    @Column(name = "revoked_at", nullable = false)
+    private Long revokedAt;
+
+    // Last day the ticket was valid; the revocation can be forgotten after it
+    @Column(name = "valid_to", nullable = false)
+    private LocalDate validTo;
+
+    @Column(name = "reason", length = 20)
+    private String reason;
+
+    // Constructors
+    public TicketRevocation() {}
+
+    public TicketRevocation(Long ticketId, Long revokedAt, LocalDate validTo, String reason) {
+        this.ticketId = ticketId;
+        this.revokedAt = revokedAt;
+        this.validTo = validTo;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(Long ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public Long getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Long revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    public LocalDate getValidTo() {
+        return validTo;
+    }
+
+    public void setValidTo(LocalDate validTo) {
+        this.validTo = validTo;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
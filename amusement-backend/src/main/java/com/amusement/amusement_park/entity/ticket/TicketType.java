@@ -35,6 +35,12 @@ public class TicketType {
     @Column(name = "is_vip", columnDefinition = "BOOLEAN DEFAULT FALSE")
     private Boolean isVip = false;
 
+    // Tickets that can be sold per visit day; null for no limit. A change applies from
+    // today on, except to days given their own capacity
+    @Positive(message = "Daily capacity must be positive")
+    @Column(name = "daily_capacity")
+    private Integer dailyCapacity;
+
     // === Getters and Setters ===
 
     public Integer getTicketTypeId() {
@@ -84,4 +90,12 @@ public class TicketType {
     public void setIsVip(Boolean isVip) {
         this.isVip = isVip;
     }
+
+    public Integer getDailyCapacity() {
+        return dailyCapacity;
+    }
+
+    public void setDailyCapacity(Integer dailyCapacity) {
+        this.dailyCapacity = dailyCapacity;
+    }
 }
@@ -0,0 +1,37 @@
+package com.amusement.amusement_park.event.attraction;
+
+/**
+ * Published when a user adds a ride to, or removes it from, their favorites.
+ * Unlike {@link FavoriteCountChangedEvent} it names the user, for listeners
+ * that track which rides are favorited together.
+ */
+public class FavoriteChangedEvent {
+
+    private final Long userId;
+    private final Long rideId;
+    private final boolean added;
+
+    public FavoriteChangedEvent(Long userId, Long rideId, boolean added) {
+        this.userId = userId;
+        this.rideId = rideId;
+        this.added = added;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getRideId() {
+        return rideId;
+    }
+
+    // True for an added favorite, false for a removed one
+    public boolean isAdded() {
+        return added;
+    }
+
+    @Override
+    public String toString() {
+        return "FavoriteChangedEvent{userId=" + userId + ", rideId=" + rideId + ", added=" + added + "}";
+    }
+}
@@ -0,0 +1,36 @@
+package com.amusement.amusement_park.event.attraction;
+
+/**
+ * Published after a change to a ride's favorites count has committed, either a
+ * favorite being added or removed, or a correction made by reconciliation.
+ */
+public class FavoriteCountChangedEvent {
+
+    private final Long rideId;
+    private final long delta;
+    private final boolean correction;
+
+    public FavoriteCountChangedEvent(Long rideId, long delta, boolean correction) {
+        this.rideId = rideId;
+        this.delta = delta;
+        this.correction = correction;
+    }
+
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public long getDelta() {
+        return delta;
+    }
+
+    // True when the delta repairs drift rather than reflecting a user action
+    public boolean isCorrection() {
+        return correction;
+    }
+
+    @Override
+    public String toString() {
+        return "FavoriteCountChangedEvent{rideId=" + rideId + ", delta=" + delta + ", correction=" + correction + "}";
+    }
+}
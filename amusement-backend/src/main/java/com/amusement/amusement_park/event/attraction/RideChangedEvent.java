@@ -0,0 +1,38 @@
+package com.amusement.amusement_park.event.attraction;
+
+/**
+ * Published whenever a ride, or anything that affects its availability, changes.
+ * Listeners that keep in-memory views of the ride catalog use it to invalidate
+ * or refresh the affected ride.
+ */
+public class RideChangedEvent {
+
+    public enum Reason {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STATUS_CHANGED,
+        MAINTENANCE_CHANGED
+    }
+
+    private final Long rideId;
+    private final Reason reason;
+
+    public RideChangedEvent(Long rideId, Reason reason) {
+        this.rideId = rideId;
+        this.reason = reason;
+    }
+
+    public Long getRideId() {
+        return rideId;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return "RideChangedEvent{rideId=" + rideId + ", reason=" + reason + "}";
+    }
+}
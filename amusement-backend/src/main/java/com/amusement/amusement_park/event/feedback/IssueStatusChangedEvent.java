@@ -0,0 +1,39 @@
+package com.amusement.amusement_park.event.feedback;
+
+import com.amusement.amusement_park.Enums.IssueStatus;
+
+/**
+ * Published when an issue is reported or moves to another status.
+ * A newly reported issue has no previous status.
+ */
+public class IssueStatusChangedEvent {
+
+    private final Long issueId;
+    private final IssueStatus previousStatus;
+    private final IssueStatus status;
+
+    public IssueStatusChangedEvent(Long issueId, IssueStatus previousStatus, IssueStatus status) {
+        this.issueId = issueId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    // Status before the change, or null for a new issue
+    public IssueStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "IssueStatusChangedEvent{issueId=" + issueId + ", previousStatus=" + previousStatus
+                + ", status=" + status + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.amusement.amusement_park.event.foodmerchorder;
+
+/**
+ * Published when an order is placed, moves to another status or is deleted.
+ * A new order has no previous status; a deleted one has no status.
+ */
+public class OrderStatusChangedEvent {
+
+    private final Long orderId;
+    private final String previousStatus;
+    private final String status;
+
+    public OrderStatusChangedEvent(Long orderId, String previousStatus, String status) {
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    // Status before the change, or null for a new order
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    // Status after the change, or null for a deleted order
+    public String getStatus() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatusChangedEvent{orderId=" + orderId + ", previousStatus=" + previousStatus
+                + ", status=" + status + "}";
+    }
+}
@@ -0,0 +1,47 @@
+package com.amusement.amusement_park.event.sync;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when maintenance alerts, food items or merchandise items are
+ * created, changed or deleted, merchandise stock included, so the sync
+ * change log can stamp them once the change is committed. Rides are covered
+ * by RideChangedEvent.
+ */
+public class CatalogEntityChangedEvent {
+
+    private final SyncEntityType entityType;
+    private final List<Long> entityIds;
+    private final boolean deleted;
+
+    public CatalogEntityChangedEvent(SyncEntityType entityType, Collection<Long> entityIds, boolean deleted) {
+        this.entityType = entityType;
+        this.entityIds = List.copyOf(entityIds);
+        this.deleted = deleted;
+    }
+
+    public CatalogEntityChangedEvent(SyncEntityType entityType, Long entityId, boolean deleted) {
+        this(entityType, List.of(entityId), deleted);
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public List<Long> getEntityIds() {
+        return entityIds;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogEntityChangedEvent{entityType=" + entityType + ", entityIds=" + entityIds
+                + ", deleted=" + deleted + "}";
+    }
+}
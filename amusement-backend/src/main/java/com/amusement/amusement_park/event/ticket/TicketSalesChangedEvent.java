@@ -0,0 +1,40 @@
+package com.amusement.amusement_park.event.ticket;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when a ticket is sold, repriced or deleted, as a change to the
+ * number of tickets and revenue of the day it was purchased.
+ */
+public class TicketSalesChangedEvent {
+
+    private final LocalDate purchaseDay;
+    private final int ticketDelta;
+    private final BigDecimal amountDelta;
+
+    public TicketSalesChangedEvent(LocalDate purchaseDay, int ticketDelta, BigDecimal amountDelta) {
+        this.purchaseDay = purchaseDay;
+        this.ticketDelta = ticketDelta;
+        this.amountDelta = amountDelta;
+    }
+
+    public LocalDate getPurchaseDay() {
+        return purchaseDay;
+    }
+
+    // +1 for a sale, -1 for a deletion, 0 for a repricing
+    public int getTicketDelta() {
+        return ticketDelta;
+    }
+
+    public BigDecimal getAmountDelta() {
+        return amountDelta;
+    }
+
+    @Override
+    public String toString() {
+        return "TicketSalesChangedEvent{purchaseDay=" + purchaseDay + ", ticketDelta=" + ticketDelta
+                + ", amountDelta=" + amountDelta + "}";
+    }
+}
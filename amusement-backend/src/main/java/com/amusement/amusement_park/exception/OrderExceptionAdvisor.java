@@ -41,7 +41,13 @@ public class OrderExceptionAdvisor {
         return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
     }
 
-    // 4. Handle any generic exception
+    // 4. Handle merchandise that ran out
+    @ExceptionHandler(OutOfStockException.class)
+    public ResponseEntity<String> handleOutOfStock(OutOfStockException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    // 5. Handle any generic exception
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
         return new ResponseEntity<>("Internal Error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
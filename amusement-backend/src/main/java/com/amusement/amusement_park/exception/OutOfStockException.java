@@ -0,0 +1,15 @@
+package com.amusement.amusement_park.exception;
+
+public class OutOfStockException extends RuntimeException {
+
+    private final Long itemId;
+
+    public OutOfStockException(Long itemId) {
+        super("Not enough stock left of merchandise item " + itemId);
+        this.itemId = itemId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+}
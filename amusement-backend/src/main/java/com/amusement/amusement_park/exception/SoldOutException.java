@@ -0,0 +1,23 @@
+package com.amusement.amusement_park.exception;
+
+import java.time.LocalDate;
+
+public class SoldOutException extends RuntimeException {
+
+    private final Integer ticketTypeId;
+    private final LocalDate day;
+
+    public SoldOutException(Integer ticketTypeId, LocalDate day) {
+        super("Ticket type " + ticketTypeId + " is sold out for " + day);
+        this.ticketTypeId = ticketTypeId;
+        this.day = day;
+    }
+
+    public Integer getTicketTypeId() {
+        return ticketTypeId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+}
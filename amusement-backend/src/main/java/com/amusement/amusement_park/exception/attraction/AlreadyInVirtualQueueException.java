@@ -0,0 +1,7 @@
+package com.amusement.amusement_park.exception.attraction;
+
+public class AlreadyInVirtualQueueException extends RuntimeException {
+    public AlreadyInVirtualQueueException(String message) {
+        super(message);
+    }
+}
@@ -40,6 +40,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(RecurringMaintenanceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleRecurringMaintenanceNotFoundException(RecurringMaintenanceNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Recurring Maintenance Not Found",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(FavoriteNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleFavoriteNotFoundException(FavoriteNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -73,6 +84,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(VirtualQueueEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleVirtualQueueEntryNotFoundException(VirtualQueueEntryNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Virtual Queue Entry Not Found",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(AlreadyInVirtualQueueException.class)
+    public ResponseEntity<ErrorResponse> handleAlreadyInVirtualQueueException(AlreadyInVirtualQueueException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Already In Virtual Queue",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InvalidAgeRestrictionException.class)
     public ResponseEntity<ErrorResponse> handleInvalidAgeRestrictionException(InvalidAgeRestrictionException ex) {
         ErrorResponse error = new ErrorResponse(
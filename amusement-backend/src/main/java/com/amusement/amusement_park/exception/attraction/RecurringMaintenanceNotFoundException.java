@@ -0,0 +1,7 @@
+package com.amusement.amusement_park.exception.attraction;
+
+public class RecurringMaintenanceNotFoundException extends RuntimeException {
+    public RecurringMaintenanceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.amusement.amusement_park.exception.attraction;
+
+public class VirtualQueueEntryNotFoundException extends RuntimeException {
+    public VirtualQueueEntryNotFoundException(String message) {
+        super(message);
+    }
+}
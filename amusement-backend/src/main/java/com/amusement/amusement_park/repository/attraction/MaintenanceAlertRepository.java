@@ -7,11 +7,13 @@ import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,18 +38,18 @@ public interface MaintenanceAlertRepository extends JpaRepository<MaintenanceAle
     @Query("SELECT ma FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.startTime <= :now AND (ma.endTime IS NULL OR ma.endTime > :now)")
     List<MaintenanceAlert> findCurrentlyActiveAlerts(@Param("now") LocalDateTime now);
 
+    // Load alerts by ID together with their ride
+    @Query("SELECT ma FROM MaintenanceAlert ma JOIN FETCH ma.ride WHERE ma.id IN :ids ORDER BY ma.startTime ASC")
+    List<MaintenanceAlert> findAllWithRideByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Active alerts together with their ride
+    @Query("SELECT ma FROM MaintenanceAlert ma JOIN FETCH ma.ride WHERE ma.isActive = true ORDER BY ma.startTime ASC")
+    List<MaintenanceAlert> findActiveWithRide();
+
     // Find upcoming scheduled maintenance (next 7 days)
     @Query("SELECT ma FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.startTime > :now AND ma.startTime <= :futureDate ORDER BY ma.startTime ASC")
     List<MaintenanceAlert> findUpcomingMaintenance(@Param("now") LocalDateTime now, @Param("futureDate") LocalDateTime futureDate);
 
-    // Find overlapping maintenance for a ride
-    @Query("SELECT ma FROM MaintenanceAlert ma WHERE ma.ride.id = :rideId AND ma.isActive = true AND " +
-           "((ma.startTime <= :endTime AND (ma.endTime IS NULL OR ma.endTime >= :startTime)) OR " +
-           "(ma.endTime IS NULL AND ma.startTime <= :endTime))")
-    List<MaintenanceAlert> findOverlappingMaintenance(@Param("rideId") Long rideId, 
-                                                     @Param("startTime") LocalDateTime startTime, 
-                                                     @Param("endTime") LocalDateTime endTime);
-
     // Find maintenance history for a ride
     @Query("SELECT ma FROM MaintenanceAlert ma WHERE ma.ride.id = :rideId ORDER BY ma.createdAt DESC")
     List<MaintenanceAlert> findMaintenanceHistoryByRideId(@Param("rideId") Long rideId);
@@ -66,6 +68,33 @@ public interface MaintenanceAlertRepository extends JpaRepository<MaintenanceAle
     @Query("SELECT ma FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.endTime IS NOT NULL AND ma.endTime < :now")
     List<MaintenanceAlert> findExpiredAlerts(@Param("now") LocalDateTime now);
 
+    // Ride IDs with an active alert whose end has passed
+    @Query("SELECT DISTINCT ma.ride.id FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.endTime IS NOT NULL AND ma.endTime <= :now")
+    List<Long> findRideIdsWithExpiredAlerts(@Param("now") LocalDateTime now);
+
+    // Ride IDs with an alert in effect at the given time
+    @Query("SELECT DISTINCT ma.ride.id FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.startTime <= :now AND (ma.endTime IS NULL OR ma.endTime > :now)")
+    List<Long> findRideIdsWithAlertsActiveAt(@Param("now") LocalDateTime now);
+
+    // (rideId, startTime) of active alerts starting in the window
+    @Query("SELECT ma.ride.id, ma.startTime FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.startTime > :from AND ma.startTime <= :to")
+    List<Object[]> findStartsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // (rideId, endTime) of active alerts ending in the window
+    @Query("SELECT ma.ride.id, ma.endTime FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.endTime > :from AND ma.endTime <= :to")
+    List<Object[]> findEndsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // IDs of the alerts deactivateExpiredAlerts would switch off
+    @Query("SELECT ma.id FROM MaintenanceAlert ma WHERE ma.ride.id IN :rideIds " +
+           "AND ma.isActive = true AND ma.endTime IS NOT NULL AND ma.endTime <= :now")
+    List<Long> findExpiredActiveAlertIds(@Param("rideIds") Collection<Long> rideIds, @Param("now") LocalDateTime now);
+
+    // Deactivate every alert of the given rides whose end has passed
+    @Modifying
+    @Query("UPDATE MaintenanceAlert ma SET ma.isActive = false, ma.updatedAt = :now WHERE ma.ride.id IN :rideIds " +
+           "AND ma.isActive = true AND ma.endTime IS NOT NULL AND ma.endTime <= :now")
+    int deactivateExpiredAlerts(@Param("rideIds") Collection<Long> rideIds, @Param("now") LocalDateTime now);
+
     // Check for maintenance conflicts before creating new alert
     @Query("SELECT COUNT(ma) > 0 FROM MaintenanceAlert ma WHERE ma.ride.id = :rideId AND ma.isActive = true AND " +
            "ma.alertType = :alertType AND " +
@@ -0,0 +1,26 @@
+package com.amusement.amusement_park.repository.attraction;
+
+
+import com.amusement.amusement_park.entity.attraction.RecurringMaintenanceSchedule;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecurringMaintenanceScheduleRepository extends JpaRepository<RecurringMaintenanceSchedule, Long> {
+
+    // Find all active schedules together with their ride
+    @Query("SELECT s FROM RecurringMaintenanceSchedule s JOIN FETCH s.ride WHERE s.isActive = true")
+    List<RecurringMaintenanceSchedule> findByIsActiveTrue();
+
+    // Find active schedules for a ride
+    List<RecurringMaintenanceSchedule> findByRideIdAndIsActiveTrue(Long rideId);
+
+    // Find all schedules for a ride
+    @Query("SELECT s FROM RecurringMaintenanceSchedule s WHERE s.ride.id = :rideId ORDER BY s.createdAt DESC")
+    List<RecurringMaintenanceSchedule> findByRideIdOrderByCreatedAtDesc(@Param("rideId") Long rideId);
+}
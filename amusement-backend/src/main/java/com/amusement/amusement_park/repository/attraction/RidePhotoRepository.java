@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import com.amusement.amusement_park.entity.attraction.RidePhoto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +18,10 @@ public interface RidePhotoRepository extends JpaRepository<RidePhoto, Long> {
     // Find all photos for a ride
     List<RidePhoto> findByRideIdOrderByUploadedAtDesc(Long rideId);
 
+    // Find all photos for a batch of rides
+    @Query("SELECT rp FROM RidePhoto rp WHERE rp.ride.id IN :rideIds ORDER BY rp.id ASC")
+    List<RidePhoto> findByRideIds(@Param("rideIds") Collection<Long> rideIds);
+
     // Find primary photo for a ride
     Optional<RidePhoto> findByRideIdAndIsPrimaryTrue(Long rideId);
 
@@ -8,10 +8,13 @@ import com.amusement.amusement_park.entity.attraction.Ride;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,18 +34,6 @@ public interface RideRepository extends JpaRepository<Ride, Long> {
     @Query("SELECT r FROM Ride r WHERE r.minAge <= :age AND (r.maxAge IS NULL OR r.maxAge >= :age)")
     List<Ride> findRidesSuitableForAge(@Param("age") Integer age);
 
-    // Search rides with multiple criteria
-    @Query("SELECT r FROM Ride r WHERE " +
-           "(:keyword IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(r.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
-           "(:thrillLevel IS NULL OR r.thrillLevel = :thrillLevel) AND " +
-           "(:minAge IS NULL OR (r.minAge <= :minAge AND (r.maxAge IS NULL OR r.maxAge >= :minAge))) AND " +
-           "(:isOperational IS NULL OR r.isOperational = :isOperational)")
-    Page<Ride> searchRides(@Param("keyword") String keyword,
-                          @Param("thrillLevel") ThrillLevel thrillLevel,
-                          @Param("minAge") Integer minAge,
-                          @Param("isOperational") Boolean isOperational,
-                          Pageable pageable);
-
     // Find rides with height requirements
     @Query("SELECT r FROM Ride r WHERE r.heightRequirementCm IS NOT NULL AND r.heightRequirementCm <= :height")
     List<Ride> findRidesSuitableForHeight(@Param("height") Integer height);
@@ -81,7 +72,24 @@ public interface RideRepository extends JpaRepository<Ride, Long> {
            "(SELECT DISTINCT ma.ride.id FROM MaintenanceAlert ma WHERE ma.isActive = true AND ma.startTime <= CURRENT_TIMESTAMP AND (ma.endTime IS NULL OR ma.endTime > CURRENT_TIMESTAMP))")
     List<Ride> findAvailableRides();
 
-    // Get most popular rides (by favorites count)
-    @Query("SELECT r, COUNT(uf) as favCount FROM Ride r LEFT JOIN r.userFavorites uf GROUP BY r ORDER BY favCount DESC")
-    List<Object[]> findMostPopularRides(Pageable pageable);
-}
\ No newline at end of file
+    // Stored favorites count of every ride: id, count
+    @Query("SELECT r.id, r.favoritesCount FROM Ride r")
+    List<Object[]> findAllFavoritesCounts();
+
+    // Rides whose stored favorites count differs from a recount: id, stored, actual
+    @Query("SELECT r.id, r.favoritesCount, COUNT(uf) FROM Ride r LEFT JOIN r.userFavorites uf " +
+           "GROUP BY r.id, r.favoritesCount HAVING r.favoritesCount <> COUNT(uf)")
+    List<Object[]> findFavoritesCountDrift();
+
+    // Close the given rides that are open, marking them as closed for maintenance
+    @Modifying
+    @Query("UPDATE Ride r SET r.isOperational = false, r.closedForMaintenance = true, r.updatedAt = :now " +
+           "WHERE r.id IN :rideIds AND r.isOperational = true")
+    int closeForMaintenance(@Param("rideIds") Collection<Long> rideIds, @Param("now") LocalDateTime now);
+
+    // Reopen the given rides that maintenance closed; rides closed by an admin are left alone
+    @Modifying
+    @Query("UPDATE Ride r SET r.isOperational = true, r.closedForMaintenance = false, r.updatedAt = :now " +
+           "WHERE r.id IN :rideIds AND r.closedForMaintenance = true")
+    int reopenAfterMaintenance(@Param("rideIds") Collection<Long> rideIds, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,30 @@
+package com.amusement.amusement_park.repository.attraction;
+
+
+import com.amusement.amusement_park.entity.attraction.RideUptimeDay;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RideUptimeDayRepository extends JpaRepository<RideUptimeDay, Long> {
+
+    Optional<RideUptimeDay> findByRideIdAndDay(Long rideId, LocalDate day);
+
+    List<RideUptimeDay> findByDay(LocalDate day);
+
+    // Seconds per state summed over a range of days, in UptimeState order; one row
+    @Query("SELECT COALESCE(SUM(d.upSeconds), 0), COALESCE(SUM(d.outOfServiceSeconds), 0), " +
+           "COALESCE(SUM(d.scheduledMaintenanceSeconds), 0), COALESCE(SUM(d.emergencyClosureSeconds), 0), " +
+           "COALESCE(SUM(d.weatherClosureSeconds), 0), COALESCE(SUM(d.inspectionSeconds), 0) " +
+           "FROM RideUptimeDay d WHERE d.rideId = :rideId AND d.day BETWEEN :from AND :to")
+    List<Object[]> sumSecondsBetween(@Param("rideId") Long rideId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import com.amusement.amusement_park.entity.attraction.UserFavorite;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +30,14 @@ public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long
     // Count favorites for a ride
     Long countByRideId(Long rideId);
 
+    // Ride and time of every favorite added since the given time
+    @Query("SELECT uf.ride.id, uf.addedAt FROM UserFavorite uf WHERE uf.addedAt >= :since")
+    List<Object[]> findRideIdsAddedSince(@Param("since") LocalDateTime since);
+
+    // User and ride of every favorite
+    @Query("SELECT uf.userId, uf.ride.id FROM UserFavorite uf")
+    List<Object[]> findAllUserRidePairs();
+
     // Find users who favorited a specific ride
     @Query("SELECT uf.userId FROM UserFavorite uf WHERE uf.ride.id = :rideId")
     List<Long> findUserIdsByRideId(@Param("rideId") Long rideId);
@@ -0,0 +1,28 @@
+package com.amusement.amusement_park.repository.attraction;
+
+
+import com.amusement.amusement_park.entity.attraction.VirtualQueueEntry;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VirtualQueueEntryRepository extends JpaRepository<VirtualQueueEntry, Long> {
+
+    // Entries still waiting, or called with a return window not yet over, in queue order
+    @Query("SELECT e FROM VirtualQueueEntry e WHERE e.status = com.amusement.amusement_park.Enums.VirtualQueueStatus.WAITING " +
+           "OR (e.status = com.amusement.amusement_park.Enums.VirtualQueueStatus.CALLED AND e.returnWindowEnd > :now) " +
+           "ORDER BY e.rideId, e.position")
+    List<VirtualQueueEntry> findOpenEntries(@Param("now") LocalDateTime now);
+
+    // Highest position handed out per ride, and highest position called
+    @Query("SELECT e.rideId, MAX(e.position), " +
+           "MAX(CASE WHEN e.status = com.amusement.amusement_park.Enums.VirtualQueueStatus.CALLED THEN e.position ELSE 0L END) " +
+           "FROM VirtualQueueEntry e GROUP BY e.rideId")
+    List<Object[]> findPositionsByRide();
+}
@@ -2,6 +2,7 @@ package com.amusement.amusement_park.repository.feedback;
 
 
 import com.amusement.amusement_park.entity.feedback.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -19,6 +20,11 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
     @Query("SELECT AVG(f.rideRating), AVG(f.cleanlinessRating), AVG(f.staffBehaviorRating), AVG(f.foodQualityRating) FROM Feedback f")
     List<Object[]> findAverageRatings();
 
+    // Keyset pages, newest first
+    List<Feedback> findAllByOrderByIdDesc(Limit limit);
+
+    List<Feedback> findByIdLessThanOrderByIdDesc(Integer id, Limit limit);
+
 
 }
 
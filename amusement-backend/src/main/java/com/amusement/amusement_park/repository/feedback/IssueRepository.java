@@ -3,7 +3,9 @@ package com.amusement.amusement_park.repository.feedback;
 
 import com.amusement.amusement_park.Enums.IssueStatus;
 import com.amusement.amusement_park.entity.feedback.Issue;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -11,4 +13,13 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     List<Issue> findByReportedByEmail(String email);
     List<Issue> findByStatus(IssueStatus status);
 
+    // Keyset pages, newest first
+    List<Issue> findAllByOrderByIdDesc(Limit limit);
+
+    List<Issue> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    // [status, count] for every status in use
+    @Query("SELECT i.status, COUNT(i) FROM Issue i GROUP BY i.status")
+    List<Object[]> countByStatus();
+
 }
\ No newline at end of file
@@ -2,9 +2,18 @@ package com.amusement.amusement_park.repository.foodmerchorder;
 
 import com.amusement.amusement_park.entity.foodmerchorder.MerchandiseItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface MerchandiseItemRepository extends JpaRepository<MerchandiseItem, Long> {
     boolean existsByName(String name);
     Optional<MerchandiseItem> findByName(String name);
+
+    // Take units from stock if enough are left; 0 when the item is missing or short
+    @Modifying
+    @Query("UPDATE MerchandiseItem m SET m.stock = m.stock - :quantity " +
+           "WHERE m.id = :id AND (m.stock IS NULL OR m.stock >= :quantity)")
+    int takeStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
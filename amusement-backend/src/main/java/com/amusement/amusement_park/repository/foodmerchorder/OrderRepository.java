@@ -4,7 +4,9 @@ import com.amusement.amusement_park.entity.foodmerchorder.Order;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
@@ -13,6 +15,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByStatusIn(List<String> statuses);
     List<Order> findByStatusIgnoreCase(String status);
 
+    // Keyset pages, newest first
+    List<Order> findAllByOrderByIdDesc(Limit limit);
+
+    List<Order> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+
+    // [status, count] for every status in use
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countByStatus();
+
 
 }
 
@@ -0,0 +1,22 @@
+package com.amusement.amusement_park.repository.sync;
+
+
+import com.amusement.amusement_park.entity.sync.SyncChange;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncChangeRepository extends JpaRepository<SyncChange, Long> {
+
+    // Changes stamped after a version, oldest first
+    List<SyncChange> findByVersionGreaterThanOrderByVersionAsc(Long version, Limit limit);
+
+    // Highest version stamped so far, or 0
+    @Query("SELECT COALESCE(MAX(c.version), 0) FROM SyncChange c")
+    Long findMaxVersion();
+}
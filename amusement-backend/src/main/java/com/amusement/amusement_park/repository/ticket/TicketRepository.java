@@ -1,8 +1,13 @@
 package com.amusement.amusement_park.repository.ticket;
 
 import com.amusement.amusement_park.entity.ticket.Ticket;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -11,4 +16,26 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     Ticket findByInvoiceId(String invoiceId);
     
     List<Ticket> findByUserId(Long userId);
+
+    long countByTicketTypeTicketTypeIdAndValidFrom(Integer ticketTypeId, LocalDate validFrom);
+
+    // Keyset pages, newest first
+    List<Ticket> findAllByOrderByTicketIdDesc(Limit limit);
+
+    List<Ticket> findByTicketIdLessThanOrderByTicketIdDesc(Long ticketId, Limit limit);
+
+    // One row: number of tickets purchased in [from, to) and their total amount
+    @Query("SELECT COUNT(t), COALESCE(SUM(t.totalAmount), 0) FROM Ticket t " +
+           "WHERE t.purchaseDate >= :from AND t.purchaseDate < :to")
+    List<Object[]> sumSalesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Highest number after a prefix among existing ticket codes, 0 if none
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(ticket_code, CHAR_LENGTH(:prefix) + 1) AS UNSIGNED)), 0) " +
+                   "FROM tickets WHERE ticket_code LIKE CONCAT(:prefix, '%')", nativeQuery = true)
+    long findMaxTicketCodeNumber(@Param("prefix") String prefix);
+
+    // Highest number after a prefix among existing invoice IDs, 0 if none
+    @Query(value = "SELECT COALESCE(MAX(CAST(SUBSTRING(invoice_id, CHAR_LENGTH(:prefix) + 1) AS UNSIGNED)), 0) " +
+                   "FROM tickets WHERE invoice_id LIKE CONCAT(:prefix, '%')", nativeQuery = true)
+    long findMaxInvoiceNumber(@Param("prefix") String prefix);
 }
@@ -0,0 +1,18 @@
+package com.amusement.amusement_park.repository.ticket;
+
+import com.amusement.amusement_park.entity.ticket.TicketRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TicketRevocationRepository extends JpaRepository<TicketRevocation, Long> {
+
+    // Revocations of tickets still valid on or after a day, oldest first
+    List<TicketRevocation> findByValidToGreaterThanEqualOrderByIdAsc(LocalDate day);
+
+    // ID of the latest revocation, 0 if none
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM TicketRevocation r")
+    long findMaxId();
+}
@@ -0,0 +1,40 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.checkout.CheckoutHoldService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CheckoutHoldScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutHoldScheduler.class);
+
+    @Autowired
+    private CheckoutHoldService checkoutHoldService;
+
+    // Run every second, so holds are released at most a second late
+    @Scheduled(fixedRate = 1000)
+    public void reapExpired() {
+        try {
+            checkoutHoldService.reapExpired();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release expired checkout holds", e);
+        }
+    }
+
+    // Run every minute, from shortly after startup, for holds left behind by a node that died
+    @Scheduled(initialDelay = 5000, fixedDelay = 60000)
+    public void releaseOrphaned() {
+        try {
+            int released = checkoutHoldService.releaseOrphaned();
+            if (released > 0) {
+                logger.info("Gave back the stock of {} orphaned checkout holds", released);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to release orphaned checkout holds", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.attraction.FavoriteCountAccumulator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FavoriteCountScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(FavoriteCountScheduler.class);
+
+    @Autowired
+    private FavoriteCountAccumulator favoriteCountAccumulator;
+
+    // Run every 5 seconds; failed deltas stay pending for the next run
+    @Scheduled(fixedDelay = 5000)
+    public void flushFavoriteCounts() {
+        try {
+            favoriteCountAccumulator.flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush favorites counts, retrying on the next run", e);
+        }
+    }
+
+    // Run nightly at 03:30
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcileFavoriteCounts() {
+        favoriteCountAccumulator.reconcile();
+    }
+}
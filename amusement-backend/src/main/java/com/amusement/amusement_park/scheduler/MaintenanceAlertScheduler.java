@@ -0,0 +1,162 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.service.attraction.MaintenanceAlertService;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.util.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flips ride availability at the exact start and end of maintenance alerts.
+ *
+ * Alert boundaries falling within the next hour are loaded into a timing wheel
+ * with indexed range queries, and the window is topped up as time passes.
+ * Occurrences of recurring schedules are expanded for the same window from
+ * the {@link MaintenanceIntervalIndex}. Alerts and schedules written in the
+ * meantime are picked up from {@link RideChangedEvent}s. On every one-second
+ * tick the rides whose boundaries have passed are re-checked against the
+ * index and updated in bulk, so stale or duplicate boundaries are harmless.
+ * A ride is only reopened if maintenance closed it, so a ride an admin
+ * closed stays closed across restarts and maintenance windows.
+ *
+ * At startup, expired alerts are closed out and rides are reconciled against
+ * the alerts in effect; since expired alerts are deactivated, both queries
+ * only touch active alert rows.
+ */
+@Component
+public class MaintenanceAlertScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaintenanceAlertScheduler.class);
+
+    private static final Duration HORIZON = Duration.ofHours(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    @Autowired
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Autowired
+    private MaintenanceAlertService maintenanceAlertService;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    // One-second ticks, 64 slots per level, four levels (about 194 days)
+    private final HierarchicalTimingWheel<Boundary> wheel =
+            new HierarchicalTimingWheel<>(1000, 64, 4, System.currentTimeMillis());
+    private final Set<Boundary> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile LocalDateTime loadedUntil;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        LocalDateTime now = LocalDateTime.now();
+        maintenanceAlertService.processExpiredAlerts();
+        Set<Long> rideIds = new LinkedHashSet<>(maintenanceAlertRepository.findRideIdsWithAlertsActiveAt(now));
+        rideIds.addAll(maintenanceIntervalIndex.ridesWithRecurringSchedules());
+        maintenanceAlertService.applyAvailabilityBoundaries(rideIds, now);
+        loadWindow(now, now.plus(HORIZON));
+    }
+
+    // Run every second
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        if (loadedUntil == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Boundary> due = wheel.advance(toMillis(now));
+        if (!due.isEmpty()) {
+            Set<Long> rideIds = new LinkedHashSet<>();
+            for (Boundary boundary : due) {
+                pending.remove(boundary);
+                rideIds.add(boundary.rideId());
+            }
+            try {
+                maintenanceAlertService.applyAvailabilityBoundaries(rideIds, now);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to apply maintenance boundaries for rides {}, retrying", rideIds, e);
+                long retryAt = toMillis(now.plus(RETRY_DELAY));
+                for (Boundary boundary : due) {
+                    schedule(new Boundary(boundary.rideId(), retryAt));
+                }
+            }
+        }
+
+        if (loadedUntil.isBefore(now.plus(HORIZON.dividedBy(2)))) {
+            loadWindow(loadedUntil, now.plus(HORIZON));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        LocalDateTime until = loadedUntil;
+        if (until == null || event.getReason() != RideChangedEvent.Reason.MAINTENANCE_CHANGED) {
+            return;
+        }
+        // Boundaries past the loaded window are picked up by the next refill
+        LocalDateTime now = LocalDateTime.now();
+        for (MaintenanceAlert alert : maintenanceAlertRepository.findByRideIdAndIsActiveTrueOrderByStartTimeAsc(event.getRideId())) {
+            scheduleIfInWindow(event.getRideId(), alert.getStartTime(), now, until);
+            scheduleIfInWindow(event.getRideId(), alert.getEndTime(), now, until);
+        }
+        for (MaintenanceIntervalIndex.Interval occurrence : maintenanceIntervalIndex.occurrencesBetween(event.getRideId(), now, until)) {
+            scheduleIfInWindow(event.getRideId(), occurrence.getStart(), now, until);
+            scheduleIfInWindow(event.getRideId(), occurrence.getEnd(), now, until);
+        }
+    }
+
+    // Number of boundaries waiting in the wheel
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    private void loadWindow(LocalDateTime from, LocalDateTime to) {
+        for (Object[] row : maintenanceAlertRepository.findStartsBetween(from, to)) {
+            schedule(new Boundary((Long) row[0], toMillis((LocalDateTime) row[1])));
+        }
+        for (Object[] row : maintenanceAlertRepository.findEndsBetween(from, to)) {
+            schedule(new Boundary((Long) row[0], toMillis((LocalDateTime) row[1])));
+        }
+        for (MaintenanceIntervalIndex.Interval occurrence : maintenanceIntervalIndex.occurrencesBetween(from, to)) {
+            scheduleIfInWindow(occurrence.getRideId(), occurrence.getStart(), from, to);
+            scheduleIfInWindow(occurrence.getRideId(), occurrence.getEnd(), from, to);
+        }
+        loadedUntil = to;
+    }
+
+    private void scheduleIfInWindow(Long rideId, LocalDateTime time, LocalDateTime now, LocalDateTime until) {
+        if (time != null && time.isAfter(now) && !time.isAfter(until)) {
+            schedule(new Boundary(rideId, toMillis(time)));
+        }
+    }
+
+    private void schedule(Boundary boundary) {
+        if (pending.add(boundary)) {
+            wheel.schedule(boundary.epochMillis(), boundary);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Boundary(Long rideId, long epochMillis) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.user.OpsSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OpsSnapshotScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpsSnapshotScheduler.class);
+
+    @Autowired
+    private OpsSnapshotService opsSnapshotService;
+
+    // Run every minute; the figures keep following local events if a recount fails
+    @Scheduled(fixedDelay = 60000)
+    public void reseedOpsSnapshot() {
+        try {
+            opsSnapshotService.reseed();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to recount the operations snapshot, retrying on the next run", e);
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.amusement.amusement_park.scheduler;
 
 import com.amusement.amusement_park.entity.foodmerchorder.Order;
+import com.amusement.amusement_park.event.foodmerchorder.OrderStatusChangedEvent;
 import com.amusement.amusement_park.repository.foodmerchorder.OrderRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
@@ -16,17 +18,22 @@ public class OrderStatusScheduler {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Run every 5 minutes
     @Scheduled(fixedRate = 5 * 60 * 1000)
     @Transactional
     public void autoUpdateOrderStatus() {
         List<Order> activeOrders = orderRepository.findByStatusIn(List.of("PLACED", "CONFIRMED", "PREPARING", "READY"));
+        List<OrderStatusChangedEvent> changes = new ArrayList<>();
 
         for (Order order : activeOrders) {
             String nextStatus = getNextStatus(order.getStatus());
 
             // Optionally skip if no valid next status
             if (nextStatus != null) {
+                changes.add(new OrderStatusChangedEvent(order.getId(), order.getStatus(), nextStatus));
                 order.setStatus(nextStatus);
                 System.out.println("Order ID " + order.getId() + " updated to " + nextStatus);
             }
@@ -34,6 +41,7 @@ public class OrderStatusScheduler {
 
         // Save all updated orders
         orderRepository.saveAll(activeOrders);
+        changes.forEach(eventPublisher::publishEvent);
     }
 
     private String getNextStatus(String current) {
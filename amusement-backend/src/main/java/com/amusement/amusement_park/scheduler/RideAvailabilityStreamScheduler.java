@@ -0,0 +1,19 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.attraction.RideAvailabilityBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RideAvailabilityStreamScheduler {
+
+    @Autowired
+    private RideAvailabilityBroadcaster rideAvailabilityBroadcaster;
+
+    // Run every 20 seconds, under common proxy idle timeouts
+    @Scheduled(fixedDelay = 20000)
+    public void heartbeat() {
+        rideAvailabilityBroadcaster.heartbeat();
+    }
+}
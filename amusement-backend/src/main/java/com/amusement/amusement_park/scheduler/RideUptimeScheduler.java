@@ -0,0 +1,27 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.attraction.RideUptimeRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RideUptimeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideUptimeScheduler.class);
+
+    @Autowired
+    private RideUptimeRecorder rideUptimeRecorder;
+
+    // Run every minute; a failed write is repeated with the next run's totals
+    @Scheduled(fixedDelay = 60000)
+    public void recordUptime() {
+        try {
+            rideUptimeRecorder.tick();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record ride uptime, retrying on the next run", e);
+        }
+    }
+}
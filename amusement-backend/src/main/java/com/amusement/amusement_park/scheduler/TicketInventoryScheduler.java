@@ -0,0 +1,27 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.ticket.TicketInventory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TicketInventoryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketInventoryScheduler.class);
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    // Run every minute; permits that could not be handed back stay on this node until the next run
+    @Scheduled(fixedDelay = 60000)
+    public void reconcile() {
+        try {
+            ticketInventory.reconcile();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reconcile ticket inventory, retrying on the next run", e);
+        }
+    }
+}
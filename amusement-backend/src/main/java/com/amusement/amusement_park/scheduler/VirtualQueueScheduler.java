@@ -0,0 +1,38 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.attraction.VirtualQueueService;
+import com.amusement.amusement_park.service.attraction.VirtualQueueWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VirtualQueueScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualQueueScheduler.class);
+
+    @Autowired
+    private VirtualQueueService virtualQueueService;
+
+    @Autowired
+    private VirtualQueueWriter virtualQueueWriter;
+
+    // Run every 15 seconds; each queue is called once per ride cycle
+    @Scheduled(fixedDelay = 15000)
+    public void callDueBatches() {
+        virtualQueueService.callDueBatches();
+    }
+
+    // Run every 2 seconds; failed writes stay queued for the next run
+    @Scheduled(fixedDelay = 2000)
+    public void flushVirtualQueueWrites() {
+        try {
+            virtualQueueWriter.flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write {} virtual queue changes, retrying on the next run",
+                    virtualQueueWriter.pendingCount(), e);
+        }
+    }
+}
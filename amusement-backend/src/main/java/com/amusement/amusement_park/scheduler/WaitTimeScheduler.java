@@ -0,0 +1,19 @@
+package com.amusement.amusement_park.scheduler;
+
+import com.amusement.amusement_park.service.attraction.WaitTimeEstimator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WaitTimeScheduler {
+
+    @Autowired
+    private WaitTimeEstimator waitTimeEstimator;
+
+    // Run every 30 seconds, refreshing all rides at once
+    @Scheduled(fixedDelay = WaitTimeEstimator.TICK_MILLIS)
+    public void recomputeWaitTimes() {
+        waitTimeEstimator.recompute();
+    }
+}
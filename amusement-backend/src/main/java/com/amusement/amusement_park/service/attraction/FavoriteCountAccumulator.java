@@ -0,0 +1,199 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.event.attraction.FavoriteCountChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind for the denormalized {@code rides.favorites_count} column.
+ *
+ * Favorite adds and removes land in a per-ride {@link LongAdder}, so concurrent
+ * writers on a popular ride spread over cells instead of contending on one row.
+ * {@link #flush()} applies the accumulated deltas in one JDBC batch and only
+ * then subtracts what it wrote, so increments arriving mid-flush are kept for
+ * the next round.
+ *
+ * Readers get {@link #count(Long)}, a live count per ride kept next to the
+ * pending delta. A delta goes into it when recorded and a flush does not
+ * touch it, so there is no moment when a written delta is counted twice or
+ * not at all, and the ride catalog cache is never rebuilt for a count. After
+ * every flush the stored counts are read back, and what other nodes wrote
+ * since the last read is added to the live counts.
+ *
+ * {@link #reconcile()} recounts from user_favorites and repairs any drift, e.g.
+ * deltas lost when the process stopped without a final flush.
+ */
+@Component
+public class FavoriteCountAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FavoriteCountAccumulator.class);
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE rides SET favorites_count = favorites_count + ? WHERE id = ?";
+    private static final String SET_COUNT_SQL =
+            "UPDATE rides SET favorites_count = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Count> counts = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private static final class Count {
+        // Recorded but not yet written to favorites_count
+        private final LongAdder pending = new LongAdder();
+        // favorites_count as last read, plus every delta recorded here since
+        private final LongAdder live = new LongAdder();
+        // favorites_count as this node last read or wrote it; guarded by the accumulator
+        private long stored;
+    }
+
+    // Record a favorite added or removed, once the surrounding transaction commits
+    public void record(Long rideId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(rideId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(rideId, delta);
+            }
+        });
+    }
+
+    private void apply(Long rideId, long delta) {
+        Count count = countOf(rideId);
+        count.pending.add(delta);
+        count.live.add(delta);
+        eventPublisher.publishEvent(new FavoriteCountChangedEvent(rideId, delta, false));
+    }
+
+    // Change for the ride not yet written to favorites_count
+    public long pendingDelta(Long rideId) {
+        Count count = counts.get(rideId);
+        return count != null ? count.pending.sum() : 0;
+    }
+
+    // Favorites of the ride, including those not yet flushed
+    public long count(Long rideId) {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+        Count count = counts.get(rideId);
+        return count != null ? count.live.sum() : 0;
+    }
+
+    // Write accumulated deltas to favorites_count in one batch
+    public synchronized int flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        counts.forEach((rideId, count) -> {
+            long delta = count.pending.sum();
+            if (delta != 0) {
+                deltas.put(rideId, delta);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            List<Object[]> batch = new ArrayList<>(deltas.size());
+            deltas.forEach((rideId, delta) -> batch.add(new Object[] { delta, rideId }));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, batch));
+
+            // Subtract exactly what was written; anything added since stays pending.
+            // Counts are never removed, so a concurrent record cannot land on a detached one
+            deltas.forEach((rideId, delta) -> {
+                Count count = counts.get(rideId);
+                count.pending.add(-delta);
+                count.stored += delta;
+            });
+        }
+        if (loaded) {
+            reload();
+        }
+        return deltas.size();
+    }
+
+    // Recount every ride from user_favorites and fix stored counts that drifted
+    public synchronized int reconcile() {
+        flush();
+        List<Object[]> batch = new ArrayList<>();
+        Map<Long, Long> corrections = new LinkedHashMap<>();
+        for (Object[] row : rideRepository.findFavoritesCountDrift()) {
+            Long rideId = (Long) row[0];
+            long stored = (Long) row[1];
+            // Favorites committed since the flush are already in the recount
+            long expected = (Long) row[2] - pendingDelta(rideId);
+            if (expected != stored) {
+                batch.add(new Object[] { expected, rideId });
+                corrections.put(rideId, expected - stored);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SET_COUNT_SQL, batch));
+        if (loaded) {
+            reload();
+        }
+        corrections.forEach((rideId, delta) -> eventPublisher.publishEvent(new FavoriteCountChangedEvent(rideId, delta, true)));
+        logger.warn("Repaired favorites_count drift on {} rides", batch.size());
+        return batch.size();
+    }
+
+    // Read the stored counts and add what changed since the last read, i.e. what other
+    // nodes flushed or reconcile repaired; this node's own writes are already in stored
+    private synchronized void reload() {
+        for (Object[] row : rideRepository.findAllFavoritesCounts()) {
+            Count count = countOf((Long) row[0]);
+            long stored = (Long) row[1];
+            count.live.add(stored - count.stored);
+            count.stored = stored;
+        }
+        loaded = true;
+    }
+
+    private Count countOf(Long rideId) {
+        return counts.computeIfAbsent(rideId, id -> new Count());
+    }
+
+    // Don't lose pending deltas on a clean shutdown
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush favorites counts on shutdown; reconciliation will repair them", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.amusement.amusement_park.dto.attraction.FavoriteDto;
 import com.amusement.amusement_park.dto.attraction.RideDto;
 import com.amusement.amusement_park.entity.attraction.Ride;
 import com.amusement.amusement_park.entity.attraction.UserFavorite;
+import com.amusement.amusement_park.event.attraction.FavoriteChangedEvent;
 import com.amusement.amusement_park.exception.attraction.FavoriteAlreadyExistsException;
 import com.amusement.amusement_park.exception.attraction.FavoriteNotFoundException;
 import com.amusement.amusement_park.exception.attraction.RideNotFoundException;
@@ -13,8 +14,11 @@ import com.amusement.amusement_park.repository.attraction.RideRepository;
 import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,10 +34,16 @@ public class FavoriteService {
     @Autowired
     private RideService rideService;
 
+    @Autowired
+    private FavoriteCountAccumulator favoriteCountAccumulator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all favorite rides for a user
     public List<FavoriteDto> getUserFavorites(Long userId) {
         List<UserFavorite> favorites = userFavoriteRepository.findByUserIdOrderByAddedAtDesc(userId);
-        return favorites.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(favorites);
     }
 
     // Add ride to user's favorites
@@ -54,15 +64,18 @@ public class FavoriteService {
         favorite.setNotes(createDto.getNotes());
 
         UserFavorite savedFavorite = userFavoriteRepository.save(favorite);
+        favoriteCountAccumulator.record(ride.getId(), 1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(savedFavorite.getUserId(), ride.getId(), true));
         return convertToDto(savedFavorite);
     }
 
     // Remove specific favorite by ID
     public void removeFavoriteById(Long id) {
-        if (!userFavoriteRepository.existsById(id)) {
-            throw new FavoriteNotFoundException("Favorite not found with id: " + id);
-        }
-        userFavoriteRepository.deleteById(id);
+        UserFavorite favorite = userFavoriteRepository.findById(id)
+                .orElseThrow(() -> new FavoriteNotFoundException("Favorite not found with id: " + id));
+        userFavoriteRepository.delete(favorite);
+        favoriteCountAccumulator.record(favorite.getRide().getId(), -1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(favorite.getUserId(), favorite.getRide().getId(), false));
     }
 
     // Remove ride from user's favorites
@@ -71,6 +84,8 @@ public class FavoriteService {
                 .orElseThrow(() -> new FavoriteNotFoundException("Favorite not found for user " + userId + " and ride " + rideId));
         
         userFavoriteRepository.delete(favorite);
+        favoriteCountAccumulator.record(rideId, -1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(userId, rideId, false));
     }
 
     // Check if ride is in user's favorites
@@ -101,6 +116,16 @@ public class FavoriteService {
         return rideService.getMostPopularRides(limit);
     }
 
+    // Get rides with the most recent favorites
+    public List<RideDto> getTrendingRides(int limit) {
+        return rideService.getTrendingRides(limit);
+    }
+
+    // Get rides recommended from a user's favorites
+    public List<RideDto> getRecommendedRides(Long userId, int limit, Integer age) {
+        return rideService.getRecommendedRides(userId, limit, age);
+    }
+
     // Get favorites count for a user
     public Long getUserFavoritesCount(Long userId) {
         return userFavoriteRepository.countByUserId(userId);
@@ -108,7 +133,7 @@ public class FavoriteService {
 
     // Get favorites count for a ride
     public Long getRideFavoritesCount(Long rideId) {
-        return userFavoriteRepository.countByRideId(rideId);
+        return rideService.getFavoritesCount(rideId);
     }
 
     // Get users who favorited a specific ride
@@ -119,7 +144,7 @@ public class FavoriteService {
     // Get favorites with notes for a user
     public List<FavoriteDto> getUserFavoritesWithNotes(Long userId) {
         List<UserFavorite> favorites = userFavoriteRepository.findByUserIdWithNotes(userId);
-        return favorites.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(favorites);
     }
 
     // Get favorites statistics
@@ -127,18 +152,27 @@ public class FavoriteService {
         return userFavoriteRepository.getFavoritesStatistics();
     }
 
+    // Convert a list of favorites, looking up all their rides in one batch
+    private List<FavoriteDto> convertToDtos(List<UserFavorite> favorites) {
+        // The ride is a lazy proxy; reading its ID does not load it
+        List<Long> rideIds = favorites.stream().map(favorite -> favorite.getRide().getId()).collect(Collectors.toList());
+        Map<Long, RideDto> rides = rideService.getRidesByIds(rideIds);
+
+        List<FavoriteDto> dtos = new ArrayList<>(favorites.size());
+        for (UserFavorite favorite : favorites) {
+            FavoriteDto dto = new FavoriteDto();
+            dto.setId(favorite.getId());
+            dto.setUserId(favorite.getUserId());
+            dto.setNotes(favorite.getNotes());
+            dto.setAddedAt(favorite.getAddedAt());
+            dto.setRide(rides.get(favorite.getRide().getId()));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
     // Convert entity to DTO
     private FavoriteDto convertToDto(UserFavorite favorite) {
-        FavoriteDto dto = new FavoriteDto();
-        dto.setId(favorite.getId());
-        dto.setUserId(favorite.getUserId());
-        dto.setNotes(favorite.getNotes());
-        dto.setAddedAt(favorite.getAddedAt());
-        
-        // Convert ride to DTO
-        RideDto rideDto = rideService.getRideById(favorite.getRide().getId());
-        dto.setRide(rideDto);
-        
-        return dto;
+        return convertToDtos(List.of(favorite)).get(0);
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,13 @@
 package com.amusement.amusement_park.service.attraction;
 
 
+import com.amusement.amusement_park.Enums.SyncEntityType;
 import com.amusement.amusement_park.dto.attraction.MaintenanceAlertCreateDto;
 import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
 import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
 import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
 import com.amusement.amusement_park.exception.attraction.MaintenanceAlertNotFoundException;
 import com.amusement.amusement_park.exception.attraction.MaintenanceConflictException;
 import com.amusement.amusement_park.exception.attraction.RideNotFoundException;
@@ -12,11 +15,17 @@ import com.amusement.amusement_park.repository.attraction.MaintenanceAlertReposi
 import com.amusement.amusement_park.repository.attraction.RideRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,23 +38,32 @@ public class MaintenanceAlertService {
     @Autowired
     private RideRepository rideRepository;
 
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Autowired
+    private RideDtoAssembler rideDtoAssembler;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Get all active maintenance alerts
     public List<MaintenanceAlertDto> getAllActiveAlerts() {
         List<MaintenanceAlert> alerts = maintenanceAlertRepository.findByIsActiveTrue();
-        return alerts.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(alerts);
     }
 
     // Get maintenance alerts for specific ride
     public List<MaintenanceAlertDto> getAlertsByRideId(Long rideId) {
         List<MaintenanceAlert> alerts = maintenanceAlertRepository.findByRideIdOrderByCreatedAtDesc(rideId);
-        return alerts.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(alerts);
     }
 
     // Get specific maintenance alert by ID
     public MaintenanceAlertDto getAlertById(Long id) {
         MaintenanceAlert alert = maintenanceAlertRepository.findById(id)
                 .orElseThrow(() -> new MaintenanceAlertNotFoundException("Maintenance alert not found with id: " + id));
-        return convertToDto(alert);
+        return convertToDto(alert, LocalDateTime.now());
     }
 
     // Create new maintenance alert
@@ -65,7 +83,7 @@ public class MaintenanceAlertService {
         }
 
         // Check for overlapping maintenance
-        List<MaintenanceAlert> overlapping = maintenanceAlertRepository.findOverlappingMaintenance(
+        List<MaintenanceIntervalIndex.Interval> overlapping = maintenanceIntervalIndex.overlapping(
                 createDto.getRideId(), createDto.getStartTime(), createDto.getEndTime());
         
         if (!overlapping.isEmpty()) {
@@ -84,11 +102,13 @@ public class MaintenanceAlertService {
         alert.setIsActive(true);
 
         MaintenanceAlert savedAlert = maintenanceAlertRepository.save(alert);
+        maintenanceIntervalIndex.put(savedAlert);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, savedAlert.getId(), false));
 
         // Update ride operational status if maintenance is currently active
         updateRideOperationalStatus(ride);
 
-        return convertToDto(savedAlert);
+        return convertToDto(savedAlert, LocalDateTime.now());
     }
 
     // Update maintenance alert
@@ -104,13 +124,13 @@ public class MaintenanceAlertService {
 
         // Check for overlapping maintenance (excluding current alert)
         if (updateDto.getStartTime() != null) {
-            List<MaintenanceAlert> overlapping = maintenanceAlertRepository.findOverlappingMaintenance(
+            List<MaintenanceIntervalIndex.Interval> overlapping = maintenanceIntervalIndex.overlapping(
                     alert.getRide().getId(), 
                     updateDto.getStartTime(), 
                     updateDto.getEndTime() != null ? updateDto.getEndTime() : alert.getEndTime());
             
             overlapping = overlapping.stream()
-                    .filter(ma -> !ma.getId().equals(id))
+                    .filter(interval -> !id.equals(interval.getAlertId()))
                     .collect(Collectors.toList());
             
             if (!overlapping.isEmpty()) {
@@ -126,11 +146,13 @@ public class MaintenanceAlertService {
         if (updateDto.getAlertType() != null) alert.setAlertType(updateDto.getAlertType());
 
         MaintenanceAlert savedAlert = maintenanceAlertRepository.save(alert);
+        maintenanceIntervalIndex.put(savedAlert);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, savedAlert.getId(), false));
 
         // Update ride operational status
         updateRideOperationalStatus(alert.getRide());
 
-        return convertToDto(savedAlert);
+        return convertToDto(savedAlert, LocalDateTime.now());
     }
 
     // Delete/Cancel maintenance alert
@@ -140,6 +162,8 @@ public class MaintenanceAlertService {
         
         Ride ride = alert.getRide();
         maintenanceAlertRepository.deleteById(id);
+        maintenanceIntervalIndex.remove(ride.getId(), id);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, id, true));
         
         // Update ride operational status after deletion
         updateRideOperationalStatus(ride);
@@ -152,11 +176,13 @@ public class MaintenanceAlertService {
         
         alert.setIsActive(isActive);
         MaintenanceAlert savedAlert = maintenanceAlertRepository.save(alert);
+        maintenanceIntervalIndex.put(savedAlert);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, savedAlert.getId(), false));
         
         // Update ride operational status
         updateRideOperationalStatus(alert.getRide());
         
-        return convertToDto(savedAlert);
+        return convertToDto(savedAlert, LocalDateTime.now());
     }
 
     // Get upcoming scheduled maintenance (next 7 days)
@@ -165,49 +191,101 @@ public class MaintenanceAlertService {
         LocalDateTime futureDate = now.plusDays(7);
         
         List<MaintenanceAlert> alerts = maintenanceAlertRepository.findUpcomingMaintenance(now, futureDate);
-        return alerts.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<MaintenanceAlertDto> upcoming = new ArrayList<>(convertToDtos(alerts));
+
+        // Recurring occurrences are expanded for the window only
+        List<MaintenanceIntervalIndex.Interval> occurrences = maintenanceIntervalIndex.occurrencesBetween(now, futureDate).stream()
+                .filter(occurrence -> occurrence.getStart().isAfter(now))
+                .collect(Collectors.toList());
+        if (!occurrences.isEmpty()) {
+            Set<Long> rideIds = occurrences.stream().map(MaintenanceIntervalIndex.Interval::getRideId).collect(Collectors.toSet());
+            Map<Long, String> rideNames = rideRepository.findAllById(rideIds).stream()
+                    .collect(Collectors.toMap(Ride::getId, Ride::getName));
+            for (MaintenanceIntervalIndex.Interval occurrence : occurrences) {
+                upcoming.add(rideDtoAssembler.toOccurrenceDto(occurrence, rideNames.get(occurrence.getRideId()), now));
+            }
+            upcoming.sort(Comparator.comparing(MaintenanceAlertDto::getStartTime));
+        }
+        return upcoming;
     }
 
     // Get maintenance history for a ride
     public List<MaintenanceAlertDto> getMaintenanceHistory(Long rideId) {
         List<MaintenanceAlert> alerts = maintenanceAlertRepository.findMaintenanceHistoryByRideId(rideId);
-        return alerts.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(alerts);
     }
 
     // Get currently active alerts
     public List<MaintenanceAlertDto> getCurrentlyActiveAlerts() {
         LocalDateTime now = LocalDateTime.now();
         List<MaintenanceAlert> alerts = maintenanceAlertRepository.findCurrentlyActiveAlerts(now);
-        return alerts.stream().map(this::convertToDto).collect(Collectors.toList());
+        return convertToDtos(alerts);
     }
 
     // Update ride operational status based on maintenance alerts
     private void updateRideOperationalStatus(Ride ride) {
         LocalDateTime now = LocalDateTime.now();
-        List<MaintenanceAlert> activeAlerts = maintenanceAlertRepository.findByRideIdAndIsActiveTrueOrderByStartTimeAsc(ride.getId());
-        
-        boolean hasActiveMaintenance = activeAlerts.stream()
-                .anyMatch(alert -> alert.getStartTime().isBefore(now.plusMinutes(1)) && 
-                                 (alert.getEndTime() == null || alert.getEndTime().isAfter(now)));
-        
-        ride.setIsOperational(!hasActiveMaintenance);
+
+        // Maintenance starting within the next minute already counts
+        boolean hasActiveMaintenance = !maintenanceIntervalIndex.overlapping(ride.getId(), now, now.plusMinutes(1)).isEmpty();
+
+        // Only reopen what maintenance closed, never a ride an admin closed
+        if (hasActiveMaintenance && Boolean.TRUE.equals(ride.getIsOperational())) {
+            ride.setIsOperational(false);
+            ride.setClosedForMaintenance(true);
+        } else if (!hasActiveMaintenance && Boolean.TRUE.equals(ride.getClosedForMaintenance())) {
+            ride.setIsOperational(true);
+            ride.setClosedForMaintenance(false);
+        }
         rideRepository.save(ride);
+        eventPublisher.publishEvent(new RideChangedEvent(ride.getId(), RideChangedEvent.Reason.MAINTENANCE_CHANGED));
     }
 
-    // Process expired alerts (can be called by scheduled task)
+    // Deactivate every expired alert and reopen the rides they closed
     public void processExpiredAlerts() {
         LocalDateTime now = LocalDateTime.now();
-        List<MaintenanceAlert> expiredAlerts = maintenanceAlertRepository.findExpiredAlerts(now);
-        
-        for (MaintenanceAlert alert : expiredAlerts) {
-            alert.setIsActive(false);
-            maintenanceAlertRepository.save(alert);
-            updateRideOperationalStatus(alert.getRide());
+        List<Long> rideIds = maintenanceAlertRepository.findRideIdsWithExpiredAlerts(now);
+        applyAvailabilityBoundaries(rideIds, now);
+    }
+
+    // Bring the given rides in line with the alerts in effect at the given time
+    public void applyAvailabilityBoundaries(Collection<Long> rideIds, LocalDateTime now) {
+        if (rideIds.isEmpty()) {
+            return;
+        }
+        List<Long> expiredAlertIds = maintenanceAlertRepository.findExpiredActiveAlertIds(rideIds, now);
+        maintenanceAlertRepository.deactivateExpiredAlerts(rideIds, now);
+        maintenanceIntervalIndex.removeExpired(rideIds, now);
+
+        // The index covers both alerts and recurring occurrences
+        List<Long> closing = new ArrayList<>();
+        List<Long> reopening = new ArrayList<>();
+        for (Long rideId : rideIds) {
+            (maintenanceIntervalIndex.isUnderMaintenance(rideId, now) ? closing : reopening).add(rideId);
+        }
+        if (!closing.isEmpty()) {
+            rideRepository.closeForMaintenance(closing, now);
+        }
+        if (!reopening.isEmpty()) {
+            rideRepository.reopenAfterMaintenance(reopening, now);
         }
+
+        if (!expiredAlertIds.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, expiredAlertIds, false));
+        }
+        for (Long rideId : rideIds) {
+            eventPublisher.publishEvent(new RideChangedEvent(rideId, RideChangedEvent.Reason.MAINTENANCE_CHANGED));
+        }
+    }
+
+    // Convert a list of alerts against a single clock reading
+    private List<MaintenanceAlertDto> convertToDtos(List<MaintenanceAlert> alerts) {
+        LocalDateTime now = LocalDateTime.now();
+        return alerts.stream().map(alert -> convertToDto(alert, now)).collect(Collectors.toList());
     }
 
     // Convert entity to DTO
-    private MaintenanceAlertDto convertToDto(MaintenanceAlert alert) {
+    private MaintenanceAlertDto convertToDto(MaintenanceAlert alert, LocalDateTime now) {
         MaintenanceAlertDto dto = new MaintenanceAlertDto();
         dto.setId(alert.getId());
         dto.setRideId(alert.getRide().getId());
@@ -218,7 +296,7 @@ public class MaintenanceAlertService {
         dto.setStartTime(alert.getStartTime());
         dto.setEndTime(alert.getEndTime());
         dto.setIsActive(alert.getIsActive());
-        dto.setIsCurrentlyActive(alert.isCurrentlyActive());
+        dto.setIsCurrentlyActive(alert.isActiveAt(now));
         dto.setPriority(alert.getPriority());
         dto.setCreatedBy(alert.getCreatedBy());
         dto.setCreatedAt(alert.getCreatedAt());
@@ -0,0 +1,424 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertCreateDto;
+import com.amusement.amusement_park.dto.attraction.MaintenanceImportResultDto;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.util.IntervalTree;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a whole maintenance calendar in one transaction.
+ *
+ * Every row is validated in memory: bean constraints, the same time rules as
+ * a single create, overlaps with existing alerts through the
+ * {@link MaintenanceIntervalIndex}, and overlaps with earlier rows of the same
+ * batch. Rides are loaded with one query. Accepted rows are written with
+ * batched JDBC inserts; rejected rows are reported and do not stop the others.
+ */
+@Service
+@Transactional
+public class MaintenanceImportService {
+
+    static final int MAX_ROWS = 5000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO maintenance_alerts "
+            + "(ride_id, alert_type, title, description, start_time, end_time, is_active, priority, created_by, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final DateTimeFormatter CSV_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("rideId", "alertType", "title", "startTime", "priority");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Autowired
+    private MaintenanceAlertService maintenanceAlertService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Import a list of alerts
+    public MaintenanceImportResultDto importAlerts(List<MaintenanceAlertCreateDto> alerts) {
+        return importRows(alerts, new HashMap<>());
+    }
+
+    // Import alerts from CSV with a header line naming the MaintenanceAlertCreateDto fields
+    public MaintenanceImportResultDto importCsv(String csv) {
+        List<List<String>> records = parseCsv(csv);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("CSV must start with a header line");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        List<MaintenanceAlertCreateDto> rows = new ArrayList<>();
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (int i = 1; i < records.size(); i++) {
+            try {
+                rows.add(toCreateDto(records.get(i), columns));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                rows.add(null);
+                parseErrors.put(i, e.getMessage());
+            }
+        }
+        return importRows(rows, parseErrors);
+    }
+
+    private MaintenanceImportResultDto importRows(List<MaintenanceAlertCreateDto> rows, Map<Integer, String> parseErrors) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("No maintenance alerts to import");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("A bulk import is limited to " + MAX_ROWS + " alerts");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> rideIds = rows.stream()
+                .filter(Objects::nonNull)
+                .map(MaintenanceAlertCreateDto::getRideId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Ride> rides = rideRepository.findAllById(rideIds).stream()
+                .collect(Collectors.toMap(Ride::getId, Function.identity()));
+
+        MaintenanceImportResultDto result = new MaintenanceImportResultDto();
+        Map<Long, IntervalTree<Integer>> acceptedByRide = new HashMap<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            MaintenanceAlertCreateDto row = rows.get(i);
+            String error = parseErrors.containsKey(rowNumber)
+                    ? parseErrors.get(rowNumber)
+                    : validate(row, rides, now);
+            if (error == null) {
+                error = findConflict(row, acceptedByRide);
+            }
+            if (error != null) {
+                result.addRejected(rowNumber, error);
+                continue;
+            }
+            acceptedByRide.computeIfAbsent(row.getRideId(), id -> new IntervalTree<>())
+                    .put(rowNumber, toMillis(row.getStartTime()), endMillis(row), rowNumber);
+            acceptedRows.add(rowNumber);
+        }
+
+        List<MaintenanceAlertCreateDto> accepted = acceptedRows.stream()
+                .map(rowNumber -> rows.get(rowNumber - 1))
+                .collect(Collectors.toList());
+        List<Long> alertIds = insert(accepted, now);
+
+        Set<Long> startedRides = new LinkedHashSet<>();
+        Set<Long> affectedRides = new LinkedHashSet<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            MaintenanceAlert alert = toEntity(accepted.get(i), rides.get(accepted.get(i).getRideId()), alertIds.get(i), now);
+            maintenanceIntervalIndex.put(alert);
+            result.addCreated(acceptedRows.get(i), alert.getId());
+
+            affectedRides.add(alert.getRide().getId());
+            if (alert.isActiveAt(now)) {
+                startedRides.add(alert.getRide().getId());
+            }
+        }
+
+        if (!alertIds.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MAINTENANCE_ALERT, alertIds, false));
+        }
+
+        // Rides closing right away are updated now; later starts are left to the scheduler
+        maintenanceAlertService.applyAvailabilityBoundaries(startedRides, now);
+        for (Long rideId : affectedRides) {
+            if (!startedRides.contains(rideId)) {
+                eventPublisher.publishEvent(new RideChangedEvent(rideId, RideChangedEvent.Reason.MAINTENANCE_CHANGED));
+            }
+        }
+
+        result.getRows().sort(Comparator.comparingInt(MaintenanceImportResultDto.RowResult::getRow));
+        return result;
+    }
+
+    // Same rules as a single create; null when the row is valid
+    private String validate(MaintenanceAlertCreateDto row, Map<Long, Ride> rides, LocalDateTime now) {
+        if (row == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<MaintenanceAlertCreateDto>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (!rides.containsKey(row.getRideId())) {
+            return "Ride not found with id: " + row.getRideId();
+        }
+        if (row.getStartTime().isBefore(now.minusMinutes(5))) {
+            return "Start time cannot be in the past";
+        }
+        if (row.getEndTime() != null && row.getEndTime().isBefore(row.getStartTime())) {
+            return "End time must be after start time";
+        }
+        return null;
+    }
+
+    // Overlaps with stored alerts or with rows accepted earlier in this batch
+    private String findConflict(MaintenanceAlertCreateDto row, Map<Long, IntervalTree<Integer>> acceptedByRide) {
+        List<MaintenanceIntervalIndex.Interval> existing = maintenanceIntervalIndex.overlapping(
+                row.getRideId(), row.getStartTime(), row.getEndTime());
+        if (!existing.isEmpty()) {
+            MaintenanceIntervalIndex.Interval first = existing.get(0);
+            return first.isRecurring()
+                    ? "Overlaps recurring maintenance schedule " + first.getScheduleId()
+                    : "Overlaps existing maintenance alert " + first.getAlertId();
+        }
+        IntervalTree<Integer> accepted = acceptedByRide.get(row.getRideId());
+        if (accepted != null) {
+            List<Integer> earlier = accepted.overlapping(toMillis(row.getStartTime()), endMillis(row));
+            if (!earlier.isEmpty()) {
+                return "Overlaps row " + earlier.get(0) + " of this import";
+            }
+        }
+        return null;
+    }
+
+    // Batched inserts, returning the generated IDs in row order
+    private List<Long> insert(List<MaintenanceAlertCreateDto> rows, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            List<MaintenanceAlertCreateDto> chunk = rows.subList(from, Math.min(from + BATCH_SIZE, rows.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            MaintenanceAlertCreateDto row = chunk.get(i);
+                            ps.setLong(1, row.getRideId());
+                            ps.setString(2, row.getAlertType().name());
+                            ps.setString(3, row.getTitle());
+                            ps.setString(4, row.getDescription());
+                            ps.setTimestamp(5, Timestamp.valueOf(row.getStartTime()));
+                            if (row.getEndTime() != null) {
+                                ps.setTimestamp(6, Timestamp.valueOf(row.getEndTime()));
+                            } else {
+                                ps.setNull(6, Types.TIMESTAMP);
+                            }
+                            ps.setBoolean(7, true);
+                            ps.setString(8, row.getPriority().name());
+                            ps.setString(9, row.getCreatedBy());
+                            ps.setTimestamp(10, timestamp);
+                            ps.setTimestamp(11, timestamp);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            for (Map<String, Object> key : keyHolder.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private MaintenanceAlert toEntity(MaintenanceAlertCreateDto row, Ride ride, Long id, LocalDateTime now) {
+        MaintenanceAlert alert = new MaintenanceAlert();
+        alert.setId(id);
+        alert.setRide(ride);
+        alert.setAlertType(row.getAlertType());
+        alert.setTitle(row.getTitle());
+        alert.setDescription(row.getDescription());
+        alert.setStartTime(row.getStartTime());
+        alert.setEndTime(row.getEndTime());
+        alert.setPriority(row.getPriority());
+        alert.setCreatedBy(row.getCreatedBy());
+        alert.setIsActive(true);
+        alert.setCreatedAt(now);
+        alert.setUpdatedAt(now);
+        return alert;
+    }
+
+    private MaintenanceAlertCreateDto toCreateDto(List<String> record, Map<String, Integer> columns) {
+        MaintenanceAlertCreateDto dto = new MaintenanceAlertCreateDto();
+        String rideId = field(record, columns, "rideId");
+        if (rideId != null) {
+            try {
+                dto.setRideId(Long.valueOf(rideId));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid rideId: " + rideId);
+            }
+        }
+        String alertType = field(record, columns, "alertType");
+        if (alertType != null) {
+            dto.setAlertType(parseEnum(AlertType.class, "alertType", alertType));
+        }
+        dto.setTitle(field(record, columns, "title"));
+        dto.setDescription(field(record, columns, "description"));
+        dto.setStartTime(parseTime(field(record, columns, "startTime")));
+        dto.setEndTime(parseTime(field(record, columns, "endTime")));
+        String priority = field(record, columns, "priority");
+        if (priority != null) {
+            dto.setPriority(parseEnum(Priority.class, "priority", priority));
+        }
+        dto.setCreatedBy(field(record, columns, "createdBy"));
+        return dto;
+    }
+
+    // Trimmed value of a column, null when absent or blank
+    private String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // Accepts the API's "yyyy-MM-dd HH:mm:ss" as well as ISO-8601
+    private LocalDateTime parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value, CSV_TIME_FORMAT);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException iso) {
+                throw new IllegalArgumentException("Invalid date-time: " + value);
+            }
+        }
+    }
+
+    // RFC 4180 records: quoted fields may contain commas, quotes ("") and line breaks
+    static List<List<String>> parseCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        if (csv == null) {
+            return records;
+        }
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blankLine = true;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                blankLine = false;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+                blankLine = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                if (!blankLine) {
+                    record.add(field.toString());
+                    records.add(record);
+                }
+                record = new ArrayList<>();
+                field.setLength(0);
+                blankLine = true;
+            } else {
+                field.append(c);
+                if (!Character.isWhitespace(c)) {
+                    blankLine = false;
+                }
+            }
+        }
+        if (!blankLine) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long endMillis(MaintenanceAlertCreateDto row) {
+        return row.getEndTime() != null ? toMillis(row.getEndTime()) : IntervalTree.OPEN_END;
+    }
+}
@@ -0,0 +1,438 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.RecurringMaintenanceSchedule;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.util.IntervalTree;
+import com.amusement.amusement_park.util.RecurrenceRule;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-ride view of maintenance: interval trees of active alerts plus the
+ * active recurring schedules of each ride.
+ *
+ * Answers "under maintenance at T", "overlaps [a, b]" and "next change after T"
+ * without going to the database. Recurring schedules are expanded only for the
+ * window being asked about, and their occurrences are returned alongside real
+ * alerts. Loaded once from the active rows, then updated by the maintenance
+ * services as they write, inside the same transaction; if that transaction
+ * rolls back the affected ride is reloaded.
+ */
+@Component
+public class MaintenanceIntervalIndex {
+
+    @Autowired
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Autowired
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    private final Map<Long, IntervalTree<Interval>> treesByRide = new ConcurrentHashMap<>();
+    private final Map<Long, List<RecurringEntry>> recurringByRide = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    // Whether an alert or recurring occurrence is in effect for the ride at the given time
+    public boolean isUnderMaintenance(Long rideId, LocalDateTime time) {
+        IntervalTree<Interval> tree = tree(rideId);
+        if (tree != null) {
+            synchronized (tree) {
+                if (tree.anyActiveAt(toMillis(time))) {
+                    return true;
+                }
+            }
+        }
+        for (RecurringEntry entry : recurring(rideId)) {
+            if (entry.rule.isActiveAt(time)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Alerts and recurring occurrences in effect for the ride at the given time
+    public List<Interval> activeAt(Long rideId, LocalDateTime time) {
+        List<Interval> result = new ArrayList<>();
+        IntervalTree<Interval> tree = tree(rideId);
+        if (tree != null) {
+            synchronized (tree) {
+                result.addAll(tree.activeAt(toMillis(time)));
+            }
+        }
+        for (RecurringEntry entry : recurring(rideId)) {
+            for (LocalDateTime start : entry.rule.startsOverlapping(time, time)) {
+                Interval occurrence = entry.occurrence(start);
+                if (occurrence.getEnd().isAfter(time)) {
+                    result.add(occurrence);
+                }
+            }
+        }
+        return result;
+    }
+
+    // Alerts and occurrences of the ride sharing any instant with [from, to];
+    // a null end is open, which for recurring schedules means the search horizon
+    public List<Interval> overlapping(Long rideId, LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        IntervalTree<Interval> tree = tree(rideId);
+        if (tree != null) {
+            synchronized (tree) {
+                result.addAll(tree.overlapping(toMillis(from), to != null ? toMillis(to) : IntervalTree.OPEN_END));
+            }
+        }
+        LocalDateTime until = to != null ? to : from.plusDays(RecurrenceRule.SEARCH_HORIZON_DAYS);
+        for (RecurringEntry entry : recurring(rideId)) {
+            for (LocalDateTime start : entry.rule.startsOverlapping(from, until)) {
+                result.add(entry.occurrence(start));
+            }
+        }
+        return result;
+    }
+
+    // Ids of the one-off alerts in effect for the given rides at the given time
+    public List<Long> activeAlertIds(Collection<Long> rideIds, LocalDateTime time) {
+        List<Long> alertIds = new ArrayList<>();
+        long t = toMillis(time);
+        for (Long rideId : rideIds) {
+            IntervalTree<Interval> tree = tree(rideId);
+            if (tree == null) {
+                continue;
+            }
+            synchronized (tree) {
+                for (Interval interval : tree.activeAt(t)) {
+                    alertIds.add(interval.getAlertId());
+                }
+            }
+        }
+        return alertIds;
+    }
+
+    // Recurring occurrences of the ride overlapping [from, to]
+    public List<Interval> occurrencesBetween(Long rideId, LocalDateTime from, LocalDateTime to) {
+        List<Interval> result = new ArrayList<>();
+        for (RecurringEntry entry : recurring(rideId)) {
+            for (LocalDateTime start : entry.rule.startsOverlapping(from, to)) {
+                result.add(entry.occurrence(start));
+            }
+        }
+        return result;
+    }
+
+    // Recurring occurrences of every ride overlapping [from, to], by start time
+    public List<Interval> occurrencesBetween(LocalDateTime from, LocalDateTime to) {
+        ensureLoaded();
+        List<Interval> result = new ArrayList<>();
+        for (Long rideId : recurringByRide.keySet()) {
+            result.addAll(occurrencesBetween(rideId, from, to));
+        }
+        result.sort(Comparator.comparing(Interval::getStart));
+        return result;
+    }
+
+    // Rides with at least one active recurring schedule
+    public Set<Long> ridesWithRecurringSchedules() {
+        ensureLoaded();
+        return Set.copyOf(recurringByRide.keySet());
+    }
+
+    // Earliest alert or occurrence start or end after the given time across all rides, or null
+    public LocalDateTime nextChangeAfter(LocalDateTime time) {
+        ensureLoaded();
+        long t = toMillis(time);
+        long next = IntervalTree.OPEN_END;
+        for (IntervalTree<Interval> tree : treesByRide.values()) {
+            synchronized (tree) {
+                next = Math.min(next, tree.nextBoundaryAfter(t));
+            }
+        }
+        for (List<RecurringEntry> entries : recurringByRide.values()) {
+            for (RecurringEntry entry : entries) {
+                LocalDateTime boundary = entry.rule.nextBoundaryAfter(time);
+                if (boundary != null) {
+                    next = Math.min(next, toMillis(boundary));
+                }
+            }
+        }
+        return next == IntervalTree.OPEN_END ? null : fromMillis(next);
+    }
+
+    // Record a saved alert; inactive alerts are dropped
+    public void put(MaintenanceAlert alert) {
+        ensureLoaded();
+        Long rideId = alert.getRide().getId();
+        reloadOnRollback(rideId);
+        if (!Boolean.TRUE.equals(alert.getIsActive())) {
+            remove(rideId, alert.getId());
+            return;
+        }
+        IntervalTree<Interval> tree = treesByRide.computeIfAbsent(rideId, id -> new IntervalTree<>());
+        synchronized (tree) {
+            insert(tree, alert);
+        }
+    }
+
+    // Forget a deleted alert
+    public void remove(Long rideId, Long alertId) {
+        ensureLoaded();
+        reloadOnRollback(rideId);
+        IntervalTree<Interval> tree = treesByRide.get(rideId);
+        if (tree != null) {
+            synchronized (tree) {
+                tree.remove(alertId);
+            }
+        }
+    }
+
+    // Record a saved recurring schedule; inactive schedules are dropped
+    public void putSchedule(RecurringMaintenanceSchedule schedule) {
+        ensureLoaded();
+        Long rideId = schedule.getRide().getId();
+        reloadOnRollback(rideId);
+        recurringByRide.compute(rideId, (id, entries) -> {
+            List<RecurringEntry> updated = new ArrayList<>();
+            if (entries != null) {
+                entries.stream().filter(entry -> !entry.scheduleId.equals(schedule.getId())).forEach(updated::add);
+            }
+            if (Boolean.TRUE.equals(schedule.getIsActive())) {
+                updated.add(new RecurringEntry(schedule));
+            }
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    // Forget a deleted recurring schedule
+    public void removeSchedule(Long rideId, Long scheduleId) {
+        ensureLoaded();
+        reloadOnRollback(rideId);
+        recurringByRide.computeIfPresent(rideId, (id, entries) -> {
+            List<RecurringEntry> updated = entries.stream()
+                    .filter(entry -> !entry.scheduleId.equals(scheduleId))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    // Drop alerts of the given rides that ended at or before the given time
+    public void removeExpired(Collection<Long> rideIds, LocalDateTime now) {
+        ensureLoaded();
+        long t = toMillis(now);
+        for (Long rideId : rideIds) {
+            reloadOnRollback(rideId);
+            IntervalTree<Interval> tree = treesByRide.get(rideId);
+            if (tree == null) {
+                continue;
+            }
+            synchronized (tree) {
+                for (Interval interval : tree.overlapping(Long.MIN_VALUE, t)) {
+                    if (interval.getEnd() != null && toMillis(interval.getEnd()) <= t) {
+                        tree.remove(interval.getAlertId());
+                    }
+                }
+            }
+        }
+    }
+
+    // Replace a ride's alerts and schedules with what the database holds
+    public void reloadRide(Long rideId) {
+        IntervalTree<Interval> fresh = new IntervalTree<>();
+        for (MaintenanceAlert alert : maintenanceAlertRepository.findByRideIdAndIsActiveTrueOrderByStartTimeAsc(rideId)) {
+            insert(fresh, alert);
+        }
+        treesByRide.put(rideId, fresh);
+
+        List<RecurringEntry> entries = recurringScheduleRepository.findByRideIdAndIsActiveTrue(rideId).stream()
+                .map(RecurringEntry::new)
+                .toList();
+        if (entries.isEmpty()) {
+            recurringByRide.remove(rideId);
+        } else {
+            recurringByRide.put(rideId, entries);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        if (event.getReason() == RideChangedEvent.Reason.DELETED) {
+            treesByRide.remove(event.getRideId());
+            recurringByRide.remove(event.getRideId());
+        }
+    }
+
+    private IntervalTree<Interval> tree(Long rideId) {
+        ensureLoaded();
+        return treesByRide.get(rideId);
+    }
+
+    private List<RecurringEntry> recurring(Long rideId) {
+        ensureLoaded();
+        return recurringByRide.getOrDefault(rideId, List.of());
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (MaintenanceAlert alert : maintenanceAlertRepository.findByIsActiveTrue()) {
+                insert(treesByRide.computeIfAbsent(alert.getRide().getId(), id -> new IntervalTree<>()), alert);
+            }
+            Map<Long, List<RecurringEntry>> recurring = new ConcurrentHashMap<>();
+            for (RecurringMaintenanceSchedule schedule : recurringScheduleRepository.findByIsActiveTrue()) {
+                recurring.computeIfAbsent(schedule.getRide().getId(), id -> new ArrayList<>()).add(new RecurringEntry(schedule));
+            }
+            recurring.forEach((rideId, entries) -> recurringByRide.put(rideId, List.copyOf(entries)));
+            loaded = true;
+        }
+    }
+
+    private void insert(IntervalTree<Interval> tree, MaintenanceAlert alert) {
+        long start = toMillis(alert.getStartTime());
+        long end = alert.getEndTime() != null ? Math.max(start, toMillis(alert.getEndTime())) : IntervalTree.OPEN_END;
+        tree.put(alert.getId(), start, end, new Interval(alert.getRide().getId(), alert.getId(), null,
+                alert.getAlertType(), alert.getTitle(), alert.getDescription(), alert.getPriority(),
+                alert.getStartTime(), alert.getEndTime()));
+    }
+
+    private void reloadOnRollback(Long rideId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    reloadRide(rideId);
+                }
+            }
+        });
+    }
+
+    // LocalDateTime read as UTC so the mapping is monotonic
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    // Immutable copy of an active recurring schedule
+    private static final class RecurringEntry {
+        private final Long scheduleId;
+        private final Long rideId;
+        private final RecurrenceRule rule;
+        private final AlertType alertType;
+        private final String title;
+        private final String description;
+        private final Priority priority;
+
+        private RecurringEntry(RecurringMaintenanceSchedule schedule) {
+            this.scheduleId = schedule.getId();
+            this.rideId = schedule.getRide().getId();
+            this.rule = schedule.toRule();
+            this.alertType = schedule.getAlertType();
+            this.title = schedule.getTitle();
+            this.description = schedule.getDescription();
+            this.priority = schedule.getPriority();
+        }
+
+        private Interval occurrence(LocalDateTime start) {
+            return new Interval(rideId, null, scheduleId, alertType, title, description, priority,
+                    start, start.plus(rule.getDuration()));
+        }
+    }
+
+    /**
+     * One active alert, or one occurrence of a recurring schedule.
+     */
+    public static class Interval {
+        private final Long rideId;
+        private final Long alertId;
+        private final Long scheduleId;
+        private final AlertType alertType;
+        private final String title;
+        private final String description;
+        private final Priority priority;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Interval(Long rideId, Long alertId, Long scheduleId, AlertType alertType, String title,
+                 String description, Priority priority, LocalDateTime start, LocalDateTime end) {
+            this.rideId = rideId;
+            this.alertId = alertId;
+            this.scheduleId = scheduleId;
+            this.alertType = alertType;
+            this.title = title;
+            this.description = description;
+            this.priority = priority;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Long getRideId() {
+            return rideId;
+        }
+
+        // Null for recurring occurrences
+        public Long getAlertId() {
+            return alertId;
+        }
+
+        // Null for one-off alerts
+        public Long getScheduleId() {
+            return scheduleId;
+        }
+
+        public boolean isRecurring() {
+            return scheduleId != null;
+        }
+
+        public AlertType getAlertType() {
+            return alertType;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        // Null when the alert has no scheduled end
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+}
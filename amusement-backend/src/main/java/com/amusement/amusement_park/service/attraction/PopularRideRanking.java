@@ -0,0 +1,142 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.event.attraction.FavoriteCountChangedEvent;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.util.TopKIndex;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Always-current rankings of rides by favorites.
+ *
+ * "Popular" ranks by total favorites count; "trending" ranks by favorites
+ * added recently, each one's weight halving every {@link #HALF_LIFE}. Both are
+ * seeded once from the database and then adjusted by every committed
+ * {@link FavoriteCountChangedEvent}, so reading the top k costs O(k).
+ *
+ * Trending uses forward decay: a favorite added at t scores 2^((t - L) / HALF_LIFE)
+ * against a fixed landmark L. Older favorites then weigh relatively less without
+ * any score ever being recomputed, and the order stays valid as time passes.
+ * When the weights grow large, every score is rescaled to a newer landmark.
+ */
+@Component
+public class PopularRideRanking {
+
+    static final Duration HALF_LIFE = Duration.ofHours(24);
+
+    // Favorites older than this contribute under 1% and are not loaded at startup
+    private static final Duration TRENDING_SEED_WINDOW = HALF_LIFE.multipliedBy(7);
+
+    // Rescale well before 2^exponent approaches the double range
+    private static final double MAX_EXPONENT = 512;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private UserFavoriteRepository userFavoriteRepository;
+
+    @Autowired
+    private FavoriteCountAccumulator favoriteCountAccumulator;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final TopKIndex<Long> popular = new TopKIndex<>();
+    private final TopKIndex<Long> trending = new TopKIndex<>();
+    private long landmarkMillis;
+    private boolean loaded;
+
+    // IDs of the most favorited rides, best first
+    public synchronized List<Long> topPopular(int k) {
+        ensureLoaded();
+        return popular.top(k);
+    }
+
+    // IDs of the rides with the most recent favorites, best first
+    public synchronized List<Long> topTrending(int k) {
+        ensureLoaded();
+        return trending.top(k);
+    }
+
+    // Decayed trending score: recent favorites count about 1 each, older ones less
+    public synchronized double trendingScore(Long rideId) {
+        ensureLoaded();
+        return trending.score(rideId) / Math.pow(2, exponent(clock.millis()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ensureLoaded();
+    }
+
+    @EventListener
+    public synchronized void onFavoriteCountChanged(FavoriteCountChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        popular.adjust(event.getRideId(), event.getDelta());
+        if (!event.isCorrection()) {
+            // A removal takes back the weight of an add made now; never below zero
+            double score = trending.adjust(event.getRideId(), event.getDelta() * weight(clock.millis()));
+            if (score <= 0) {
+                trending.remove(event.getRideId());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRideChanged(RideChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        if (event.getReason() == RideChangedEvent.Reason.CREATED) {
+            popular.adjust(event.getRideId(), 0);
+        } else if (event.getReason() == RideChangedEvent.Reason.DELETED) {
+            popular.remove(event.getRideId());
+            trending.remove(event.getRideId());
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long now = clock.millis();
+        landmarkMillis = now;
+        for (Object[] row : rideRepository.findAllFavoritesCounts()) {
+            Long rideId = (Long) row[0];
+            popular.set(rideId, (Long) row[1] + favoriteCountAccumulator.pendingDelta(rideId));
+        }
+        LocalDateTime since = LocalDateTime.now(clock).minus(TRENDING_SEED_WINDOW);
+        for (Object[] row : userFavoriteRepository.findRideIdsAddedSince(since)) {
+            long addedAt = ((LocalDateTime) row[1]).atZone(clock.getZone()).toInstant().toEpochMilli();
+            trending.adjust((Long) row[0], weight(addedAt));
+        }
+        loaded = true;
+    }
+
+    // Forward-decay weight of a favorite added at the given time
+    private double weight(long millis) {
+        if (exponent(millis) > MAX_EXPONENT) {
+            double factor = Math.pow(2, -exponent(millis));
+            trending.transformAll(score -> score * factor);
+            landmarkMillis = millis;
+        }
+        return Math.pow(2, exponent(millis));
+    }
+
+    private double exponent(long millis) {
+        return (double) (millis - landmarkMillis) / HALF_LIFE.toMillis();
+    }
+}
@@ -0,0 +1,215 @@
+package com.amusement.amusement_park.service.attraction;
+
+
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RecurringMaintenanceCreateDto;
+import com.amusement.amusement_park.dto.attraction.RecurringMaintenanceDto;
+import com.amusement.amusement_park.entity.attraction.RecurringMaintenanceSchedule;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.exception.attraction.MaintenanceConflictException;
+import com.amusement.amusement_park.exception.attraction.RecurringMaintenanceNotFoundException;
+import com.amusement.amusement_park.exception.attraction.RideNotFoundException;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.util.RecurrenceRule;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring maintenance windows, stored as one rule per schedule.
+ *
+ * Occurrences are never written as alert rows; they are expanded on demand by
+ * {@link MaintenanceIntervalIndex} and show up wherever alerts in effect or
+ * upcoming maintenance are listed.
+ */
+@Service
+@Transactional
+public class RecurringMaintenanceService {
+
+    // Widest window a single occurrences request may cover
+    private static final int MAX_OCCURRENCE_WINDOW_DAYS = 366;
+
+    @Autowired
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Autowired
+    private MaintenanceAlertService maintenanceAlertService;
+
+    @Autowired
+    private RideDtoAssembler rideDtoAssembler;
+
+    // Get all active recurring schedules
+    public List<RecurringMaintenanceDto> getActiveSchedules() {
+        LocalDateTime now = LocalDateTime.now();
+        return recurringScheduleRepository.findByIsActiveTrue().stream()
+                .map(schedule -> convertToDto(schedule, now))
+                .collect(Collectors.toList());
+    }
+
+    // Get recurring schedules for a specific ride
+    public List<RecurringMaintenanceDto> getSchedulesByRideId(Long rideId) {
+        LocalDateTime now = LocalDateTime.now();
+        return recurringScheduleRepository.findByRideIdOrderByCreatedAtDesc(rideId).stream()
+                .map(schedule -> convertToDto(schedule, now))
+                .collect(Collectors.toList());
+    }
+
+    // Get specific recurring schedule by ID
+    public RecurringMaintenanceDto getScheduleById(Long id) {
+        return convertToDto(findSchedule(id), LocalDateTime.now());
+    }
+
+    // Create new recurring schedule
+    public RecurringMaintenanceDto createSchedule(RecurringMaintenanceCreateDto createDto) {
+        Ride ride = rideRepository.findById(createDto.getRideId())
+                .orElseThrow(() -> new RideNotFoundException("Ride not found with id: " + createDto.getRideId()));
+
+        RecurringMaintenanceSchedule schedule = new RecurringMaintenanceSchedule();
+        schedule.setRide(ride);
+        schedule.setCreatedBy(createDto.getCreatedBy());
+        schedule.setIsActive(true);
+        applyFields(schedule, createDto);
+        checkConflicts(schedule);
+
+        return save(schedule);
+    }
+
+    // Replace the rule and details of a recurring schedule
+    public RecurringMaintenanceDto updateSchedule(Long id, RecurringMaintenanceCreateDto updateDto) {
+        RecurringMaintenanceSchedule schedule = findSchedule(id);
+        if (!schedule.getRide().getId().equals(updateDto.getRideId())) {
+            throw new IllegalArgumentException("A recurring schedule cannot be moved to another ride");
+        }
+        applyFields(schedule, updateDto);
+        checkConflicts(schedule);
+
+        return save(schedule);
+    }
+
+    // Skip the given dates without touching the rest of the schedule
+    public RecurringMaintenanceDto addExceptionDates(Long id, Collection<LocalDate> dates) {
+        RecurringMaintenanceSchedule schedule = findSchedule(id);
+        schedule.getExceptionDates().addAll(dates);
+        return save(schedule);
+    }
+
+    // Delete a recurring schedule
+    public void deleteSchedule(Long id) {
+        RecurringMaintenanceSchedule schedule = findSchedule(id);
+        Long rideId = schedule.getRide().getId();
+        recurringScheduleRepository.delete(schedule);
+        maintenanceIntervalIndex.removeSchedule(rideId, id);
+        maintenanceAlertService.applyAvailabilityBoundaries(List.of(rideId), LocalDateTime.now());
+    }
+
+    // Expand the occurrences of a schedule overlapping [from, to]
+    public List<MaintenanceAlertDto> getOccurrences(Long id, LocalDateTime from, LocalDateTime to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End of range must be after its start");
+        }
+        if (to.isAfter(from.plusDays(MAX_OCCURRENCE_WINDOW_DAYS))) {
+            throw new IllegalArgumentException("Occurrence range cannot exceed " + MAX_OCCURRENCE_WINDOW_DAYS + " days");
+        }
+        RecurringMaintenanceSchedule schedule = findSchedule(id);
+        String rideName = schedule.getRide().getName();
+        LocalDateTime now = LocalDateTime.now();
+        return maintenanceIntervalIndex.occurrencesBetween(schedule.getRide().getId(), from, to).stream()
+                .filter(occurrence -> id.equals(occurrence.getScheduleId()))
+                .map(occurrence -> rideDtoAssembler.toOccurrenceDto(occurrence, rideName, now))
+                .collect(Collectors.toList());
+    }
+
+    private RecurringMaintenanceSchedule findSchedule(Long id) {
+        return recurringScheduleRepository.findById(id)
+                .orElseThrow(() -> new RecurringMaintenanceNotFoundException("Recurring maintenance schedule not found with id: " + id));
+    }
+
+    private RecurringMaintenanceDto save(RecurringMaintenanceSchedule schedule) {
+        RecurringMaintenanceSchedule savedSchedule = recurringScheduleRepository.save(schedule);
+        maintenanceIntervalIndex.putSchedule(savedSchedule);
+
+        // Close or reopen the ride if an occurrence is in effect right now
+        LocalDateTime now = LocalDateTime.now();
+        maintenanceAlertService.applyAvailabilityBoundaries(List.of(savedSchedule.getRide().getId()), now);
+        return convertToDto(savedSchedule, now);
+    }
+
+    private void applyFields(RecurringMaintenanceSchedule schedule, RecurringMaintenanceCreateDto dto) {
+        schedule.setAlertType(dto.getAlertType());
+        schedule.setTitle(dto.getTitle());
+        schedule.setDescription(dto.getDescription());
+        schedule.setPriority(dto.getPriority());
+        schedule.setFrequency(dto.getFrequency());
+        schedule.setRepeatInterval(dto.getRepeatInterval() != null ? dto.getRepeatInterval() : 1);
+        schedule.setByDays(dto.getByDays() != null ? new HashSet<>(dto.getByDays()) : new HashSet<>());
+        schedule.setStartTimeOfDay(dto.getStartTimeOfDay());
+        schedule.setDurationMinutes(dto.getDurationMinutes());
+        schedule.setValidFrom(dto.getValidFrom());
+        schedule.setValidUntil(dto.getValidUntil());
+        schedule.setExceptionDates(dto.getExceptionDates() != null ? new HashSet<>(dto.getExceptionDates()) : new HashSet<>());
+        if (schedule.getByDays().isEmpty()) {
+            schedule.getByDays().addAll(EnumSet.of(dto.getValidFrom().getDayOfWeek()));
+        }
+    }
+
+    // Every future occurrence, up to the search horizon, must be free of other maintenance
+    private void checkConflicts(RecurringMaintenanceSchedule schedule) {
+        RecurrenceRule rule = schedule.toRule();
+        Long rideId = schedule.getRide().getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusDays(RecurrenceRule.SEARCH_HORIZON_DAYS);
+        for (LocalDateTime start : rule.startsOverlapping(now, until)) {
+            LocalDateTime end = start.plus(rule.getDuration());
+            for (MaintenanceIntervalIndex.Interval interval : maintenanceIntervalIndex.overlapping(rideId, start, end)) {
+                if (schedule.getId() != null && schedule.getId().equals(interval.getScheduleId())) {
+                    continue;
+                }
+                throw new MaintenanceConflictException(interval.isRecurring()
+                        ? "Occurrence on " + start.toLocalDate() + " overlaps recurring maintenance schedule " + interval.getScheduleId()
+                        : "Occurrence on " + start.toLocalDate() + " overlaps maintenance alert " + interval.getAlertId());
+            }
+        }
+    }
+
+    // Convert entity to DTO
+    private RecurringMaintenanceDto convertToDto(RecurringMaintenanceSchedule schedule, LocalDateTime now) {
+        RecurringMaintenanceDto dto = new RecurringMaintenanceDto();
+        dto.setId(schedule.getId());
+        dto.setRideId(schedule.getRide().getId());
+        dto.setRideName(schedule.getRide().getName());
+        dto.setAlertType(schedule.getAlertType());
+        dto.setTitle(schedule.getTitle());
+        dto.setDescription(schedule.getDescription());
+        dto.setPriority(schedule.getPriority());
+        dto.setFrequency(schedule.getFrequency());
+        dto.setRepeatInterval(schedule.getRepeatInterval());
+        dto.setByDays(new HashSet<>(schedule.getByDays()));
+        dto.setStartTimeOfDay(schedule.getStartTimeOfDay());
+        dto.setDurationMinutes(schedule.getDurationMinutes());
+        dto.setValidFrom(schedule.getValidFrom());
+        dto.setValidUntil(schedule.getValidUntil());
+        dto.setExceptionDates(new HashSet<>(schedule.getExceptionDates()));
+        dto.setIsActive(schedule.getIsActive());
+        dto.setCreatedBy(schedule.getCreatedBy());
+        dto.setNextOccurrence(Boolean.TRUE.equals(schedule.getIsActive()) ? schedule.toRule().nextStartAfter(now) : null);
+        dto.setCreatedAt(schedule.getCreatedAt());
+        dto.setUpdatedAt(schedule.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,324 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes ride availability changes to subscribed clients as Server-Sent Events.
+ *
+ * Each subscriber is an {@link SseEmitter} held by the servlet container's
+ * async support, so an idle connection costs no thread. Connecting and
+ * diffing run on one broadcaster thread, which makes the order simple: a new
+ * subscriber gets a {@code snapshot} event of the state last broadcast, then
+ * every later {@code ride} / {@code removed} delta.
+ *
+ * The broadcaster thread never writes to a client. It queues each event in
+ * the subscriber's own bounded outbox, which a small pool of writer threads
+ * drains, one subscriber at a time and in order. A client that reads too
+ * slowly fills its outbox, and one whose write hangs is caught by the
+ * heartbeat; either way it is evicted and its stream closed, so it cannot
+ * hold up anyone else. Browsers then reconnect and start from a snapshot.
+ *
+ * A {@link RideChangedEvent} only marks the state dirty; the broadcaster then
+ * diffs the whole catalog against what it last sent, so a burst of events,
+ * such as a maintenance boundary closing many rides, costs one catalog read
+ * and each delta is serialized once for all subscribers.
+ */
+@Component
+public class RideAvailabilityBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideAvailabilityBroadcaster.class);
+
+    // Clients reconnect after this, which also clears connections that died silently
+    static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    // Events queued for one client before it counts as fallen behind
+    static final int OUTBOX_CAPACITY = 64;
+
+    // A single write taking longer than this evicts the client at the next heartbeat
+    static final long SEND_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final int WRITER_THREADS = 8;
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ride-availability-broadcaster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger writerCount = new AtomicInteger();
+    private final ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "ride-availability-writer-" + writerCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    // Broadcaster thread only
+    private Map<Long, RideAvailability> lastSent;
+    private long eventId;
+
+    /** Compact availability of one ride, as sent to clients. */
+    public record RideAvailability(long rideId, boolean available, boolean operational, boolean underMaintenance) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> outbox =
+                new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+        // Held by the writer draining the outbox; never reset once dropped
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+        // The writer inside emitter.send and when it started; guarded by this
+        private Thread writer;
+        private long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    // Open a stream; the snapshot is sent once the broadcaster reaches it
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(EMITTER_TIMEOUT_MILLIS));
+    }
+
+    // Register an emitter created by the caller
+    public SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> drop(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+        emitter.onError(error -> drop(subscriber));
+        executor.execute(() -> {
+            ensureLoaded();
+            if (subscriber.dropped) {
+                return;
+            }
+            subscribers.put(emitter, subscriber);
+            enqueue(subscriber, event("snapshot", new ArrayList<>(lastSent.values())));
+        });
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        // Runs after RideCatalogCache has invalidated, so the diff sees the change
+        if (dirty.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                dirty.set(false);
+                broadcastChanges();
+            });
+        }
+    }
+
+    // Broadcast anything missed, e.g. changes that happened with no event, evict
+    // clients stuck in a write, and keep idle connections open through proxies
+    public void heartbeat() {
+        executor.execute(() -> {
+            broadcastChanges();
+            long now = clock.millis();
+            for (Subscriber subscriber : subscribers.values()) {
+                synchronized (subscriber) {
+                    if (subscriber.writer != null && now - subscriber.sendStartedAt >= SEND_TIMEOUT_MILLIS) {
+                        evict(subscriber, "a write took over " + SEND_TIMEOUT_MILLIS + " ms");
+                    }
+                }
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> comment = SseEmitter.event().comment("keep-alive").build();
+            subscribers.values().forEach(subscriber -> enqueue(subscriber, comment));
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        writers.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    private void broadcastChanges() {
+        if (lastSent == null) {
+            ensureLoaded();
+            return;
+        }
+        Map<Long, RideAvailability> current = readCatalog();
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> deltas = new ArrayList<>();
+        current.forEach((rideId, availability) -> {
+            if (!Objects.equals(lastSent.get(rideId), availability)) {
+                deltas.add(event("ride", availability));
+            }
+        });
+        lastSent.keySet().stream()
+                .filter(rideId -> !current.containsKey(rideId))
+                .forEach(rideId -> deltas.add(event("removed", Map.of("rideId", rideId))));
+        lastSent = current;
+        for (Subscriber subscriber : subscribers.values()) {
+            for (Set<ResponseBodyEmitter.DataWithMediaType> delta : deltas) {
+                if (!enqueue(subscriber, delta)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (lastSent == null) {
+            lastSent = readCatalog();
+        }
+    }
+
+    private Map<Long, RideAvailability> readCatalog() {
+        Map<Long, RideAvailability> state = new HashMap<>();
+        for (RideDto ride : rideCatalogCache.current().getRides()) {
+            state.put(ride.getId(), new RideAvailability(ride.getId(),
+                    Boolean.TRUE.equals(ride.getIsAvailable()),
+                    Boolean.TRUE.equals(ride.getIsOperational()),
+                    !ride.getActiveMaintenanceAlerts().isEmpty()));
+        }
+        return state;
+    }
+
+    // Serialize and frame once; the result is then written to every subscriber
+    private Set<ResponseBodyEmitter.DataWithMediaType> event(String name, Object payload) {
+        try {
+            return SseEmitter.event()
+                    .id(String.valueOf(++eventId))
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + name + " event", e);
+        }
+    }
+
+    // Queue an event without blocking; false if the subscriber is gone or was just evicted
+    private boolean enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        if (subscriber.dropped) {
+            return false;
+        }
+        if (!subscriber.outbox.offer(event)) {
+            synchronized (subscriber) {
+                evict(subscriber, "its outbox is full");
+            }
+            return false;
+        }
+        schedule(subscriber);
+        return true;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Writer thread: send everything queued, in order, then let go of the subscriber
+    private void drain(Subscriber subscriber) {
+        Set<ResponseBodyEmitter.DataWithMediaType> event;
+        while (!subscriber.dropped && (event = subscriber.outbox.poll()) != null) {
+            send(subscriber, event);
+        }
+        if (subscriber.dropped) {
+            // Still marked draining, so this runs at most once per subscriber
+            subscriber.outbox.clear();
+            close(subscriber.emitter);
+            return;
+        }
+        subscriber.draining.set(false);
+        // An event queued after the last poll but before the flag was cleared
+        if (!subscriber.outbox.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        synchronized (subscriber) {
+            subscriber.writer = Thread.currentThread();
+            subscriber.sendStartedAt = clock.millis();
+        }
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; the container completes the emitter
+            drop(subscriber);
+            logger.debug("Dropped ride availability subscriber", e);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.writer = null;
+                // Clear an interrupt from an eviction, so it cannot hit the next subscriber's write
+                Thread.interrupted();
+            }
+        }
+    }
+
+    // Caller holds the subscriber's lock
+    private void evict(Subscriber subscriber, String reason) {
+        if (subscriber.dropped) {
+            return;
+        }
+        drop(subscriber);
+        logger.info("Evicted ride availability subscriber: {}", reason);
+        // Abort a hung write; the writer then closes the stream
+        if (subscriber.writer != null) {
+            subscriber.writer.interrupt();
+        }
+        schedule(subscriber);
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscriber.dropped = true;
+        subscribers.remove(subscriber.emitter, subscriber);
+        subscriber.outbox.clear();
+    }
+
+    private void close(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+            logger.debug("Ride availability stream already closed", e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process catalog of {@link RideDto} snapshots serving the ride read endpoints.
+ *
+ * Every {@link RideChangedEvent} bumps the catalog version after its transaction
+ * commits; the next read notices the stale snapshot and rebuilds it in one batch.
+ * A snapshot also expires at the next maintenance start or end, since availability
+ * changes at that instant without any write.
+ *
+ * Snapshot entries are shared between readers and must not be modified; callers
+ * that need to adjust a DTO copy it first.
+ */
+@Component
+public class RideCatalogCache {
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Autowired
+    private RideDtoAssembler rideDtoAssembler;
+
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    private volatile Snapshot snapshot;
+
+    // Current snapshot, rebuilt if a change happened since it was taken
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && current.isValid(version.get(), LocalDateTime.now())) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        return rebuild();
+    }
+
+    // Drop the current snapshot
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        invalidate();
+    }
+
+    // Hit/miss/rebuild counters
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        Snapshot current = snapshot;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("rebuilds", rebuilds.sum());
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("version", version.get());
+        stats.put("size", current != null ? current.getRides().size() : 0);
+        return stats;
+    }
+
+    private synchronized Snapshot rebuild() {
+        long expectedVersion = version.get();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Another thread may have rebuilt while we waited for the lock
+        Snapshot current = snapshot;
+        if (current != null && current.isValid(expectedVersion, now)) {
+            return current;
+        }
+
+        rebuilds.increment();
+        List<Ride> rides = rideRepository.findAll(Sort.by("name"));
+        List<RideDto> dtos = rideDtoAssembler.toDtos(rides);
+        Snapshot fresh = new Snapshot(expectedVersion, dtos, maintenanceIntervalIndex.nextChangeAfter(now));
+
+        // A change committed during the rebuild makes this snapshot stale already
+        if (version.get() == expectedVersion) {
+            snapshot = fresh;
+        }
+        return fresh;
+    }
+
+    /**
+     * Immutable view of the catalog at one version.
+     */
+    public static class Snapshot {
+        private final long version;
+        private final List<RideDto> rides;
+        private final Map<Long, RideDto> ridesById;
+        private final LocalDateTime validUntil;
+
+        Snapshot(long version, List<RideDto> rides, LocalDateTime validUntil) {
+            this.version = version;
+            this.rides = Collections.unmodifiableList(rides);
+            Map<Long, RideDto> byId = new LinkedHashMap<>();
+            for (RideDto ride : rides) {
+                ride.setActiveMaintenanceAlerts(Collections.unmodifiableList(ride.getActiveMaintenanceAlerts()));
+                ride.setPhotos(Collections.unmodifiableList(ride.getPhotos()));
+                byId.put(ride.getId(), ride);
+            }
+            this.ridesById = Collections.unmodifiableMap(byId);
+            this.validUntil = validUntil;
+        }
+
+        boolean isValid(long currentVersion, LocalDateTime now) {
+            return version == currentVersion && (validUntil == null || now.isBefore(validUntil));
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        // All rides ordered by name
+        public List<RideDto> getRides() {
+            return rides;
+        }
+
+        public RideDto getRide(Long id) {
+            return ridesById.get(id);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.dto.attraction.RidePhotoDto;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.entity.attraction.RidePhoto;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link RideDto}s for a batch of rides with a fixed number of queries.
+ *
+ * Photos are loaded with one query keyed by ride ID, and alerts in effect with
+ * at most one more, so the cost of a page does not depend on how many rides it
+ * contains. Occurrences of recurring schedules come straight from the interval
+ * index. Favorites counts are the stored {@code favorites_count}; RideService
+ * replaces them with the live counts of {@link FavoriteCountAccumulator}.
+ */
+@Component
+public class RideDtoAssembler {
+
+    @Autowired
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Autowired
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    // Convert a single ride
+    public RideDto toDto(Ride ride) {
+        return toDtos(List.of(ride)).get(0);
+    }
+
+    // Convert a batch of rides, preserving their order
+    public List<RideDto> toDtos(List<Ride> rides) {
+        if (rides.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> rideIds = rides.stream().map(Ride::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+
+        // The interval index says which alerts are in effect; only those rows are loaded
+        List<Long> activeAlertIds = maintenanceIntervalIndex.activeAlertIds(rideIds, now);
+        Map<Long, List<MaintenanceAlertDto>> activeAlerts = activeAlertIds.isEmpty()
+                ? Collections.emptyMap()
+                : maintenanceAlertRepository.findAllWithRideByIdIn(activeAlertIds).stream()
+                        .collect(Collectors.groupingBy(alert -> alert.getRide().getId(),
+                                Collectors.mapping(alert -> convertMaintenanceAlertToDto(alert, now), Collectors.toList())));
+
+        Map<Long, List<RidePhotoDto>> photos = ridePhotoRepository.findByRideIds(rideIds).stream()
+                .collect(Collectors.groupingBy(photo -> photo.getRide().getId(),
+                        Collectors.mapping(this::convertRidePhotoToDto, Collectors.toList())));
+
+        List<RideDto> dtos = new ArrayList<>(rides.size());
+        for (Ride ride : rides) {
+            List<MaintenanceAlertDto> alerts = new ArrayList<>(activeAlerts.getOrDefault(ride.getId(), Collections.emptyList()));
+            for (MaintenanceIntervalIndex.Interval interval : maintenanceIntervalIndex.activeAt(ride.getId(), now)) {
+                if (interval.isRecurring()) {
+                    alerts.add(toOccurrenceDto(interval, ride.getName(), now));
+                }
+            }
+            RideDto dto = convertRideToDto(ride);
+            dto.setIsAvailable(Boolean.TRUE.equals(ride.getIsOperational()) && alerts.isEmpty());
+            dto.setActiveMaintenanceAlerts(alerts);
+            dto.setFavoritesCount(ride.getFavoritesCount().intValue());
+            dto.setPhotos(new ArrayList<>(photos.getOrDefault(ride.getId(), Collections.emptyList())));
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    // Convert an occurrence of a recurring schedule; it has no alert row of its own
+    public MaintenanceAlertDto toOccurrenceDto(MaintenanceIntervalIndex.Interval occurrence, String rideName, LocalDateTime now) {
+        MaintenanceAlertDto dto = new MaintenanceAlertDto();
+        dto.setRideId(occurrence.getRideId());
+        dto.setRideName(rideName);
+        dto.setRecurringScheduleId(occurrence.getScheduleId());
+        dto.setAlertType(occurrence.getAlertType());
+        dto.setTitle(occurrence.getTitle());
+        dto.setDescription(occurrence.getDescription());
+        dto.setStartTime(occurrence.getStart());
+        dto.setEndTime(occurrence.getEnd());
+        dto.setIsActive(true);
+        dto.setIsCurrentlyActive(!occurrence.getStart().isAfter(now) && occurrence.getEnd().isAfter(now));
+        dto.setPriority(occurrence.getPriority());
+        return dto;
+    }
+
+    // Copy the scalar ride fields
+    private RideDto convertRideToDto(Ride ride) {
+        RideDto dto = new RideDto();
+        dto.setId(ride.getId());
+        dto.setName(ride.getName());
+        dto.setDescription(ride.getDescription());
+        dto.setThrillLevel(ride.getThrillLevel());
+        dto.setMinAge(ride.getMinAge());
+        dto.setMaxAge(ride.getMaxAge());
+        dto.setDurationMinutes(ride.getDurationMinutes());
+        dto.setHeightRequirementCm(ride.getHeightRequirementCm());
+        dto.setCapacity(ride.getCapacity());
+        dto.setPhotoUrl(ride.getPhotoUrl());
+        dto.setVideoUrl(ride.getVideoUrl());
+        dto.setIsOperational(ride.getIsOperational());
+        dto.setLocationDescription(ride.getLocationDescription());
+        dto.setSafetyInstructions(ride.getSafetyInstructions());
+        dto.setCreatedAt(ride.getCreatedAt());
+        dto.setUpdatedAt(ride.getUpdatedAt());
+        return dto;
+    }
+
+    // Convert MaintenanceAlert to DTO (simplified)
+    public MaintenanceAlertDto convertMaintenanceAlertToDto(MaintenanceAlert alert, LocalDateTime now) {
+        MaintenanceAlertDto dto = new MaintenanceAlertDto();
+        dto.setId(alert.getId());
+        dto.setRideId(alert.getRide().getId());
+        dto.setRideName(alert.getRide().getName());
+        dto.setAlertType(alert.getAlertType());
+        dto.setTitle(alert.getTitle());
+        dto.setDescription(alert.getDescription());
+        dto.setStartTime(alert.getStartTime());
+        dto.setEndTime(alert.getEndTime());
+        dto.setIsActive(alert.getIsActive());
+        dto.setIsCurrentlyActive(alert.isActiveAt(now));
+        dto.setPriority(alert.getPriority());
+        dto.setCreatedBy(alert.getCreatedBy());
+        dto.setCreatedAt(alert.getCreatedAt());
+        dto.setUpdatedAt(alert.getUpdatedAt());
+        return dto;
+    }
+
+    // Convert RidePhoto to DTO
+    public RidePhotoDto convertRidePhotoToDto(RidePhoto photo) {
+        RidePhotoDto dto = new RidePhotoDto();
+        dto.setId(photo.getId());
+        dto.setPhotoUrl(photo.getPhotoUrl());
+        dto.setCaption(photo.getCaption());
+        dto.setIsPrimary(photo.getIsPrimary());
+        dto.setUploadedAt(photo.getUploadedAt());
+        Map<String, String> thumbnails = new LinkedHashMap<>();
+        if (photo.getMediaKey() != null && photo.getWidthPx() != null) {
+            for (String variant : RideMediaStore.variantsFor(photo.getWidthPx()).keySet()) {
+                thumbnails.put(variant, photo.getPhotoUrl() + "?variant=" + variant);
+            }
+        }
+        dto.setThumbnails(Collections.unmodifiableMap(thumbnails));
+        return dto;
+    }
+}
@@ -0,0 +1,269 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap index answering combined ride filters without scanning the catalog.
+ *
+ * Every ride holds a slot, one bit wide in each row of a bit matrix. There is a
+ * row per thrill level, a row per age in years (the rides that age may ride),
+ * a row per height in centimetres (the rides that height may ride) and rows for
+ * operational and available, so any combination of filters is an AND of at
+ * most five rows, one 64-ride word at a time.
+ *
+ * The index mirrors a {@link RideCatalogCache} snapshot. When the catalog moves
+ * on, after a ride or maintenance change or a maintenance window opening or
+ * closing, only the rides whose filterable values changed have their bits
+ * rewritten. The matrix is copied before it is written, so queries never lock.
+ */
+@Component
+public class RideFilterIndex {
+
+    // Ages above this share one row: rides without a maximum age
+    static final int MAX_AGE = 120;
+
+    // Ride height requirements never exceed this
+    static final int MAX_HEIGHT_CM = 250;
+
+    private static final int THRILL_ROW = 0;
+    private static final int AGE_ROW = THRILL_ROW + ThrillLevel.values().length;
+    private static final int HEIGHT_ROW = AGE_ROW + MAX_AGE + 2;
+    private static final int OPERATIONAL_ROW = HEIGHT_ROW + MAX_HEIGHT_CM + 1;
+    private static final int AVAILABLE_ROW = OPERATIONAL_ROW + 1;
+    private static final int PRESENT_ROW = AVAILABLE_ROW + 1;
+    private static final int ROWS = PRESENT_ROW + 1;
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    private volatile Bitmaps bitmaps = new Bitmaps(null, 1);
+
+    // IDs of the rides matching every given filter, in no particular order; null filters match all
+    public List<Long> match(ThrillLevel thrillLevel, Integer age, Integer heightCm,
+                            Boolean isOperational, Boolean isAvailable) {
+        return match(rideCatalogCache.current(), thrillLevel, age, heightCm, isOperational, isAvailable);
+    }
+
+    // Same as above, against a snapshot the caller already holds
+    public List<Long> match(RideCatalogCache.Snapshot snapshot, ThrillLevel thrillLevel, Integer age,
+                            Integer heightCm, Boolean isOperational, Boolean isAvailable) {
+        if ((age != null && age < 0) || (heightCm != null && heightCm < 0)) {
+            return new ArrayList<>();
+        }
+        Bitmaps current = bitmaps;
+        if (current.source != snapshot) {
+            current = sync(snapshot);
+        }
+        int thrillRow = thrillLevel != null ? THRILL_ROW + thrillLevel.ordinal() : -1;
+        int ageRow = age != null ? AGE_ROW + Math.min(age, MAX_AGE + 1) : -1;
+        int heightRow = heightCm != null ? HEIGHT_ROW + Math.min(heightCm, MAX_HEIGHT_CM) : -1;
+
+        List<Long> rideIds = new ArrayList<>();
+        for (int word = 0; word < current.stride; word++) {
+            long bits = current.word(PRESENT_ROW, word);
+            if (thrillRow >= 0) {
+                bits &= current.word(thrillRow, word);
+            }
+            if (ageRow >= 0) {
+                bits &= current.word(ageRow, word);
+            }
+            if (heightRow >= 0) {
+                bits &= current.word(heightRow, word);
+            }
+            if (isOperational != null) {
+                long operational = current.word(OPERATIONAL_ROW, word);
+                bits &= isOperational ? operational : ~operational;
+            }
+            if (isAvailable != null) {
+                long available = current.word(AVAILABLE_ROW, word);
+                bits &= isAvailable ? available : ~available;
+            }
+            while (bits != 0) {
+                rideIds.add(current.rideIds[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+        return rideIds;
+    }
+
+    // Bring the bitmaps in line with a catalog snapshot, rewriting only the rides that changed
+    private synchronized Bitmaps sync(RideCatalogCache.Snapshot snapshot) {
+        Bitmaps current = bitmaps;
+        if (current.source == snapshot) {
+            return current;
+        }
+        List<RideDto> rides = snapshot.getRides();
+        Bitmaps next = null;
+        // Free the slots of deleted rides first so new rides can take them
+        for (Long rideId : current.slots.keySet()) {
+            if (snapshot.getRide(rideId) == null) {
+                if (next == null) {
+                    next = current.copy(snapshot, rides.size());
+                }
+                next.release(rideId);
+            }
+        }
+        for (RideDto ride : rides) {
+            Traits traits = Traits.of(ride);
+            Integer slot = current.slots.get(ride.getId());
+            if (slot != null && traits.equals(current.traits[slot])) {
+                continue;
+            }
+            if (next == null) {
+                next = current.copy(snapshot, rides.size());
+            }
+            if (slot == null) {
+                slot = next.allocate(ride.getId());
+            } else {
+                next.clear(slot);
+            }
+            next.set(slot, traits);
+        }
+        bitmaps = next != null ? next : current.withSource(snapshot);
+        return bitmaps;
+    }
+
+    // The filterable values of a ride; bits are rewritten only when these change
+    private record Traits(ThrillLevel thrillLevel, int minAge, Integer maxAge, Integer heightRequirementCm,
+                          boolean operational, boolean available) {
+
+        static Traits of(RideDto ride) {
+            return new Traits(ride.getThrillLevel(), ride.getMinAge() != null ? ride.getMinAge() : 0,
+                    ride.getMaxAge(), ride.getHeightRequirementCm(),
+                    Boolean.TRUE.equals(ride.getIsOperational()), Boolean.TRUE.equals(ride.getIsAvailable()));
+        }
+    }
+
+    /**
+     * One published state of the index: the bit matrix, row-major with
+     * {@code stride} words per row, and the slot assignments. Never modified
+     * once published.
+     */
+    private static final class Bitmaps {
+
+        private final RideCatalogCache.Snapshot source;
+        private final int stride;
+        private final long[] words;
+        private final long[] rideIds;
+        private final Traits[] traits;
+        private final Map<Long, Integer> slots;
+        private int[] freeSlots;
+        private int freeCount;
+        private int nextSlot;
+
+        Bitmaps(RideCatalogCache.Snapshot source, int stride) {
+            this.source = source;
+            this.stride = stride;
+            this.words = new long[ROWS * stride];
+            this.rideIds = new long[stride * Long.SIZE];
+            this.traits = new Traits[stride * Long.SIZE];
+            this.slots = new HashMap<>();
+            this.freeSlots = new int[0];
+        }
+
+        private Bitmaps(Bitmaps other, RideCatalogCache.Snapshot source) {
+            this.source = source;
+            this.stride = other.stride;
+            this.words = other.words;
+            this.rideIds = other.rideIds;
+            this.traits = other.traits;
+            this.slots = other.slots;
+            this.freeSlots = other.freeSlots;
+            this.freeCount = other.freeCount;
+            this.nextSlot = other.nextSlot;
+        }
+
+        // Same state, marked as mirroring a newer snapshot with no changes
+        Bitmaps withSource(RideCatalogCache.Snapshot snapshot) {
+            return new Bitmaps(this, snapshot);
+        }
+
+        // Writable copy with room for at least the given number of rides
+        Bitmaps copy(RideCatalogCache.Snapshot snapshot, int rideCount) {
+            int needed = Math.max(nextSlot, rideCount);
+            int newStride = Math.max(stride, (needed + Long.SIZE - 1) / Long.SIZE);
+            Bitmaps copy = new Bitmaps(snapshot, newStride);
+            for (int row = 0; row < ROWS; row++) {
+                System.arraycopy(words, row * stride, copy.words, row * newStride, stride);
+            }
+            System.arraycopy(rideIds, 0, copy.rideIds, 0, rideIds.length);
+            System.arraycopy(traits, 0, copy.traits, 0, traits.length);
+            copy.slots.putAll(slots);
+            copy.freeSlots = Arrays.copyOf(freeSlots, freeSlots.length);
+            copy.freeCount = freeCount;
+            copy.nextSlot = nextSlot;
+            return copy;
+        }
+
+        long word(int row, int word) {
+            return words[row * stride + word];
+        }
+
+        // Reuse a released slot before taking a new one
+        int allocate(long rideId) {
+            int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+            rideIds[slot] = rideId;
+            slots.put(rideId, slot);
+            return slot;
+        }
+
+        void release(long rideId) {
+            Integer slot = slots.remove(rideId);
+            if (slot == null) {
+                return;
+            }
+            clear(slot);
+            traits[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, Math.max(8, freeCount * 2));
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        void set(int slot, Traits values) {
+            traits[slot] = values;
+            setBit(PRESENT_ROW, slot);
+            if (values.thrillLevel() != null) {
+                setBit(THRILL_ROW + values.thrillLevel().ordinal(), slot);
+            }
+            // Every age from the minimum to the maximum, or beyond MAX_AGE when there is none
+            int lastAge = values.maxAge() != null ? Math.min(values.maxAge(), MAX_AGE) : MAX_AGE + 1;
+            for (int age = Math.max(values.minAge(), 0); age <= lastAge; age++) {
+                setBit(AGE_ROW + age, slot);
+            }
+            int minHeight = values.heightRequirementCm() != null
+                    ? Math.max(Math.min(values.heightRequirementCm(), MAX_HEIGHT_CM), 0) : 0;
+            for (int height = minHeight; height <= MAX_HEIGHT_CM; height++) {
+                setBit(HEIGHT_ROW + height, slot);
+            }
+            if (values.operational()) {
+                setBit(OPERATIONAL_ROW, slot);
+            }
+            if (values.available()) {
+                setBit(AVAILABLE_ROW, slot);
+            }
+        }
+
+        void clear(int slot) {
+            long mask = ~(1L << slot);
+            int word = slot / Long.SIZE;
+            for (int row = 0; row < ROWS; row++) {
+                words[row * stride + word] &= mask;
+            }
+        }
+
+        private void setBit(int row, int slot) {
+            words[row * stride + slot / Long.SIZE] |= 1L << slot;
+        }
+    }
+}
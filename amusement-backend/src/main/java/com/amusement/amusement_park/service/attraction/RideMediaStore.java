@@ -0,0 +1,330 @@
+package com.amusement.amusement_park.service.attraction;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Ride photos stored on local disk, named by the SHA-256 of their content.
+ *
+ * An upload is copied to a temporary file through a small buffer while it is
+ * hashed, then moved into place, so a photo never sits in the heap whole and
+ * the same image uploaded twice is stored once. Because a name always means
+ * the same bytes, files can be cached by clients forever and their name is
+ * their ETag.
+ *
+ * Thumbnails are scaled on a small fixed pool with a bounded queue, since
+ * decoding an image does need it in memory. When the queue is full the
+ * thumbnails are skipped and the original is served in their place.
+ */
+@Component
+public class RideMediaStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideMediaStore.class);
+
+    // Largest accepted upload
+    public static final long MAX_BYTES = 20L * 1024 * 1024;
+
+    // Images larger than this are not decoded for thumbnails
+    static final long MAX_PIXELS = 40_000_000L;
+
+    // Thumbnail widths by variant name, smallest first
+    public static final Map<String, Integer> VARIANTS;
+
+    static {
+        Map<String, Integer> variants = new LinkedHashMap<>();
+        variants.put("small", 160);
+        variants.put("medium", 480);
+        variants.put("large", 1024);
+        VARIANTS = Collections.unmodifiableMap(variants);
+    }
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif)");
+
+    @Value("${ride.media.dir:media/rides}")
+    private String mediaDir;
+
+    // Thumbnail jobs queued or running
+    private final AtomicInteger pendingThumbnails = new AtomicInteger();
+    private final ThreadPoolExecutor thumbnailPool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64), new ThumbnailThreadFactory(), (task, pool) -> {
+                pendingThumbnails.decrementAndGet();
+                logger.warn("Thumbnail queue is full; originals will be served until the photo is uploaded again");
+            });
+
+    /** A stored original: its key, type and pixel size. */
+    public record StoredMedia(String key, String contentType, long sizeBytes, int width, int height) {
+    }
+
+    /**
+     * A file to send: the variant asked for, or the original standing in for a
+     * thumbnail not written yet, in which case exact is false.
+     */
+    public record MediaFile(Path path, String contentType, String etag, long length, boolean exact) {
+    }
+
+    // Copy an upload into the store, identify it and queue its thumbnails
+    public StoredMedia store(InputStream in) {
+        Path root = root();
+        Path temp = null;
+        try {
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] head = new byte[8];
+            int headLength = 0;
+            long size = 0;
+            byte[] buffer = new byte[64 * 1024];
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > MAX_BYTES) {
+                        throw new IllegalArgumentException("Photo exceeds " + MAX_BYTES / (1024 * 1024) + " MB");
+                    }
+                    while (headLength < head.length && headLength < size) {
+                        head[headLength] = buffer[headLength - (int) (size - read)];
+                        headLength++;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            String extension = extensionOf(head, headLength);
+            if (extension == null) {
+                throw new IllegalArgumentException("Photo must be a JPEG, PNG or GIF image");
+            }
+            int[] dimensions = dimensionsOf(temp);
+            String key = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = root.resolve(key);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            temp = null;
+
+            StoredMedia media = new StoredMedia(key, contentTypeOf(extension), size, dimensions[0], dimensions[1]);
+            scheduleThumbnails(media);
+            return media;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store photo", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.warn("Could not delete {}", temp, e);
+                }
+            }
+        }
+    }
+
+    // File to serve for a key and optional variant; empty for unknown keys
+    public Optional<MediaFile> find(String key, String variant) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        if (variant != null && !VARIANTS.containsKey(variant)) {
+            throw new IllegalArgumentException("Unknown photo variant: " + variant + ", expected one of " + VARIANTS.keySet());
+        }
+        Path original = root().resolve(key);
+        if (variant != null) {
+            String thumbnailKey = thumbnailKey(key, VARIANTS.get(variant));
+            Path thumbnail = root().resolve(thumbnailKey);
+            if (Files.isRegularFile(thumbnail)) {
+                return mediaFile(thumbnail, thumbnailKey, true);
+            }
+        }
+        return Files.isRegularFile(original) ? mediaFile(original, key, variant == null) : Optional.empty();
+    }
+
+    // Variants worth offering for an image of this width, by name
+    public static Map<String, Integer> variantsFor(int width) {
+        Map<String, Integer> variants = new LinkedHashMap<>();
+        VARIANTS.forEach((name, variantWidth) -> {
+            if (variantWidth < width) {
+                variants.put(name, variantWidth);
+            }
+        });
+        return variants;
+    }
+
+    // Block until queued thumbnails are written; for tests and shutdown
+    public boolean awaitThumbnails(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pendingThumbnails.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thumbnailPool.shutdownNow();
+    }
+
+    private void scheduleThumbnails(StoredMedia media) {
+        if (variantsFor(media.width()).isEmpty() || (long) media.width() * media.height() > MAX_PIXELS) {
+            return;
+        }
+        pendingThumbnails.incrementAndGet();
+        thumbnailPool.execute(() -> {
+            try {
+                writeThumbnails(media);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not create thumbnails for {}", media.key(), e);
+            } finally {
+                pendingThumbnails.decrementAndGet();
+            }
+        });
+    }
+
+    private void writeThumbnails(StoredMedia media) throws IOException {
+        BufferedImage source = ImageIO.read(root().resolve(media.key()).toFile());
+        if (source == null) {
+            return;
+        }
+        String format = thumbnailExtension(media.key()).equals("jpg") ? "jpg" : "png";
+        for (int width : variantsFor(source.getWidth()).values()) {
+            Path target = root().resolve(thumbnailKey(media.key(), width));
+            if (Files.exists(target)) {
+                continue;
+            }
+            BufferedImage scaled = scale(source, width, format.equals("jpg"));
+            Path temp = Files.createTempFile(root(), "thumb-", ".tmp");
+            try {
+                ImageIO.write(scaled, format, temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, boolean opaque) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height,
+                opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    // Width and height read from the image header, without decoding it
+    private static int[] dimensionsOf(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Photo could not be read as an image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new int[] { reader.getWidth(0), reader.getHeight(0) };
+            } catch (IIOException e) {
+                throw new IllegalArgumentException("Photo could not be read as an image");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private Optional<MediaFile> mediaFile(Path path, String name, boolean exact) {
+        try {
+            String extension = name.substring(name.lastIndexOf('.') + 1);
+            return Optional.of(new MediaFile(path, contentTypeOf(extension), "\"" + name + "\"", Files.size(path), exact));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String thumbnailKey(String key, int width) {
+        return key.substring(0, key.indexOf('.')) + "-w" + width + "." + thumbnailExtension(key);
+    }
+
+    // JPEGs stay JPEGs; anything that may be transparent becomes PNG
+    private static String thumbnailExtension(String key) {
+        return key.endsWith(".jpg") ? "jpg" : "png";
+    }
+
+    // File type from its first bytes; the declared content type is not trusted
+    private static String extensionOf(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "jpg";
+        }
+        if (length >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "png";
+        }
+        if (length >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "gif";
+        }
+        return null;
+    }
+
+    private static String contentTypeOf(String extension) {
+        return switch (extension) {
+            case "jpg" -> "image/jpeg";
+            case "png" -> "image/png";
+            default -> "image/gif";
+        };
+    }
+
+    private Path root() {
+        return Paths.get(mediaDir).toAbsolutePath().normalize();
+    }
+
+    private static final class ThumbnailThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ride-thumbnails-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.event.attraction.FavoriteChangedEvent;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.util.LongIntHashMap;
+import com.amusement.amusement_park.util.LongObjectHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongPredicate;
+
+/**
+ * "Riders who liked this also liked" recommendations from user favorites.
+ *
+ * Keeps a sparse ride-by-ride co-occurrence matrix: for each ride, how many
+ * users favorited it together with each other ride. Two rides are similar in
+ * proportion to their cosine similarity, co / sqrt(n_a * n_b), where n is each
+ * ride's favorites count. All maps are keyed by primitive IDs, so the matrix
+ * holds no boxed keys or per-entry nodes.
+ *
+ * The matrix is built once in parallel with fork/join, then kept current by
+ * every committed {@link FavoriteChangedEvent}, each costing O(favorites of
+ * that user). Queries only read one row per ride involved.
+ */
+@Component
+public class RideRecommendationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RideRecommendationEngine.class);
+
+    // Users per fork/join leaf when building the matrix
+    private static final int BUILD_THRESHOLD = 256;
+
+    @Autowired
+    private UserFavoriteRepository userFavoriteRepository;
+
+    // ride -> (other ride -> users who favorited both)
+    private LongObjectHashMap<LongIntHashMap> coCounts = new LongObjectHashMap<>();
+    // ride -> users who favorited it
+    private LongIntHashMap favoriteCounts = new LongIntHashMap();
+    // user -> favorited rides, used as a set
+    private LongObjectHashMap<LongIntHashMap> userRides = new LongObjectHashMap<>();
+    private boolean loaded;
+
+    // IDs of the rides most similar to the given one, best first
+    public synchronized List<Long> similarTo(long rideId, int limit, LongPredicate eligible) {
+        ensureLoaded();
+        LongIntHashMap row = coCounts.get(rideId);
+        if (row == null || limit <= 0) {
+            return List.of();
+        }
+        Candidates candidates = new Candidates(row.size());
+        double norm = favoriteCounts.get(rideId);
+        row.forEach((other, together) -> {
+            if (eligible.test(other)) {
+                candidates.add(other, together / Math.sqrt(norm * favoriteCounts.get(other)));
+            }
+        });
+        return candidates.top(limit);
+    }
+
+    // IDs of rides a user has not favorited, ranked by similarity to those they have
+    public synchronized List<Long> recommendFor(long userId, int limit, LongPredicate eligible) {
+        ensureLoaded();
+        LongIntHashMap favorites = userRides.get(userId);
+        if (favorites == null || limit <= 0) {
+            return List.of();
+        }
+        Candidates candidates = new Candidates(16);
+        favorites.forEach((rideId, ignored) -> {
+            LongIntHashMap row = coCounts.get(rideId);
+            if (row == null) {
+                return;
+            }
+            double norm = favoriteCounts.get(rideId);
+            row.forEach((other, together) -> {
+                if (!favorites.containsKey(other) && eligible.test(other)) {
+                    candidates.add(other, together / Math.sqrt(norm * favoriteCounts.get(other)));
+                }
+            });
+        });
+        return candidates.top(limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ensureLoaded();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFavoriteChanged(FavoriteChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        long userId = event.getUserId();
+        long rideId = event.getRideId();
+        if (event.isAdded()) {
+            addFavorite(userId, rideId);
+        } else {
+            removeFavorite(userId, rideId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRideChanged(RideChangedEvent event) {
+        if (!loaded || event.getReason() != RideChangedEvent.Reason.DELETED) {
+            return;
+        }
+        // The ride's favorites are deleted with it
+        long rideId = event.getRideId();
+        LongIntHashMap row = coCounts.remove(rideId);
+        if (row != null) {
+            row.forEach((other, ignored) -> coCounts.get(other).remove(rideId));
+        }
+        favoriteCounts.remove(rideId);
+        List<Long> emptied = new ArrayList<>();
+        userRides.forEach((userId, rides) -> {
+            rides.remove(rideId);
+            if (rides.isEmpty()) {
+                emptied.add(userId);
+            }
+        });
+        emptied.forEach(userRides::remove);
+    }
+
+    private void addFavorite(long userId, long rideId) {
+        LongIntHashMap rides = userRides.computeIfAbsent(userId, id -> new LongIntHashMap());
+        if (rides.containsKey(rideId)) {
+            return;
+        }
+        LongIntHashMap row = coCounts.computeIfAbsent(rideId, id -> new LongIntHashMap());
+        rides.forEach((other, ignored) -> {
+            row.addTo(other, 1);
+            coCounts.computeIfAbsent(other, id -> new LongIntHashMap()).addTo(rideId, 1);
+        });
+        rides.put(rideId, 1);
+        favoriteCounts.addTo(rideId, 1);
+    }
+
+    private void removeFavorite(long userId, long rideId) {
+        LongIntHashMap rides = userRides.get(userId);
+        if (rides == null || !rides.containsKey(rideId)) {
+            return;
+        }
+        rides.remove(rideId);
+        if (rides.isEmpty()) {
+            userRides.remove(userId);
+        }
+        rides.forEach((other, ignored) -> {
+            decrement(rideId, other);
+            decrement(other, rideId);
+        });
+        if (favoriteCounts.addTo(rideId, -1) <= 0) {
+            favoriteCounts.remove(rideId);
+        }
+    }
+
+    private void decrement(long rideId, long other) {
+        LongIntHashMap row = coCounts.get(rideId);
+        if (row.addTo(other, -1) <= 0) {
+            row.remove(other);
+            if (row.isEmpty()) {
+                coCounts.remove(rideId);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<long[]> baskets = new ArrayList<>();
+        LongObjectHashMap<LongIntHashMap> users = new LongObjectHashMap<>();
+        LongIntHashMap counts = new LongIntHashMap();
+        for (Object[] row : userFavoriteRepository.findAllUserRidePairs()) {
+            long rideId = (Long) row[1];
+            if (users.computeIfAbsent((Long) row[0], id -> new LongIntHashMap()).addTo(rideId, 1) == 1) {
+                counts.addTo(rideId, 1);
+            }
+        }
+        users.forEach((userId, rides) -> baskets.add(rides.keys()));
+
+        coCounts = ForkJoinPool.commonPool().invoke(new BuildTask(baskets, 0, baskets.size()));
+        favoriteCounts = counts;
+        userRides = users;
+        loaded = true;
+        logger.info("Built ride co-occurrence matrix for {} rides from {} users in {} ms",
+                coCounts.size(), baskets.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Co-occurrence counts for a range of users' baskets, split until small enough
+    private static class BuildTask extends RecursiveTask<LongObjectHashMap<LongIntHashMap>> {
+
+        private final List<long[]> baskets;
+        private final int from;
+        private final int to;
+
+        BuildTask(List<long[]> baskets, int from, int to) {
+            this.baskets = baskets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongObjectHashMap<LongIntHashMap> compute() {
+            if (to - from <= BUILD_THRESHOLD) {
+                LongObjectHashMap<LongIntHashMap> matrix = new LongObjectHashMap<>();
+                for (int b = from; b < to; b++) {
+                    long[] rides = baskets.get(b);
+                    for (int i = 0; i < rides.length; i++) {
+                        for (int j = i + 1; j < rides.length; j++) {
+                            matrix.computeIfAbsent(rides[i], id -> new LongIntHashMap()).addTo(rides[j], 1);
+                            matrix.computeIfAbsent(rides[j], id -> new LongIntHashMap()).addTo(rides[i], 1);
+                        }
+                    }
+                }
+                return matrix;
+            }
+            int mid = (from + to) >>> 1;
+            BuildTask left = new BuildTask(baskets, from, mid);
+            left.fork();
+            LongObjectHashMap<LongIntHashMap> right = new BuildTask(baskets, mid, to).compute();
+            LongObjectHashMap<LongIntHashMap> merged = left.join();
+            right.forEach((rideId, row) -> {
+                LongIntHashMap target = merged.computeIfAbsent(rideId, id -> new LongIntHashMap());
+                row.forEach(target::addTo);
+            });
+            return merged;
+        }
+    }
+
+    // Scored ride IDs, from which the best few are selected
+    private static class Candidates {
+
+        private final LongIntHashMap slots;
+        private long[] ids;
+        private double[] scores;
+        private int size;
+
+        Candidates(int expected) {
+            slots = new LongIntHashMap(expected);
+            ids = new long[Math.max(expected, 4)];
+            scores = new double[ids.length];
+        }
+
+        // Add to a ride's score, accumulating over repeated adds
+        void add(long rideId, double score) {
+            int slot = slots.get(rideId) - 1;
+            if (slot < 0) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                    scores = Arrays.copyOf(scores, size * 2);
+                }
+                slot = size++;
+                ids[slot] = rideId;
+                slots.put(rideId, slot + 1);
+            }
+            scores[slot] += score;
+        }
+
+        // Up to limit IDs by descending score, ties broken by ID; selection
+        // is O(size * limit), cheaper than sorting for the small limits used
+        List<Long> top(int limit) {
+            List<Long> result = new ArrayList<>(Math.min(limit, size));
+            while (result.size() < limit && size > 0) {
+                int best = 0;
+                for (int i = 1; i < size; i++) {
+                    if (scores[i] > scores[best] || (scores[i] == scores[best] && ids[i] < ids[best])) {
+                        best = i;
+                    }
+                }
+                result.add(ids[best]);
+                size--;
+                ids[best] = ids[size];
+                scores[best] = scores[size];
+            }
+            return result;
+        }
+    }
+}
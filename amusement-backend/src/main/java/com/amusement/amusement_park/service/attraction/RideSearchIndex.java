@@ -0,0 +1,218 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the searchable ride text.
+ *
+ * Name, description, location and safety instructions are tokenized into
+ * lower-case words and each word keeps a posting list of ride ID to weight.
+ * Terms are kept sorted so a query word also matches every term it is a
+ * prefix of, which serves search-as-you-type. A ride matches when every query
+ * word matches; its score is the sum of the per-word weights, with exact word
+ * matches counting twice as much as prefix matches.
+ *
+ * The index is built from the rides table on first use and then kept current
+ * from {@link RideChangedEvent}s after each commit. Rides changed before the
+ * build is done are noted and read again once it is, since the build may
+ * have read them before the change.
+ */
+@Component
+public class RideSearchIndex {
+
+    static final int NAME_WEIGHT = 5;
+    static final int LOCATION_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final int SAFETY_WEIGHT = 1;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> termsByRide = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Rides whose text changed before the index was built
+    private final Set<Long> changedBeforeBuilt = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean built;
+
+    // Score every ride matching all words of the query, keyed by ride ID
+    public Map<Long, Double> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String word : words) {
+                Map<Long, Double> wordScores = scoreWord(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + wordScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        switch (event.getReason()) {
+            case CREATED:
+            case UPDATED:
+            case DELETED:
+                break;
+            default:
+                // Status and maintenance changes do not touch searchable text
+                return;
+        }
+        if (!built) {
+            changedBeforeBuilt.add(event.getRideId());
+            // A build finishing meanwhile may have missed the note, so read the ride here
+            if (!built) {
+                return;
+            }
+        }
+        if (event.getReason() == RideChangedEvent.Reason.DELETED) {
+            remove(event.getRideId());
+        } else {
+            reindex(event.getRideId());
+        }
+    }
+
+    // (Re)index a single ride
+    public void index(Ride ride) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, ride.getName(), NAME_WEIGHT);
+        addTerms(terms, ride.getLocationDescription(), LOCATION_WEIGHT);
+        addTerms(terms, ride.getDescription(), DESCRIPTION_WEIGHT);
+        addTerms(terms, ride.getSafetyInstructions(), SAFETY_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removePostings(ride.getId());
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(ride.getId(), term.getValue());
+            }
+            termsByRide.put(ride.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a ride from the index
+    public void remove(Long rideId) {
+        lock.writeLock().lock();
+        try {
+            removePostings(rideId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Read a ride again, dropping it if it is gone
+    private void reindex(Long rideId) {
+        rideRepository.findById(rideId).ifPresentOrElse(this::index, () -> remove(rideId));
+    }
+
+    // Split text into lower-case words
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        synchronized (this) {
+            if (built) {
+                return;
+            }
+            for (Ride ride : rideRepository.findAll()) {
+                index(ride);
+            }
+            built = true;
+            // Changes committed while the rides were read may not be in what was read
+            for (Long rideId : changedBeforeBuilt) {
+                changedBeforeBuilt.remove(rideId);
+                reindex(rideId);
+            }
+        }
+    }
+
+    // Exact matches on the word plus half-weight matches on longer terms it prefixes
+    private Map<Long, Double> scoreWord(String word) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> term : postings.tailMap(word, true).entrySet()) {
+            if (!term.getKey().startsWith(word)) {
+                break;
+            }
+            double factor = term.getKey().length() == word.length() ? 1.0 : 0.5;
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * factor, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String word : tokenize(text)) {
+            terms.merge(word, weight, Integer::sum);
+        }
+    }
+
+    private void removePostings(Long rideId) {
+        Map<String, Integer> previous = termsByRide.remove(rideId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<Long, Integer> rides = postings.get(term);
+            if (rides != null) {
+                rides.remove(rideId);
+                if (rides.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
@@ -2,30 +2,57 @@ package com.amusement.amusement_park.service.attraction;
 
 
 import com.amusement.amusement_park.Enums.ThrillLevel;
-import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.Enums.UptimeState;
 import com.amusement.amusement_park.dto.attraction.RideCreateDto;
 import com.amusement.amusement_park.dto.attraction.RideDto;
 import com.amusement.amusement_park.dto.attraction.RidePhotoDto;
 import com.amusement.amusement_park.dto.attraction.RideUpdateDto;
-import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.dto.attraction.RideUptimeDto;
+import com.amusement.amusement_park.dto.attraction.WaitTimeDto;
 import com.amusement.amusement_park.entity.attraction.Ride;
 import com.amusement.amusement_park.entity.attraction.RidePhoto;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
 
 import com.amusement.amusement_park.exception.attraction.InvalidAgeRestrictionException;
 import com.amusement.amusement_park.exception.attraction.RideNotFoundException;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
 import com.amusement.amusement_park.repository.attraction.RideRepository;
-import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,29 +63,167 @@ public class RideService {
     private RideRepository rideRepository;
 
     @Autowired
-    private UserFavoriteRepository userFavoriteRepository;
+    private RideDtoAssembler rideDtoAssembler;
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private RideSearchIndex rideSearchIndex;
+
+    @Autowired
+    private RideFilterIndex rideFilterIndex;
+
+    @Autowired
+    private FavoriteCountAccumulator favoriteCountAccumulator;
+
+    @Autowired
+    private PopularRideRanking popularRideRanking;
+
+    @Autowired
+    private RideRecommendationEngine rideRecommendationEngine;
+
+    @Autowired
+    private WaitTimeEstimator waitTimeEstimator;
+
+    @Autowired
+    private RideAvailabilityBroadcaster rideAvailabilityBroadcaster;
+
+    @Autowired
+    private RideUptimeRecorder rideUptimeRecorder;
+
+    @Autowired
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Autowired
+    private RideMediaStore rideMediaStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Search-only sort key ordering by text relevance
+    public static final String RELEVANCE_SORT = "relevance";
+
+    // Sortable catalog properties, used to serve listings from memory
+    private static final Map<String, Comparator<RideDto>> CATALOG_SORTS = Map.of(
+            "id", Comparator.comparing(RideDto::getId),
+            "name", Comparator.comparing(RideDto::getName, String.CASE_INSENSITIVE_ORDER),
+            "thrillLevel", Comparator.comparing(RideDto::getThrillLevel),
+            "minAge", Comparator.comparing(RideDto::getMinAge),
+            "maxAge", Comparator.comparing(RideDto::getMaxAge, Comparator.nullsLast(Comparator.naturalOrder())),
+            "durationMinutes", Comparator.comparing(RideDto::getDurationMinutes),
+            "heightRequirementCm", Comparator.comparing(RideDto::getHeightRequirementCm, Comparator.nullsLast(Comparator.naturalOrder())),
+            "createdAt", Comparator.comparing(RideDto::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())),
+            "updatedAt", Comparator.comparing(RideDto::getUpdatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    // How each catalog sort property is written into a cursor and read back into a probe ride
+    private static final Map<String, CursorField> CURSOR_FIELDS = Map.of(
+            "id", new CursorField(ride -> null, (ride, value) -> { }),
+            "name", new CursorField(RideDto::getName, RideDto::setName),
+            "thrillLevel", new CursorField(RideDto::getThrillLevel, (ride, value) -> ride.setThrillLevel(ThrillLevel.valueOf(value))),
+            "minAge", new CursorField(RideDto::getMinAge, (ride, value) -> ride.setMinAge(Integer.valueOf(value))),
+            "maxAge", new CursorField(RideDto::getMaxAge, (ride, value) -> ride.setMaxAge(Integer.valueOf(value))),
+            "durationMinutes", new CursorField(RideDto::getDurationMinutes, (ride, value) -> ride.setDurationMinutes(Integer.valueOf(value))),
+            "heightRequirementCm", new CursorField(RideDto::getHeightRequirementCm, (ride, value) -> ride.setHeightRequirementCm(Integer.valueOf(value))),
+            "createdAt", new CursorField(RideDto::getCreatedAt, (ride, value) -> ride.setCreatedAt(LocalDateTime.parse(value))),
+            "updatedAt", new CursorField(RideDto::getUpdatedAt, (ride, value) -> ride.setUpdatedAt(LocalDateTime.parse(value))));
 
-    
     // Get all rides with optional filtering
-public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortDir,
-                                 ThrillLevel thrillLevel, Integer minAge, Boolean isOperational) {
-    Sort sort = sortDir.equalsIgnoreCase("desc") ?
-            Sort.by(sortBy).descending() :
-            Sort.by(sortBy).ascending();
+    public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortDir,
+                                     ThrillLevel thrillLevel, Integer minAge, Boolean isOperational) {
+        Sort sort = sortDir.equalsIgnoreCase("desc") ?
+                Sort.by(sortBy).descending() :
+                Sort.by(sortBy).ascending();
 
-    Pageable pageable = PageRequest.of(page, size, sort);
+        Pageable pageable = PageRequest.of(page, size, sort);
 
-    Page<Ride> rides = rideRepository.findAllWithFilters(thrillLevel, minAge, isOperational, pageable);
+        if (!CATALOG_SORTS.containsKey(sortBy)) {
+            Page<Ride> rides = rideRepository.findAllWithFilters(thrillLevel, minAge, isOperational, pageable);
+            return toDtoPage(rides);
+        }
 
-    return rides.map(this::convertToDto);
-}
+        Comparator<RideDto> order = catalogOrder(sortBy, sortDir);
+        return toCatalogPage(catalogMatches(thrillLevel, minAge, isOperational, order), pageable);
+    }
 
+    // Get the page of rides after a cursor; the total is counted only if asked for
+    public CursorPage<RideDto> scrollRides(String cursor, int size, String sortBy, String sortDir,
+                                           ThrillLevel thrillLevel, Integer minAge, Boolean isOperational,
+                                           boolean includeTotal) {
+        Comparator<RideDto> order = catalogOrder(sortBy, sortDir);
+        List<RideDto> matching = catalogMatches(thrillLevel, minAge, isOperational, order);
+        return toCatalogCursorPage(matching, order, sortBy, cursor, size, includeTotal);
+    }
 
     // Get ride by ID
     public RideDto getRideById(Long id) {
-        Ride ride = rideRepository.findById(id)
-                .orElseThrow(() -> new RideNotFoundException("Ride not found with id: " + id));
-        return convertToDto(ride);
+        RideDto ride = rideCatalogCache.current().getRide(id);
+        if (ride == null) {
+            throw new RideNotFoundException("Ride not found with id: " + id);
+        }
+        return withLiveValues(new RideDto(ride));
+    }
+
+    // Get several rides by ID in one pass, keyed by ID; unknown IDs are left out
+    public Map<Long, RideDto> getRidesByIds(Collection<Long> ids) {
+        RideCatalogCache.Snapshot snapshot = rideCatalogCache.current();
+        Map<Long, RideDto> rides = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            RideDto ride = snapshot.getRide(id);
+            if (ride != null) {
+                rides.put(id, withLiveValues(new RideDto(ride)));
+            } else {
+                missing.add(id);
+            }
+        }
+        // Rides committed after the snapshot was taken are loaded in one batch
+        if (!missing.isEmpty()) {
+            for (RideDto ride : rideDtoAssembler.toDtos(rideRepository.findAllById(missing))) {
+                rides.put(ride.getId(), withLiveValues(ride));
+            }
+        }
+        return rides;
+    }
+
+    // Get favorites count for a ride, including favorites not yet flushed
+    public Long getFavoritesCount(Long rideId) {
+        return favoriteCountAccumulator.count(rideId);
+    }
+
+    // Catalog cache hit/miss/rebuild counters
+    public Map<String, Object> getCatalogCacheStats() {
+        return rideCatalogCache.getStats();
+    }
+
+    // Uptime of a ride over a range of days, both ends included
+    public RideUptimeDto getRideUptime(Long id, LocalDate from, LocalDate to) {
+        getRideById(id);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start of range must not be after its end");
+        }
+        RideUptimeRecorder.Totals totals = rideUptimeRecorder.totals(id, from, to);
+        Map<UptimeState, Long> downtimeByCause = new EnumMap<>(UptimeState.class);
+        for (UptimeState state : UptimeState.DOWN_STATES) {
+            downtimeByCause.put(state, totals.seconds().getOrDefault(state, 0L) / 60);
+        }
+        long recorded = totals.upSeconds() + totals.downSeconds();
+
+        RideUptimeDto dto = new RideUptimeDto();
+        dto.setRideId(id);
+        dto.setFrom(from);
+        dto.setTo(to);
+        dto.setUpMinutes(totals.upSeconds() / 60);
+        dto.setDownMinutes(totals.downSeconds() / 60);
+        dto.setUptimePercent(recorded > 0 ? Math.round(10_000.0 * totals.upSeconds() / recorded) / 100.0 : null);
+        dto.setDowntimeMinutesByCause(downtimeByCause);
+        return dto;
+    }
+
+    // Every availability change of a ride on one day
+    public List<RideUptimeRecorder.Transition> getRideAvailabilityHistory(Long id, LocalDate day) {
+        getRideById(id);
+        return rideUptimeRecorder.transitions(id, day);
     }
 
     // Create new ride
@@ -78,6 +243,7 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
         ride.setMaxAge(createDto.getMaxAge());
         ride.setDurationMinutes(createDto.getDurationMinutes());
         ride.setHeightRequirementCm(createDto.getHeightRequirementCm());
+        ride.setCapacity(createDto.getCapacity());
         ride.setPhotoUrl(createDto.getPhotoUrl());
         ride.setVideoUrl(createDto.getVideoUrl());
         ride.setLocationDescription(createDto.getLocationDescription());
@@ -85,7 +251,8 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
         ride.setIsOperational(true);
 
         Ride savedRide = rideRepository.save(ride);
-        return convertToDto(savedRide);
+        eventPublisher.publishEvent(new RideChangedEvent(savedRide.getId(), RideChangedEvent.Reason.CREATED));
+        return withLiveValues(rideDtoAssembler.toDto(savedRide));
     }
 
     // Update ride
@@ -113,13 +280,42 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
         if (updateDto.getThrillLevel() != null) ride.setThrillLevel(updateDto.getThrillLevel());
         if (updateDto.getDurationMinutes() != null) ride.setDurationMinutes(updateDto.getDurationMinutes());
         if (updateDto.getHeightRequirementCm() != null) ride.setHeightRequirementCm(updateDto.getHeightRequirementCm());
+        if (updateDto.getCapacity() != null) ride.setCapacity(updateDto.getCapacity());
         if (updateDto.getPhotoUrl() != null) ride.setPhotoUrl(updateDto.getPhotoUrl());
         if (updateDto.getVideoUrl() != null) ride.setVideoUrl(updateDto.getVideoUrl());
         if (updateDto.getLocationDescription() != null) ride.setLocationDescription(updateDto.getLocationDescription());
         if (updateDto.getSafetyInstructions() != null) ride.setSafetyInstructions(updateDto.getSafetyInstructions());
 
         Ride savedRide = rideRepository.save(ride);
-        return convertToDto(savedRide);
+        eventPublisher.publishEvent(new RideChangedEvent(savedRide.getId(), RideChangedEvent.Reason.UPDATED));
+        return withLiveValues(rideDtoAssembler.toDto(savedRide));
+    }
+
+    // Store an uploaded photo for a ride; thumbnails follow in the background
+    public RidePhotoDto addRidePhoto(Long id, MultipartFile file, String caption, boolean isPrimary) {
+        Ride ride = rideRepository.findById(id)
+                .orElseThrow(() -> new RideNotFoundException("Ride not found with id: " + id));
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Photo file is required");
+        }
+
+        RideMediaStore.StoredMedia media;
+        try (InputStream in = file.getInputStream()) {
+            media = rideMediaStore.store(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read uploaded photo", e);
+        }
+        if (isPrimary) {
+            ridePhotoRepository.findByRideIdAndIsPrimaryTrue(id).ifPresent(previous -> previous.setIsPrimary(false));
+        }
+
+        RidePhoto photo = new RidePhoto(ride, "/api/media/rides/" + media.key(), caption, isPrimary);
+        photo.setMediaKey(media.key());
+        photo.setWidthPx(media.width());
+        photo.setHeightPx(media.height());
+        RidePhoto savedPhoto = ridePhotoRepository.save(photo);
+        eventPublisher.publishEvent(new RideChangedEvent(id, RideChangedEvent.Reason.UPDATED));
+        return rideDtoAssembler.convertRidePhotoToDto(savedPhoto);
     }
 
     // Delete ride
@@ -128,6 +324,7 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
             throw new RideNotFoundException("Ride not found with id: " + id);
         }
         rideRepository.deleteById(id);
+        eventPublisher.publishEvent(new RideChangedEvent(id, RideChangedEvent.Reason.DELETED));
     }
 
     // Update ride operational status
@@ -136,54 +333,105 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
                 .orElseThrow(() -> new RideNotFoundException("Ride not found with id: " + id));
         
         ride.setIsOperational(isOperational);
+        // The admin's choice stands; maintenance ending must not reopen a ride closed here
+        ride.setClosedForMaintenance(false);
         Ride savedRide = rideRepository.save(ride);
-        return convertToDto(savedRide);
+        eventPublisher.publishEvent(new RideChangedEvent(savedRide.getId(), RideChangedEvent.Reason.STATUS_CHANGED));
+        return withLiveValues(rideDtoAssembler.toDto(savedRide));
     }
 
-    // Search rides
+    // Search rides through the in-memory text index
     public Page<RideDto> searchRides(String keyword, ThrillLevel thrillLevel, Integer suitableForAge, 
                                    Boolean isOperational, int page, int size, String sortBy, String sortDir) {
-        Sort sort = sortDir.equalsIgnoreCase("desc") ? 
-                   Sort.by(sortBy).descending() : 
-                   Sort.by(sortBy).ascending();
-        
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Page<Ride> rides = rideRepository.searchRides(keyword, thrillLevel, suitableForAge, isOperational, pageable);
-        return rides.map(this::convertToDto);
+        Map<Long, Double> scores = searchScores(keyword);
+        Comparator<RideDto> order = searchOrder(scores, sortBy, sortDir);
+        List<RideDto> matching = searchMatches(keyword, scores, thrillLevel, suitableForAge, isOperational, order);
+        return toCatalogPage(matching, PageRequest.of(page, size));
+    }
+
+    // Get the page of search results after a cursor, in the same order as searchRides
+    public CursorPage<RideDto> scrollSearchResults(String keyword, ThrillLevel thrillLevel, Integer suitableForAge,
+                                                   Boolean isOperational, String cursor, int size, String sortBy,
+                                                   String sortDir, boolean includeTotal) {
+        Map<Long, Double> scores = searchScores(keyword);
+        Comparator<RideDto> order = searchOrder(scores, sortBy, sortDir);
+        List<RideDto> matching = searchMatches(keyword, scores, thrillLevel, suitableForAge, isOperational, order);
+        return toCatalogCursorPage(matching, order, sortBy, cursor, size, includeTotal);
     }
 
     // Get rides suitable for age
     public List<RideDto> getRidesSuitableForAge(Integer age) {
-        List<Ride> rides = rideRepository.findRidesSuitableForAge(age);
-        return rides.stream().map(this::convertToDto).collect(Collectors.toList());
+        return toFilteredRides(null, age, null, null);
     }
 
     // Get available rides (operational and no active maintenance)
     public List<RideDto> getAvailableRides() {
-        List<Ride> rides = rideRepository.findAvailableRides();
-        return rides.stream().map(this::convertToDto).collect(Collectors.toList());
+        return toFilteredRides(null, null, null, true);
     }
 
     // Get rides by thrill level
     public List<RideDto> getRidesByThrillLevel(ThrillLevel thrillLevel) {
-        List<Ride> rides = rideRepository.findByThrillLevel(thrillLevel);
-        return rides.stream().map(this::convertToDto).collect(Collectors.toList());
+        return toFilteredRides(thrillLevel, null, null, null);
+    }
+
+    // Get rides a guest may ride, by any combination of thrill level, age, height and availability
+    public List<RideDto> getEligibleRides(ThrillLevel thrillLevel, Integer age, Integer heightCm, Boolean availableOnly) {
+        return toFilteredRides(thrillLevel, age, heightCm, Boolean.TRUE.equals(availableOnly) ? true : null);
     }
 
-    // Get most popular rides
+    // Get most popular rides, from the incrementally maintained ranking
     public List<RideDto> getMostPopularRides(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        List<Object[]> results = rideRepository.findMostPopularRides(pageable);
-        
-        return results.stream()
-                .map(result -> {
-                    Ride ride = (Ride) result[0];
-                    return convertToDto(ride);
-                })
+        return toCatalogRides(popularRideRanking.topPopular(limit));
+    }
+
+    // Get rides with the most recent favorites
+    public List<RideDto> getTrendingRides(int limit) {
+        return toCatalogRides(popularRideRanking.topTrending(limit));
+    }
+
+    // Get available rides most often favorited together with the given one,
+    // optionally only those suitable for an age
+    public List<RideDto> getSimilarRides(Long rideId, int limit, Integer age) {
+        getRideById(rideId);
+        RideCatalogCache.Snapshot snapshot = rideCatalogCache.current();
+        return toCatalogRides(rideRecommendationEngine.similarTo(rideId, limit, eligibleIn(snapshot, age)));
+    }
+
+    // Get available rides a user has not favorited, ranked by similarity to their favorites
+    public List<RideDto> getRecommendedRides(Long userId, int limit, Integer age) {
+        RideCatalogCache.Snapshot snapshot = rideCatalogCache.current();
+        return toCatalogRides(rideRecommendationEngine.recommendFor(userId, limit, eligibleIn(snapshot, age)));
+    }
+
+    // Rides that can be recommended now: available and, if given, suitable for the age
+    private LongPredicate eligibleIn(RideCatalogCache.Snapshot snapshot, Integer age) {
+        Set<Long> eligible = new HashSet<>(rideFilterIndex.match(snapshot, null, age, null, null, true));
+        return eligible::contains;
+    }
+
+    // Open a stream of ride availability changes, starting with a snapshot
+    public SseEmitter streamAvailability() {
+        return rideAvailabilityBroadcaster.subscribe();
+    }
+
+    // Latest wait-time estimates for all rides
+    public WaitTimeEstimator.Snapshot getWaitTimeSnapshot() {
+        return waitTimeEstimator.current();
+    }
+
+    // Compact wait-time entries from a snapshot
+    public List<WaitTimeDto> getWaitTimes(WaitTimeEstimator.Snapshot snapshot) {
+        return snapshot.getEstimates().stream()
+                .map(estimate -> new WaitTimeDto(estimate.rideId(), estimate.minutes(), estimate.open()))
                 .collect(Collectors.toList());
     }
 
+    // Record an operator's count of a ride's physical queue
+    public void reportQueueLength(Long rideId, int queueLength) {
+        getRideById(rideId);
+        waitTimeEstimator.reportQueueLength(rideId, queueLength);
+    }
+
     // Validate age restrictions
     private void validateAgeRestrictions(Integer minAge, Integer maxAge) {
         if (minAge != null && maxAge != null && minAge > maxAge) {
@@ -191,74 +439,142 @@ public Page<RideDto> getAllRides(int page, int size, String sortBy, String sortD
         }
     }
 
-    // Convert entity to DTO
-    private RideDto convertToDto(Ride ride) {
-        RideDto dto = new RideDto();
-        dto.setId(ride.getId());
-        dto.setName(ride.getName());
-        dto.setDescription(ride.getDescription());
-        dto.setThrillLevel(ride.getThrillLevel());
-        dto.setMinAge(ride.getMinAge());
-        dto.setMaxAge(ride.getMaxAge());
-        dto.setDurationMinutes(ride.getDurationMinutes());
-        dto.setHeightRequirementCm(ride.getHeightRequirementCm());
-        dto.setPhotoUrl(ride.getPhotoUrl());
-        dto.setVideoUrl(ride.getVideoUrl());
-        dto.setIsOperational(ride.getIsOperational());
-        dto.setIsAvailable(ride.isAvailable());
-        dto.setLocationDescription(ride.getLocationDescription());
-        dto.setSafetyInstructions(ride.getSafetyInstructions());
-        dto.setCreatedAt(ride.getCreatedAt());
-        dto.setUpdatedAt(ride.getUpdatedAt());
-
-        // Set active maintenance alerts
-        List<MaintenanceAlertDto> activeAlerts = ride.getMaintenanceAlerts().stream()
-                .filter(alert -> alert.isCurrentlyActive())
-                .map(this::convertMaintenanceAlertToDto)
+    // Slice a page out of filtered catalog entries, copying the shared DTOs
+    private Page<RideDto> toCatalogPage(List<RideDto> matching, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        List<RideDto> content = matching.subList(from, to).stream()
+                .map(RideDto::new)
+                .map(this::withLiveValues)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, matching.size());
+    }
+
+    // Full order for a catalog sort property, ties broken by ID
+    private Comparator<RideDto> catalogOrder(String sortBy, String sortDir) {
+        Comparator<RideDto> comparator = CATALOG_SORTS.get(sortBy);
+        if (comparator == null) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sortBy);
+        }
+        if (sortDir.equalsIgnoreCase("desc")) {
+            comparator = comparator.reversed();
+        }
+        return comparator.thenComparing(RideDto::getId);
+    }
+
+    // Sorted catalog entries for the ride listing filters
+    private List<RideDto> catalogMatches(ThrillLevel thrillLevel, Integer minAge, Boolean isOperational,
+                                         Comparator<RideDto> order) {
+        return filteredCatalog(rideCatalogCache.current(), thrillLevel, null, null, isOperational, null).stream()
+                .filter(ride -> minAge == null || ride.getMinAge() <= minAge)
+                .sorted(order)
                 .collect(Collectors.toList());
-        dto.setActiveMaintenanceAlerts(activeAlerts);
+    }
 
-        // Set favorites count
-        Long favoritesCount = userFavoriteRepository.countByRideId(ride.getId());
-        dto.setFavoritesCount(favoritesCount.intValue());
+    // Relevance scores by ride ID, empty without a keyword
+    private Map<Long, Double> searchScores(String keyword) {
+        return keyword != null && !keyword.isBlank() ? rideSearchIndex.search(keyword) : Collections.emptyMap();
+    }
+
+    // Full order for a search, ties broken by ID
+    private Comparator<RideDto> searchOrder(Map<Long, Double> scores, String sortBy, String sortDir) {
+        if (!RELEVANCE_SORT.equals(sortBy)) {
+            return catalogOrder(sortBy, sortDir);
+        }
+        // Ties, and searches without a keyword, fall back to name order
+        return Comparator.comparingDouble((RideDto ride) -> scores.getOrDefault(ride.getId(), 0.0))
+                .reversed()
+                .thenComparing(CATALOG_SORTS.get("name"))
+                .thenComparing(RideDto::getId);
+    }
 
-        // Set photos
-        List<RidePhotoDto> photos = ride.getRidePhotos().stream()
-                .map(this::convertRidePhotoToDto)
+    // Sorted catalog entries for the search filters
+    private List<RideDto> searchMatches(String keyword, Map<Long, Double> scores, ThrillLevel thrillLevel,
+                                        Integer suitableForAge, Boolean isOperational, Comparator<RideDto> order) {
+        boolean hasKeyword = keyword != null && !keyword.isBlank();
+        return filteredCatalog(rideCatalogCache.current(), thrillLevel, suitableForAge, null, isOperational, null).stream()
+                .filter(ride -> !hasKeyword || scores.containsKey(ride.getId()))
+                .sorted(order)
                 .collect(Collectors.toList());
-        dto.setPhotos(photos);
+    }
 
-        return dto;
+    // Seek past a cursor in sorted catalog entries by binary search, copying the shared DTOs;
+    // relevance cursors hold the name, the score being looked up by ID
+    private CursorPage<RideDto> toCatalogCursorPage(List<RideDto> matching, Comparator<RideDto> order, String sortBy,
+                                                    String cursor, int size, boolean includeTotal) {
+        int pageSize = CursorPage.checkSize(size);
+        CursorField field = CURSOR_FIELDS.get(RELEVANCE_SORT.equals(sortBy) ? "name" : sortBy);
+        SeekCursor after = SeekCursor.decode(cursor);
+        int from = 0;
+        if (after != null) {
+            RideDto probe = new RideDto();
+            probe.setId(after.getId());
+            if (after.getValue() != null) {
+                try {
+                    field.reader().accept(probe, after.getValue());
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor);
+                }
+            }
+            int index = Collections.binarySearch(matching, probe, order);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        List<RideDto> fetched = matching.subList(from, Math.min(from + pageSize + 1, matching.size()));
+        Long total = includeTotal ? (long) matching.size() : null;
+        return CursorPage.fromFetched(fetched, pageSize, ride -> new SeekCursor(ride.getId(), field.write(ride)), total)
+                .map(ride -> withLiveValues(new RideDto(ride)));
     }
 
-    // Convert MaintenanceAlert to DTO (simplified)
-    private MaintenanceAlertDto convertMaintenanceAlertToDto(MaintenanceAlert alert) {
-        MaintenanceAlertDto dto = new MaintenanceAlertDto();
-        dto.setId(alert.getId());
-        dto.setRideId(alert.getRide().getId());
-        dto.setRideName(alert.getRide().getName());
-        dto.setAlertType(alert.getAlertType());
-        dto.setTitle(alert.getTitle());
-        dto.setDescription(alert.getDescription());
-        dto.setStartTime(alert.getStartTime());
-        dto.setEndTime(alert.getEndTime());
-        dto.setIsActive(alert.getIsActive());
-        dto.setIsCurrentlyActive(alert.isCurrentlyActive());
-        dto.setPriority(alert.getPriority());
-        dto.setCreatedBy(alert.getCreatedBy());
-        dto.setCreatedAt(alert.getCreatedAt());
-        dto.setUpdatedAt(alert.getUpdatedAt());
-        return dto;
+    // Catalog entries matching the filter index, unordered; shared, so not to be modified
+    private List<RideDto> filteredCatalog(RideCatalogCache.Snapshot snapshot, ThrillLevel thrillLevel, Integer age,
+                                          Integer heightCm, Boolean isOperational, Boolean isAvailable) {
+        return rideFilterIndex.match(snapshot, thrillLevel, age, heightCm, isOperational, isAvailable).stream()
+                .map(snapshot::getRide)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    // Convert RidePhoto to DTO
-    private RidePhotoDto convertRidePhotoToDto(RidePhoto photo) {
-        RidePhotoDto dto = new RidePhotoDto();
-        dto.setId(photo.getId());
-        dto.setPhotoUrl(photo.getPhotoUrl());
-        dto.setCaption(photo.getCaption());
-        dto.setIsPrimary(photo.getIsPrimary());
-        dto.setUploadedAt(photo.getUploadedAt());
-        return dto;
+    // Copies of the catalog entries matching the filter index, in name order
+    private List<RideDto> toFilteredRides(ThrillLevel thrillLevel, Integer age, Integer heightCm, Boolean isAvailable) {
+        return filteredCatalog(rideCatalogCache.current(), thrillLevel, age, heightCm, null, isAvailable).stream()
+                .sorted(catalogOrder("name", "asc"))
+                .map(RideDto::new)
+                .map(this::withLiveValues)
+                .collect(Collectors.toList());
+    }
+
+    // Look up ranked rides in the catalog, keeping their order
+    private List<RideDto> toCatalogRides(List<Long> rideIds) {
+        RideCatalogCache.Snapshot snapshot = rideCatalogCache.current();
+        return rideIds.stream()
+                .map(snapshot::getRide)
+                .filter(Objects::nonNull)
+                .map(RideDto::new)
+                .map(this::withLiveValues)
+                .collect(Collectors.toList());
+    }
+
+    // Convert a page of rides in one batch
+    private Page<RideDto> toDtoPage(Page<Ride> rides) {
+        List<RideDto> content = rideDtoAssembler.toDtos(rides.getContent()).stream()
+                .map(this::withLiveValues)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, rides.getPageable(), rides.getTotalElements());
     }
-}
\ No newline at end of file
+
+    private record CursorField(Function<RideDto, Object> getter, BiConsumer<RideDto, String> reader) {
+
+        String write(RideDto ride) {
+            Object value = getter.apply(ride);
+            return value != null ? value.toString() : null;
+        }
+    }
+
+    // Add favorites recorded since the last flush and the live wait estimate;
+    // the DTO must not be a shared catalog entry
+    private RideDto withLiveValues(RideDto ride) {
+        ride.setFavoritesCount((int) favoriteCountAccumulator.count(ride.getId()));
+        ride.setWaitMinutes(waitTimeEstimator.waitMinutes(ride.getId()));
+        return ride;
+    }
+}
@@ -0,0 +1,289 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.UptimeState;
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.entity.attraction.RideUptimeDay;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideUptimeDayRepository;
+import com.amusement.amusement_park.util.TransitionLog;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records when each ride was up or down, and why.
+ *
+ * A ride is UP while available; otherwise it is down for the type of its most
+ * urgent maintenance alert in effect, or OUT_OF_SERVICE when it was simply
+ * switched off. Every change of state is appended to the ride's
+ * {@link TransitionLog} for the day, and the seconds spent in each state are
+ * added to that day's {@link RideUptimeDay} row as they pass. A past day's row
+ * is therefore its own rollup: uptime over a week, a month or years is one
+ * indexed SUM over at most one row per ride per day, with today's still-open
+ * segment added from memory.
+ *
+ * Changes are picked up from {@link RideChangedEvent}s and, like the
+ * availability broadcaster, by diffing the catalog on every {@link #tick()},
+ * which also closes the day at midnight and writes today's rows. Time before the
+ * first observation, or while the application was down, counts as neither up
+ * nor down.
+ */
+@Component
+public class RideUptimeRecorder {
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private RideUptimeDayRepository rideUptimeDayRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Long, Tracker> trackers = new HashMap<>();
+    // Rows no longer being recorded, kept until written
+    private final List<RideUptimeDay> closed = new ArrayList<>();
+    private LocalDate today;
+    private boolean loaded;
+
+    // Current state of one ride and the row for the day being recorded
+    private static final class Tracker {
+        private UptimeState state;
+        private long since;
+        private RideUptimeDay day;
+        private TransitionLog log;
+    }
+
+    /** Time in each state over a range of days; UP plus the down states. */
+    public record Totals(Map<UptimeState, Long> seconds) {
+
+        public long upSeconds() {
+            return seconds.getOrDefault(UptimeState.UP, 0L);
+        }
+
+        public long downSeconds() {
+            return UptimeState.DOWN_STATES.stream().mapToLong(state -> seconds.getOrDefault(state, 0L)).sum();
+        }
+    }
+
+    /** One logged change of state. */
+    public record Transition(LocalDateTime at, UptimeState state) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ensureLoaded();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRideChanged(RideChangedEvent event) {
+        // Runs after RideCatalogCache has invalidated, so the catalog shows the change
+        if (!loaded) {
+            return;
+        }
+        long now = clock.instant().getEpochSecond();
+        rollOver(now);
+        observe(event.getRideId(), rideCatalogCache.current().getRide(event.getRideId()), now);
+    }
+
+    // Pick up changes that came without an event, close the day at midnight and write today's rows
+    public synchronized void tick() {
+        ensureLoaded();
+        long now = clock.instant().getEpochSecond();
+        rollOver(now);
+        Set<Long> seen = new HashSet<>();
+        for (RideDto ride : rideCatalogCache.current().getRides()) {
+            observe(ride.getId(), ride, now);
+            seen.add(ride.getId());
+        }
+        for (Long rideId : new ArrayList<>(trackers.keySet())) {
+            if (!seen.contains(rideId)) {
+                observe(rideId, null, now);
+            }
+        }
+        List<RideUptimeDay> rows = new ArrayList<>(trackers.size());
+        for (Tracker tracker : trackers.values()) {
+            account(tracker, now);
+            rows.add(tracker.day);
+        }
+        save(rows);
+    }
+
+    // Seconds per state for a ride over whole days, today included up to now
+    public synchronized Totals totals(Long rideId, LocalDate from, LocalDate to) {
+        ensureLoaded();
+        Map<UptimeState, Long> seconds = new EnumMap<>(UptimeState.class);
+        Tracker tracker = trackers.get(rideId);
+        // Today comes from memory while the ride is being recorded
+        LocalDate lastStored = tracker != null && !to.isBefore(today) ? today.minusDays(1) : to;
+        if (!from.isAfter(lastStored)) {
+            List<Object[]> rows = rideUptimeDayRepository.sumSecondsBetween(rideId, from, lastStored);
+            if (!rows.isEmpty()) {
+                Object[] row = rows.get(0);
+                for (UptimeState state : UptimeState.values()) {
+                    seconds.put(state, ((Number) row[state.ordinal()]).longValue());
+                }
+            }
+        }
+        if (tracker != null && !from.isAfter(today) && !to.isBefore(today)) {
+            for (UptimeState state : UptimeState.values()) {
+                seconds.merge(state, tracker.day.getSeconds(state), Long::sum);
+            }
+            seconds.merge(tracker.state, clock.instant().getEpochSecond() - tracker.since, Long::sum);
+        }
+        return new Totals(seconds);
+    }
+
+    // Every logged change of state for a ride on one day
+    public synchronized List<Transition> transitions(Long rideId, LocalDate day) {
+        ensureLoaded();
+        Tracker tracker = trackers.get(rideId);
+        TransitionLog log;
+        if (tracker != null && day.equals(today)) {
+            log = tracker.log;
+        } else {
+            RideUptimeDay row = rideUptimeDayRepository.findByRideIdAndDay(rideId, day).orElse(null);
+            if (row == null) {
+                return List.of();
+            }
+            log = TransitionLog.decode(startOf(day), row.getTransitions());
+        }
+        List<Transition> transitions = new ArrayList<>(log.size());
+        log.forEach((epochSecond, code) -> transitions.add(new Transition(
+                LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), clock.getZone()),
+                UptimeState.fromCode(code))));
+        return transitions;
+    }
+
+    // Ride state as shown by the catalog
+    static UptimeState stateOf(RideDto ride) {
+        if (Boolean.TRUE.equals(ride.getIsAvailable())) {
+            return UptimeState.UP;
+        }
+        List<MaintenanceAlertDto> alerts = ride.getActiveMaintenanceAlerts();
+        if (alerts == null || alerts.isEmpty()) {
+            return UptimeState.OUT_OF_SERVICE;
+        }
+        return alerts.stream()
+                .filter(alert -> alert.getPriority() != null && alert.getAlertType() != null)
+                .max(Comparator.comparing(MaintenanceAlertDto::getPriority))
+                .map(alert -> UptimeState.forAlert(alert.getAlertType()))
+                .orElse(UptimeState.OUT_OF_SERVICE);
+    }
+
+    // Note the ride's current state; a null ride has left the catalog
+    private void observe(Long rideId, RideDto ride, long now) {
+        Tracker tracker = trackers.get(rideId);
+        if (ride == null) {
+            if (tracker != null) {
+                account(tracker, now);
+                closed.add(tracker.day);
+                trackers.remove(rideId);
+            }
+            return;
+        }
+        UptimeState state = stateOf(ride);
+        if (tracker == null) {
+            tracker = new Tracker();
+            tracker.day = new RideUptimeDay(rideId, today);
+            tracker.log = new TransitionLog(startOf(today));
+            tracker.since = now;
+            trackers.put(rideId, tracker);
+        } else if (tracker.state == state) {
+            return;
+        }
+        account(tracker, now);
+        tracker.state = state;
+        tracker.log.append(now, state.ordinal());
+    }
+
+    // Move the time since the last accounting into the day's totals
+    private void account(Tracker tracker, long now) {
+        if (now > tracker.since) {
+            tracker.day.addSeconds(tracker.state, now - tracker.since);
+            tracker.since = now;
+        }
+        tracker.day.setTransitions(tracker.log.toByteArray());
+    }
+
+    // Close every day that ended before now, one midnight at a time
+    private void rollOver(long now) {
+        LocalDate current = LocalDate.ofInstant(Instant.ofEpochSecond(now), clock.getZone());
+        while (today.isBefore(current)) {
+            LocalDate next = today.plusDays(1);
+            long midnight = startOf(next);
+            for (Tracker tracker : trackers.values()) {
+                account(tracker, midnight);
+                closed.add(tracker.day);
+                tracker.day = new RideUptimeDay(tracker.day.getRideId(), next);
+                tracker.log = new TransitionLog(midnight);
+                tracker.log.append(midnight, tracker.state.ordinal());
+            }
+            today = next;
+        }
+    }
+
+    // Start from the catalog, continuing today's rows written before a restart
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        long now = clock.instant().getEpochSecond();
+        today = LocalDate.ofInstant(Instant.ofEpochSecond(now), clock.getZone());
+        Map<Long, RideUptimeDay> stored = new HashMap<>();
+        for (RideUptimeDay row : rideUptimeDayRepository.findByDay(today)) {
+            stored.put(row.getRideId(), row);
+        }
+        for (RideDto ride : rideCatalogCache.current().getRides()) {
+            RideUptimeDay row = stored.get(ride.getId());
+            if (row == null) {
+                observe(ride.getId(), ride, now);
+                continue;
+            }
+            Tracker tracker = new Tracker();
+            tracker.day = row;
+            tracker.log = TransitionLog.decode(startOf(today), row.getTransitions());
+            tracker.since = now;
+            UptimeState[] last = new UptimeState[1];
+            tracker.log.forEach((epochSecond, code) -> last[0] = UptimeState.fromCode(code));
+            tracker.state = last[0];
+            UptimeState state = stateOf(ride);
+            if (tracker.state != state) {
+                tracker.state = state;
+                tracker.log.append(Math.max(now, tracker.log.getLastSecond()), state.ordinal());
+            }
+            trackers.put(ride.getId(), tracker);
+        }
+        loaded = true;
+    }
+
+    // Write closed rows and the given open ones; closed rows are kept if this fails
+    private void save(List<RideUptimeDay> rows) {
+        List<RideUptimeDay> all = new ArrayList<>(closed);
+        all.addAll(rows);
+        if (!all.isEmpty()) {
+            rideUptimeDayRepository.saveAll(all);
+            closed.clear();
+        }
+    }
+
+    private long startOf(LocalDate day) {
+        return day.atStartOfDay(clock.getZone()).toEpochSecond();
+    }
+}
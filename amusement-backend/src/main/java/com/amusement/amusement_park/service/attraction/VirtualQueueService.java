@@ -0,0 +1,237 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.dto.attraction.VirtualQueueStatusDto;
+import com.amusement.amusement_park.dto.attraction.VirtualQueueTicketDto;
+import com.amusement.amusement_park.entity.attraction.VirtualQueueEntry;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.exception.attraction.AlreadyInVirtualQueueException;
+import com.amusement.amusement_park.exception.attraction.RideNotFoundException;
+import com.amusement.amusement_park.exception.attraction.VirtualQueueEntryNotFoundException;
+import com.amusement.amusement_park.repository.attraction.VirtualQueueEntryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual queues that replace standing in line.
+ *
+ * Guests join a ride's {@link VirtualRideQueue} and get an estimated return
+ * time. Every cycle of the ride (its {@code durationMinutes}), the next batch
+ * of guests, sized by the ride's capacity, is called and given a return
+ * window. A ride that is unavailable, e.g. closed by maintenance, has its
+ * queue paused until it reopens. Queue state lives in memory and is written
+ * behind to {@code virtual_queue_entries} by {@link VirtualQueueWriter}, from
+ * which it is restored at startup.
+ */
+@Service
+public class VirtualQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualQueueService.class);
+
+    // Batch size for rides with no configured capacity
+    static final int DEFAULT_CAPACITY = 20;
+
+    // How long a called guest has to come to the ride
+    static final Duration RETURN_WINDOW = Duration.ofMinutes(15);
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private VirtualQueueEntryRepository virtualQueueEntryRepository;
+
+    @Autowired
+    private VirtualQueueWriter virtualQueueWriter;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Long, VirtualRideQueue> queues = new ConcurrentHashMap<>();
+    private volatile boolean restored;
+
+    // Join a ride's virtual queue
+    public VirtualQueueTicketDto joinQueue(Long rideId, Long userId) {
+        RideDto ride = requireRide(rideId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        VirtualRideQueue queue = queueFor(rideId);
+        VirtualRideQueue.Ticket ticket = queue.join(userId, now);
+        if (ticket == null) {
+            throw new AlreadyInVirtualQueueException(
+                    "User " + userId + " already has a place in the virtual queue for ride " + rideId);
+        }
+        virtualQueueWriter.recordJoin(ticket);
+        return toDto(queue, ticket, ride, now);
+    }
+
+    // Get a guest's place in a ride's virtual queue
+    public VirtualQueueTicketDto getTicket(Long rideId, Long userId) {
+        RideDto ride = requireRide(rideId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        VirtualRideQueue queue = queueFor(rideId);
+        VirtualRideQueue.Ticket ticket = queue.ticketOf(userId);
+        if (ticket == null || !ticket.isOpenAt(now)) {
+            throw new VirtualQueueEntryNotFoundException(
+                    "User " + userId + " is not in the virtual queue for ride " + rideId);
+        }
+        return toDto(queue, ticket, ride, now);
+    }
+
+    // Leave a ride's virtual queue before being called
+    public void leaveQueue(Long rideId, Long userId) {
+        VirtualRideQueue.Ticket ticket = queueFor(rideId).cancel(userId);
+        if (ticket == null) {
+            throw new VirtualQueueEntryNotFoundException(
+                    "User " + userId + " is not waiting in the virtual queue for ride " + rideId);
+        }
+        virtualQueueWriter.recordStatus(ticket);
+    }
+
+    // Summary of a ride's virtual queue
+    public VirtualQueueStatusDto getQueueStatus(Long rideId) {
+        RideDto ride = requireRide(rideId);
+        VirtualRideQueue queue = queueFor(rideId);
+        VirtualQueueStatusDto dto = new VirtualQueueStatusDto();
+        dto.setRideId(rideId);
+        dto.setRideName(ride.getName());
+        dto.setWaiting(Math.max(0, queue.getWaitingCount()));
+        dto.setPaused(queue.isPaused());
+        dto.setBatchSize(batchSize(ride));
+        dto.setCycleMinutes(ride.getDurationMinutes());
+        dto.setNextCallAt(queue.getNextCallAt());
+        return dto;
+    }
+
+    // Guests waiting in each ride's virtual queue
+    public Map<Long, Integer> getWaitingCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        queues.forEach((rideId, queue) -> counts.put(rideId, Math.max(0, queue.getWaitingCount())));
+        return counts;
+    }
+
+    // Call the next batch on every queue whose cycle is due; returns the number of guests called
+    public synchronized int callDueBatches() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        RideCatalogCache.Snapshot snapshot = rideCatalogCache.current();
+        int calledCount = 0;
+        for (VirtualRideQueue queue : queues.values()) {
+            RideDto ride = snapshot.getRide(queue.getRideId());
+            if (ride == null) {
+                continue;
+            }
+            queue.expireCalled(now);
+            if (!Boolean.TRUE.equals(ride.getIsAvailable())) {
+                if (!queue.isPaused()) {
+                    logger.info("Pausing virtual queue for ride {} while it is unavailable", ride.getId());
+                }
+                queue.pause();
+                continue;
+            }
+            queue.resume(now);
+            if (queue.isDue(now)) {
+                List<VirtualRideQueue.Ticket> batch = queue.callBatch(now, batchSize(ride), cycle(ride), RETURN_WINDOW);
+                batch.forEach(virtualQueueWriter::recordStatus);
+                calledCount += batch.size();
+            }
+        }
+        return calledCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        ensureRestored();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        if (event.getReason() != RideChangedEvent.Reason.DELETED) {
+            return;
+        }
+        VirtualRideQueue queue = queues.remove(event.getRideId());
+        if (queue != null) {
+            queue.cancelAll().forEach(virtualQueueWriter::recordStatus);
+        }
+    }
+
+    private VirtualRideQueue queueFor(Long rideId) {
+        ensureRestored();
+        return queues.computeIfAbsent(rideId, id -> new VirtualRideQueue(id, 0, 0, LocalDateTime.now(clock)));
+    }
+
+    // Rebuild queues from storage once, so positions continue where they left off
+    private void ensureRestored() {
+        if (restored) {
+            return;
+        }
+        synchronized (this) {
+            if (restored) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            for (Object[] row : virtualQueueEntryRepository.findPositionsByRide()) {
+                long rideId = ((Number) row[0]).longValue();
+                queues.put(rideId, new VirtualRideQueue(rideId, ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(), now));
+            }
+            int count = 0;
+            for (VirtualQueueEntry entry : virtualQueueEntryRepository.findOpenEntries(now)) {
+                VirtualRideQueue queue = queues.computeIfAbsent(entry.getRideId(),
+                        id -> new VirtualRideQueue(id, 0, 0, now));
+                queue.restore(entry.getUserId(), entry.getPosition(), entry.getJoinedAt(), entry.getStatus(),
+                        entry.getReturnWindowStart(), entry.getReturnWindowEnd());
+                count++;
+            }
+            restored = true;
+            logger.info("Restored {} virtual queue entries across {} rides", count, queues.size());
+        }
+    }
+
+    private RideDto requireRide(Long rideId) {
+        RideDto ride = rideCatalogCache.current().getRide(rideId);
+        if (ride == null) {
+            throw new RideNotFoundException("Ride not found with id: " + rideId);
+        }
+        return ride;
+    }
+
+    private static int batchSize(RideDto ride) {
+        return ride.getCapacity() != null ? ride.getCapacity() : DEFAULT_CAPACITY;
+    }
+
+    private static Duration cycle(RideDto ride) {
+        return Duration.ofMinutes(ride.getDurationMinutes());
+    }
+
+    private VirtualQueueTicketDto toDto(VirtualRideQueue queue, VirtualRideQueue.Ticket ticket, RideDto ride,
+            LocalDateTime now) {
+        VirtualQueueTicketDto dto = new VirtualQueueTicketDto();
+        dto.setRideId(ticket.getRideId());
+        dto.setRideName(ride.getName());
+        dto.setUserId(ticket.getUserId());
+        dto.setPosition(ticket.getPosition());
+        dto.setStatus(ticket.getStatus());
+        dto.setQueuePaused(queue.isPaused());
+        if (ticket.getStatus() == VirtualQueueStatus.WAITING) {
+            dto.setGuestsAhead(queue.guestsAhead(ticket));
+            dto.setEstimatedReturnAt(queue.estimateReturnAt(ticket, now, batchSize(ride), cycle(ride)));
+        } else {
+            dto.setGuestsAhead(0L);
+            dto.setReturnWindowStart(ticket.getReturnWindowStart());
+            dto.setReturnWindowEnd(ticket.getReturnWindowEnd());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,157 @@
+package com.amusement.amusement_park.service.attraction;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Write-behind for {@code virtual_queue_entries}.
+ *
+ * Joins and status changes are queued without blocking the guest and written
+ * by {@link #flush()} as one batch of inserts followed by one batch of updates,
+ * so an opening-time burst costs a few round trips rather than one per join.
+ * A status change is always queued after its ticket's insert, so it is either
+ * in the same flush or a later one.
+ *
+ * A flush that fails because the database is unreachable keeps its writes for
+ * the next attempt. One that fails on the data itself, such as a constraint
+ * violation, is retried one write at a time; writes that fail again are
+ * logged and dropped, so one bad row cannot hold back the rest forever.
+ */
+@Component
+public class VirtualQueueWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualQueueWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO virtual_queue_entries "
+            + "(ride_id, user_id, position, status, joined_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE virtual_queue_entries "
+            + "SET status = ?, return_window_start = ?, return_window_end = ? WHERE ride_id = ? AND position = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+
+    private record PendingWrite(boolean insert, Object[] args) {
+    }
+
+    // Queue the insert for a newly issued ticket
+    public void recordJoin(VirtualRideQueue.Ticket ticket) {
+        pending.offer(new PendingWrite(true, new Object[] {
+                ticket.getRideId(), ticket.getUserId(), ticket.getPosition(),
+                ticket.getStatus().name(), Timestamp.valueOf(ticket.getJoinedAt()) }));
+    }
+
+    // Queue the update for a ticket that was called or cancelled
+    public void recordStatus(VirtualRideQueue.Ticket ticket) {
+        pending.offer(new PendingWrite(false, new Object[] {
+                ticket.getStatus().name(), timestamp(ticket.getReturnWindowStart()),
+                timestamp(ticket.getReturnWindowEnd()), ticket.getRideId(), ticket.getPosition() }));
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // Write everything queued so far; returns the number of rows written
+    public synchronized int flush() {
+        List<PendingWrite> drained = new ArrayList<>();
+        PendingWrite write;
+        while ((write = pending.poll()) != null) {
+            drained.add(write);
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (PendingWrite each : drained) {
+            (each.insert() ? inserts : updates).add(each.args());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+                }
+                if (!updates.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (isPermanent(e)) {
+                logger.warn("Batch of {} virtual queue changes was rejected, writing them one at a time", drained.size(), e);
+                return writeOneByOne(drained);
+            }
+            // Order within a flush doesn't matter: inserts run first and a
+            // ticket changes status at most once
+            pending.addAll(drained);
+            throw e;
+        }
+        return drained.size();
+    }
+
+    // Don't lose queued writes on a clean shutdown
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Failed to write {} virtual queue changes on shutdown", pending.size(), e);
+        }
+    }
+
+    // Isolate the writes the database rejects; returns the number written
+    private int writeOneByOne(List<PendingWrite> writes) {
+        List<PendingWrite> ordered = new ArrayList<>(writes.size());
+        writes.stream().filter(PendingWrite::insert).forEach(ordered::add);
+        writes.stream().filter(write -> !write.insert()).forEach(ordered::add);
+        int written = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            PendingWrite write = ordered.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(write.insert() ? INSERT_SQL : UPDATE_SQL, write.args()));
+                written++;
+            } catch (RuntimeException e) {
+                if (!isPermanent(e)) {
+                    pending.addAll(ordered.subList(i, ordered.size()));
+                    throw e;
+                }
+                logger.error("Dropped virtual queue {} {}", write.insert() ? "insert" : "update",
+                        Arrays.toString(write.args()), e);
+            }
+        }
+        return written;
+    }
+
+    // Failures that retrying the same write cannot fix
+    private static boolean isPermanent(RuntimeException e) {
+        if (!(e instanceof DataAccessException)) {
+            return true;
+        }
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One ride's virtual queue.
+ *
+ * Joins and cancellations never take a lock: positions come from an atomic
+ * counter, tickets wait in a {@link ConcurrentLinkedQueue}, and a ticket moves
+ * out of WAITING by compare-and-set, so a cancel racing with a call has exactly
+ * one winner. Cancelled tickets stay in the queue and are skipped when polled.
+ * Duplicate joins are checked per user in a {@link ConcurrentHashMap}, which
+ * only contends between joins that hash to the same bin.
+ *
+ * {@link #callBatch} and {@link #expireCalled} must be called from one thread
+ * at a time. Guests joining in the same instant may be called in either order.
+ */
+public class VirtualRideQueue {
+
+    /** A guest's place in the queue. */
+    public static final class Ticket {
+
+        private final long rideId;
+        private final long userId;
+        private final long position;
+        private final LocalDateTime joinedAt;
+        private final AtomicReference<VirtualQueueStatus> status;
+        private volatile LocalDateTime returnWindowStart;
+        private volatile LocalDateTime returnWindowEnd;
+
+        Ticket(long rideId, long userId, long position, LocalDateTime joinedAt, VirtualQueueStatus status) {
+            this.rideId = rideId;
+            this.userId = userId;
+            this.position = position;
+            this.joinedAt = joinedAt;
+            this.status = new AtomicReference<>(status);
+        }
+
+        public long getRideId() {
+            return rideId;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public LocalDateTime getJoinedAt() {
+            return joinedAt;
+        }
+
+        public VirtualQueueStatus getStatus() {
+            return status.get();
+        }
+
+        // Set once the guest is called; null while still waiting
+        public LocalDateTime getReturnWindowStart() {
+            return returnWindowStart;
+        }
+
+        public LocalDateTime getReturnWindowEnd() {
+            return returnWindowEnd;
+        }
+
+        // Waiting, or called with the return window not yet over
+        boolean isOpenAt(LocalDateTime now) {
+            VirtualQueueStatus current = status.get();
+            return current == VirtualQueueStatus.WAITING
+                    || (current == VirtualQueueStatus.CALLED && returnWindowEnd.isAfter(now));
+        }
+    }
+
+    private final long rideId;
+    private final ConcurrentLinkedQueue<Ticket> waiting = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Ticket> called = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<Long, Ticket> byUser = new ConcurrentHashMap<>();
+    private final AtomicLong lastPosition;
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private volatile long calledThrough;
+    private volatile boolean paused;
+    private volatile LocalDateTime nextCallAt;
+
+    public VirtualRideQueue(long rideId, long lastPosition, long calledThrough, LocalDateTime nextCallAt) {
+        this.rideId = rideId;
+        this.lastPosition = new AtomicLong(lastPosition);
+        this.calledThrough = calledThrough;
+        this.nextCallAt = nextCallAt;
+    }
+
+    // Join the queue; returns null if the guest already holds an open ticket
+    public Ticket join(long userId, LocalDateTime now) {
+        Ticket[] created = new Ticket[1];
+        Ticket ticket = byUser.compute(userId, (id, existing) -> {
+            if (existing != null && existing.isOpenAt(now)) {
+                return existing;
+            }
+            created[0] = new Ticket(rideId, userId, lastPosition.incrementAndGet(), now, VirtualQueueStatus.WAITING);
+            return created[0];
+        });
+        if (ticket != created[0]) {
+            return null;
+        }
+        waitingCount.incrementAndGet();
+        waiting.offer(ticket);
+        return ticket;
+    }
+
+    // Put back a ticket loaded from storage; call in position order
+    public Ticket restore(long userId, long position, LocalDateTime joinedAt, VirtualQueueStatus status,
+            LocalDateTime returnWindowStart, LocalDateTime returnWindowEnd) {
+        Ticket ticket = new Ticket(rideId, userId, position, joinedAt, status);
+        ticket.returnWindowStart = returnWindowStart;
+        ticket.returnWindowEnd = returnWindowEnd;
+        byUser.put(userId, ticket);
+        if (status == VirtualQueueStatus.WAITING) {
+            waitingCount.incrementAndGet();
+            waiting.offer(ticket);
+        } else {
+            called.offer(ticket);
+        }
+        return ticket;
+    }
+
+    // Leave the queue; returns the cancelled ticket, or null if the guest was not waiting
+    public Ticket cancel(long userId) {
+        Ticket ticket = byUser.get(userId);
+        if (ticket == null || !ticket.status.compareAndSet(VirtualQueueStatus.WAITING, VirtualQueueStatus.CANCELLED)) {
+            return null;
+        }
+        waitingCount.decrementAndGet();
+        byUser.remove(userId, ticket);
+        return ticket;
+    }
+
+    // Cancel every waiting ticket, e.g. when the ride is removed
+    public List<Ticket> cancelAll() {
+        List<Ticket> cancelled = new ArrayList<>();
+        Ticket ticket;
+        while ((ticket = waiting.poll()) != null) {
+            if (ticket.status.compareAndSet(VirtualQueueStatus.WAITING, VirtualQueueStatus.CANCELLED)) {
+                waitingCount.decrementAndGet();
+                byUser.remove(ticket.getUserId(), ticket);
+                cancelled.add(ticket);
+            }
+        }
+        return cancelled;
+    }
+
+    // The guest's current ticket, if any
+    public Ticket ticketOf(long userId) {
+        return byUser.get(userId);
+    }
+
+    // Call up to batchSize waiting guests, each given a return window starting now
+    public List<Ticket> callBatch(LocalDateTime now, int batchSize, Duration cycle, Duration returnWindow) {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        Ticket ticket;
+        while (batch.size() < batchSize && (ticket = waiting.poll()) != null) {
+            if (ticket.status.compareAndSet(VirtualQueueStatus.WAITING, VirtualQueueStatus.CALLED)) {
+                ticket.returnWindowStart = now;
+                ticket.returnWindowEnd = now.plus(returnWindow);
+                waitingCount.decrementAndGet();
+                called.offer(ticket);
+                calledThrough = Math.max(calledThrough, ticket.getPosition());
+                batch.add(ticket);
+            }
+        }
+        nextCallAt = now.plus(cycle);
+        return batch;
+    }
+
+    // Forget called guests whose return window is over
+    public void expireCalled(LocalDateTime now) {
+        Ticket ticket;
+        while ((ticket = called.peek()) != null && !ticket.getReturnWindowEnd().isAfter(now)) {
+            called.poll();
+            byUser.remove(ticket.getUserId(), ticket);
+        }
+    }
+
+    // Estimated return window of a waiting ticket, assuming full batches every cycle
+    public LocalDateTime estimateReturnAt(Ticket ticket, LocalDateTime now, int batchSize, Duration cycle) {
+        long batchesAhead = Math.max(0, ticket.getPosition() - calledThrough - 1) / batchSize;
+        LocalDateTime firstCall = nextCallAt.isAfter(now) ? nextCallAt : now;
+        return firstCall.plus(cycle.multipliedBy(batchesAhead));
+    }
+
+    // Stop calling guests; joins are still accepted
+    public void pause() {
+        paused = true;
+    }
+
+    // Resume calling, with the next batch due no earlier than now
+    public void resume(LocalDateTime now) {
+        if (paused && nextCallAt.isBefore(now)) {
+            nextCallAt = now;
+        }
+        paused = false;
+    }
+
+    public long getRideId() {
+        return rideId;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isDue(LocalDateTime now) {
+        return !paused && !nextCallAt.isAfter(now);
+    }
+
+    public LocalDateTime getNextCallAt() {
+        return nextCallAt;
+    }
+
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
+    // Guests waiting ahead of a position, counting any cancellations not yet skipped
+    public long guestsAhead(Ticket ticket) {
+        return Math.max(0, ticket.getPosition() - calledThrough - 1);
+    }
+}
@@ -0,0 +1,210 @@
+package com.amusement.amusement_park.service.attraction;
+
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live wait-time estimates for every ride.
+ *
+ * A guest joining now waits for everyone ahead, the operator-reported physical
+ * queue plus virtual-queue guests, to board at the ride's hourly throughput
+ * (capacity per cycle times cycles per hour). Maintenance that starts before
+ * the queue clears adds its downtime. Raw estimates are noisy, so each is
+ * exponentially smoothed against the previous one, with a weight that depends
+ * on the time since the last tick.
+ *
+ * {@link #recompute()} refreshes all rides in one pass and publishes an
+ * immutable {@link Snapshot}; readers never wait for a tick. The snapshot is
+ * only replaced when an estimate changed, so its version can serve as an ETag.
+ */
+@Component
+public class WaitTimeEstimator {
+
+    // Interval between recomputations
+    public static final long TICK_MILLIS = 30_000;
+
+    // Time constant of the exponential smoothing
+    static final Duration SMOOTHING = Duration.ofMinutes(5);
+
+    // Operator samples older than this are ignored
+    static final Duration SAMPLE_TTL = Duration.ofMinutes(30);
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Autowired
+    private VirtualQueueService virtualQueueService;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Long, QueueSample> samples = new ConcurrentHashMap<>();
+    private final Map<Long, Double> smoothed = new HashMap<>();
+    private LocalDateTime lastTick;
+    // Versions start from the wall clock so they keep increasing across restarts
+    private volatile Snapshot snapshot = new Snapshot(System.currentTimeMillis(), Collections.emptyMap(), null);
+
+    private record QueueSample(int length, LocalDateTime reportedAt) {
+    }
+
+    /** One ride's estimate; minutes is null while the ride is closed or its reopening is unknown. */
+    public record Estimate(long rideId, Integer minutes, boolean open, int queueLength, int throughputPerHour) {
+    }
+
+    /** All estimates from one tick. */
+    public static class Snapshot {
+        private final long version;
+        private final Map<Long, Estimate> byRide;
+        private final LocalDateTime computedAt;
+
+        Snapshot(long version, Map<Long, Estimate> byRide, LocalDateTime computedAt) {
+            this.version = version;
+            this.byRide = Collections.unmodifiableMap(byRide);
+            this.computedAt = computedAt;
+        }
+
+        // Increases whenever an estimate changes, for conditional requests
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Estimate> getEstimates() {
+            return List.copyOf(byRide.values());
+        }
+
+        public Estimate get(Long rideId) {
+            return byRide.get(rideId);
+        }
+
+        public LocalDateTime getComputedAt() {
+            return computedAt;
+        }
+    }
+
+    // Record the length of a ride's physical queue as counted by an operator
+    public void reportQueueLength(Long rideId, int length) {
+        samples.put(rideId, new QueueSample(length, LocalDateTime.now(clock)));
+    }
+
+    public Snapshot current() {
+        return snapshot;
+    }
+
+    // Smoothed wait in minutes for a ride, or null if closed or not yet estimated
+    public Integer waitMinutes(Long rideId) {
+        Estimate estimate = snapshot.get(rideId);
+        return estimate != null ? estimate.minutes() : null;
+    }
+
+    // Recompute every ride's estimate from the current catalog and samples
+    public synchronized Snapshot recompute() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        double alpha = lastTick == null ? 1
+                : 1 - Math.exp(-(double) Duration.between(lastTick, now).toMillis() / SMOOTHING.toMillis());
+        Map<Long, Integer> virtualWaiting = virtualQueueService.getWaitingCounts();
+
+        Map<Long, Estimate> estimates = new LinkedHashMap<>();
+        for (RideDto ride : rideCatalogCache.current().getRides()) {
+            Long rideId = ride.getId();
+            int throughput = throughputPerHour(ride);
+            int queueLength = physicalQueueLength(rideId, now) + virtualWaiting.getOrDefault(rideId, 0);
+            if (!Boolean.TRUE.equals(ride.getIsAvailable())) {
+                smoothed.remove(rideId);
+                estimates.put(rideId, new Estimate(rideId, null, false, queueLength, throughput));
+                continue;
+            }
+            Double raw = rawMinutes(rideId, queueLength, throughput, now);
+            if (raw == null) {
+                smoothed.remove(rideId);
+                estimates.put(rideId, new Estimate(rideId, null, true, queueLength, throughput));
+                continue;
+            }
+            double value = smoothed.containsKey(rideId) ? smoothed.get(rideId) + alpha * (raw - smoothed.get(rideId)) : raw;
+            smoothed.put(rideId, value);
+            estimates.put(rideId, new Estimate(rideId, (int) Math.round(value), true, queueLength, throughput));
+        }
+        smoothed.keySet().retainAll(estimates.keySet());
+        lastTick = now;
+        if (!estimates.equals(snapshot.byRide)) {
+            snapshot = new Snapshot(snapshot.getVersion() + 1, estimates, now);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        if (event.getReason() == RideChangedEvent.Reason.DELETED) {
+            samples.remove(event.getRideId());
+        }
+    }
+
+    // Minutes to board everyone ahead, stretched by downtime starting before then;
+    // null if an open-ended closure starts first
+    private Double rawMinutes(Long rideId, int queueLength, int throughput, LocalDateTime now) {
+        double minutes = queueLength * 60.0 / throughput;
+        LocalDateTime queueClears = now.plusNanos((long) (minutes * 60_000_000_000L));
+        LocalDateTime boardAt = queueClears;
+        LocalDateTime searchedUntil;
+        // Downtime pushes boarding later, into closures the last search did not reach
+        do {
+            searchedUntil = boardAt;
+            boardAt = stretch(maintenanceIntervalIndex.overlapping(rideId, now, searchedUntil), now, queueClears);
+            if (boardAt == null) {
+                return null;
+            }
+        } while (boardAt.isAfter(searchedUntil));
+        return Duration.between(now, boardAt).toMillis() / 60_000.0;
+    }
+
+    // Boarding time once each closure starting before it is added; null for an open-ended one
+    private static LocalDateTime stretch(List<MaintenanceIntervalIndex.Interval> downtime, LocalDateTime now,
+                                         LocalDateTime boardAt) {
+        downtime.sort(Comparator.comparing(MaintenanceIntervalIndex.Interval::getStart));
+        LocalDateTime coveredUntil = now;
+        for (MaintenanceIntervalIndex.Interval interval : downtime) {
+            if (!interval.getStart().isBefore(boardAt)) {
+                break;
+            }
+            if (interval.getEnd() == null) {
+                return null;
+            }
+            // Count only the part not already covered by an earlier overlapping interval
+            LocalDateTime from = interval.getStart().isAfter(coveredUntil) ? interval.getStart() : coveredUntil;
+            if (interval.getEnd().isAfter(from)) {
+                boardAt = boardAt.plus(Duration.between(from, interval.getEnd()));
+                coveredUntil = interval.getEnd();
+            }
+        }
+        return boardAt;
+    }
+
+    private int physicalQueueLength(Long rideId, LocalDateTime now) {
+        QueueSample sample = samples.get(rideId);
+        if (sample == null || sample.reportedAt().plus(SAMPLE_TTL).isBefore(now)) {
+            return 0;
+        }
+        return sample.length();
+    }
+
+    private static int throughputPerHour(RideDto ride) {
+        int capacity = ride.getCapacity() != null ? ride.getCapacity() : VirtualQueueService.DEFAULT_CAPACITY;
+        return Math.max(1, capacity * 60 / ride.getDurationMinutes());
+    }
+}
@@ -0,0 +1,277 @@
+package com.amusement.amusement_park.service.checkout;
+
+import com.amusement.amusement_park.dto.checkout.HoldResponse;
+import com.amusement.amusement_park.dto.checkout.TicketHoldConfirmRequest;
+import com.amusement.amusement_park.dto.checkout.TicketHoldRequest;
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest;
+import com.amusement.amusement_park.dto.ticket.TicketResponse;
+import com.amusement.amusement_park.entity.foodmerchorder.Order;
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.service.foodmerchorder.MerchandiseStock;
+import com.amusement.amusement_park.service.foodmerchorder.OrderService;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
+import com.amusement.amusement_park.service.ticket.TicketService;
+import com.amusement.amusement_park.util.HierarchicalTimingWheel;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checkout holds: ticket places and merchandise stock set aside for a cart
+ * until it is paid for or its time runs out.
+ *
+ * A ticket hold reserves its places in the {@link TicketInventory}; an order
+ * hold takes its merchandise stock. Holds live in this node's memory under a
+ * random ID and are filed in a timing wheel by expiry second. Every second,
+ * {@link #reapExpired()} gives back what the expired holds had in one go:
+ * places once per ticket type and day, and stock as one batched update.
+ *
+ * Confirming claims the hold first, so it cannot expire mid-purchase, and
+ * then writes the tickets or the order in one transaction. If that fails, the
+ * hold is kept until it expires.
+ *
+ * A hold is a few small objects, so hundreds of thousands fit easily. Holds
+ * must be confirmed on the node that made them. The stock an order hold took
+ * is also recorded in the database by {@link MerchandiseStock}, so if the
+ * node dies or restarts, {@link #releaseOrphaned()} on any node gives it
+ * back once the hold has expired.
+ */
+@Service
+public class CheckoutHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckoutHoldService.class);
+
+    private static final long RETRY_MILLIS = 5000;
+
+    // Left to the node that made an expired hold before any node may release it
+    static final long ORPHAN_GRACE_MILLIS = 60_000;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MerchandiseStock merchandiseStock;
+
+    @Value("${checkout.hold.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<Long, Hold> holds = new ConcurrentHashMap<>();
+    private HierarchicalTimingWheel<Hold> wheel;
+
+    private static final class Hold {
+        private final long id;
+        private final long expiresAt;
+        private final Long userId;
+        // Set for ticket holds
+        private final LocalDate validFrom;
+        private final Map<TicketType, Integer> tickets;
+        // Set for order holds
+        private final Order order;
+        private final Map<Long, Integer> merchandise;
+        // Expired, with its stock still to be given back
+        private volatile boolean releasing;
+
+        private Hold(long id, long expiresAt, Long userId, LocalDate validFrom, Map<TicketType, Integer> tickets,
+                Order order, Map<Long, Integer> merchandise) {
+            this.id = id;
+            this.expiresAt = expiresAt;
+            this.userId = userId;
+            this.validFrom = validFrom;
+            this.tickets = tickets;
+            this.order = order;
+            this.merchandise = merchandise;
+        }
+    }
+
+    private record Place(Integer ticketTypeId, LocalDate day) {
+    }
+
+    @PostConstruct
+    void init() {
+        // One-second ticks, 64 slots per level, three levels (about three days)
+        wheel = new HierarchicalTimingWheel<>(1000, 64, 3, clock.millis());
+    }
+
+    // Reserve places for the tickets, or fail with SoldOutException
+    public HoldResponse holdTickets(TicketHoldRequest request) {
+        Map<TicketType, Integer> tickets = ticketService.resolveGroup(request.getTickets());
+        LocalDate validFrom = request.getValidFrom() != null ? request.getValidFrom() : LocalDate.now(clock);
+        ticketInventory.reserveAll(tickets, validFrom);
+        return add(new Hold(newId(), expiry(), request.getUserId(), validFrom, tickets, null, null));
+    }
+
+    // Take the order's merchandise stock, or fail with OutOfStockException
+    public HoldResponse holdOrder(Order order) {
+        Map<Long, Integer> merchandise = MerchandiseStock.quantities(order.getItemList());
+        Hold hold = new Hold(newId(), expiry(), order.getUserId(), null, null, order, merchandise);
+        merchandiseStock.hold(hold.id, merchandise, hold.expiresAt);
+        return add(hold);
+    }
+
+    // Turn a ticket hold into paid-for tickets
+    public List<TicketResponse> confirmTickets(long holdId, TicketHoldConfirmRequest confirm) {
+        Hold hold = claim(holdId, true);
+        GroupTicketPurchaseRequest purchase = new GroupTicketPurchaseRequest();
+        purchase.setUserId(hold.userId);
+        purchase.setValidFrom(hold.validFrom);
+        purchase.setPaymentStatus(confirm.getPaymentStatus());
+        purchase.setPaymentMode(confirm.getPaymentMode());
+        List<GroupTicketPurchaseRequest.Item> items = new ArrayList<>();
+        hold.tickets.forEach((ticketType, quantity) -> {
+            GroupTicketPurchaseRequest.Item item = new GroupTicketPurchaseRequest.Item();
+            item.setTicketTypeId(ticketType.getTicketTypeId());
+            item.setQuantity(quantity);
+            items.add(item);
+        });
+        purchase.setTickets(items);
+        try {
+            return ticketService.purchaseReserved(purchase);
+        } catch (RuntimeException e) {
+            unclaim(hold);
+            throw e;
+        }
+    }
+
+    // Turn an order hold into a placed order
+    public Order confirmOrder(long holdId, String couponCode) {
+        Hold hold = claim(holdId, false);
+        try {
+            if (hold.merchandise.isEmpty()) {
+                return orderService.placeHeldOrder(hold.order, couponCode);
+            }
+            return merchandiseStock.confirmHold(hold.id, () -> orderService.placeHeldOrder(hold.order, couponCode));
+        } catch (RuntimeException e) {
+            unclaim(hold);
+            throw e;
+        }
+    }
+
+    // Give up a hold before it expires
+    public void cancel(long holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new NotFoundException("Hold not found or expired: " + holdId);
+        }
+        release(List.of(hold));
+    }
+
+    // Give back what every expired hold had; returns how many expired
+    public int reapExpired() {
+        List<Hold> expired = new ArrayList<>();
+        for (Hold hold : wheel.advance(clock.millis())) {
+            // Confirmed and cancelled holds are no longer in the map
+            if (hold.releasing || holds.remove(hold.id, hold)) {
+                expired.add(hold);
+            }
+        }
+        release(expired);
+        return expired.size();
+    }
+
+    // Give back the stock of holds long expired but still recorded, e.g. those of a node
+    // that died; returns how many there were
+    public int releaseOrphaned() {
+        return merchandiseStock.releaseExpiredHolds(clock.millis() - ORPHAN_GRACE_MILLIS);
+    }
+
+    // Holds waiting to be confirmed
+    public int getOutstandingCount() {
+        return holds.size();
+    }
+
+    private HoldResponse add(Hold hold) {
+        holds.put(hold.id, hold);
+        wheel.schedule(hold.expiresAt, hold);
+        return new HoldResponse(hold.id, LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAt), clock.getZone()));
+    }
+
+    // Take a hold out of the map so it can neither expire nor be confirmed twice
+    private Hold claim(long holdId, boolean tickets) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || (hold.tickets != null) != tickets || !holds.remove(holdId, hold)) {
+            throw new NotFoundException("Hold not found or expired: " + holdId);
+        }
+        if (clock.millis() >= hold.expiresAt) {
+            release(List.of(hold));
+            throw new NotFoundException("Hold not found or expired: " + holdId);
+        }
+        return hold;
+    }
+
+    // Put back a hold whose confirmation failed; the wheel still has it
+    private void unclaim(Hold hold) {
+        if (clock.millis() < hold.expiresAt) {
+            holds.put(hold.id, hold);
+        } else {
+            release(List.of(hold));
+        }
+    }
+
+    private void release(List<Hold> expired) {
+        Map<Place, Integer> places = new HashMap<>();
+        Map<Long, Map<Long, Integer>> merchandise = new HashMap<>();
+        List<Hold> withStock = new ArrayList<>();
+        for (Hold hold : expired) {
+            if (hold.tickets != null) {
+                hold.tickets.forEach((ticketType, quantity) ->
+                        places.merge(new Place(ticketType.getTicketTypeId(), hold.validFrom), quantity, Integer::sum));
+            }
+            if (hold.merchandise != null && !hold.merchandise.isEmpty()) {
+                merchandise.put(hold.id, hold.merchandise);
+                withStock.add(hold);
+            }
+        }
+
+        places.forEach((place, quantity) -> ticketInventory.release(place.ticketTypeId(), place.day(), quantity));
+        if (merchandise.isEmpty()) {
+            return;
+        }
+        try {
+            merchandiseStock.releaseHolds(merchandise);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to give back stock of {} expired holds, retrying", withStock.size(), e);
+            long retryAt = clock.millis() + RETRY_MILLIS;
+            for (Hold hold : withStock) {
+                hold.releasing = true;
+                wheel.schedule(retryAt, hold);
+            }
+        }
+    }
+
+    private long newId() {
+        long id;
+        do {
+            id = random.nextLong() & Long.MAX_VALUE;
+        } while (id == 0 || holds.containsKey(id));
+        return id;
+    }
+
+    private long expiry() {
+        return clock.millis() + ttlSeconds * 1000;
+    }
+}
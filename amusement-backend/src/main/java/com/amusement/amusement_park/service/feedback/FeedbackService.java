@@ -7,6 +7,9 @@ import com.amusement.amusement_park.entity.user.User;
 import com.amusement.amusement_park.exception.ResourceNotFoundException;
 import com.amusement.amusement_park.repository.feedback.FeedbackRepository;
 import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -30,6 +33,18 @@ public class FeedbackService {
         return feedbackRepository.findAll().stream().map(this::toDto).toList();
     }
 
+    // Feedback newest first, one page after a cursor; counted only if asked for
+    public CursorPage<FeedbackResponse> getPage(String cursor, int size, boolean includeTotal) {
+        int pageSize = CursorPage.checkSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Feedback> fetched = after == null
+                ? feedbackRepository.findAllByOrderByIdDesc(limit)
+                : feedbackRepository.findByIdLessThanOrderByIdDesc(after.getIntId(), limit);
+        return CursorPage.fromFetched(fetched, pageSize, feedback -> SeekCursor.afterId(feedback.getId()),
+                includeTotal ? feedbackRepository.count() : null).map(this::toDto);
+    }
+
     public FeedbackResponse saveFeedback(String email, FeedbackRequest request) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
@@ -5,9 +5,14 @@ import com.amusement.amusement_park.dto.feedback.IssueRequest;
 import com.amusement.amusement_park.dto.feedback.IssueResponse;
 import com.amusement.amusement_park.entity.feedback.Issue;
 import com.amusement.amusement_park.entity.user.User;
+import com.amusement.amusement_park.event.feedback.IssueStatusChangedEvent;
 import com.amusement.amusement_park.exception.ResourceNotFoundException;
 import com.amusement.amusement_park.repository.feedback.IssueRepository;
 import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,10 +24,13 @@ public class IssueService {
 
     private final IssueRepository issueRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public IssueService(IssueRepository issueRepository, UserRepository userRepository) {
+    public IssueService(IssueRepository issueRepository, UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.issueRepository = issueRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public IssueResponse reportIssue(String userEmail, IssueRequest request) {
@@ -37,7 +45,9 @@ public class IssueService {
                 .reportedBy(user)
                 .build();
 
-        return toDto(issueRepository.save(issue));
+        Issue savedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(new IssueStatusChangedEvent(savedIssue.getId(), null, savedIssue.getStatus()));
+        return toDto(savedIssue);
     }
 
     public List<IssueResponse> getUserIssues(String email) {
@@ -50,16 +60,31 @@ public class IssueService {
                 .stream().map(this::toDto).collect(Collectors.toList());
     }
 
+    // Issues newest first, one page after a cursor; counted only if asked for
+    public CursorPage<IssueResponse> getIssuesPage(String cursor, int size, boolean includeTotal) {
+        int pageSize = CursorPage.checkSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Issue> fetched = after == null
+                ? issueRepository.findAllByOrderByIdDesc(limit)
+                : issueRepository.findByIdLessThanOrderByIdDesc(after.getId(), limit);
+        return CursorPage.fromFetched(fetched, pageSize, issue -> SeekCursor.afterId(issue.getId()),
+                includeTotal ? issueRepository.count() : null).map(this::toDto);
+    }
+
     public IssueResponse updateIssueStatus(Long id, IssueStatus status) {
         Issue issue = issueRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Issue not found: " + id));
 
+        IssueStatus previousStatus = issue.getStatus();
         issue.setStatus(status);
         if (status == IssueStatus.RESOLVED || status == IssueStatus.CLOSED) {
             issue.setResolvedAt(LocalDateTime.now());
         }
 
-        return toDto(issueRepository.save(issue));
+        Issue savedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(new IssueStatusChangedEvent(id, previousStatus, status));
+        return toDto(savedIssue);
     }
 
     public List<IssueResponse> getIssuesByStatus(IssueStatus status) {
@@ -1,12 +1,15 @@
 package com.amusement.amusement_park.service.foodmerchorder;
 
+import com.amusement.amusement_park.Enums.SyncEntityType;
 import com.amusement.amusement_park.entity.foodmerchorder.FoodItem;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
 import com.amusement.amusement_park.exception.DuplicateFoodItemException;
 import com.amusement.amusement_park.exception.FoodItemNotFoundException;
 import com.amusement.amusement_park.repository.foodmerchorder.FoodItemRepository;
 import com.amusement.amusement_park.service.foodmerchorder.FoodItemService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.util.List;
@@ -17,6 +20,9 @@ public class FoodItemServiceImpl implements FoodItemService {
     @Autowired
     private FoodItemRepository foodItemRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public FoodItem addFoodItem(FoodItem item) {
         if (item.getName() == null || item.getName().trim().isEmpty()) {
@@ -31,7 +37,9 @@ public class FoodItemServiceImpl implements FoodItemService {
             throw new DuplicateFoodItemException(item.getName());
         }
 
-        return foodItemRepository.save(item);
+        FoodItem saved = foodItemRepository.save(item);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.FOOD_ITEM, saved.getId(), false));
+        return saved;
     }
 
     @Override
@@ -40,6 +48,7 @@ public class FoodItemServiceImpl implements FoodItemService {
             throw new FoodItemNotFoundException(id);
         }
         foodItemRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.FOOD_ITEM, id, true));
     }
 
     @Override
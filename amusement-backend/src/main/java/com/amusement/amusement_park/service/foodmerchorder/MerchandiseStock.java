@@ -0,0 +1,193 @@
+package com.amusement.amusement_park.service.foodmerchorder;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.entity.foodmerchorder.ItemType;
+import com.amusement.amusement_park.entity.foodmerchorder.OrderItem;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.exception.OutOfStockException;
+import com.amusement.amusement_park.repository.foodmerchorder.MerchandiseItemRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Merchandise stock taken by orders and checkout holds.
+ *
+ * Stock is taken with one conditional update per item, so two buyers can
+ * never both get the last unit. Items are updated in ID order, so buyers of
+ * the same items do not deadlock. Items whose stock is null are not tracked
+ * and never run out.
+ *
+ * Stock taken by a checkout hold is recorded in a {@code checkout_holds} row
+ * in the same transaction, and given back in the same transaction that
+ * deletes the row. Whoever deletes the row gives the stock back, so a hold
+ * released by its own node and swept by another after that node died is
+ * given back exactly once, and a confirmation that finds its row gone fails.
+ *
+ * Every stock change publishes a {@link CatalogEntityChangedEvent} for the
+ * items it touched, so the sync feed serves their new stock once it commits.
+ */
+@Component
+public class MerchandiseStock {
+
+    private static final String GIVE_BACK_SQL = "UPDATE merchandise_item SET stock = stock + ? WHERE id = ? AND stock IS NOT NULL";
+    private static final String INSERT_HOLD_SQL = "INSERT INTO checkout_holds (id, expires_at, merchandise) VALUES (?, ?, ?)";
+    private static final String DELETE_HOLD_SQL = "DELETE FROM checkout_holds WHERE id = ?";
+    private static final String EXPIRED_HOLDS_SQL = "SELECT id, merchandise FROM checkout_holds WHERE expires_at < ? "
+            + "ORDER BY expires_at LIMIT ?";
+
+    // Expired holds given back per sweep transaction
+    private static final int SWEEP_BATCH = 500;
+
+    @Autowired
+    private MerchandiseItemRepository merchandiseItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Merchandise units per item ID in an order's items
+    public static Map<Long, Integer> quantities(List<OrderItem> items) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        if (items != null) {
+            for (OrderItem item : items) {
+                if (item.getItemType() == ItemType.MERCH) {
+                    quantities.merge(item.getItemId(), item.getQuantity(), Integer::sum);
+                }
+            }
+        }
+        return quantities;
+    }
+
+    // Take the units of every item, all or none; throws OutOfStockException when one is short
+    public void take(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> takeEach(quantities));
+    }
+
+    // Take a checkout hold's units and record them under the hold ID, both or neither
+    public void hold(long holdId, Map<Long, Integer> quantities, long expiresAt) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            takeEach(quantities);
+            jdbcTemplate.update(INSERT_HOLD_SQL, holdId, expiresAt, encode(quantities));
+        });
+    }
+
+    // Delete a hold's record and place its order in one transaction; throws NotFoundException
+    // when the record is gone, i.e. its stock has already been given back
+    public <T> T confirmHold(long holdId, Supplier<T> placeOrder) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            if (jdbcTemplate.update(DELETE_HOLD_SQL, holdId) == 0) {
+                throw new NotFoundException("Hold not found or expired: " + holdId);
+            }
+            return placeOrder.get();
+        });
+    }
+
+    // Give back the units of the holds whose records this call deletes, in one transaction
+    public void releaseHolds(Map<Long, Map<Long, Integer>> holds) {
+        if (holds.isEmpty()) {
+            return;
+        }
+        List<Long> holdIds = new ArrayList<>(new TreeMap<>(holds).keySet());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Object[]> args = new ArrayList<>(holdIds.size());
+            holdIds.forEach(holdId -> args.add(new Object[] { holdId }));
+            int[] deleted = jdbcTemplate.batchUpdate(DELETE_HOLD_SQL, args);
+            Map<Long, Integer> quantities = new TreeMap<>();
+            for (int i = 0; i < holdIds.size(); i++) {
+                // Any other count means another node released this hold first
+                if (deleted[i] == 1) {
+                    holds.get(holdIds.get(i)).forEach((itemId, quantity) -> quantities.merge(itemId, quantity, Integer::sum));
+                }
+            }
+            giveBack(quantities);
+        });
+    }
+
+    // Give back the units of holds that expired before a time and are still recorded,
+    // such as those of a node that died; returns how many were released
+    public int releaseExpiredHolds(long expiredBefore) {
+        int released = 0;
+        while (true) {
+            Map<Long, Map<Long, Integer>> expired = new LinkedHashMap<>();
+            jdbcTemplate.query(EXPIRED_HOLDS_SQL, rs -> {
+                expired.put(rs.getLong("id"), decode(rs.getString("merchandise")));
+            }, expiredBefore, SWEEP_BATCH);
+            releaseHolds(expired);
+            released += expired.size();
+            if (expired.size() < SWEEP_BATCH) {
+                return released;
+            }
+        }
+    }
+
+    // Put units back, in one batch
+    public void giveBack(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            args.add(new Object[] { entry.getValue(), entry.getKey() });
+        }
+        jdbcTemplate.batchUpdate(GIVE_BACK_SQL, args);
+        changed(quantities);
+    }
+
+    private void takeEach(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            if (merchandiseItemRepository.takeStock(entry.getKey(), entry.getValue()) == 0) {
+                if (!merchandiseItemRepository.existsById(entry.getKey())) {
+                    throw new NotFoundException("Merchandise item not found with id: " + entry.getKey());
+                }
+                throw new OutOfStockException(entry.getKey());
+            }
+        }
+        changed(quantities);
+    }
+
+    // Stamped by the sync change log once the surrounding transaction commits
+    private void changed(Map<Long, Integer> quantities) {
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MERCHANDISE_ITEM,
+                new TreeMap<>(quantities).keySet(), false));
+    }
+
+    private static String encode(Map<Long, Integer> quantities) {
+        StringJoiner text = new StringJoiner(",");
+        new TreeMap<>(quantities).forEach((itemId, quantity) -> text.add(itemId + ":" + quantity));
+        return text.toString();
+    }
+
+    private static Map<Long, Integer> decode(String text) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (String entry : text.split(",")) {
+            int colon = entry.indexOf(':');
+            quantities.put(Long.parseLong(entry.substring(0, colon)), Integer.parseInt(entry.substring(colon + 1)));
+        }
+        return quantities;
+    }
+}
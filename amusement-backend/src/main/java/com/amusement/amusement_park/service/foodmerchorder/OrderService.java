@@ -1,11 +1,15 @@
 package com.amusement.amusement_park.service.foodmerchorder;
 import java.util.List;
+import com.amusement.amusement_park.util.CursorPage;
 import com.amusement.amusement_park.entity.foodmerchorder.Order;
 
 public interface OrderService {
 
     Order placeOrder(Order order, String couponCode);
 
+    // Same as placeOrder for an order whose merchandise stock a checkout hold already took
+    Order placeHeldOrder(Order order, String couponCode);
+
     Order updateStatus(Long id, String status);
 
     Order getOrderById(Long id);
@@ -17,6 +21,9 @@ public interface OrderService {
     // ✅ Missing ones below
     List<Order> getAllOrders();
 
+    // Orders newest first, one page after a cursor; counted only if asked for
+    CursorPage<Order> getOrdersPage(String cursor, int size, boolean includeTotal);
+
     List<Order> getOrdersByStatus(String status);
 
     List<String> getAvailablePickupLocations();
@@ -1,11 +1,14 @@
 package com.amusement.amusement_park.service.foodmerchorder.impl;
 
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
 import com.amusement.amusement_park.exception.DuplicateMerchandiseItemException;
 import com.amusement.amusement_park.entity.foodmerchorder.MerchandiseItem;
 import com.amusement.amusement_park.repository.foodmerchorder.MerchandiseItemRepository;
 import com.amusement.amusement_park.service.foodmerchorder.MerchandiseService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -17,6 +20,9 @@ public class MerchandiseServiceImpl implements MerchandiseService {
     @Autowired
     private MerchandiseItemRepository merchRepo;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public MerchandiseItem addMerchItem(MerchandiseItem item) {
     // Validate name
@@ -36,7 +42,9 @@ public class MerchandiseServiceImpl implements MerchandiseService {
         throw new DuplicateMerchandiseItemException(item.getName());
     }
 
-    return merchRepo.save(item);
+    MerchandiseItem saved = merchRepo.save(item);
+    eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MERCHANDISE_ITEM, saved.getId(), false));
+    return saved;
 }
 
 
@@ -45,6 +53,7 @@ public class MerchandiseServiceImpl implements MerchandiseService {
     @Override
     public void deleteMerchItem(Long id) {
         merchRepo.deleteById(id);
+        eventPublisher.publishEvent(new CatalogEntityChangedEvent(SyncEntityType.MERCHANDISE_ITEM, id, true));
     }
 
     @Override
@@ -3,11 +3,17 @@ package com.amusement.amusement_park.service.foodmerchorder.impl;
 import com.amusement.amusement_park.entity.foodmerchorder.Order;
 import com.amusement.amusement_park.entity.foodmerchorder.OrderItem;
 import com.amusement.amusement_park.entity.foodmerchorder.ItemType;
+import com.amusement.amusement_park.event.foodmerchorder.OrderStatusChangedEvent;
 import com.amusement.amusement_park.repository.foodmerchorder.OrderRepository;
+import com.amusement.amusement_park.service.foodmerchorder.MerchandiseStock;
 import com.amusement.amusement_park.service.foodmerchorder.OrderService;
 import com.amusement.amusement_park.entity.user.User;
 import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -16,6 +22,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,11 +34,26 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MerchandiseStock merchandiseStock;
+
     // -------------------------------
     // 1. Place a new order
     // -------------------------------
     @Override
     public Order placeOrder(Order order, String couponCode) {
+        return place(order, couponCode, true);
+    }
+
+    @Override
+    public Order placeHeldOrder(Order order, String couponCode) {
+        return place(order, couponCode, false);
+    }
+
+    private Order place(Order order, String couponCode, boolean takeStock) {
         // 🔒 SECURITY FIX: Validate that the order belongs to the authenticated user
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || auth.getName() == null) {
@@ -65,8 +87,20 @@ public class OrderServiceImpl implements OrderService {
         order.setStatus("PLACED");
         order.setOrderTime(LocalDateTime.now());
 
+        // Take merchandise stock, or fail with OutOfStockException
+        Map<Long, Integer> merchandise = takeStock ? MerchandiseStock.quantities(order.getItemList()) : Map.of();
+        merchandiseStock.take(merchandise);
+
         // Save and return the order
-        return orderRepository.save(order);
+        Order savedOrder;
+        try {
+            savedOrder = orderRepository.save(order);
+        } catch (RuntimeException e) {
+            merchandiseStock.giveBack(merchandise);
+            throw e;
+        }
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(savedOrder.getId(), null, savedOrder.getStatus()));
+        return savedOrder;
     }
 
     // -------------------------------
@@ -135,8 +169,11 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Order updateStatus(Long id, String status) {
         Order order = getOrderById(id);
+        String previousStatus = order.getStatus();
         order.setStatus(status.trim());
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(id, previousStatus, savedOrder.getStatus()));
+        return savedOrder;
     }
 
     // -------------------------------
@@ -144,10 +181,10 @@ public class OrderServiceImpl implements OrderService {
     // -------------------------------
     @Override
     public void deleteOrderById(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new RuntimeException("Order with ID " + id + " does not exist.");
-        }
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order with ID " + id + " does not exist."));
         orderRepository.deleteById(id);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(id, order.getStatus(), null));
     }
 
     // -------------------------------
@@ -170,6 +207,33 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findAll();
     }
 
+    // -------------------------------
+    // 6b. Page through all orders by cursor (Admin dashboard)
+    // -------------------------------
+    @Override
+    public CursorPage<Order> getOrdersPage(String cursor, int size, boolean includeTotal) {
+        // 🔒 SECURITY FIX: Only ADMIN users can access all orders
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getName() != null) {
+            String userEmail = auth.getName();
+            User currentUser = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (!"ADMIN".equals(currentUser.getRole())) {
+                throw new RuntimeException("Access denied: Only ADMIN users can view all orders");
+            }
+        }
+
+        int pageSize = CursorPage.checkSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Order> fetched = after == null
+                ? orderRepository.findAllByOrderByIdDesc(limit)
+                : orderRepository.findByIdLessThanOrderByIdDesc(after.getId(), limit);
+        return CursorPage.fromFetched(fetched, pageSize, order -> SeekCursor.afterId(order.getId()),
+                includeTotal ? orderRepository.count() : null);
+    }
+
     // -------------------------------
     // 7. Get orders by status (e.g., PREPARING, READY)
     // -------------------------------
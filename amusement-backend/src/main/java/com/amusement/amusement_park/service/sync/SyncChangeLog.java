@@ -0,0 +1,146 @@
+package com.amusement.amusement_park.service.sync;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.entity.sync.SyncChange;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
+import com.amusement.amusement_park.repository.sync.SyncChangeRepository;
+import com.amusement.amusement_park.service.ticket.BlockSequenceAllocator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Stamps every change to a synced entity with a version number, for the
+ * delta sync feed.
+ *
+ * {@code sync_changes} keeps only the latest change per entity, so a client
+ * asking for changes since version N gets each changed entity once, however
+ * often it changed, and deletions as tombstones.
+ *
+ * Versions are handed out after the change has committed, from a counter
+ * row in {@code id_blocks} that the stamping transaction keeps locked until
+ * the stamps are committed too, so they are shared by every node. Versions
+ * therefore become visible in order: once a client has seen version N, no
+ * change numbered below N can still appear, whichever node made it. The
+ * current version is read from the committed counter. A stamp that fails to
+ * write is kept and retried with a new version on the next change or read.
+ */
+@Component
+public class SyncChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncChangeLog.class);
+
+    private static final String UPSERT_SQL = "INSERT INTO sync_changes "
+            + "(entity_type, entity_id, version, deleted, changed_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE version = VALUES(version), deleted = VALUES(deleted), changed_at = VALUES(changed_at)";
+
+    private static final String SEQUENCE = "SYNC-VERSION";
+
+    @Autowired
+    private SyncChangeRepository syncChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BlockSequenceAllocator sequenceAllocator;
+
+    // Unstamped changes, latest state per entity
+    private final Map<EntityKey, Boolean> pending = new LinkedHashMap<>();
+
+    private record EntityKey(SyncEntityType type, long id) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRideChanged(RideChangedEvent event) {
+        record(SyncEntityType.RIDE, List.of(event.getRideId()), event.getReason() == RideChangedEvent.Reason.DELETED);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogEntityChanged(CatalogEntityChangedEvent event) {
+        record(event.getEntityType(), event.getEntityIds(), event.isDeleted());
+    }
+
+    // Stamp committed changes to entities of one type
+    public synchronized void record(SyncEntityType type, Collection<Long> ids, boolean deleted) {
+        for (Long id : ids) {
+            EntityKey key = new EntityKey(type, id);
+            // Re-insert so a retried entity takes its place after newer ones
+            pending.remove(key);
+            pending.put(key, deleted);
+        }
+        flush();
+    }
+
+    // Highest version whose changes are all visible
+    public synchronized long currentVersion() {
+        flush();
+        // Stamps written before the counter existed are all committed
+        OptionalLong next = sequenceAllocator.peek(SEQUENCE);
+        return next.isPresent() ? next.getAsLong() - 1 : syncChangeRepository.findMaxVersion();
+    }
+
+    // Up to limit changes stamped after a version, oldest first
+    public List<SyncChange> changesSince(long since, int limit) {
+        if (since >= currentVersion()) {
+            return List.of();
+        }
+        return syncChangeRepository.findByVersionGreaterThanOrderByVersionAsc(since, Limit.of(limit));
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // After-commit listeners still see the finished transaction, so stamp in a new one
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            while (true) {
+                try {
+                    transaction.executeWithoutResult(status -> stamp());
+                    break;
+                } catch (DuplicateKeyException e) {
+                    // Another node created the counter first; stamp from it instead
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to stamp {} sync changes, retrying on the next change", pending.size(), e);
+            return;
+        }
+        pending.clear();
+    }
+
+    // Take the next versions and write the stamps; the counter stays locked until they commit
+    private void stamp() {
+        long next = sequenceAllocator.advance(SEQUENCE, pending.size(), syncChangeRepository::findMaxVersion);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (Map.Entry<EntityKey, Boolean> change : pending.entrySet()) {
+            rows.add(new Object[] { change.getKey().type().name(), change.getKey().id(), next++, change.getValue(), now });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+}
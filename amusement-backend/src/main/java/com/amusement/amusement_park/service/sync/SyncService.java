@@ -0,0 +1,155 @@
+package com.amusement.amusement_park.service.sync;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.dto.sync.SyncChangesDto;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.foodmerchorder.FoodItem;
+import com.amusement.amusement_park.entity.foodmerchorder.MerchandiseItem;
+import com.amusement.amusement_park.entity.sync.SyncChange;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.FoodItemRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.MerchandiseItemRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delta sync for offline-capable kiosk and mobile clients.
+ *
+ * A client without a version, or with one this server never issued, gets a
+ * full snapshot. After that it sends the version it last received and gets
+ * only the entities changed since, each once in its current state, and the
+ * IDs of those deleted. Pages are cut by version, so a client that keeps
+ * asking while hasMore is set ends up exactly in step.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService {
+
+    public static final int DEFAULT_LIMIT = 200;
+    public static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private SyncChangeLog syncChangeLog;
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private RideDtoAssembler rideDtoAssembler;
+
+    @Autowired
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private MerchandiseItemRepository merchandiseItemRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Changes since a version, or everything when since is null
+    public SyncChangesDto getChanges(Long since, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (since != null && since < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
+        // Read the version first: anything changing while the data is read is sent again next time
+        long current = syncChangeLog.currentVersion();
+        if (since == null || since > current) {
+            return fullSync(current);
+        }
+
+        SyncChangesDto changes = new SyncChangesDto();
+        List<SyncChange> page = syncChangeLog.changesSince(since, limit + 1);
+        boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = page.subList(0, limit);
+        }
+        long version = page.isEmpty() ? current : page.get(page.size() - 1).getVersion();
+        changes.setVersion(hasMore ? version : Math.max(version, current));
+        changes.setHasMore(hasMore);
+
+        Map<SyncEntityType, List<Long>> upserts = new EnumMap<>(SyncEntityType.class);
+        for (SyncChange change : page) {
+            if (Boolean.TRUE.equals(change.getDeleted())) {
+                changes.addDeleted(change.getEntityType(), change.getEntityId());
+            } else {
+                upserts.computeIfAbsent(change.getEntityType(), type -> new ArrayList<>()).add(change.getEntityId());
+            }
+        }
+        upserts.forEach((type, ids) -> addUpserts(changes, type, ids));
+        return changes;
+    }
+
+    private SyncChangesDto fullSync(long version) {
+        SyncChangesDto changes = new SyncChangesDto();
+        changes.setVersion(version);
+        changes.setFull(true);
+        changes.setRides(new ArrayList<>(rideCatalogCache.current().getRides()));
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (MaintenanceAlert alert : maintenanceAlertRepository.findActiveWithRide()) {
+            changes.getMaintenanceAlerts().add(rideDtoAssembler.convertMaintenanceAlertToDto(alert, now));
+        }
+        changes.setFoodItems(foodItemRepository.findAll());
+        changes.setMerchandiseItems(merchandiseItemRepository.findAll());
+        return changes;
+    }
+
+    // Current state of changed entities; any no longer found are sent as deleted
+    private void addUpserts(SyncChangesDto changes, SyncEntityType type, List<Long> ids) {
+        Set<Long> found = new HashSet<>();
+        switch (type) {
+            case RIDE -> {
+                RideCatalogCache.Snapshot catalog = rideCatalogCache.current();
+                for (Long id : ids) {
+                    RideDto ride = catalog.getRide(id);
+                    if (ride != null) {
+                        changes.getRides().add(ride);
+                        found.add(id);
+                    }
+                }
+            }
+            case MAINTENANCE_ALERT -> {
+                LocalDateTime now = LocalDateTime.now(clock);
+                for (MaintenanceAlert alert : maintenanceAlertRepository.findAllWithRideByIdIn(ids)) {
+                    changes.getMaintenanceAlerts().add(rideDtoAssembler.convertMaintenanceAlertToDto(alert, now));
+                    found.add(alert.getId());
+                }
+            }
+            case FOOD_ITEM -> {
+                for (FoodItem item : foodItemRepository.findAllById(ids)) {
+                    changes.getFoodItems().add(item);
+                    found.add(item.getId());
+                }
+            }
+            case MERCHANDISE_ITEM -> {
+                for (MerchandiseItem item : merchandiseItemRepository.findAllById(ids)) {
+                    changes.getMerchandiseItems().add(item);
+                    found.add(item.getId());
+                }
+            }
+        }
+        for (Long id : ids) {
+            if (!found.contains(id)) {
+                changes.addDeleted(type, id);
+            }
+        }
+    }
+}
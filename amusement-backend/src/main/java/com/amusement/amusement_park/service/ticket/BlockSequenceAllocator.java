@@ -0,0 +1,168 @@
+package com.amusement.amusement_park.service.ticket;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hi/lo allocator for named sequences that must be unique across every node.
+ *
+ * Each node reserves a block of values from the {@code id_blocks} table by
+ * moving its row forward under a row lock, in a short transaction of its own,
+ * and then hands the block out from memory with a compare-and-set that only
+ * succeeds while the block has room. Only the thread that finds the block too
+ * short goes back to the database. A run longer than a block is reserved on
+ * its own and leaves the block in hand as it is; a shorter run that does not
+ * fit what is left replaces the block, and the few values left in it are
+ * never used. Values are unique but not gap-free, and neither are those left
+ * in a block when the node stops. They increase per node, except that values
+ * from the block in hand may follow a long run reserved on its own.
+ *
+ * A sequence whose values must also commit in order across nodes is moved
+ * forward with {@link #advance} instead, inside the transaction that uses
+ * the values, and is never handed out in blocks.
+ */
+@Component
+public class BlockSequenceAllocator {
+
+    private static final String SELECT_SQL = "SELECT next_value FROM id_blocks WHERE name = ? FOR UPDATE";
+    private static final String PEEK_SQL = "SELECT next_value FROM id_blocks WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO id_blocks (name, next_value, updated_at) VALUES (?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE id_blocks SET next_value = ?, updated_at = ? WHERE name = ?";
+
+    // Reservations given up after losing this many deadlocks in a row
+    private static final int MAX_DEADLOCK_RETRIES = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${sequence.block-size:1000}")
+    private int blockSize = 1000;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    // Values [next, end) reserved by this node
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    /**
+     * Next value of a sequence. A sequence not yet in the table starts just
+     * above what floor returns, so values already handed out some other way
+     * are not repeated; floor is asked once, by whichever node creates it.
+     */
+    public long next(String name, LongSupplier floor) {
+        return next(name, 1, floor);
+    }
+
+    // First of count consecutive values of a sequence
+    public long next(String name, int count, LongSupplier floor) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        Long value = take(blocks.get(name), count);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            // Another thread may have reserved a new block while this one waited
+            value = take(blocks.get(name), count);
+            if (value != null) {
+                return value;
+            }
+            // A run longer than a block is reserved on its own, keeping the block in hand
+            if (count > blockSize) {
+                return reserve(name, count, floor);
+            }
+            long start = reserve(name, blockSize, floor);
+            blocks.put(name, new Block(start + count, start + blockSize));
+            return start;
+        }
+    }
+
+    /**
+     * First of count consecutive values of a sequence, taken in the caller's
+     * transaction. The row stays locked until that transaction ends, so values
+     * taken this way commit in order. Throws DuplicateKeyException when another
+     * node created the sequence at the same time; the caller retries.
+     */
+    public long advance(String name, int count, LongSupplier floor) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> stored = jdbcTemplate.queryForList(SELECT_SQL, Long.class, name);
+        if (stored.isEmpty()) {
+            long start = floor.getAsLong() + 1;
+            jdbcTemplate.update(INSERT_SQL, name, start + count, now);
+            return start;
+        }
+        long start = stored.get(0);
+        jdbcTemplate.update(UPDATE_SQL, start + count, now, name);
+        return start;
+    }
+
+    // Next value a sequence will hand out, as last committed; empty before its first value
+    public OptionalLong peek(String name) {
+        List<Long> stored = jdbcTemplate.queryForList(PEEK_SQL, Long.class, name);
+        return stored.isEmpty() ? OptionalLong.empty() : OptionalLong.of(stored.get(0));
+    }
+
+    // Claim count values from a block, or null when it has too few left; a
+    // failed claim takes nothing, so shorter runs can still use the rest
+    private static Long take(Block block, int count) {
+        if (block == null) {
+            return null;
+        }
+        while (true) {
+            long value = block.next.get();
+            if (block.end - value < count) {
+                return null;
+            }
+            if (block.next.compareAndSet(value, value + count)) {
+                return value;
+            }
+        }
+    }
+
+    // Move the stored sequence size values forward, returning the first of them
+    private long reserve(String name, int size, LongSupplier floor) {
+        // Runs inside callers' transactions, so the reservation commits on its own
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int deadlocks = 0;
+        while (true) {
+            try {
+                return transaction.execute(status -> advance(name, size, floor));
+            } catch (DuplicateKeyException e) {
+                // Another node created the row first; reserve from it instead
+            } catch (PessimisticLockingFailureException e) {
+                // Deadlock victim or lock timeout; the reservation rolled back, so try again
+                if (++deadlocks > MAX_DEADLOCK_RETRIES) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
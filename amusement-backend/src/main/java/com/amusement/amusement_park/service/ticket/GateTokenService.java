@@ -0,0 +1,151 @@
+package com.amusement.amusement_park.service.ticket;
+
+import com.amusement.amusement_park.entity.ticket.Ticket;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Signed gate tokens that turnstiles can check without calling the server.
+ *
+ * A token is the URL-safe Base64 (no padding) of a 26-byte payload followed
+ * by the first 16 bytes of its HMAC-SHA256 under the shared gate secret.
+ * The payload, big-endian: byte format (1), long ticket ID, int ticket type
+ * ID, int valid-from and int valid-to as epoch days, byte flags (bit 0 VIP)
+ * and int issued-at epoch second, unsigned. A gate holding the secret and
+ * the revocation list from {@link TicketRevocationList} can decide a scan
+ * on its own; {@link #verify(String)} applies the same rules on the server.
+ *
+ * Only paid tickets get a token. Tokens are not stored: a new one is issued
+ * whenever a ticket is returned, always after the ticket's last revocation.
+ */
+@Component
+public class GateTokenService {
+
+    static final byte FORMAT = 1;
+    static final int PAYLOAD_BYTES = 26;
+    static final int MAC_BYTES = 16;
+    private static final String ALGORITHM = "HmacSHA256";
+    // The value committed in application.properties, which anyone can read
+    static final String PLACEHOLDER_SECRET = "replaceWithYourGateSecretAtLeast32BytesLong";
+
+    @Value("${ticket.gate.secret}")
+    private String secret;
+
+    @Autowired
+    private TicketRevocationList ticketRevocationList;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Mac instances are not thread-safe
+    private ThreadLocal<Mac> mac;
+
+    /** What a token says about its ticket. */
+    public record Claims(long ticketId, int ticketTypeId, LocalDate validFrom, LocalDate validTo, boolean vip, long issuedAt) {
+    }
+
+    public enum Verdict {
+        VALID,
+        MALFORMED,
+        BAD_SIGNATURE,
+        NOT_YET_VALID,
+        EXPIRED,
+        REVOKED
+    }
+
+    /** The outcome of a scan; claims are null unless the signature checked out. */
+    public record Verification(Verdict verdict, Claims claims) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (PLACEHOLDER_SECRET.equals(secret)) {
+            throw new IllegalStateException("ticket.gate.secret is still the placeholder; set TICKET_GATE_SECRET");
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("ticket.gate.secret must be at least 32 bytes");
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key, ALGORITHM);
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // Token for a paid ticket, or null for any other
+    public String issue(Ticket ticket) {
+        if (ticket.getTicketId() == null || ticket.getPaymentStatus() != Ticket.PaymentStatus.PAID) {
+            return null;
+        }
+        long issuedAt = Math.max(clock.instant().getEpochSecond(), ticketRevocationList.revokedAt(ticket.getTicketId()) + 1);
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_BYTES + MAC_BYTES);
+        buffer.put(FORMAT);
+        buffer.putLong(ticket.getTicketId());
+        buffer.putInt(ticket.getTicketType().getTicketTypeId());
+        buffer.putInt((int) ticket.getValidFrom().toEpochDay());
+        buffer.putInt((int) ticket.getValidTo().toEpochDay());
+        buffer.put((byte) (Boolean.TRUE.equals(ticket.getTicketType().getIsVip()) ? 1 : 0));
+        buffer.putInt((int) issuedAt);
+        buffer.put(sign(buffer.array()), 0, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    // Check a scanned token against its signature, validity dates and the revocation list
+    public Verification verify(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token == null ? "" : token.trim());
+        } catch (IllegalArgumentException e) {
+            return new Verification(Verdict.MALFORMED, null);
+        }
+        if (bytes.length != PAYLOAD_BYTES + MAC_BYTES || bytes[0] != FORMAT) {
+            return new Verification(Verdict.MALFORMED, null);
+        }
+        byte[] expected = Arrays.copyOf(sign(bytes), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_BYTES, bytes.length))) {
+            return new Verification(Verdict.BAD_SIGNATURE, null);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_BYTES - 1);
+        Claims claims = new Claims(buffer.getLong(), buffer.getInt(),
+                LocalDate.ofEpochDay(buffer.getInt()), LocalDate.ofEpochDay(buffer.getInt()),
+                (buffer.get() & 1) != 0, Integer.toUnsignedLong(buffer.getInt()));
+        LocalDate today = LocalDate.now(clock);
+        if (today.isBefore(claims.validFrom())) {
+            return new Verification(Verdict.NOT_YET_VALID, claims);
+        }
+        if (today.isAfter(claims.validTo())) {
+            return new Verification(Verdict.EXPIRED, claims);
+        }
+        if (ticketRevocationList.isRevoked(claims.ticketId(), claims.issuedAt())) {
+            return new Verification(Verdict.REVOKED, claims);
+        }
+        return new Verification(Verdict.VALID, claims);
+    }
+
+    // HMAC of the payload at the start of the array
+    private byte[] sign(byte[] bytes) {
+        Mac instance = mac.get();
+        instance.update(bytes, 0, PAYLOAD_BYTES);
+        return instance.doFinal();
+    }
+}
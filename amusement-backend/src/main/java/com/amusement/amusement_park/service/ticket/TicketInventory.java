@@ -0,0 +1,328 @@
+package com.amusement.amusement_park.service.ticket;
+
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.exception.SoldOutException;
+import com.amusement.amusement_park.repository.ticket.TicketRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Per-day capacity of each ticket type, reserved without a hot row.
+ *
+ * The {@code ticket_inventory_days} row of a type and day holds its capacity
+ * and how many permits nodes have leased from it. A node leases permits in
+ * batches (ticket.inventory.lease-size) under that row's lock and keeps the
+ * unsold ones in memory, spread over striped counters a cache line apart, so
+ * concurrent purchases mostly take a permit with one uncontended
+ * compare-and-set. The row is only touched once per batch, and never more
+ * permits are leased than the capacity allows, so no node can oversell.
+ *
+ * Every minute, {@link #reconcile()} hands permits held for days that have
+ * passed or gone quiet back to the row so other nodes can sell them. A
+ * node that dies keeps its unsold permits out of sale for that day.
+ *
+ * A day's row is created on its first sale, with the type's daily capacity
+ * and the tickets already sold for that day; a type without a daily
+ * capacity and without a row for the day is not limited. When the daily
+ * capacity changes, {@link #setDailyCapacity} carries it over to the rows
+ * from today on, except days given their own capacity.
+ */
+@Component
+public class TicketInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketInventory.class);
+
+    private static final String SELECT_SQL = "SELECT capacity, allocated FROM ticket_inventory_days "
+            + "WHERE ticket_type_id = ? AND day = ? FOR UPDATE";
+    private static final String INSERT_SQL = "INSERT INTO ticket_inventory_days "
+            + "(ticket_type_id, day, capacity, allocated, updated_at, overridden) VALUES (?, ?, ?, ?, ?, FALSE)";
+    private static final String ALLOCATE_SQL = "UPDATE ticket_inventory_days SET allocated = allocated + ?, updated_at = ? "
+            + "WHERE ticket_type_id = ? AND day = ?";
+    private static final String CAPACITY_SQL = "UPDATE ticket_inventory_days SET capacity = ?, updated_at = ?, overridden = TRUE "
+            + "WHERE ticket_type_id = ? AND day = ?";
+    private static final String DAILY_CAPACITY_SQL = "UPDATE ticket_inventory_days SET capacity = ?, updated_at = ? "
+            + "WHERE ticket_type_id = ? AND day >= ? AND overridden = FALSE";
+    private static final String UNLIMITED_SQL = "DELETE FROM ticket_inventory_days "
+            + "WHERE ticket_type_id = ? AND day >= ? AND overridden = FALSE";
+
+    // Counters are this many ints apart, so each stripe has a cache line to itself
+    private static final int SPACING = 16;
+    static final int STRIPES = Math.min(64, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    // Permits of a pool unused this long go back to the row
+    static final long IDLE_MILLIS = 5 * 60 * 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Value("${ticket.inventory.lease-size:50}")
+    private int leaseSize = 50;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Key, Pool> pools = new ConcurrentHashMap<>();
+
+    private record Key(int ticketTypeId, LocalDate day) {
+    }
+
+    // Permits this node holds for one type and day
+    private static final class Pool {
+        private final AtomicIntegerArray permits = new AtomicIntegerArray(STRIPES * SPACING);
+        private volatile long lastUsed;
+        // Set once the day turned out to have no limit
+        private volatile boolean unlimited;
+        // Set when the pool is handed back; its holders must look the key up again
+        private volatile boolean retired;
+    }
+
+    // Take count tickets of a type for a visit day, or throw SoldOutException
+    public void reserve(TicketType ticketType, LocalDate day, int count) {
+        Key key = new Key(ticketType.getTicketTypeId(), day);
+        while (true) {
+            Pool pool = pools.computeIfAbsent(key, k -> new Pool());
+            pool.lastUsed = clock.millis();
+            if (pool.unlimited || take(pool, count)) {
+                return;
+            }
+            synchronized (pool) {
+                if (pool.retired) {
+                    continue;
+                }
+                if (leaseUntilTaken(key, pool, ticketType.getDailyCapacity(), count)) {
+                    return;
+                }
+            }
+            throw new SoldOutException(ticketType.getTicketTypeId(), day);
+        }
+    }
+
+    // Take places for several types on one day, all of them or none
+    public void reserveAll(Map<TicketType, Integer> quantities, LocalDate day) {
+        Map<TicketType, Integer> reserved = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<TicketType, Integer> entry : quantities.entrySet()) {
+                reserve(entry.getKey(), day, entry.getValue());
+                reserved.put(entry.getKey(), entry.getValue());
+            }
+        } catch (RuntimeException e) {
+            releaseAll(reserved, day);
+            throw e;
+        }
+    }
+
+    public void releaseAll(Map<TicketType, Integer> quantities, LocalDate day) {
+        quantities.forEach((ticketType, count) -> release(ticketType.getTicketTypeId(), day, count));
+    }
+
+    // Give back tickets no longer sold, for this node to sell again
+    public void release(Integer ticketTypeId, LocalDate day, int count) {
+        Key key = new Key(ticketTypeId, day);
+        while (true) {
+            Pool pool = pools.computeIfAbsent(key, k -> new Pool());
+            synchronized (pool) {
+                if (pool.retired) {
+                    continue;
+                }
+                if (!pool.unlimited) {
+                    pool.permits.addAndGet(stripe(), count);
+                }
+                return;
+            }
+        }
+    }
+
+    // Set the capacity of one type on one day, overriding its daily capacity
+    public void setCapacity(TicketType ticketType, LocalDate day, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        Key key = new Key(ticketType.getTicketTypeId(), day);
+        inNewTransaction(() -> {
+            lockRow(key, capacity);
+            return jdbcTemplate.update(CAPACITY_SQL, capacity, now(), key.ticketTypeId(), Date.valueOf(day));
+        });
+        // Permits this node holds are handed back; other nodes keep theirs until they go quiet
+        retire(key);
+    }
+
+    // Apply a changed daily capacity to the days from today on that were not given their own
+    public void setDailyCapacity(TicketType ticketType) {
+        Integer capacity = ticketType.getDailyCapacity();
+        LocalDate today = LocalDate.now(clock);
+        Integer ticketTypeId = ticketType.getTicketTypeId();
+        inNewTransaction(() -> capacity != null
+                ? jdbcTemplate.update(DAILY_CAPACITY_SQL, capacity, now(), ticketTypeId, Date.valueOf(today))
+                // Without a row a day is not limited
+                : jdbcTemplate.update(UNLIMITED_SQL, ticketTypeId, Date.valueOf(today)));
+        for (Key key : pools.keySet()) {
+            if (key.ticketTypeId() == ticketTypeId && !key.day().isBefore(today)) {
+                retire(key);
+            }
+        }
+    }
+
+    // Hand back permits held for past or quiet days; days without a limit are looked up again
+    public void reconcile() {
+        long now = clock.millis();
+        LocalDate today = LocalDate.now(clock);
+        for (Map.Entry<Key, Pool> entry : pools.entrySet()) {
+            Pool pool = entry.getValue();
+            if (pool.unlimited || entry.getKey().day().isBefore(today) || now - pool.lastUsed > IDLE_MILLIS) {
+                retire(entry.getKey());
+            }
+        }
+    }
+
+    // Claim count permits across the stripes, all or none
+    private boolean take(Pool pool, int count) {
+        int start = stripe();
+        int needed = count;
+        for (int i = 0; i < STRIPES && needed > 0; i++) {
+            int slot = ((start / SPACING + i) & (STRIPES - 1)) * SPACING;
+            int available;
+            do {
+                available = pool.permits.get(slot);
+                if (available == 0) {
+                    break;
+                }
+            } while (!pool.permits.compareAndSet(slot, available, available - Math.min(available, needed)));
+            needed -= Math.min(available, needed);
+        }
+        if (needed == 0) {
+            return true;
+        }
+        if (needed < count) {
+            pool.permits.addAndGet(start, count - needed);
+        }
+        return false;
+    }
+
+    // Lease more permits until count can be taken; false once the row has none left
+    private boolean leaseUntilTaken(Key key, Pool pool, Integer dailyCapacity, int count) {
+        while (true) {
+            if (pool.unlimited || take(pool, count)) {
+                return true;
+            }
+            int granted = inNewTransaction(() -> {
+                int[] row = lockRow(key, dailyCapacity);
+                if (row == null) {
+                    return -1;
+                }
+                int grant = Math.min(Math.max(leaseSize, count), row[0] - row[1]);
+                if (grant > 0) {
+                    jdbcTemplate.update(ALLOCATE_SQL, grant, now(), key.ticketTypeId(), Date.valueOf(key.day()));
+                }
+                return Math.max(grant, 0);
+            });
+            if (granted < 0) {
+                pool.unlimited = true;
+                return true;
+            }
+            if (granted == 0) {
+                return false;
+            }
+            spread(pool, granted);
+        }
+    }
+
+    // Lock the day's row, creating it from the daily capacity; null when the day has no limit
+    private int[] lockRow(Key key, Integer capacity) {
+        Date day = Date.valueOf(key.day());
+        List<int[]> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new int[] { rs.getInt(1), rs.getInt(2) },
+                key.ticketTypeId(), day);
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        if (capacity == null) {
+            return null;
+        }
+        // Tickets sold before the day had a row still count against it
+        int sold = (int) ticketRepository.countByTicketTypeTicketTypeIdAndValidFrom(key.ticketTypeId(), key.day());
+        jdbcTemplate.update(INSERT_SQL, key.ticketTypeId(), day, capacity, sold, now());
+        return new int[] { capacity, sold };
+    }
+
+    // Stop using a pool and return its permits to the row
+    private void retire(Key key) {
+        Pool pool = pools.remove(key);
+        if (pool == null) {
+            return;
+        }
+        synchronized (pool) {
+            pool.retired = true;
+            int unused = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                unused += pool.permits.getAndSet(i * SPACING, 0);
+            }
+            if (unused == 0 || pool.unlimited) {
+                return;
+            }
+            int returned = unused;
+            try {
+                inNewTransaction(() -> jdbcTemplate.update(ALLOCATE_SQL, -returned, now(), key.ticketTypeId(), Date.valueOf(key.day())));
+            } catch (RuntimeException e) {
+                // Keep the permits on this node rather than lose them
+                logger.warn("Could not return {} permits for ticket type {} on {}", returned, key.ticketTypeId(), key.day(), e);
+                release(key.ticketTypeId(), key.day(), returned);
+            }
+        }
+    }
+
+    private void spread(Pool pool, int permits) {
+        for (int i = 0; i < STRIPES; i++) {
+            int share = permits / STRIPES + (i < permits % STRIPES ? 1 : 0);
+            if (share > 0) {
+                pool.permits.addAndGet(i * SPACING, share);
+            }
+        }
+    }
+
+    // Slot of the calling thread's home stripe
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() & (STRIPES - 1)) * SPACING;
+    }
+
+    private Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now(clock));
+    }
+
+    // Row changes commit on their own, whatever the caller's transaction does
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        while (true) {
+            try {
+                return transaction.execute(status -> work.get());
+            } catch (DuplicateKeyException e) {
+                // Another node created the day's row first; use it
+            }
+        }
+    }
+}
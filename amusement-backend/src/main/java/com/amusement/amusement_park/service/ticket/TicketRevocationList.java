@@ -0,0 +1,200 @@
+package com.amusement.amusement_park.service.ticket;
+
+import com.amusement.amusement_park.entity.ticket.TicketRevocation;
+import com.amusement.amusement_park.repository.ticket.TicketRevocationRepository;
+import com.amusement.amusement_park.util.BloomFilter;
+import com.amusement.amusement_park.util.LongObjectHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tickets whose gate tokens may no longer be accepted, for gates verifying
+ * tokens offline.
+ *
+ * Each revocation covers the tokens of one ticket issued up to a second, so a
+ * ticket changed after sale keeps working with a freshly issued token. A
+ * Bloom filter over the revoked ticket IDs answers almost every scan without
+ * looking further; the exact entries settle the rare hits. Revocations of
+ * tickets past their last valid day are dropped whenever the filter is
+ * rebuilt, which happens when it fills up. A revocation is written in the
+ * caller's transaction and only enters the list once that commits, so a
+ * ticket change that rolls back leaves its tokens working.
+ *
+ * Gates fetch the list as a blob (see {@link #blob(Long)}): the whole filter
+ * and entries once, and afterwards only the entries added since the version
+ * they hold, which they add to their copy of the filter themselves.
+ */
+@Component
+public class TicketRevocationList {
+
+    static final double FALSE_POSITIVE_RATE = 0.001;
+    static final int MIN_CAPACITY = 1024;
+
+    // "GRV1"
+    static final int MAGIC = 0x47525631;
+
+    @Autowired
+    private TicketRevocationRepository ticketRevocationRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Latest revocation per ticket
+    private final LongObjectHashMap<TicketRevocation> entries = new LongObjectHashMap<>();
+    private BloomFilter filter;
+    private int capacity;
+    private long version;
+    // Version at which the filter was last rebuilt; older gates need a full copy
+    private long filterVersion;
+    private boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ensureLoaded();
+    }
+
+    // Revoke every token of a ticket issued until now, once the surrounding
+    // transaction commits; returns the revocation second
+    public synchronized long revoke(Long ticketId, LocalDate validTo, String reason) {
+        ensureLoaded();
+        long revokedAt = clock.instant().getEpochSecond();
+        TicketRevocation previous = entries.get(ticketId);
+        if (previous != null) {
+            // Tokens issued after the last revocation start one second later, so never go back
+            revokedAt = Math.max(revokedAt, previous.getRevokedAt() + 1);
+        }
+        TicketRevocation saved = ticketRevocationRepository.save(new TicketRevocation(ticketId, revokedAt, validTo, reason));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(saved);
+            return revokedAt;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(saved);
+            }
+        });
+        return revokedAt;
+    }
+
+    // Add a committed revocation; concurrent transactions may commit out of order
+    private synchronized void apply(TicketRevocation saved) {
+        version = Math.max(version, saved.getId());
+        TicketRevocation previous = entries.get(saved.getTicketId());
+        if (previous != null && previous.getRevokedAt() >= saved.getRevokedAt()) {
+            return;
+        }
+        entries.put(saved.getTicketId(), saved);
+        if (entries.size() > capacity) {
+            rebuild();
+        } else {
+            filter.add(saved.getTicketId());
+        }
+    }
+
+    // Second up to which the ticket's tokens are revoked, or -1
+    public synchronized long revokedAt(long ticketId) {
+        ensureLoaded();
+        if (!filter.mightContain(ticketId)) {
+            return -1;
+        }
+        TicketRevocation entry = entries.get(ticketId);
+        return entry != null ? entry.getRevokedAt() : -1;
+    }
+
+    // Whether a token issued at the given second has been revoked
+    public boolean isRevoked(long ticketId, long issuedAt) {
+        return issuedAt <= revokedAt(ticketId);
+    }
+
+    public synchronized long getVersion() {
+        ensureLoaded();
+        return version;
+    }
+
+    /**
+     * The list for a gate holding the given version, or in full when since is
+     * null or from before the current filter. Big-endian:
+     * int magic "GRV1", long version, byte full (1 or 0); when full, byte
+     * hashes, int word count and the filter's words as longs; then int entry
+     * count and per entry long ticket ID, long revoked-at epoch second.
+     */
+    public synchronized byte[] blob(Long since) {
+        ensureLoaded();
+        boolean full = since == null || since < filterVersion || since > version;
+        List<TicketRevocation> included = new ArrayList<>();
+        entries.forEach((ticketId, entry) -> {
+            if (full || entry.getId() > since) {
+                included.add(entry);
+            }
+        });
+        included.sort(Comparator.comparing(TicketRevocation::getId));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + included.size() * 16
+                + (full ? filter.getNumBits() / 8 : 0));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeLong(version);
+            out.writeByte(full ? 1 : 0);
+            if (full) {
+                long[] words = filter.toLongArray();
+                out.writeByte(filter.getHashes());
+                out.writeInt(words.length);
+                for (long word : words) {
+                    out.writeLong(word);
+                }
+            }
+            out.writeInt(included.size());
+            for (TicketRevocation entry : included) {
+                out.writeLong(entry.getTicketId());
+                out.writeLong(entry.getRevokedAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Drop revocations of expired tickets and size a new filter for the rest
+    private void rebuild() {
+        LocalDate today = LocalDate.now(clock);
+        List<Long> expired = new ArrayList<>();
+        entries.forEach((ticketId, entry) -> {
+            if (entry.getValidTo().isBefore(today)) {
+                expired.add(ticketId);
+            }
+        });
+        expired.forEach(entries::remove);
+
+        capacity = Math.max(MIN_CAPACITY, entries.size() * 2);
+        filter = BloomFilter.forCapacity(capacity, FALSE_POSITIVE_RATE);
+        entries.forEach((ticketId, entry) -> filter.add(ticketId));
+        filterVersion = version;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        for (TicketRevocation entry : ticketRevocationRepository.findByValidToGreaterThanEqualOrderByIdAsc(LocalDate.now(clock))) {
+            entries.put(entry.getTicketId(), entry);
+        }
+        version = ticketRevocationRepository.findMaxId();
+        rebuild();
+        loaded = true;
+    }
+}
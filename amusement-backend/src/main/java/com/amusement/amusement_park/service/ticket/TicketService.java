@@ -1,36 +1,97 @@
 package com.amusement.amusement_park.service.ticket;
 
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest;
 import com.amusement.amusement_park.dto.ticket.TicketCreateRequest;
 import com.amusement.amusement_park.dto.ticket.TicketResponse;
 import com.amusement.amusement_park.exception.NotFoundException;
 import com.amusement.amusement_park.entity.ticket.Ticket;
 import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.entity.user.User;
+import com.amusement.amusement_park.event.ticket.TicketSalesChangedEvent;
 import com.amusement.amusement_park.repository.ticket.TicketRepository;
+import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 @Service
 public class TicketService {
 
+    // Largest group purchase, and how many rows go to the database per batch
+    public static final int MAX_GROUP_SIZE = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO tickets "
+            + "(user_id, ticket_type_id, ticket_code, purchase_date, valid_from, valid_to, total_amount, payment_status, payment_mode, invoice_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private TicketRepository repo;
 
     @Autowired
     private TicketTypeService ticketTypeService;
 
-    private final AtomicInteger ticketCounter = new AtomicInteger(1);
-    private final AtomicInteger invoiceCounter = new AtomicInteger(1);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BlockSequenceAllocator sequenceAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GateTokenService gateTokenService;
+
+    @Autowired
+    private TicketRevocationList ticketRevocationList;
+
+    @Autowired
+    private TicketInventory ticketInventory;
+
+    @Autowired
+    private UserRepository userRepository;
 
     public List<Ticket> getAll() {
         return repo.findAll();
     }
 
+    // Tickets newest first, one page after a cursor; counted only if asked for
+    public CursorPage<Ticket> getPage(String cursor, int size, boolean includeTotal) {
+        int pageSize = CursorPage.checkSize(size);
+        SeekCursor after = SeekCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Ticket> fetched = after == null
+                ? repo.findAllByOrderByTicketIdDesc(limit)
+                : repo.findByTicketIdLessThanOrderByTicketIdDesc(after.getId(), limit);
+        return CursorPage.fromFetched(fetched, pageSize, ticket -> SeekCursor.afterId(ticket.getTicketId()),
+                includeTotal ? repo.count() : null);
+    }
+
     public List<Ticket> getByUserId(Long userId) {
         return repo.findByUserId(userId);
     }
@@ -39,11 +100,30 @@ public class TicketService {
         return repo.findById(id).orElseThrow(() -> new NotFoundException("Ticket not found with id: " + id));
     }
 
-    public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new NotFoundException("Ticket not found with id: " + id);
+    // A ticket with a fresh gate token, for the user holding it; anyone else gets AccessDeniedException
+    public TicketResponse getWithGateToken(Long id, String email) {
+        Ticket ticket = getById(id);
+        Long userId = userRepository.findByEmail(email).map(User::getId).orElse(null);
+        if (userId == null || !userId.equals(ticket.getUserId())) {
+            throw new AccessDeniedException("Ticket " + id + " does not belong to " + email);
         }
+        return toResponse(ticket);
+    }
+
+    // A ticket with a fresh gate token, for staff at the gate or the help desk
+    public TicketResponse getWithGateToken(Long id) {
+        return toResponse(getById(id));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        Ticket ticket = repo.findById(id)
+                .orElseThrow(() -> new NotFoundException("Ticket not found with id: " + id));
         repo.deleteById(id);
+        // Revoked with the delete; the place is freed only once nothing else can fail
+        ticketRevocationList.revoke(id, ticket.getValidTo(), "DELETED");
+        ticketInventory.release(ticket.getTicketType().getTicketTypeId(), ticket.getValidFrom(), 1);
+        publishSalesChange(ticket, -1, negate(ticket.getTotalAmount()));
     }
 
     /**
@@ -73,37 +153,136 @@ public class TicketService {
         LocalDate validTo = validFrom.plusDays(ticketType.getValidityDays());
         ticket.setValidTo(validTo);
 
-        // Auto-generate ticket code
-        ticket.setTicketCode(generateTicketCode());
-
-        // Auto-generate invoice ID
-        ticket.setInvoiceId(generateInvoiceId());
-
-        // Save the ticket
-        Ticket savedTicket = repo.save(ticket);
-
-        // Create and return the response DTO
-        return new TicketResponse(
-                savedTicket.getTicketId(),
-                savedTicket.getTicketType().getTicketTypeId(),
-                savedTicket.getTicketType().getName(),
-                savedTicket.getTicketType().getDescription(),
-                savedTicket.getTicketType().getPrice(),
-                savedTicket.getTicketType().getValidityDays(),
-                savedTicket.getTicketType().getIsVip(),
-                savedTicket.getTicketCode(),
-                savedTicket.getPurchaseDate(),
-                savedTicket.getValidFrom(),
-                savedTicket.getValidTo(),
-                savedTicket.getTotalAmount(),
-                savedTicket.getTicketType().getIsVip(),
-                savedTicket.getPaymentStatus().toString(),
-                savedTicket.getInvoiceId());
+        // Take a place on the visit day, or fail with SoldOutException
+        ticketInventory.reserve(ticketType, validFrom, 1);
+
+        Ticket savedTicket;
+        try {
+            // Auto-generate ticket code
+            ticket.setTicketCode(generateTicketCode());
+
+            // Auto-generate invoice ID
+            ticket.setInvoiceId(generateInvoiceId());
+
+            // Save the ticket
+            savedTicket = repo.save(ticket);
+        } catch (RuntimeException e) {
+            ticketInventory.release(ticketType.getTicketTypeId(), validFrom, 1);
+            throw e;
+        }
+        publishSalesChange(savedTicket, 1, savedTicket.getTotalAmount());
+
+        return toResponse(savedTicket);
+    }
+
+    /**
+     * Create every ticket of a group purchase in one transaction, each charged
+     * its ticket type's price. Codes and invoice IDs are reserved as one run per
+     * purchase and the rows are written as JDBC batches.
+     */
+    @Transactional
+    public List<TicketResponse> purchaseGroup(GroupTicketPurchaseRequest request) {
+        return purchase(request, true);
+    }
+
+    /**
+     * Same as purchaseGroup, for places on the visit day already reserved in
+     * the ticket inventory, e.g. by a checkout hold.
+     */
+    @Transactional
+    public List<TicketResponse> purchaseReserved(GroupTicketPurchaseRequest request) {
+        return purchase(request, false);
+    }
+
+    /**
+     * Look up the ticket types of a group purchase, each once, and total the
+     * tickets per type. Throws IllegalArgumentException for oversized groups.
+     */
+    public Map<TicketType, Integer> resolveGroup(List<GroupTicketPurchaseRequest.Item> items) {
+        int total = items.stream().mapToInt(GroupTicketPurchaseRequest.Item::getQuantity).sum();
+        if (total > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("A group purchase can hold at most " + MAX_GROUP_SIZE + " tickets");
+        }
+        Map<Integer, TicketType> ticketTypes = new HashMap<>();
+        Map<TicketType, Integer> quantities = new LinkedHashMap<>();
+        for (GroupTicketPurchaseRequest.Item item : items) {
+            TicketType ticketType = ticketTypes.computeIfAbsent(item.getTicketTypeId(), ticketTypeService::getById);
+            quantities.merge(ticketType, item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private List<TicketResponse> purchase(GroupTicketPurchaseRequest request, boolean reserve) {
+        Map<TicketType, Integer> quantities = resolveGroup(request.getTickets());
+        Ticket.PaymentStatus paymentStatus = Ticket.PaymentStatus.valueOf(request.getPaymentStatus());
+        Ticket.PaymentMode paymentMode = Ticket.PaymentMode.valueOf(request.getPaymentMode());
+        LocalDateTime purchaseDate = LocalDateTime.now();
+        LocalDate validFrom = request.getValidFrom() != null ? request.getValidFrom() : LocalDate.now();
+        if (!reserve) {
+            return createGroup(request, quantities, paymentStatus, paymentMode, purchaseDate, validFrom);
+        }
+
+        // Places on the visit day per type; all of them or none
+        ticketInventory.reserveAll(quantities, validFrom);
+        try {
+            return createGroup(request, quantities, paymentStatus, paymentMode, purchaseDate, validFrom);
+        } catch (RuntimeException e) {
+            ticketInventory.releaseAll(quantities, validFrom);
+            throw e;
+        }
+    }
+
+    private List<TicketResponse> createGroup(GroupTicketPurchaseRequest request, Map<TicketType, Integer> quantities,
+            Ticket.PaymentStatus paymentStatus, Ticket.PaymentMode paymentMode,
+            LocalDateTime purchaseDate, LocalDate validFrom) {
+        int total = 0;
+        Map<Integer, TicketType> ticketTypes = new HashMap<>();
+        for (Map.Entry<TicketType, Integer> entry : quantities.entrySet()) {
+            ticketTypes.put(entry.getKey().getTicketTypeId(), entry.getKey());
+            total += entry.getValue();
+        }
+
+        String year = purchaseDate.format(DateTimeFormatter.ofPattern("yyyy"));
+        String ticketPrefix = "TKT-" + year + "-";
+        String invoicePrefix = "INV-" + year + "-";
+        long firstTicket = sequenceAllocator.next(ticketPrefix, total, () -> repo.findMaxTicketCodeNumber(ticketPrefix));
+        long firstInvoice = sequenceAllocator.next(invoicePrefix, total, () -> repo.findMaxInvoiceNumber(invoicePrefix));
+
+        List<Ticket> tickets = new ArrayList<>(total);
+        BigDecimal amount = BigDecimal.ZERO;
+        for (GroupTicketPurchaseRequest.Item item : request.getTickets()) {
+            TicketType ticketType = ticketTypes.get(item.getTicketTypeId());
+            for (int i = 0; i < item.getQuantity(); i++) {
+                Ticket ticket = new Ticket();
+                ticket.setUserId(request.getUserId());
+                ticket.setTicketType(ticketType);
+                ticket.setTotalAmount(ticketType.getPrice());
+                ticket.setPaymentStatus(paymentStatus);
+                ticket.setPaymentMode(paymentMode);
+                ticket.setPurchaseDate(purchaseDate);
+                ticket.setValidFrom(validFrom);
+                ticket.setValidTo(validFrom.plusDays(ticketType.getValidityDays()));
+                ticket.setTicketCode(String.format("%s%03d", ticketPrefix, firstTicket + tickets.size()));
+                ticket.setInvoiceId(String.format("%s%03d", invoicePrefix, firstInvoice + tickets.size()));
+                tickets.add(ticket);
+                amount = amount.add(ticketType.getPrice());
+            }
+        }
+
+        insert(tickets);
+        eventPublisher.publishEvent(new TicketSalesChangedEvent(purchaseDate.toLocalDate(), tickets.size(), amount));
+
+        List<TicketResponse> responses = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            responses.add(toResponse(ticket));
+        }
+        return responses;
     }
 
     /**
      * Update an existing ticket with simplified request
      */
+    @Transactional
     public TicketResponse updateTicket(Long ticketId, TicketCreateRequest request) {
         // Check if ticket exists
         Ticket existingTicket = repo.findById(ticketId)
@@ -116,6 +295,11 @@ public class TicketService {
         }
 
         // Update ticket fields
+        BigDecimal previousAmount = existingTicket.getTotalAmount();
+        boolean hadGateToken = existingTicket.getPaymentStatus() == Ticket.PaymentStatus.PAID;
+        Integer previousTicketTypeId = existingTicket.getTicketType().getTicketTypeId();
+        LocalDate previousValidFrom = existingTicket.getValidFrom();
+        LocalDate previousValidTo = existingTicket.getValidTo();
         existingTicket.setUserId(request.getUserId());
         existingTicket.setTicketType(ticketType);
         existingTicket.setTotalAmount(request.getTotalAmount());
@@ -130,59 +314,127 @@ public class TicketService {
         LocalDate validTo = validFrom.plusDays(ticketType.getValidityDays());
         existingTicket.setValidTo(validTo);
 
+        // A ticket moved to another type or day needs a place there, and frees its old one
+        boolean moved = !previousTicketTypeId.equals(ticketType.getTicketTypeId()) || !previousValidFrom.equals(validFrom);
+        if (moved) {
+            ticketInventory.reserve(ticketType, validFrom, 1);
+        }
+
         // Save the updated ticket
-        Ticket savedTicket = repo.save(existingTicket);
-
-        // Create and return the response DTO
-        return new TicketResponse(
-                savedTicket.getTicketId(),
-                savedTicket.getTicketType().getTicketTypeId(),
-                savedTicket.getTicketType().getName(),
-                savedTicket.getTicketType().getDescription(),
-                savedTicket.getTicketType().getPrice(),
-                savedTicket.getTicketType().getValidityDays(),
-                savedTicket.getTicketType().getIsVip(),
-                savedTicket.getTicketCode(),
-                savedTicket.getPurchaseDate(),
-                savedTicket.getValidFrom(),
-                savedTicket.getValidTo(),
-                savedTicket.getTotalAmount(),
-                savedTicket.getTicketType().getIsVip(),
-                savedTicket.getPaymentStatus().toString(),
-                savedTicket.getInvoiceId());
+        Ticket savedTicket;
+        try {
+            savedTicket = repo.save(existingTicket);
+
+            // Gate tokens already issued carry the old details, so they stop working
+            if (hadGateToken && (savedTicket.getPaymentStatus() != Ticket.PaymentStatus.PAID
+                    || !previousTicketTypeId.equals(ticketType.getTicketTypeId())
+                    || !previousValidFrom.equals(savedTicket.getValidFrom())
+                    || !previousValidTo.equals(savedTicket.getValidTo()))) {
+                ticketRevocationList.revoke(savedTicket.getTicketId(), previousValidTo, "UPDATED");
+            }
+        } catch (RuntimeException e) {
+            if (moved) {
+                ticketInventory.release(ticketType.getTicketTypeId(), validFrom, 1);
+            }
+            throw e;
+        }
+        if (moved) {
+            ticketInventory.release(previousTicketTypeId, previousValidFrom, 1);
+        }
+        BigDecimal amount = savedTicket.getTotalAmount() != null ? savedTicket.getTotalAmount() : BigDecimal.ZERO;
+        publishSalesChange(savedTicket, 0, amount.add(negate(previousAmount)));
+
+        return toResponse(savedTicket);
     }
 
     /**
-     * Generate a unique ticket code in format TKT-YYYY-NNN
+     * Tell listeners how a ticket changed its purchase day's sales
      */
-    private String generateTicketCode() {
-        String year = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy"));
-        int counter = ticketCounter.getAndIncrement();
-        String ticketCode = String.format("TKT-%s-%03d", year, counter);
+    private void publishSalesChange(Ticket ticket, int ticketDelta, BigDecimal amountDelta) {
+        if (ticket.getPurchaseDate() != null) {
+            eventPublisher.publishEvent(new TicketSalesChangedEvent(ticket.getPurchaseDate().toLocalDate(),
+                    ticketDelta, amountDelta != null ? amountDelta : BigDecimal.ZERO));
+        }
+    }
+
+    private BigDecimal negate(BigDecimal amount) {
+        return amount != null ? amount.negate() : BigDecimal.ZERO;
+    }
+
+    // Batched inserts, setting the generated IDs on the tickets
+    private void insert(List<Ticket> tickets) {
+        for (int from = 0; from < tickets.size(); from += BATCH_SIZE) {
+            List<Ticket> chunk = tickets.subList(from, Math.min(from + BATCH_SIZE, tickets.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Ticket ticket = chunk.get(i);
+                            ps.setLong(1, ticket.getUserId());
+                            ps.setInt(2, ticket.getTicketType().getTicketTypeId());
+                            ps.setString(3, ticket.getTicketCode());
+                            ps.setTimestamp(4, Timestamp.valueOf(ticket.getPurchaseDate()));
+                            ps.setDate(5, Date.valueOf(ticket.getValidFrom()));
+                            ps.setDate(6, Date.valueOf(ticket.getValidTo()));
+                            ps.setBigDecimal(7, ticket.getTotalAmount());
+                            ps.setString(8, ticket.getPaymentStatus().name());
+                            ps.setString(9, ticket.getPaymentMode().name());
+                            ps.setString(10, ticket.getInvoiceId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
 
-        // Ensureing uniqueness by checking if code already exists
-        while (repo.findByTicketCode(ticketCode) != null) {
-            counter = ticketCounter.getAndIncrement();
-            ticketCode = String.format("TKT-%s-%03d", year, counter);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).setTicketId(((Number) keys.get(i).values().iterator().next()).longValue());
+            }
         }
+    }
+
+    private TicketResponse toResponse(Ticket ticket) {
+        TicketType ticketType = ticket.getTicketType();
+        TicketResponse response = new TicketResponse(
+                ticket.getTicketId(),
+                ticketType.getTicketTypeId(),
+                ticketType.getName(),
+                ticketType.getDescription(),
+                ticketType.getPrice(),
+                ticketType.getValidityDays(),
+                ticketType.getIsVip(),
+                ticket.getTicketCode(),
+                ticket.getPurchaseDate(),
+                ticket.getValidFrom(),
+                ticket.getValidTo(),
+                ticket.getTotalAmount(),
+                ticketType.getIsVip(),
+                ticket.getPaymentStatus().toString(),
+                ticket.getInvoiceId());
+        response.setGateToken(gateTokenService.issue(ticket));
+        return response;
+    }
 
-        return ticketCode;
+    /**
+     * Generate a unique ticket code in format TKT-YYYY-NNN
+     */
+    private String generateTicketCode() {
+        String prefix = "TKT-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy")) + "-";
+        long counter = sequenceAllocator.next(prefix, () -> repo.findMaxTicketCodeNumber(prefix));
+        return String.format("%s%03d", prefix, counter);
     }
 
     /**
      * Generate a unique invoice ID in format INV-YYYY-NNN
      */
     private String generateInvoiceId() {
-        String year = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy"));
-        int counter = invoiceCounter.getAndIncrement();
-        String invoiceId = String.format("INV-%s-%03d", year, counter);
-
-        // Ensure uniqueness by checking if invoice ID already exists
-        while (repo.findByInvoiceId(invoiceId) != null) {
-            counter = invoiceCounter.getAndIncrement();
-            invoiceId = String.format("INV-%s-%03d", year, counter);
-        }
-
-        return invoiceId;
+        String prefix = "INV-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy")) + "-";
+        long counter = sequenceAllocator.next(prefix, () -> repo.findMaxInvoiceNumber(prefix));
+        return String.format("%s%03d", prefix, counter);
     }
 }
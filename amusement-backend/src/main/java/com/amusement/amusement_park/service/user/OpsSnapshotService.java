@@ -0,0 +1,228 @@
+package com.amusement.amusement_park.service.user;
+
+import com.amusement.amusement_park.Enums.IssueStatus;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertDto;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.dto.user.OpsSnapshotDto;
+import com.amusement.amusement_park.event.feedback.IssueStatusChangedEvent;
+import com.amusement.amusement_park.event.foodmerchorder.OrderStatusChangedEvent;
+import com.amusement.amusement_park.event.ticket.TicketSalesChangedEvent;
+import com.amusement.amusement_park.repository.feedback.IssueRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.OrderRepository;
+import com.amusement.amusement_park.repository.ticket.TicketRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Park-wide operations dashboard figures, kept current instead of queried.
+ *
+ * Order, issue and ticket figures are counted at startup and then moved by
+ * the events the order, issue and ticket services publish after each commit.
+ * Those events only reach the node that made the change, so the figures are
+ * recounted from the database every minute (see {@link #reseed()}) and when
+ * the date changes, which bounds how far other nodes' changes lag. Ride figures are counted from the ride catalog whenever it changes.
+ * The finished snapshot is kept until one of these changes, so a dashboard
+ * read costs the same however busy the park is.
+ */
+@Service
+public class OpsSnapshotService {
+
+    // Issue statuses still waiting on staff
+    private static final List<IssueStatus> OPEN_STATUSES = List.of(IssueStatus.OPEN, IssueStatus.IN_PROGRESS);
+
+    @Autowired
+    private RideCatalogCache rideCatalogCache;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<String, Long> ordersByStatus = new TreeMap<>();
+    private final Map<IssueStatus, Long> issuesByStatus = new EnumMap<>(IssueStatus.class);
+    private LocalDate salesDay;
+    private long ticketsSold;
+    private BigDecimal ticketRevenue = BigDecimal.ZERO;
+    private boolean loaded;
+
+    private volatile Built built;
+
+    // Latest snapshot, rebuilt only after a change or at midnight
+    public OpsSnapshotDto current() {
+        Built current = built;
+        RideCatalogCache.Snapshot catalog = rideCatalogCache.current();
+        if (current != null && current.catalog() == catalog && current.day().equals(LocalDate.now(clock))) {
+            return current.snapshot();
+        }
+        return rebuild(catalog);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        ensureLoaded();
+    }
+
+    // Recount from the database, picking up changes made on other nodes
+    public synchronized void reseed() {
+        load(LocalDate.now(clock));
+        built = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        adjust(ordersByStatus, statusKey(event.getPreviousStatus()), -1);
+        adjust(ordersByStatus, statusKey(event.getStatus()), 1);
+        built = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onIssueStatusChanged(IssueStatusChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        adjust(issuesByStatus, event.getPreviousStatus(), -1);
+        adjust(issuesByStatus, event.getStatus(), 1);
+        built = null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTicketSalesChanged(TicketSalesChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        rollOver(LocalDate.now(clock));
+        // Changes to earlier days' tickets do not touch today's sales
+        if (event.getPurchaseDay().equals(salesDay)) {
+            ticketsSold += event.getTicketDelta();
+            ticketRevenue = ticketRevenue.add(event.getAmountDelta());
+            built = null;
+        }
+    }
+
+    private synchronized OpsSnapshotDto rebuild(RideCatalogCache.Snapshot catalog) {
+        ensureLoaded();
+        LocalDate today = LocalDate.now(clock);
+        rollOver(today);
+
+        OpsSnapshotDto snapshot = new OpsSnapshotDto();
+        snapshot.setGeneratedAt(LocalDateTime.now(clock));
+        countRides(catalog, snapshot);
+        snapshot.setOrdersByStatus(Collections.unmodifiableMap(new TreeMap<>(ordersByStatus)));
+        snapshot.setIssuesByStatus(Collections.unmodifiableMap(new EnumMap<>(issuesByStatus)));
+        snapshot.setOpenIssues(OPEN_STATUSES.stream().mapToLong(status -> issuesByStatus.getOrDefault(status, 0L)).sum());
+        snapshot.setTicketsSoldToday(ticketsSold);
+        snapshot.setTicketRevenueToday(ticketRevenue);
+        built = new Built(snapshot, catalog, today);
+        return snapshot;
+    }
+
+    private void countRides(RideCatalogCache.Snapshot catalog, OpsSnapshotDto snapshot) {
+        int available = 0;
+        int operational = 0;
+        int underMaintenance = 0;
+        Map<Priority, Long> alertsByPriority = new EnumMap<>(Priority.class);
+        for (RideDto ride : catalog.getRides()) {
+            if (Boolean.TRUE.equals(ride.getIsAvailable())) {
+                available++;
+            }
+            if (Boolean.TRUE.equals(ride.getIsOperational())) {
+                operational++;
+            }
+            List<MaintenanceAlertDto> alerts = ride.getActiveMaintenanceAlerts();
+            if (alerts != null && !alerts.isEmpty()) {
+                underMaintenance++;
+                for (MaintenanceAlertDto alert : alerts) {
+                    alertsByPriority.merge(alert.getPriority(), 1L, Long::sum);
+                }
+            }
+        }
+        snapshot.setTotalRides(catalog.getRides().size());
+        snapshot.setAvailableRides(available);
+        snapshot.setOperationalRides(operational);
+        snapshot.setRidesUnderMaintenance(underMaintenance);
+        snapshot.setActiveAlertsByPriority(Collections.unmodifiableMap(alertsByPriority));
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            load(LocalDate.now(clock));
+        }
+    }
+
+    private void load(LocalDate day) {
+        ordersByStatus.clear();
+        for (Object[] row : orderRepository.countByStatus()) {
+            adjust(ordersByStatus, statusKey((String) row[0]), (Long) row[1]);
+        }
+        issuesByStatus.clear();
+        for (Object[] row : issueRepository.countByStatus()) {
+            adjust(issuesByStatus, (IssueStatus) row[0], (Long) row[1]);
+        }
+        loadSales(day);
+        loaded = true;
+    }
+
+    // Recount, starting a new day's sales, once the date changes
+    private void rollOver(LocalDate today) {
+        if (!today.equals(salesDay)) {
+            load(today);
+        }
+    }
+
+    private void loadSales(LocalDate day) {
+        salesDay = day;
+        ticketsSold = 0;
+        ticketRevenue = BigDecimal.ZERO;
+        List<Object[]> rows = ticketRepository.sumSalesBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        if (!rows.isEmpty()) {
+            ticketsSold = ((Number) rows.get(0)[0]).longValue();
+            ticketRevenue = new BigDecimal(rows.get(0)[1].toString());
+        }
+    }
+
+    // Order statuses are free text; count them case-insensitively
+    private static String statusKey(String status) {
+        return status != null ? status.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        if (key == null) {
+            return;
+        }
+        long count = counts.getOrDefault(key, 0L) + delta;
+        if (count > 0) {
+            counts.put(key, count);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    private record Built(OpsSnapshotDto snapshot, RideCatalogCache.Snapshot catalog, LocalDate day) {
+    }
+}
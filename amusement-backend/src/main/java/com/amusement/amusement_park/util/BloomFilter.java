@@ -0,0 +1,94 @@
+package com.amusement.amusement_park.util;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter over long keys, laid out so other devices can rebuild it.
+ *
+ * The filter is numBits bits in 64-bit words, bit i being bit (i % 64) of
+ * word i / 64. A key is mixed with the SplitMix64 finalizer; the low and
+ * high 32 bits of the result, h1 and h2, give probe j at
+ * ((h1 + j * h2) & 0x7FFFFFFF) % numBits, using 32-bit int arithmetic, for
+ * j from 0 to hashes - 1. Anything holding the words and the hash count
+ * can therefore answer mightContain exactly as this class does.
+ *
+ * Not thread-safe.
+ */
+public class BloomFilter {
+
+    private final long[] words;
+    private final int numBits;
+    private final int hashes;
+
+    public BloomFilter(int numBits, int hashes) {
+        if (numBits < 64 || hashes < 1) {
+            throw new IllegalArgumentException("Bloom filter needs at least 64 bits and one hash");
+        }
+        this.words = new long[(numBits + 63) / 64];
+        this.numBits = words.length * 64;
+        this.hashes = hashes;
+    }
+
+    private BloomFilter(long[] words, int hashes) {
+        this.words = words;
+        this.numBits = words.length * 64;
+        this.hashes = hashes;
+    }
+
+    // Smallest filter holding expected keys at about the given false positive rate
+    public static BloomFilter forCapacity(int expected, double falsePositiveRate) {
+        int n = Math.max(expected, 1);
+        double bits = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int hashes = Math.max(1, (int) Math.round(bits / n * Math.log(2)));
+        return new BloomFilter((int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(bits))), hashes);
+    }
+
+    // Filter read back from toLongArray()
+    public static BloomFilter fromLongArray(long[] words, int hashes) {
+        return new BloomFilter(Arrays.copyOf(words, words.length), hashes);
+    }
+
+    public void add(long key) {
+        long h = mix(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int j = 0; j < hashes; j++) {
+            int bit = ((h1 + j * h2) & 0x7FFFFFFF) % numBits;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    // False means never added; true means probably added
+    public boolean mightContain(long key) {
+        long h = mix(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int j = 0; j < hashes; j++) {
+            int bit = ((h1 + j * h2) & 0x7FFFFFFF) % numBits;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(words, words.length);
+    }
+
+    public int getNumBits() {
+        return numBits;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long key) {
+        long z = key;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
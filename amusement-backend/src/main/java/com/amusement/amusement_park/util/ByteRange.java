@@ -0,0 +1,85 @@
+package com.amusement.amusement_park.util;
+
+/**
+ * One byte range of a file, both ends included, as asked for by an HTTP
+ * {@code Range} header.
+ *
+ * Only single ranges are honoured. A header listing several ranges, or one
+ * that cannot be parsed, is answered with the whole file, which RFC 9110
+ * allows.
+ */
+public class ByteRange {
+
+    private final long start;
+    private final long end;
+    private final long length;
+
+    private ByteRange(long start, long end, long length) {
+        this.start = start;
+        this.end = end;
+        this.length = length;
+    }
+
+    // The whole of a file of this length
+    public static ByteRange full(long length) {
+        return new ByteRange(0, length - 1, length);
+    }
+
+    // Range asked for by a header, the whole file if there is none, or null if it cannot be satisfied
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return full(length);
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return full(length);
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1, length);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start < 0 || start >= length) {
+                return null;
+            }
+            if (end < start) {
+                return full(length);
+            }
+            return new ByteRange(start, end, length);
+        } catch (NumberFormatException e) {
+            return full(length);
+        }
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    // Last byte included
+    public long getEnd() {
+        return end;
+    }
+
+    public long getCount() {
+        return end - start + 1;
+    }
+
+    // True unless this is the whole file
+    public boolean isPartial() {
+        return start > 0 || end < length - 1;
+    }
+
+    // Content-Range header value
+    public String contentRange() {
+        return "bytes " + start + "-" + end + "/" + length;
+    }
+}
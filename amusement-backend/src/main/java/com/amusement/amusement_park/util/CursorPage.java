@@ -0,0 +1,73 @@
+package com.amusement.amusement_park.util;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * Pages are fetched one row long: the extra row only tells whether another
+ * page follows, so no COUNT query is needed. The total is filled in only when
+ * a caller asks for it.
+ */
+public class CursorPage<T> {
+
+    // Largest page a client may request
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final Long totalElements;
+
+    public CursorPage(List<T> content, String nextCursor, Long totalElements) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.totalElements = totalElements;
+    }
+
+    // Build a page from up to size + 1 rows fetched after the cursor
+    public static <T> CursorPage<T> fromFetched(List<T> fetched, int size, Function<T, SeekCursor> cursorOf,
+                                                Long totalElements) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, totalElements);
+        }
+        List<T> content = fetched.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode(), totalElements);
+    }
+
+    // Page size to fetch for a requested size, capped at MAX_SIZE
+    public static int checkSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    // Same page with each row converted
+    public <R> CursorPage<R> map(Function<T, R> converter) {
+        return new CursorPage<>(content.stream().map(converter).collect(Collectors.toList()), nextCursor, totalElements);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    // Cursor for the following page, or null on the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public int getSize() {
+        return content.size();
+    }
+
+    // Total matching rows, or null unless requested
+    public Long getTotalElements() {
+        return totalElements;
+    }
+}
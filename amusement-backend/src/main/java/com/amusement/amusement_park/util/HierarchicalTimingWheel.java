@@ -0,0 +1,140 @@
+package com.amusement.amusement_park.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Hierarchical timing wheel holding items until an epoch-millisecond deadline.
+ *
+ * Level 0 has one bucket per tick; each higher level has buckets spanning a
+ * whole revolution of the level below and is cascaded down as time reaches it.
+ * Scheduling and expiring are O(1) per item regardless of how many are pending.
+ * Items beyond the span of the top level wait in an overflow queue.
+ *
+ * An item fires on the first {@link #advance(long)} at or after its deadline,
+ * at most one tick late. All methods are synchronized.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final PriorityQueue<Entry<T>> overflow = new PriorityQueue<>(Comparator.comparingLong(e -> e.deadlineTick));
+    private final List<T> due = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    // wheelSize is rounded up to a power of two
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = 32 - Integer.numberOfLeadingZeros(wheelSize - 1);
+        this.mask = (1 << bits) - 1;
+        if ((long) bits * levelCount >= 62) {
+            throw new IllegalArgumentException("Timing wheel span is too large");
+        }
+        for (int level = 0; level < levelCount; level++) {
+            List<Entry<T>>[] buckets = new List[1 << bits];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            levels.add(buckets);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    // Hold an item until the given time
+    public synchronized void schedule(long deadlineMillis, T item) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        place(new Entry<>(deadlineTick, item));
+        size++;
+    }
+
+    // Move time forward and return every item whose deadline has passed
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            List<Entry<T>> bucket = levels.get(0)[(int) (currentTick & mask)];
+            for (Entry<T> entry : bucket) {
+                due.add(entry.item);
+            }
+            bucket.clear();
+        }
+
+        List<T> expired = new ArrayList<>(due);
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    // Drop everything still pending
+    public synchronized void clear() {
+        for (List<Entry<T>>[] buckets : levels) {
+            for (List<Entry<T>> bucket : buckets) {
+                bucket.clear();
+            }
+        }
+        overflow.clear();
+        due.clear();
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Re-place the higher-level buckets that start at the current tick, top level first
+    private void cascade() {
+        for (int level = levels.size() - 1; level >= 1; level--) {
+            long lowerBits = currentTick & ((1L << (level * bits)) - 1);
+            if (lowerBits != 0) {
+                continue;
+            }
+            List<Entry<T>> bucket = levels.get(level)[(int) ((currentTick >>> (level * bits)) & mask)];
+            List<Entry<T>> entries = new ArrayList<>(bucket);
+            bucket.clear();
+            for (Entry<T> entry : entries) {
+                place(entry);
+            }
+        }
+
+        long span = 1L << (levels.size() * bits);
+        while (!overflow.isEmpty() && overflow.peek().deadlineTick - currentTick < span) {
+            place(overflow.poll());
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(entry.item);
+            return;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            if (delta < 1L << ((level + 1) * bits)) {
+                levels.get(level)[(int) ((entry.deadlineTick >>> (level * bits)) & mask)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private static final class Entry<T> {
+        private final long deadlineTick;
+        private final T item;
+
+        private Entry(long deadlineTick, T item) {
+            this.deadlineTick = deadlineTick;
+            this.item = item;
+        }
+    }
+}
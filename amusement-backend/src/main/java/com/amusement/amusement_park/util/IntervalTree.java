@@ -0,0 +1,269 @@
+package com.amusement.amusement_park.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Interval tree over {@code [start, end]} ranges of longs, each identified by a
+ * unique ID.
+ *
+ * A balanced (AVL) search tree ordered by start, where every node also records
+ * the largest end in its subtree, so whole subtrees that end too early are
+ * skipped. Point, overlap and next-boundary queries run in O(log n + k).
+ * Use {@link #OPEN_END} for intervals without an end.
+ *
+ * Not thread-safe.
+ */
+public class IntervalTree<V> {
+
+    public static final long OPEN_END = Long.MAX_VALUE;
+
+    private Node<V> root;
+    private final Map<Long, Node<V>> nodesById = new HashMap<>();
+    // Multiset of finite ends, for next-boundary lookups
+    private final NavigableMap<Long, Integer> ends = new TreeMap<>();
+
+    // Add an interval, replacing any interval with the same ID
+    public void put(long id, long start, long end, V value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end is before its start");
+        }
+        remove(id);
+        Node<V> node = new Node<>(id, start, end, value);
+        root = insert(root, node);
+        nodesById.put(id, node);
+        if (end != OPEN_END) {
+            ends.merge(end, 1, Integer::sum);
+        }
+    }
+
+    // Remove the interval with the given ID, if present
+    public boolean remove(long id) {
+        Node<V> node = nodesById.remove(id);
+        if (node == null) {
+            return false;
+        }
+        root = delete(root, node.start, node.id);
+        if (node.end != OPEN_END) {
+            ends.computeIfPresent(node.end, (key, count) -> count == 1 ? null : count - 1);
+        }
+        return true;
+    }
+
+    public V get(long id) {
+        Node<V> node = nodesById.get(id);
+        return node != null ? node.value : null;
+    }
+
+    public int size() {
+        return nodesById.size();
+    }
+
+    public boolean isEmpty() {
+        return nodesById.isEmpty();
+    }
+
+    // Whether any interval has start <= t < end
+    public boolean anyActiveAt(long t) {
+        return anyActiveAt(root, t);
+    }
+
+    // Intervals with start <= t < end
+    public List<V> activeAt(long t) {
+        List<V> result = new ArrayList<>();
+        collectActiveAt(root, t, result);
+        return result;
+    }
+
+    // Intervals sharing at least one point with [from, to]
+    public List<V> overlapping(long from, long to) {
+        List<V> result = new ArrayList<>();
+        collectOverlapping(root, from, to, result);
+        return result;
+    }
+
+    // Earliest start or end strictly after t, or OPEN_END if there is none
+    public long nextBoundaryAfter(long t) {
+        long next = OPEN_END;
+        Node<V> node = root;
+        while (node != null) {
+            if (node.start > t) {
+                next = node.start;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        Long nextEnd = ends.higherKey(t);
+        if (nextEnd != null && nextEnd < next) {
+            next = nextEnd;
+        }
+        return next;
+    }
+
+    private boolean anyActiveAt(Node<V> node, long t) {
+        if (node == null || node.maxEnd <= t) {
+            return false;
+        }
+        if (anyActiveAt(node.left, t)) {
+            return true;
+        }
+        if (node.start > t) {
+            return false;
+        }
+        return node.end > t || anyActiveAt(node.right, t);
+    }
+
+    private void collectActiveAt(Node<V> node, long t, List<V> result) {
+        if (node == null || node.maxEnd <= t) {
+            return;
+        }
+        collectActiveAt(node.left, t, result);
+        if (node.start <= t) {
+            if (node.end > t) {
+                result.add(node.value);
+            }
+            collectActiveAt(node.right, t, result);
+        }
+    }
+
+    private void collectOverlapping(Node<V> node, long from, long to, List<V> result) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collectOverlapping(node.left, from, to, result);
+        if (node.start <= to) {
+            if (node.end >= from) {
+                result.add(node.value);
+            }
+            collectOverlapping(node.right, from, to, result);
+        }
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> delete(Node<V> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> deleteMin(Node<V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private void update(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static int compare(long start, long id, Node<?> node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static final class Node<V> {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final V value;
+        private long maxEnd;
+        private int height = 1;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long id, long start, long end, V value) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+        }
+    }
+}
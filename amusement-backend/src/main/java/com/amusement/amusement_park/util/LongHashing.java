@@ -0,0 +1,16 @@
+package com.amusement.amusement_park.util;
+
+/**
+ * Slot selection shared by the primitive-keyed hash maps.
+ */
+final class LongHashing {
+
+    private LongHashing() {
+    }
+
+    // Fibonacci hashing spreads sequential IDs across the table
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,154 @@
+package com.amusement.amusement_park.util;
+
+import com.amusement.amusement_park.Enums.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable daily/weekly recurrence, in the spirit of an iCalendar RRULE.
+ *
+ * An occurrence starts at {@code timeOfDay} on every matching day between
+ * {@code validFrom} and {@code validUntil} (inclusive, open when null) and lasts
+ * {@code duration}. DAILY matches every {@code interval}-th day from validFrom;
+ * WEEKLY matches the given weekdays of every {@code interval}-th week, counted
+ * from validFrom's week. Exception dates are skipped.
+ *
+ * Occurrences are computed on demand for a window and never stored. Searches
+ * without an upper bound stop after {@link #SEARCH_HORIZON_DAYS}.
+ */
+public final class RecurrenceRule {
+
+    public static final int SEARCH_HORIZON_DAYS = 400;
+
+    private final RecurrenceFrequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDays;
+    private final LocalTime timeOfDay;
+    private final Duration duration;
+    private final LocalDate validFrom;
+    private final LocalDate validUntil;
+    private final Set<LocalDate> exceptionDates;
+
+    public RecurrenceRule(RecurrenceFrequency frequency, int interval, Collection<DayOfWeek> byDays,
+                          LocalTime timeOfDay, Duration duration, LocalDate validFrom, LocalDate validUntil,
+                          Collection<LocalDate> exceptionDates) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1");
+        }
+        if (duration.compareTo(Duration.ofMinutes(1)) < 0 || duration.compareTo(Duration.ofDays(1)) > 0) {
+            throw new IllegalArgumentException("Occurrence duration must be between 1 minute and 24 hours");
+        }
+        if (validUntil != null && validUntil.isBefore(validFrom)) {
+            throw new IllegalArgumentException("Recurrence cannot end before it starts");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDays = byDays == null || byDays.isEmpty()
+                ? EnumSet.of(validFrom.getDayOfWeek())
+                : EnumSet.copyOf(byDays);
+        this.timeOfDay = timeOfDay;
+        this.duration = duration;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.exceptionDates = exceptionDates == null ? Set.of() : Set.copyOf(new HashSet<>(exceptionDates));
+    }
+
+    // Start times of occurrences sharing at least one instant with [from, to]
+    public List<LocalDateTime> startsOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDate day = max(validFrom, from.minus(duration).toLocalDate());
+        LocalDate lastDay = validUntil != null && validUntil.isBefore(to.toLocalDate()) ? validUntil : to.toLocalDate();
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!occursOn(day)) {
+                continue;
+            }
+            LocalDateTime start = day.atTime(timeOfDay);
+            if (!start.isAfter(to) && !start.plus(duration).isBefore(from)) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+
+    // Whether an occurrence covers the given instant (start inclusive, end exclusive)
+    public boolean isActiveAt(LocalDateTime time) {
+        for (LocalDateTime start : startsOverlapping(time, time)) {
+            if (!start.isAfter(time) && start.plus(duration).isAfter(time)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Earliest occurrence start or end strictly after the given time, or null
+    public LocalDateTime nextBoundaryAfter(LocalDateTime time) {
+        LocalDate day = max(validFrom, time.minus(duration).toLocalDate());
+        LocalDate lastDay = time.toLocalDate().plusDays(SEARCH_HORIZON_DAYS);
+        if (validUntil != null && validUntil.isBefore(lastDay)) {
+            lastDay = validUntil;
+        }
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!occursOn(day)) {
+                continue;
+            }
+            LocalDateTime start = day.atTime(timeOfDay);
+            if (start.isAfter(time)) {
+                return start;
+            }
+            if (start.plus(duration).isAfter(time)) {
+                return start.plus(duration);
+            }
+        }
+        return null;
+    }
+
+    // Earliest occurrence start strictly after the given time, or null
+    public LocalDateTime nextStartAfter(LocalDateTime time) {
+        LocalDate day = max(validFrom, time.toLocalDate());
+        LocalDate lastDay = time.toLocalDate().plusDays(SEARCH_HORIZON_DAYS);
+        if (validUntil != null && validUntil.isBefore(lastDay)) {
+            lastDay = validUntil;
+        }
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (occursOn(day) && day.atTime(timeOfDay).isAfter(time)) {
+                return day.atTime(timeOfDay);
+            }
+        }
+        return null;
+    }
+
+    public boolean occursOn(LocalDate day) {
+        if (day.isBefore(validFrom) || (validUntil != null && day.isAfter(validUntil)) || exceptionDates.contains(day)) {
+            return false;
+        }
+        if (frequency == RecurrenceFrequency.DAILY) {
+            return ChronoUnit.DAYS.between(validFrom, day) % interval == 0;
+        }
+        if (!byDays.contains(day.getDayOfWeek())) {
+            return false;
+        }
+        LocalDate firstWeek = validFrom.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate week = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return ChronoUnit.WEEKS.between(firstWeek, week) % interval == 0;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
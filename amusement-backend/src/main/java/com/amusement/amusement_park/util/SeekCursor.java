@@ -0,0 +1,68 @@
+package com.amusement.amusement_park.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset-paginated listing: the row's sort
+ * value, if the listing has one besides the ID, and its ID as a tie-breaker.
+ *
+ * The next page starts after this position with a WHERE on the sort key
+ * instead of an OFFSET, so a deep page costs the same as the first. Clients
+ * only see the opaque {@link #encode() encoded} form.
+ */
+public final class SeekCursor {
+
+    private final long id;
+    private final String value;
+
+    public SeekCursor(long id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    // Cursor for listings ordered by ID alone
+    public static SeekCursor afterId(long id) {
+        return new SeekCursor(id, null);
+    }
+
+    // Opaque URL-safe form handed to clients
+    public String encode() {
+        String raw = value != null ? id + ":" + value : Long.toString(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Parse a client's cursor; null or blank means the first page
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                return afterId(Long.parseLong(raw));
+            }
+            return new SeekCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    // ID for listings keyed by an int column; a cursor out of its range is invalid
+    public int getIntId() {
+        if (id < Integer.MIN_VALUE || id > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid cursor: " + encode());
+        }
+        return (int) id;
+    }
+
+    // Sort value of the last row, or null when ordered by ID or the value was null
+    public String getValue() {
+        return value;
+    }
+}
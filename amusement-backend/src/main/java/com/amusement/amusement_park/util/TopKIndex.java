@@ -0,0 +1,88 @@
+package com.amusement.amusement_park.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Keys ranked by a mutable score, highest first, ties broken by key.
+ *
+ * A score map paired with a balanced ordered set of (score, key) entries, so
+ * changing one key's score costs O(log n) and reading the top k costs O(k),
+ * unlike a binary heap, which cannot find and reorder an arbitrary key
+ * cheaply.
+ *
+ * Not thread-safe.
+ */
+public class TopKIndex<K extends Comparable<K>> {
+
+    private final Map<K, Double> scores = new HashMap<>();
+    private final TreeSet<Entry<K>> ranking = new TreeSet<>(
+            Comparator.<Entry<K>>comparingDouble(Entry::score).reversed().thenComparing(Entry::key));
+
+    // Set a key's score, adding the key if needed
+    public void set(K key, double score) {
+        Double previous = scores.put(key, score);
+        if (previous != null) {
+            ranking.remove(new Entry<>(key, previous));
+        }
+        ranking.add(new Entry<>(key, score));
+    }
+
+    // Add to a key's score, starting from zero for new keys; returns the new score
+    public double adjust(K key, double delta) {
+        double score = scores.getOrDefault(key, 0.0) + delta;
+        set(key, score);
+        return score;
+    }
+
+    public void remove(K key) {
+        Double previous = scores.remove(key);
+        if (previous != null) {
+            ranking.remove(new Entry<>(key, previous));
+        }
+    }
+
+    // Score of a key, or zero if absent
+    public double score(K key) {
+        return scores.getOrDefault(key, 0.0);
+    }
+
+    // Up to k highest-scoring keys, best first
+    public List<K> top(int k) {
+        List<K> keys = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Entry<K>> it = ranking.iterator();
+        while (keys.size() < k && it.hasNext()) {
+            keys.add(it.next().key());
+        }
+        return keys;
+    }
+
+    // Apply the same order-preserving transform to every score, e.g. a rescale
+    public void transformAll(DoubleUnaryOperator transform) {
+        List<Entry<K>> entries = new ArrayList<>(ranking);
+        ranking.clear();
+        for (Entry<K> entry : entries) {
+            double score = transform.applyAsDouble(entry.score());
+            scores.put(entry.key(), score);
+            ranking.add(new Entry<>(entry.key(), score));
+        }
+    }
+
+    public void clear() {
+        scores.clear();
+        ranking.clear();
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    private record Entry<K>(K key, double score) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.amusement.amusement_park.util;
+
+import java.util.Arrays;
+
+/**
+ * Append-only log of state transitions, encoded compactly.
+ *
+ * Each entry is the gap in seconds since the previous entry (since the base
+ * second for the first one) as an unsigned LEB128 varint, followed by a
+ * one-byte state code. Transitions minutes apart take two or three bytes,
+ * so a ride's busiest day fits in a few hundred bytes.
+ *
+ * Not thread-safe.
+ */
+public class TransitionLog {
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long epochSecond, int state);
+    }
+
+    private final long baseSecond;
+    private byte[] bytes;
+    private int length;
+    private long lastSecond;
+    private int size;
+
+    public TransitionLog(long baseSecond) {
+        this.baseSecond = baseSecond;
+        this.lastSecond = baseSecond;
+        this.bytes = new byte[16];
+    }
+
+    // Log read back from toByteArray(), ready for further appends
+    public static TransitionLog decode(long baseSecond, byte[] data) {
+        TransitionLog log = new TransitionLog(baseSecond);
+        log.bytes = Arrays.copyOf(data, Math.max(data.length, 16));
+        log.length = data.length;
+        log.forEach((epochSecond, state) -> {
+            log.lastSecond = epochSecond;
+            log.size++;
+        });
+        return log;
+    }
+
+    // Record a move to a state; entries must not go back in time
+    public void append(long epochSecond, int state) {
+        if (epochSecond < lastSecond) {
+            throw new IllegalArgumentException("Transition at " + epochSecond + " is before " + lastSecond);
+        }
+        if (state < 0 || state > 0xFF) {
+            throw new IllegalArgumentException("State code out of range: " + state);
+        }
+        ensureCapacity(length + 11);
+        long gap = epochSecond - lastSecond;
+        while ((gap & ~0x7FL) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+        bytes[length++] = (byte) state;
+        lastSecond = epochSecond;
+        size++;
+    }
+
+    // Visit every entry in order
+    public void forEach(EntryConsumer consumer) {
+        long second = baseSecond;
+        int pos = 0;
+        while (pos < length) {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (pos >= length) {
+                    throw new IllegalStateException("Truncated transition log");
+                }
+                b = bytes[pos++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (pos >= length) {
+                throw new IllegalStateException("Truncated transition log");
+            }
+            second += gap;
+            consumer.accept(second, bytes[pos++] & 0xFF);
+        }
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    public long getBaseSecond() {
+        return baseSecond;
+    }
+
+    // Time of the latest entry, or the base second if empty
+    public long getLastSecond() {
+        return lastSecond;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Encoded size in bytes
+    public int byteLength() {
+        return length;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(needed, bytes.length * 2));
+        }
+    }
+}
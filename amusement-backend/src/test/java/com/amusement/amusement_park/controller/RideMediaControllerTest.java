@@ -0,0 +1,109 @@
+package com.amusement.amusement_park.controller;
+
+import com.amusement.amusement_park.controller.attraction.RideMediaController;
+import com.amusement.amusement_park.exception.GlobalExceptionHandler;
+import com.amusement.amusement_park.service.attraction.RideMediaStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class RideMediaControllerTest {
+
+    @TempDir
+    Path mediaDir;
+
+    private RideMediaStore store;
+
+    private MockMvc mockMvc;
+
+    private byte[] gif;
+
+    private String key;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new RideMediaStore();
+        ReflectionTestUtils.setField(store, "mediaDir", mediaDir.toString());
+        RideMediaController controller = new RideMediaController();
+        ReflectionTestUtils.setField(controller, "rideMediaStore", store);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        BufferedImage image = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "gif", out);
+        gif = out.toByteArray();
+        key = store.store(new ByteArrayInputStream(gif)).key();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void getMedia_servesTheWholeFileWithCachingHeaders() throws Exception {
+        mockMvc.perform(get("/api/media/rides/{key}", key))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + key + "\""))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Cache-Control", "public, max-age=31536000, immutable"))
+                .andExpect(content().contentType("image/gif"))
+                .andExpect(content().bytes(gif));
+
+        mockMvc.perform(get("/api/media/rides/{key}", key).header("If-None-Match", "\"" + key + "\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/media/rides/{key}", "f".repeat(64) + ".gif"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getMedia_servesByteRanges() throws Exception {
+        mockMvc.perform(get("/api/media/rides/{key}", key).header("Range", "bytes=6-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 6-9/" + gif.length))
+                .andExpect(content().bytes(Arrays.copyOfRange(gif, 6, 10)));
+
+        // A stale If-Range gets the whole, current file
+        mockMvc.perform(get("/api/media/rides/{key}", key).header("Range", "bytes=6-9").header("If-Range", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(gif));
+        mockMvc.perform(get("/api/media/rides/{key}", key).header("Range", "bytes=500-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */" + gif.length));
+    }
+
+    @Test
+    void getMedia_handsTheFileToTomcatSendfileWhenSupported() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/media/rides/{key}", key)
+                        .header("Range", "bytes=-5")
+                        .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        assertEquals(0, result.getResponse().getContentAsByteArray().length);
+        assertEquals(5L, result.getResponse().getContentLengthLong());
+        assertEquals(mediaDir.resolve(key).toAbsolutePath().toString(),
+                result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals((long) gif.length - 5, result.getRequest().getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals((long) gif.length, result.getRequest().getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+}
@@ -7,6 +7,8 @@ import com.amusement.amusement_park.entity.ticket.Ticket;
 import com.amusement.amusement_park.entity.ticket.TicketType;
 import com.amusement.amusement_park.exception.NotFoundException;
 import com.amusement.amusement_park.service.ticket.TicketService;
+import com.amusement.amusement_park.util.CursorPage;
+import com.amusement.amusement_park.util.SeekCursor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -108,6 +114,21 @@ class TicketControllerTest {
         verify(ticketService, times(1)).getAll();
     }
 
+    @Test
+    void getTicketPage_shouldReturnContentAndNextCursor() throws Exception {
+        // Given
+        CursorPage<Ticket> page = new CursorPage<>(List.of(ticket), SeekCursor.afterId(1L).encode(), null);
+        when(ticketService.getPage("abc", 1, false)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/tickets/scroll").param("cursor", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].ticketId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(SeekCursor.afterId(1L).encode()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     @Test
     void getTicketById_whenTicketExists_shouldReturnTicket() throws Exception {
         // Given
@@ -135,6 +156,42 @@ class TicketControllerTest {
         verify(ticketService, times(1)).getById(999L);
     }
 
+    @Test
+    void getGateToken_whenHolderAsks_shouldReturnTicketWithToken() throws Exception {
+        // Given
+        ticketResponse.setGateToken("gate-token");
+        when(ticketService.getWithGateToken(1L, "guest@example.com")).thenReturn(ticketResponse);
+
+        // When & Then
+        mockMvc.perform(get("/tickets/1/gate-token").principal(authentication("guest@example.com", "ROLE_USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gateToken").value("gate-token"));
+
+        verify(ticketService, never()).getWithGateToken(1L);
+    }
+
+    @Test
+    void getGateToken_whenSomeoneElseAsks_shouldReturnForbidden() throws Exception {
+        // Given
+        when(ticketService.getWithGateToken(1L, "other@example.com"))
+                .thenThrow(new AccessDeniedException("Ticket 1 does not belong to other@example.com"));
+
+        // When & Then
+        mockMvc.perform(get("/tickets/1/gate-token").principal(authentication("other@example.com", "ROLE_USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void getGateToken_whenAdminAsks_shouldReturnAnyTicket() throws Exception {
+        // Given
+        when(ticketService.getWithGateToken(1L)).thenReturn(ticketResponse);
+
+        // When & Then
+        mockMvc.perform(get("/tickets/1/gate-token").principal(authentication("admin@example.com", "ROLE_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticketId").value(1));
+    }
+
     @Test
     void createTicket_whenValidRequest_shouldReturnCreatedTicket() throws Exception {
         // Given
@@ -299,4 +356,8 @@ class TicketControllerTest {
 
         verify(ticketService, times(1)).createTicket(any(TicketCreateRequest.class));
     }
+
+    private static Authentication authentication(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+    }
 }
@@ -3,6 +3,7 @@ package com.amusement.amusement_park.controller;
 import com.amusement.amusement_park.controller.ticket.TicketTypeController;
 import com.amusement.amusement_park.entity.ticket.TicketType;
 import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
 import com.amusement.amusement_park.service.ticket.TicketTypeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +36,9 @@ class TicketTypeControllerTest {
     @Mock
     private TicketTypeService ticketTypeService;
 
+    @Mock
+    private TicketInventory ticketInventory;
+
     @InjectMocks
     private TicketTypeController ticketTypeController;
 
@@ -220,6 +224,32 @@ class TicketTypeControllerTest {
 
         verify(ticketTypeService, times(1)).getById(1);
         verify(ticketTypeService, times(1)).save(any(TicketType.class));
+        verify(ticketInventory, never()).setDailyCapacity(any());
+    }
+
+    @Test
+    void updateTicketType_whenDailyCapacityChanges_shouldApplyItToDaysAhead() throws Exception {
+        // Given
+        ticketType.setDailyCapacity(500);
+        TicketType updatedTicketType = new TicketType();
+        updatedTicketType.setTicketTypeId(1);
+        updatedTicketType.setName("Standard Pass");
+        updatedTicketType.setPrice(new BigDecimal("50.00"));
+        updatedTicketType.setValidityDays(1);
+        updatedTicketType.setIsVip(false);
+        updatedTicketType.setDailyCapacity(300);
+
+        when(ticketTypeService.getById(1)).thenReturn(ticketType);
+        when(ticketTypeService.save(any(TicketType.class))).thenReturn(updatedTicketType);
+
+        // When & Then
+        mockMvc.perform(put("/ticket-types/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedTicketType)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dailyCapacity").value(300));
+
+        verify(ticketInventory, times(1)).setDailyCapacity(updatedTicketType);
     }
 
     @Test
@@ -0,0 +1,184 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.service.ticket.BlockSequenceAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlockSequenceAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Stands in for the id_blocks table
+    private final Map<String, Long> table = new HashMap<>();
+    private final AtomicInteger reservations = new AtomicInteger();
+    // Plays the row lock: one reservation at a time across all nodes
+    private final ReentrantLock rowLock = new ReentrantLock();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return new SimpleTransactionStatus();
+        });
+        lenient().doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenAnswer(invocation -> {
+            reservations.incrementAndGet();
+            Long next = table.get((String) invocation.getArgument(2));
+            return next == null ? List.of() : List.of(next);
+        });
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            if (((String) args[0]).startsWith("INSERT")) {
+                table.put((String) args[1], (Long) args[2]);
+            } else {
+                table.put((String) args[3], (Long) args[1]);
+            }
+            return 1;
+        });
+    }
+
+    @Test
+    void next_handsOutBlocksFromMemoryAfterTheFloor() {
+        BlockSequenceAllocator allocator = allocator(3);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            values.add(allocator.next("TKT-2026-", () -> 41));
+        }
+
+        assertEquals(List.of(42L, 43L, 44L, 45L, 46L, 47L, 48L), values);
+        assertEquals(3, reservations.get());
+        assertEquals(51L, table.get("TKT-2026-"));
+        // Sequences are independent, and an existing row ignores the floor
+        assertEquals(1L, allocator.next("INV-2026-", () -> 0));
+        assertEquals(51L, allocator(3).next("TKT-2026-", () -> 999));
+    }
+
+    @Test
+    void next_reservesRunsLongerThanABlockInOneGo() {
+        BlockSequenceAllocator allocator = allocator(10);
+
+        assertEquals(1L, allocator.next("TKT-2026-", 4, () -> 0));
+        // Too long for any block, so it is reserved on its own
+        assertEquals(11L, allocator.next("TKT-2026-", 25, () -> 0));
+        // and the block in hand is still used up
+        assertEquals(5L, allocator.next("TKT-2026-", 6, () -> 0));
+        assertEquals(36L, allocator.next("TKT-2026-", () -> 0));
+        assertEquals(3, reservations.get());
+    }
+
+    @Test
+    void next_leavesTheBlockWhenARunDoesNotFit() {
+        BlockSequenceAllocator allocator = allocator(10);
+
+        assertEquals(1L, allocator.next("TKT-2026-", 8, () -> 0));
+        // Two values left; a run of three takes a new block and drops them
+        assertEquals(11L, allocator.next("TKT-2026-", 3, () -> 0));
+        assertEquals(14L, allocator.next("TKT-2026-", 7, () -> 0));
+        assertEquals(2, reservations.get());
+    }
+
+    @Test
+    void next_retriesAReservationThatLostADeadlock() {
+        BlockSequenceAllocator allocator = allocator(10);
+        when(jdbcTemplate.queryForList(startsWith("SELECT next_value"), eq(Long.class), eq("TKT-2026-")))
+                .thenThrow(new PessimisticLockingFailureException("Deadlock found when trying to get lock"))
+                .thenReturn(List.of(41L));
+
+        assertEquals(41L, allocator.next("TKT-2026-", () -> 0));
+
+        verify(transactionManager).rollback(any());
+        assertEquals(51L, table.get("TKT-2026-"));
+    }
+
+    @Test
+    void next_givesUpAfterRepeatedDeadlocks() {
+        BlockSequenceAllocator allocator = allocator(10);
+        when(jdbcTemplate.queryForList(startsWith("SELECT next_value"), eq(Long.class), eq("TKT-2026-")))
+                .thenThrow(new PessimisticLockingFailureException("Deadlock found when trying to get lock"));
+
+        assertThrows(PessimisticLockingFailureException.class, () -> allocator.next("TKT-2026-", () -> 0));
+
+        // The first attempt and three retries
+        verify(transactionManager, times(4)).rollback(any());
+    }
+
+    @Test
+    void next_neverRepeatsAValueAcrossNodesAndThreads() throws Exception {
+        List<BlockSequenceAllocator> nodes = List.of(allocator(50), allocator(50));
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                BlockSequenceAllocator node = nodes.get(t % 2);
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        assertTrue(seen.add(node.next("TKT-2026-", () -> 0)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(4000, seen.size());
+        // 4,000 values in blocks of 50, allowing one unfinished block per node
+        assertTrue(reservations.get() <= 82);
+    }
+
+    @Test
+    void advance_takesValuesInTheCallersTransactionWithoutBlocks() {
+        BlockSequenceAllocator allocator = allocator(10);
+
+        assertTrue(allocator.peek("SYNC-VERSION").isEmpty());
+        assertEquals(11L, allocator.advance("SYNC-VERSION", 3, () -> 10));
+        assertEquals(14L, allocator.advance("SYNC-VERSION", 1, () -> 999));
+
+        assertEquals(15L, allocator.peek("SYNC-VERSION").getAsLong());
+        verifyNoInteractions(transactionManager);
+    }
+
+    private BlockSequenceAllocator allocator(int blockSize) {
+        BlockSequenceAllocator allocator = new BlockSequenceAllocator();
+        ReflectionTestUtils.setField(allocator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(allocator, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        return allocator;
+    }
+}
@@ -0,0 +1,260 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.dto.checkout.HoldResponse;
+import com.amusement.amusement_park.dto.checkout.TicketHoldConfirmRequest;
+import com.amusement.amusement_park.dto.checkout.TicketHoldRequest;
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest;
+import com.amusement.amusement_park.entity.foodmerchorder.ItemType;
+import com.amusement.amusement_park.entity.foodmerchorder.Order;
+import com.amusement.amusement_park.entity.foodmerchorder.OrderItem;
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.service.checkout.CheckoutHoldService;
+import com.amusement.amusement_park.service.foodmerchorder.MerchandiseStock;
+import com.amusement.amusement_park.service.foodmerchorder.OrderService;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
+import com.amusement.amusement_park.service.ticket.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutHoldServiceTest {
+
+    private static final Instant NOON = Instant.parse("2026-12-24T12:00:00Z");
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 12, 25);
+
+    @Mock
+    private TicketService ticketService;
+
+    @Mock
+    private TicketInventory ticketInventory;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private MerchandiseStock merchandiseStock;
+
+    @InjectMocks
+    private CheckoutHoldService checkoutHoldService;
+
+    private final TicketType adult = ticketType(1);
+
+    @BeforeEach
+    void setUp() {
+        setClock(NOON);
+        ReflectionTestUtils.setField(checkoutHoldService, "ttlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(checkoutHoldService, "init");
+    }
+
+    @Test
+    void reapExpired_releasesExpiredTicketHoldsOncePerTypeAndDay() {
+        holdTickets(2);
+        holdTickets(3);
+        verify(ticketInventory).reserveAll(Map.of(adult, 2), HOLIDAY);
+        verify(ticketInventory).reserveAll(Map.of(adult, 3), HOLIDAY);
+
+        setClock(NOON.plusSeconds(599));
+        assertEquals(0, checkoutHoldService.reapExpired());
+        setClock(NOON.plusSeconds(601));
+        assertEquals(2, checkoutHoldService.reapExpired());
+
+        verify(ticketInventory).release(1, HOLIDAY, 5);
+        assertEquals(0, checkoutHoldService.getOutstandingCount());
+    }
+
+    @Test
+    void confirmTickets_buysTheHeldPlacesAndTheHoldNeverExpires() {
+        HoldResponse hold = holdTickets(2);
+        assertEquals(NOON.plusSeconds(600), hold.getExpiresAt().toInstant(ZoneOffset.UTC));
+
+        checkoutHoldService.confirmTickets(hold.getHoldId(), confirm());
+
+        ArgumentCaptor<GroupTicketPurchaseRequest> purchase = ArgumentCaptor.forClass(GroupTicketPurchaseRequest.class);
+        verify(ticketService).purchaseReserved(purchase.capture());
+        assertEquals(7L, purchase.getValue().getUserId());
+        assertEquals(HOLIDAY, purchase.getValue().getValidFrom());
+        assertEquals("PAID", purchase.getValue().getPaymentStatus());
+        assertEquals(1, purchase.getValue().getTickets().get(0).getTicketTypeId());
+        assertEquals(2, purchase.getValue().getTickets().get(0).getQuantity());
+
+        assertThrows(NotFoundException.class, () -> checkoutHoldService.confirmTickets(hold.getHoldId(), confirm()));
+        setClock(NOON.plusSeconds(601));
+        assertEquals(0, checkoutHoldService.reapExpired());
+        verify(ticketInventory, never()).release(any(), any(), anyInt());
+    }
+
+    @Test
+    void confirmTickets_keepsTheHoldWhenThePurchaseFails() {
+        HoldResponse hold = holdTickets(2);
+        when(ticketService.purchaseReserved(any())).thenThrow(new IllegalArgumentException("No enum constant"));
+
+        assertThrows(IllegalArgumentException.class, () -> checkoutHoldService.confirmTickets(hold.getHoldId(), confirm()));
+
+        assertEquals(1, checkoutHoldService.getOutstandingCount());
+        setClock(NOON.plusSeconds(601));
+        assertEquals(1, checkoutHoldService.reapExpired());
+        verify(ticketInventory).release(1, HOLIDAY, 2);
+    }
+
+    @Test
+    void confirmTickets_refusesAHoldPastItsExpiryBeforeTheReaperRuns() {
+        HoldResponse hold = holdTickets(2);
+
+        setClock(NOON.plusSeconds(600));
+        assertThrows(NotFoundException.class, () -> checkoutHoldService.confirmTickets(hold.getHoldId(), confirm()));
+
+        verify(ticketInventory).release(1, HOLIDAY, 2);
+        verify(ticketService, never()).purchaseReserved(any());
+        setClock(NOON.plusSeconds(601));
+        assertEquals(0, checkoutHoldService.reapExpired());
+    }
+
+    @Test
+    void orderHolds_takeStockAndGiveItBackOnCancelOrExpiry() {
+        Order order = order(item(3L, ItemType.MERCH, 2), item(4L, ItemType.FOOD, 1), item(3L, ItemType.MERCH, 1));
+        HoldResponse cancelled = checkoutHoldService.holdOrder(order);
+        HoldResponse confirmed = checkoutHoldService.holdOrder(order);
+        long expiresAt = NOON.plusSeconds(600).toEpochMilli();
+        verify(merchandiseStock).hold(cancelled.getHoldId(), Map.of(3L, 3), expiresAt);
+        verify(merchandiseStock).hold(confirmed.getHoldId(), Map.of(3L, 3), expiresAt);
+
+        // Holds are not interchangeable between tickets and orders
+        assertThrows(NotFoundException.class, () -> checkoutHoldService.confirmTickets(confirmed.getHoldId(), confirm()));
+        when(merchandiseStock.confirmHold(eq(confirmed.getHoldId()), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Order>>getArgument(1).get());
+        checkoutHoldService.confirmOrder(confirmed.getHoldId(), "DISCOUNT10");
+        verify(orderService).placeHeldOrder(order, "DISCOUNT10");
+
+        checkoutHoldService.cancel(cancelled.getHoldId());
+        verify(merchandiseStock).releaseHolds(Map.of(cancelled.getHoldId(), Map.of(3L, 3)));
+        assertThrows(NotFoundException.class, () -> checkoutHoldService.cancel(cancelled.getHoldId()));
+
+        setClock(NOON.plusSeconds(601));
+        assertEquals(0, checkoutHoldService.reapExpired());
+        verifyNoMoreInteractions(merchandiseStock);
+    }
+
+    @Test
+    void confirmOrder_keepsTheHoldWhenItsStockWasAlreadyGivenBack() {
+        Order order = order(item(3L, ItemType.MERCH, 2));
+        HoldResponse hold = checkoutHoldService.holdOrder(order);
+        when(merchandiseStock.confirmHold(eq(hold.getHoldId()), any()))
+                .thenThrow(new NotFoundException("Hold not found or expired: " + hold.getHoldId()));
+
+        assertThrows(NotFoundException.class, () -> checkoutHoldService.confirmOrder(hold.getHoldId(), null));
+
+        verify(orderService, never()).placeHeldOrder(any(), any());
+        assertEquals(1, checkoutHoldService.getOutstandingCount());
+    }
+
+    @Test
+    void orderHolds_withoutMerchandiseRecordNothing() {
+        Order order = order(item(4L, ItemType.FOOD, 2));
+        HoldResponse hold = checkoutHoldService.holdOrder(order);
+
+        checkoutHoldService.confirmOrder(hold.getHoldId(), null);
+
+        verify(orderService).placeHeldOrder(order, null);
+        verify(merchandiseStock).hold(hold.getHoldId(), Map.of(), NOON.plusSeconds(600).toEpochMilli());
+        verifyNoMoreInteractions(merchandiseStock);
+    }
+
+    @Test
+    void releaseOrphaned_sweepsHoldsExpiredLongerThanTheGrace() {
+        when(merchandiseStock.releaseExpiredHolds(anyLong())).thenReturn(2);
+
+        assertEquals(2, checkoutHoldService.releaseOrphaned());
+
+        verify(merchandiseStock).releaseExpiredHolds(NOON.minusSeconds(60).toEpochMilli());
+    }
+
+    @Test
+    void reapExpired_retriesStockThatCouldNotBeGivenBack() {
+        HoldResponse first = checkoutHoldService.holdOrder(order(item(3L, ItemType.MERCH, 2)));
+        HoldResponse second = checkoutHoldService.holdOrder(order(item(3L, ItemType.MERCH, 1), item(5L, ItemType.MERCH, 4)));
+        Map<Long, Map<Long, Integer>> expired = Map.of(
+                first.getHoldId(), Map.of(3L, 2),
+                second.getHoldId(), Map.of(3L, 1, 5L, 4));
+        doThrow(new DataAccessResourceFailureException("down")).doNothing()
+                .when(merchandiseStock).releaseHolds(expired);
+
+        setClock(NOON.plusSeconds(601));
+        assertEquals(2, checkoutHoldService.reapExpired());
+        setClock(NOON.plusSeconds(604));
+        assertEquals(0, checkoutHoldService.reapExpired());
+        setClock(NOON.plusSeconds(607));
+        assertEquals(2, checkoutHoldService.reapExpired());
+
+        verify(merchandiseStock, times(2)).releaseHolds(expired);
+        setClock(NOON.plusSeconds(620));
+        assertEquals(0, checkoutHoldService.reapExpired());
+    }
+
+    private HoldResponse holdTickets(int quantity) {
+        GroupTicketPurchaseRequest.Item item = new GroupTicketPurchaseRequest.Item();
+        item.setTicketTypeId(1);
+        item.setQuantity(quantity);
+        TicketHoldRequest request = new TicketHoldRequest();
+        request.setUserId(7L);
+        request.setValidFrom(HOLIDAY);
+        request.setTickets(List.of(item));
+        when(ticketService.resolveGroup(request.getTickets())).thenReturn(Map.of(adult, quantity));
+        return checkoutHoldService.holdTickets(request);
+    }
+
+    private static TicketHoldConfirmRequest confirm() {
+        TicketHoldConfirmRequest confirm = new TicketHoldConfirmRequest();
+        confirm.setPaymentStatus("PAID");
+        confirm.setPaymentMode("CARD");
+        return confirm;
+    }
+
+    private static Order order(OrderItem... items) {
+        Order order = new Order();
+        order.setUserId(7L);
+        order.setPickupLocation("Zone C - Gift Shop");
+        order.setItemList(List.of(items));
+        return order;
+    }
+
+    private static OrderItem item(Long itemId, ItemType itemType, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setItemId(itemId);
+        item.setItemName("Item " + itemId);
+        item.setItemType(itemType);
+        item.setQuantity(quantity);
+        item.setUnitPrice(new BigDecimal("10.00"));
+        return item;
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(checkoutHoldService, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static TicketType ticketType(int id) {
+        TicketType ticketType = new TicketType();
+        ticketType.setTicketTypeId(id);
+        return ticketType;
+    }
+}
@@ -0,0 +1,165 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.event.attraction.FavoriteCountChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.FavoriteCountAccumulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FavoriteCountAccumulatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FavoriteCountAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator = new FavoriteCountAccumulator();
+        ReflectionTestUtils.setField(accumulator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(accumulator, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(accumulator, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(accumulator, "eventPublisher", eventPublisher);
+    }
+
+    @Test
+    void flush_writesConcurrentIncrementsAsOneBatch() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    accumulator.record(1L + i % 2, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        accumulator.record(3L, 1);
+        accumulator.record(3L, -1);
+
+        assertEquals(2, accumulator.flush());
+
+        List<Object[]> batch = captureBatch();
+        assertEquals(2, batch.size());
+        assertArrayEquals(new Object[] { 40_000L, 1L }, batch.get(0));
+        assertArrayEquals(new Object[] { 40_000L, 2L }, batch.get(1));
+        assertEquals(0, accumulator.pendingDelta(1L));
+    }
+
+    @Test
+    void flush_keepsIncrementsRecordedWhileWriting() {
+        accumulator.record(1L, 3);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            accumulator.record(1L, 1);
+            return new int[] { 1 };
+        });
+
+        accumulator.flush();
+
+        assertEquals(1, accumulator.pendingDelta(1L));
+    }
+
+    @Test
+    void flush_keepsDeltasWhenTheWriteFails() {
+        accumulator.record(1L, 2);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("down"));
+
+        assertThrows(IllegalStateException.class, () -> accumulator.flush());
+
+        assertEquals(2, accumulator.pendingDelta(1L));
+    }
+
+    @Test
+    void count_staysExactWhileDeltasAreWritten() {
+        when(rideRepository.findAllFavoritesCounts()).thenReturn(counts(1L, 5L), counts(1L, 7L));
+        accumulator.record(1L, 2);
+        assertEquals(7, accumulator.count(1L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            // Written but not yet taken off the pending delta
+            assertEquals(7, accumulator.count(1L));
+            return new int[] { 1 };
+        });
+
+        accumulator.flush();
+
+        assertEquals(0, accumulator.pendingDelta(1L));
+        assertEquals(7, accumulator.count(1L));
+    }
+
+    @Test
+    void flush_picksUpCountsOtherNodesWrote() {
+        when(rideRepository.findAllFavoritesCounts()).thenReturn(counts(1L, 5L), counts(1L, 9L));
+        accumulator.record(1L, 1);
+        assertEquals(6, accumulator.count(1L));
+
+        // This node writes +1, another node wrote +3
+        accumulator.flush();
+
+        assertEquals(9, accumulator.count(1L));
+        accumulator.record(1L, -1);
+        assertEquals(8, accumulator.count(1L));
+    }
+
+    @Test
+    void reconcile_repairsDriftButNotFavoritesStillPending() {
+        List<Object[]> drift = new ArrayList<>();
+        drift.add(new Object[] { 1L, 5L, 7L });
+        drift.add(new Object[] { 2L, 3L, 4L });
+        when(rideRepository.findFavoritesCountDrift()).thenAnswer(invocation -> {
+            // Committed after the flush, so counted but not yet written
+            accumulator.record(2L, 1);
+            return drift;
+        });
+
+        assertEquals(1, accumulator.reconcile());
+
+        List<Object[]> corrections = captureBatch();
+        assertEquals(1, corrections.size());
+        assertArrayEquals(new Object[] { 7L, 1L }, corrections.get(0));
+        ArgumentCaptor<FavoriteCountChangedEvent> events = ArgumentCaptor.forClass(FavoriteCountChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        FavoriteCountChangedEvent correction = events.getAllValues().get(1);
+        assertEquals(2, correction.getDelta());
+        assertTrue(correction.isCorrection());
+    }
+
+    private static List<Object[]> counts(Long rideId, long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { rideId, count });
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> captureBatch() {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,179 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.FavoriteDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.entity.attraction.UserFavorite;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.service.attraction.FavoriteCountAccumulator;
+import com.amusement.amusement_park.service.attraction.FavoriteService;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+import com.amusement.amusement_park.service.attraction.RideService;
+import com.amusement.amusement_park.service.attraction.WaitTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FavoriteServiceTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private UserFavoriteRepository userFavoriteRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    private RideDtoAssembler rideDtoAssembler;
+
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private FavoriteService favoriteService;
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        maintenanceIntervalIndex = catalog.getMaintenanceIntervalIndex();
+        rideDtoAssembler = catalog.getRideDtoAssembler();
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        FavoriteCountAccumulator favoriteCountAccumulator = new FavoriteCountAccumulator();
+        ReflectionTestUtils.setField(favoriteCountAccumulator, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(favoriteCountAccumulator, "eventPublisher", mock(ApplicationEventPublisher.class));
+
+        RideService rideService = new RideService();
+        ReflectionTestUtils.setField(rideService, "favoriteCountAccumulator", favoriteCountAccumulator);
+        ReflectionTestUtils.setField(rideService, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(rideService, "rideDtoAssembler", rideDtoAssembler);
+        ReflectionTestUtils.setField(rideService, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(rideService, "waitTimeEstimator", new WaitTimeEstimator());
+
+        favoriteService = new FavoriteService();
+        ReflectionTestUtils.setField(favoriteService, "userFavoriteRepository", userFavoriteRepository);
+        ReflectionTestUtils.setField(favoriteService, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(favoriteService, "rideService", rideService);
+        ReflectionTestUtils.setField(favoriteService, "favoriteCountAccumulator", favoriteCountAccumulator);
+
+        // Load the interval index and favorites counts up front so only per-request queries are counted
+        maintenanceIntervalIndex.nextChangeAfter(LocalDateTime.now());
+        favoriteCountAccumulator.count(1L);
+    }
+
+    @Test
+    void getUserFavorites_statementCountDoesNotGrowWithFavorites() {
+        int one = statementsForFavorites(1);
+        int some = statementsForFavorites(30);
+        int many = statementsForFavorites(300);
+
+        // Favorites, then one batch for the rides and one for their photos
+        assertEquals(3, one);
+        assertEquals(one, some);
+        assertEquals(one, many);
+        verify(rideRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getUserFavorites_keepsOrderAndServesCatalogRidesWithoutQueries() {
+        List<Ride> rides = rides(3);
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides);
+        rideCatalogCache.current();
+        List<UserFavorite> favorites = List.of(favorite(2L, rides.get(2)), favorite(1L, rides.get(0)));
+        when(userFavoriteRepository.findByUserIdOrderByAddedAtDesc(7L)).thenReturn(favorites);
+
+        List<FavoriteDto> dtos = favoriteService.getUserFavorites(7L);
+
+        assertEquals(List.of(2L, 1L), dtos.stream().map(FavoriteDto::getId).toList());
+        assertEquals("Ride 3", dtos.get(0).getRide().getName());
+        assertEquals("Ride 1", dtos.get(1).getRide().getName());
+        verify(rideRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getUserFavorites_loadsEveryUncachedRideInOneLookup() {
+        favoritesOfUncachedRides(500);
+        Mockito.<Object>clearInvocations(rideRepository, userFavoriteRepository);
+
+        assertEquals(500, favoriteService.getUserFavorites(7L).size());
+
+        // One query per favorite would mean 500 lookups
+        verify(userFavoriteRepository, times(1)).findByUserIdOrderByAddedAtDesc(7L);
+        verify(rideRepository, times(1)).findAllById(argThat(ids -> ids instanceof Collection<?> batch && batch.size() == 500));
+        verify(rideRepository, never()).findById(anyLong());
+        verifyNoMoreInteractions(rideRepository, userFavoriteRepository);
+    }
+
+    private int statementsForFavorites(int count) {
+        favoritesOfUncachedRides(count);
+        Mockito.<Object>clearInvocations(rideRepository, userFavoriteRepository, maintenanceAlertRepository, ridePhotoRepository);
+
+        assertEquals(count, favoriteService.getUserFavorites(7L).size());
+
+        return mockingDetails(rideRepository).getInvocations().size()
+                + mockingDetails(userFavoriteRepository).getInvocations().size()
+                + mockingDetails(maintenanceAlertRepository).getInvocations().size()
+                + mockingDetails(ridePhotoRepository).getInvocations().size();
+    }
+
+    // Favorites of rides created after the catalog snapshot, so every ride needs loading
+    private void favoritesOfUncachedRides(int count) {
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(List.of());
+        rideCatalogCache.invalidate();
+        rideCatalogCache.current();
+
+        List<Ride> rides = rides(count);
+        List<UserFavorite> favorites = new ArrayList<>();
+        for (Ride ride : rides) {
+            favorites.add(favorite(ride.getId(), ride));
+        }
+        when(userFavoriteRepository.findByUserIdOrderByAddedAtDesc(7L)).thenReturn(favorites);
+        when(rideRepository.findAllById(anyIterable())).thenReturn(rides);
+    }
+
+    private static UserFavorite favorite(Long id, Ride ride) {
+        UserFavorite favorite = new UserFavorite(7L, ride);
+        favorite.setId(id);
+        return favorite;
+    }
+
+    private static List<Ride> rides(int count) {
+        List<Ride> rides = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Ride ride = new Ride("Ride " + i, "Description " + i, ThrillLevel.MEDIUM, 8, 5);
+            ride.setId((long) i);
+            rides.add(ride);
+        }
+        return rides;
+    }
+}
@@ -0,0 +1,197 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.entity.ticket.Ticket;
+import com.amusement.amusement_park.entity.ticket.TicketRevocation;
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.repository.ticket.TicketRevocationRepository;
+import com.amusement.amusement_park.service.ticket.GateTokenService;
+import com.amusement.amusement_park.service.ticket.TicketRevocationList;
+import com.amusement.amusement_park.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GateTokenServiceTest {
+
+    private static final Instant NOON = Instant.parse("2026-06-01T12:00:00Z");
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    @Mock
+    private TicketRevocationRepository ticketRevocationRepository;
+
+    private TicketRevocationList ticketRevocationList;
+
+    private GateTokenService gateTokenService;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong();
+        lenient().when(ticketRevocationRepository.findByValidToGreaterThanEqualOrderByIdAsc(any())).thenReturn(List.of());
+        lenient().when(ticketRevocationRepository.save(any())).thenAnswer(invocation -> {
+            TicketRevocation revocation = invocation.getArgument(0);
+            revocation.setId(ids.incrementAndGet());
+            return revocation;
+        });
+
+        ticketRevocationList = new TicketRevocationList();
+        ReflectionTestUtils.setField(ticketRevocationList, "ticketRevocationRepository", ticketRevocationRepository);
+
+        gateTokenService = new GateTokenService();
+        ReflectionTestUtils.setField(gateTokenService, "secret", "test-gate-secret-that-is-32-bytes!");
+        ReflectionTestUtils.setField(gateTokenService, "ticketRevocationList", ticketRevocationList);
+        ReflectionTestUtils.invokeMethod(gateTokenService, "init");
+        setClock(NOON);
+    }
+
+    @Test
+    void verify_acceptsGenuineTokensWithoutTheDatabase() {
+        String token = gateTokenService.issue(ticket(5L, TODAY, TODAY.plusDays(1)));
+
+        GateTokenService.Verification verification = gateTokenService.verify(token);
+
+        assertEquals(56, token.length());
+        assertEquals(GateTokenService.Verdict.VALID, verification.verdict());
+        assertEquals(5L, verification.claims().ticketId());
+        assertEquals(2, verification.claims().ticketTypeId());
+        assertTrue(verification.claims().vip());
+        assertEquals(TODAY.plusDays(1), verification.claims().validTo());
+        assertNull(gateTokenService.issue(unpaid(ticket(6L, TODAY, TODAY))));
+    }
+
+    @Test
+    void verify_rejectsForgedMalformedAndOutOfDateTokens() {
+        String token = gateTokenService.issue(ticket(5L, TODAY, TODAY.plusDays(1)));
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        bytes[8] ^= 1;
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertEquals(GateTokenService.Verdict.BAD_SIGNATURE, gateTokenService.verify(forged).verdict());
+        assertNull(gateTokenService.verify(forged).claims());
+        assertEquals(GateTokenService.Verdict.MALFORMED, gateTokenService.verify("not a token!").verdict());
+        assertEquals(GateTokenService.Verdict.MALFORMED, gateTokenService.verify(token.substring(4)).verdict());
+
+        setClock(NOON.plusSeconds(2 * 86_400));
+        assertEquals(GateTokenService.Verdict.EXPIRED, gateTokenService.verify(token).verdict());
+        setClock(NOON.minusSeconds(86_400));
+        assertEquals(GateTokenService.Verdict.NOT_YET_VALID, gateTokenService.verify(token).verdict());
+    }
+
+    @Test
+    void init_refusesThePlaceholderSecret() {
+        GateTokenService unconfigured = new GateTokenService();
+        ReflectionTestUtils.setField(unconfigured, "secret", "replaceWithYourGateSecretAtLeast32BytesLong");
+        assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(unconfigured, "init"));
+        ReflectionTestUtils.setField(unconfigured, "secret", "too short");
+        assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(unconfigured, "init"));
+    }
+
+    @Test
+    void verify_rejectsTokensIssuedBeforeARevocationOnly() {
+        Ticket ticket = ticket(5L, TODAY, TODAY.plusDays(1));
+        String old = gateTokenService.issue(ticket);
+
+        ticketRevocationList.revoke(5L, TODAY.plusDays(1), "UPDATED");
+        String reissued = gateTokenService.issue(ticket);
+
+        assertEquals(GateTokenService.Verdict.REVOKED, gateTokenService.verify(old).verdict());
+        assertEquals(GateTokenService.Verdict.VALID, gateTokenService.verify(reissued).verdict());
+        assertEquals(GateTokenService.Verdict.VALID,
+                gateTokenService.verify(gateTokenService.issue(ticket(7L, TODAY, TODAY))).verdict());
+    }
+
+    @Test
+    void revoke_takesEffectOnlyOnceTheTransactionCommits() {
+        String token = gateTokenService.issue(ticket(5L, TODAY, TODAY.plusDays(1)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ticketRevocationList.revoke(5L, TODAY.plusDays(1), "UPDATED");
+
+            // Written, but a rollback would leave the ticket unchanged
+            verify(ticketRevocationRepository).save(any());
+            assertEquals(GateTokenService.Verdict.VALID, gateTokenService.verify(token).verdict());
+            assertEquals(0, ticketRevocationList.getVersion());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(GateTokenService.Verdict.REVOKED, gateTokenService.verify(token).verdict());
+        assertEquals(1, ticketRevocationList.getVersion());
+    }
+
+    @Test
+    void blob_sendsTheFilterOnceAndThenOnlyNewEntries() throws IOException {
+        ticketRevocationList.revoke(5L, TODAY, "DELETED");
+        ticketRevocationList.revoke(9L, TODAY, "DELETED");
+
+        DataInputStream full = new DataInputStream(new ByteArrayInputStream(ticketRevocationList.blob(null)));
+        assertEquals(0x47525631, full.readInt());
+        long version = full.readLong();
+        assertEquals(2, version);
+        assertEquals(1, full.readByte());
+        int hashes = full.readByte();
+        long[] words = new long[full.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = full.readLong();
+        }
+        BloomFilter filter = BloomFilter.fromLongArray(words, hashes);
+        assertTrue(filter.mightContain(5) && filter.mightContain(9));
+        assertEquals(2, full.readInt());
+        assertEquals(5L, full.readLong());
+        assertEquals(NOON.getEpochSecond(), full.readLong());
+
+        ticketRevocationList.revoke(11L, TODAY, "DELETED");
+        DataInputStream delta = new DataInputStream(new ByteArrayInputStream(ticketRevocationList.blob(version)));
+        assertEquals(0x47525631, delta.readInt());
+        assertEquals(3, delta.readLong());
+        assertEquals(0, delta.readByte());
+        assertEquals(1, delta.readInt());
+        assertEquals(11L, delta.readLong());
+    }
+
+    private void setClock(Instant instant) {
+        Clock clock = Clock.fixed(instant, ZoneOffset.UTC);
+        ReflectionTestUtils.setField(gateTokenService, "clock", clock);
+        ReflectionTestUtils.setField(ticketRevocationList, "clock", clock);
+    }
+
+    private static Ticket ticket(Long id, LocalDate validFrom, LocalDate validTo) {
+        TicketType ticketType = new TicketType();
+        ticketType.setTicketTypeId(2);
+        ticketType.setIsVip(true);
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(id);
+        ticket.setTicketType(ticketType);
+        ticket.setValidFrom(validFrom);
+        ticket.setValidTo(validTo);
+        ticket.setPaymentStatus(Ticket.PaymentStatus.PAID);
+        return ticket;
+    }
+
+    private static Ticket unpaid(Ticket ticket) {
+        ticket.setPaymentStatus(Ticket.PaymentStatus.PENDING);
+        return ticket;
+    }
+}
@@ -0,0 +1,99 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.MaintenanceAlertService;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenanceAlertServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 7, 1, 12, 0);
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    @Mock
+    private RideDtoAssembler rideDtoAssembler;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MaintenanceAlertService maintenanceAlertService;
+
+    @Test
+    void applyAvailabilityBoundaries_onlyReopensRidesMaintenanceClosed() {
+        when(maintenanceIntervalIndex.isUnderMaintenance(1L, NOW)).thenReturn(true);
+        when(maintenanceIntervalIndex.isUnderMaintenance(2L, NOW)).thenReturn(false);
+
+        maintenanceAlertService.applyAvailabilityBoundaries(List.of(1L, 2L), NOW);
+
+        verify(rideRepository).closeForMaintenance(List.of(1L), NOW);
+        verify(rideRepository).reopenAfterMaintenance(List.of(2L), NOW);
+        verifyNoMoreInteractions(rideRepository);
+    }
+
+    @Test
+    void deleteAlert_reopensARideTheMaintenanceClosed() {
+        Ride ride = ride(false, true);
+        deleteAlertOf(ride);
+
+        assertTrue(ride.getIsOperational());
+        assertFalse(ride.getClosedForMaintenance());
+    }
+
+    @Test
+    void deleteAlert_leavesARideAnAdminClosedClosed() {
+        Ride ride = ride(false, false);
+        deleteAlertOf(ride);
+
+        assertFalse(ride.getIsOperational());
+        assertFalse(ride.getClosedForMaintenance());
+    }
+
+    private void deleteAlertOf(Ride ride) {
+        MaintenanceAlert alert = new MaintenanceAlert();
+        alert.setId(10L);
+        alert.setRide(ride);
+        when(maintenanceAlertRepository.findById(10L)).thenReturn(Optional.of(alert));
+        when(maintenanceIntervalIndex.overlapping(eq(ride.getId()), any(), any())).thenReturn(List.of());
+
+        maintenanceAlertService.deleteAlert(10L);
+
+        verify(rideRepository).save(ride);
+    }
+
+    private static Ride ride(boolean operational, boolean closedForMaintenance) {
+        Ride ride = new Ride("Ride", "Description", ThrillLevel.MEDIUM, 8, 5);
+        ride.setId(1L);
+        ride.setIsOperational(operational);
+        ride.setClosedForMaintenance(closedForMaintenance);
+        return ride;
+    }
+}
@@ -0,0 +1,162 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.MaintenanceAlertCreateDto;
+import com.amusement.amusement_park.dto.attraction.MaintenanceImportResultDto;
+import com.amusement.amusement_park.dto.attraction.MaintenanceImportResultDto.RowStatus;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.MaintenanceAlertService;
+import com.amusement.amusement_park.service.attraction.MaintenanceImportService;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MaintenanceImportServiceTest {
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private MaintenanceAlertService maintenanceAlertService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private MaintenanceImportService maintenanceImportService;
+
+    private final AtomicLong nextId = new AtomicLong(100);
+    private final LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+    private Ride ride;
+
+    @BeforeEach
+    void setUp() {
+        ride = new Ride("Dragon Coaster", "Loops", ThrillLevel.HIGH, 12, 3);
+        ride.setId(1L);
+        when(rideRepository.findAllById(any())).thenReturn(List.of(ride));
+        lenient().when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("GENERATED_KEY", nextId.getAndIncrement()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+
+        MaintenanceIntervalIndex index = new MaintenanceIntervalIndex();
+        ReflectionTestUtils.setField(index, "maintenanceAlertRepository", maintenanceAlertRepository);
+        ReflectionTestUtils.setField(index, "recurringScheduleRepository", recurringScheduleRepository);
+
+        maintenanceImportService = new MaintenanceImportService();
+        ReflectionTestUtils.setField(maintenanceImportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(maintenanceImportService, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(maintenanceImportService, "maintenanceIntervalIndex", index);
+        ReflectionTestUtils.setField(maintenanceImportService, "maintenanceAlertService", maintenanceAlertService);
+        ReflectionTestUtils.setField(maintenanceImportService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(maintenanceImportService, "eventPublisher", eventPublisher);
+    }
+
+    @Test
+    void importAlerts_rejectsConflictsWithinBatchAndWithExistingAlerts() {
+        MaintenanceAlert existing = new MaintenanceAlert(ride, AlertType.INSPECTION, "Existing inspection",
+                base.plusHours(10), Priority.LOW);
+        existing.setId(5L);
+        existing.setEndTime(base.plusHours(12));
+        when(maintenanceAlertRepository.findByIsActiveTrue()).thenReturn(List.of(existing));
+
+        MaintenanceImportResultDto result = maintenanceImportService.importAlerts(List.of(
+                alert(1L, 0, 2),
+                alert(1L, 1, 3),
+                alert(1L, 11, 13),
+                alert(99L, 0, 1),
+                alert(1L, 4, 5)));
+
+        assertEquals(5, result.getTotal());
+        assertEquals(2, result.getCreated());
+        assertEquals(RowStatus.CREATED, result.getRows().get(0).getStatus());
+        assertEquals("Overlaps row 1 of this import", result.getRows().get(1).getError());
+        assertEquals("Overlaps existing maintenance alert 5", result.getRows().get(2).getError());
+        assertEquals("Ride not found with id: 99", result.getRows().get(3).getError());
+        assertEquals(101L, result.getRows().get(4).getAlertId());
+    }
+
+    @Test
+    void importAlerts_insertsInBatchesWithOneRideLookup() {
+        List<MaintenanceAlertCreateDto> alerts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            alerts.add(alert(1L, i * 2, i * 2 + 1));
+        }
+
+        MaintenanceImportResultDto result = maintenanceImportService.importAlerts(alerts);
+
+        assertEquals(1000, result.getCreated());
+        verify(rideRepository, times(1)).findAllById(any());
+        verify(jdbcTemplate, times(2)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void importCsv_reportsUnparseableRowsAndImportsTheRest() {
+        String csv = "rideId,alertType,title,description,startTime,endTime,priority\n"
+                + "1,INSPECTION,\"Brake check, north\",\"Says \"\"hi\"\"\"," + base.format(FORMAT) + ","
+                + base.plusHours(1).format(FORMAT) + ",HIGH\n"
+                + "1,EXPLOSION,Bad type,,"
+                + base.plusHours(2).format(FORMAT) + ",,LOW\n";
+
+        MaintenanceImportResultDto result = maintenanceImportService.importCsv(csv);
+
+        assertEquals(1, result.getCreated());
+        assertEquals("Invalid alertType: EXPLOSION", result.getRows().get(1).getError());
+    }
+
+    private MaintenanceAlertCreateDto alert(Long rideId, int startHour, int endHour) {
+        MaintenanceAlertCreateDto dto = new MaintenanceAlertCreateDto();
+        dto.setRideId(rideId);
+        dto.setAlertType(AlertType.SCHEDULED_MAINTENANCE);
+        dto.setTitle("Seasonal maintenance");
+        dto.setStartTime(base.plusHours(startHour));
+        dto.setEndTime(base.plusHours(endHour));
+        dto.setPriority(Priority.MEDIUM);
+        return dto;
+    }
+}
@@ -0,0 +1,140 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.exception.OutOfStockException;
+import com.amusement.amusement_park.repository.foodmerchorder.MerchandiseItemRepository;
+import com.amusement.amusement_park.service.foodmerchorder.MerchandiseStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MerchandiseStockTest {
+
+    @Mock
+    private MerchandiseItemRepository merchandiseItemRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MerchandiseStock merchandiseStock;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void hold_recordsTheHoldWithTheStockItTook() {
+        when(merchandiseItemRepository.takeStock(anyLong(), anyInt())).thenReturn(1);
+
+        merchandiseStock.hold(9L, Map.of(5L, 1, 3L, 2), 1_000L);
+
+        verify(merchandiseItemRepository).takeStock(3L, 2);
+        verify(merchandiseItemRepository).takeStock(5L, 1);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO checkout_holds"), eq(9L), eq(1_000L), eq("3:2,5:1"));
+        verify(transactionManager).commit(any());
+        assertEquals(List.of(3L, 5L), changedItems());
+    }
+
+    @Test
+    void hold_recordsNothingWhenStockIsShort() {
+        when(merchandiseItemRepository.takeStock(3L, 2)).thenReturn(0);
+        when(merchandiseItemRepository.existsById(3L)).thenReturn(true);
+
+        assertThrows(OutOfStockException.class, () -> merchandiseStock.hold(9L, Map.of(3L, 2), 1_000L));
+
+        verifyNoInteractions(jdbcTemplate, eventPublisher);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void confirmHold_refusesAHoldWhoseStockWasGivenBack() {
+        when(jdbcTemplate.update(startsWith("DELETE FROM checkout_holds"), eq(9L))).thenReturn(0);
+
+        assertThrows(NotFoundException.class, () -> merchandiseStock.confirmHold(9L, () -> fail("Order placed")));
+
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void releaseHolds_givesBackOnlyTheHoldsItDeleted() {
+        // Hold 8 was already released by another node
+        when(jdbcTemplate.batchUpdate(startsWith("DELETE FROM checkout_holds"), anyList())).thenReturn(new int[] { 0, 1 });
+
+        merchandiseStock.releaseHolds(Map.of(9L, Map.of(3L, 2, 5L, 1), 8L, Map.of(3L, 4)));
+
+        assertEquals(2, givenBack().size());
+        assertArrayEquals(new Object[] { 2, 3L }, givenBack().get(0));
+        assertArrayEquals(new Object[] { 1, 5L }, givenBack().get(1));
+        verify(transactionManager).commit(any());
+        assertEquals(List.of(3L, 5L), changedItems());
+    }
+
+    @Test
+    void releaseExpiredHolds_givesBackHoldsPastTheCutoff() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(9L);
+        when(row.getString("merchandise")).thenReturn("3:2,5:1");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, merchandise FROM checkout_holds"),
+                any(RowCallbackHandler.class), eq(1_000L), anyInt());
+        when(jdbcTemplate.batchUpdate(startsWith("DELETE FROM checkout_holds"), anyList())).thenReturn(new int[] { 1 });
+
+        assertEquals(1, merchandiseStock.releaseExpiredHolds(1_000L));
+
+        assertEquals(2, givenBack().size());
+        assertArrayEquals(new Object[] { 2, 3L }, givenBack().get(0));
+    }
+
+    @Test
+    void giveBack_announcesTheItemsWhoseStockChanged() {
+        merchandiseStock.giveBack(Map.of(7L, 1));
+
+        assertArrayEquals(new Object[] { 1, 7L }, givenBack().get(0));
+        assertEquals(List.of(7L), changedItems());
+    }
+
+    private List<Long> changedItems() {
+        ArgumentCaptor<CatalogEntityChangedEvent> event = ArgumentCaptor.forClass(CatalogEntityChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(SyncEntityType.MERCHANDISE_ITEM, event.getValue().getEntityType());
+        assertFalse(event.getValue().isDeleted());
+        return event.getValue().getEntityIds();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> givenBack() {
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("UPDATE merchandise_item"), args.capture());
+        return args.getValue();
+    }
+}
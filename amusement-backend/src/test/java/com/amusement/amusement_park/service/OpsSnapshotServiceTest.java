@@ -0,0 +1,169 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.IssueStatus;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.user.OpsSnapshotDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.feedback.IssueStatusChangedEvent;
+import com.amusement.amusement_park.event.foodmerchorder.OrderStatusChangedEvent;
+import com.amusement.amusement_park.event.ticket.TicketSalesChangedEvent;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.feedback.IssueRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.OrderRepository;
+import com.amusement.amusement_park.repository.ticket.TicketRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.user.OpsSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpsSnapshotServiceTest {
+
+    private static final Instant NOON = Instant.parse("2026-06-01T12:00:00Z");
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private OpsSnapshotService opsSnapshotService;
+
+    private final List<Ride> rides = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        opsSnapshotService = new OpsSnapshotService();
+        ReflectionTestUtils.setField(opsSnapshotService, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(opsSnapshotService, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(opsSnapshotService, "issueRepository", issueRepository);
+        ReflectionTestUtils.setField(opsSnapshotService, "ticketRepository", ticketRepository);
+        setClock(NOON);
+
+        for (long id = 1; id <= 3; id++) {
+            Ride ride = new Ride("Ride " + id, "Description", ThrillLevel.MEDIUM, 8, 5);
+            ride.setId(id);
+            rides.add(ride);
+        }
+        rides.get(2).setIsOperational(false);
+        when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+
+        when(orderRepository.countByStatus()).thenReturn(rows(new Object[] { "PLACED", 2L }, new Object[] { "ready", 1L }));
+        when(issueRepository.countByStatus()).thenReturn(rows(new Object[] { IssueStatus.OPEN, 3L },
+                new Object[] { IssueStatus.RESOLVED, 4L }));
+        when(ticketRepository.sumSalesBetween(any(), any())).thenReturn(rows(new Object[] { 5L, new BigDecimal("250.00") }));
+    }
+
+    @Test
+    void current_isServedFromMemoryUntilSomethingChanges() {
+        OpsSnapshotDto first = opsSnapshotService.current();
+
+        assertEquals(3, first.getTotalRides());
+        assertEquals(2, first.getAvailableRides());
+        assertEquals(Map.of("PLACED", 2L, "READY", 1L), first.getOrdersByStatus());
+        assertEquals(3, first.getOpenIssues());
+        assertEquals(5, first.getTicketsSoldToday());
+        assertSame(first, opsSnapshotService.current());
+
+        opsSnapshotService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, "PLACED", "Confirmed"));
+        opsSnapshotService.onOrderStatusChanged(new OrderStatusChangedEvent(8L, "READY", null));
+        opsSnapshotService.onIssueStatusChanged(new IssueStatusChangedEvent(9L, null, IssueStatus.OPEN));
+        opsSnapshotService.onIssueStatusChanged(new IssueStatusChangedEvent(1L, IssueStatus.OPEN, IssueStatus.IN_PROGRESS));
+        opsSnapshotService.onTicketSalesChanged(new TicketSalesChangedEvent(LocalDate.of(2026, 6, 1), 1, new BigDecimal("40.00")));
+        opsSnapshotService.onTicketSalesChanged(new TicketSalesChangedEvent(LocalDate.of(2026, 5, 31), -1, new BigDecimal("-10.00")));
+        OpsSnapshotDto second = opsSnapshotService.current();
+
+        assertEquals(Map.of("PLACED", 1L, "CONFIRMED", 1L), second.getOrdersByStatus());
+        assertEquals(4, second.getOpenIssues());
+        assertEquals(6, second.getTicketsSoldToday());
+        assertEquals(new BigDecimal("290.00"), second.getTicketRevenueToday());
+        verify(orderRepository, times(1)).countByStatus();
+        verify(issueRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void current_followsTheCatalogAndTheDate() {
+        OpsSnapshotDto first = opsSnapshotService.current();
+
+        rides.get(2).setIsOperational(true);
+        rideCatalogCache.invalidate();
+        assertEquals(3, opsSnapshotService.current().getAvailableRides());
+
+        // Past midnight today's sales start again from the database
+        when(ticketRepository.sumSalesBetween(any(), any())).thenReturn(rows(new Object[] { 0L, BigDecimal.ZERO }));
+        setClock(NOON.plusSeconds(86_400));
+        OpsSnapshotDto nextDay = opsSnapshotService.current();
+
+        assertNotSame(first, nextDay);
+        assertEquals(0, nextDay.getTicketsSoldToday());
+        assertEquals(Map.of("PLACED", 2L, "READY", 1L), nextDay.getOrdersByStatus());
+    }
+
+    @Test
+    void reseed_replacesCountsWithWhatTheDatabaseHolds() {
+        opsSnapshotService.current();
+        opsSnapshotService.onOrderStatusChanged(new OrderStatusChangedEvent(7L, "PLACED", "READY"));
+
+        // Another node confirmed an order and sold a ticket
+        when(orderRepository.countByStatus()).thenReturn(rows(new Object[] { "PLACED", 1L },
+                new Object[] { "READY", 1L }, new Object[] { "CONFIRMED", 1L }));
+        when(ticketRepository.sumSalesBetween(any(), any())).thenReturn(rows(new Object[] { 6L, new BigDecimal("300.00") }));
+        opsSnapshotService.reseed();
+        OpsSnapshotDto snapshot = opsSnapshotService.current();
+
+        assertEquals(Map.of("PLACED", 1L, "READY", 1L, "CONFIRMED", 1L), snapshot.getOrdersByStatus());
+        assertEquals(3, snapshot.getOpenIssues());
+        assertEquals(6, snapshot.getTicketsSoldToday());
+        assertEquals(new BigDecimal("300.00"), snapshot.getTicketRevenueToday());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(opsSnapshotService, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,115 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.event.attraction.FavoriteCountChangedEvent;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.service.attraction.FavoriteCountAccumulator;
+import com.amusement.amusement_park.service.attraction.PopularRideRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PopularRideRankingTest {
+
+    private static final Instant START = Instant.parse("2026-06-01T12:00:00Z");
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private UserFavoriteRepository userFavoriteRepository;
+
+    private PopularRideRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new PopularRideRanking();
+        ReflectionTestUtils.setField(ranking, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(ranking, "userFavoriteRepository", userFavoriteRepository);
+        ReflectionTestUtils.setField(ranking, "favoriteCountAccumulator", new FavoriteCountAccumulator());
+        setClock(START);
+    }
+
+    @Test
+    void topPopular_isSeededOnceAndFollowsFavoriteEvents() {
+        seedCounts(new Object[] { 1L, 4L }, new Object[] { 2L, 6L }, new Object[] { 3L, 0L });
+
+        assertEquals(List.of(2L, 1L), ranking.topPopular(2));
+
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(1L, 3, false));
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(2L, -1, false));
+        ranking.onRideChanged(new RideChangedEvent(4L, RideChangedEvent.Reason.CREATED));
+        ranking.onRideChanged(new RideChangedEvent(3L, RideChangedEvent.Reason.DELETED));
+
+        assertEquals(List.of(1L, 2L, 4L), ranking.topPopular(10));
+        verify(rideRepository, times(1)).findAllFavoritesCounts();
+    }
+
+    @Test
+    void topTrending_favorsRecentFavoritesOverOlderOnes() {
+        seedCounts(new Object[] { 1L, 10L }, new Object[] { 2L, 2L });
+        LocalDateTime now = LocalDateTime.ofInstant(START, ZoneOffset.UTC);
+        List<Object[]> recent = new ArrayList<>();
+        // Three favorites two days ago weigh 0.75 in total against one today
+        for (int i = 0; i < 3; i++) {
+            recent.add(new Object[] { 1L, now.minusDays(2) });
+        }
+        recent.add(new Object[] { 2L, now.minusMinutes(1) });
+        when(userFavoriteRepository.findRideIdsAddedSince(any())).thenReturn(recent);
+
+        assertEquals(List.of(2L, 1L), ranking.topTrending(2));
+        assertEquals(0.75, ranking.trendingScore(1L), 1e-9);
+
+        // A day later, two new favorites put ride 1 ahead again
+        setClock(START.plus(Duration.ofDays(1)));
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(1L, 1, false));
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(1L, 1, false));
+        assertEquals(List.of(1L, 2L), ranking.topTrending(2));
+        assertEquals(2.375, ranking.trendingScore(1L), 1e-9);
+
+        // Corrections adjust the count but are not recent activity
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(2L, 50, true));
+        assertEquals(List.of(2L, 1L), ranking.topPopular(2));
+        assertEquals(List.of(1L, 2L), ranking.topTrending(2));
+    }
+
+    @Test
+    void trendingScores_surviveRescalingAfterLongUptime() {
+        seedCounts(new Object[] { 1L, 0L });
+        when(userFavoriteRepository.findRideIdsAddedSince(any())).thenReturn(List.of());
+        ranking.topTrending(1);
+
+        // 600 half-lives would overflow an unrescaled weight
+        setClock(START.plus(Duration.ofDays(600)));
+        ranking.onFavoriteCountChanged(new FavoriteCountChangedEvent(1L, 1, false));
+
+        assertEquals(1.0, ranking.trendingScore(1L), 1e-9);
+        assertEquals(List.of(1L), ranking.topTrending(5));
+    }
+
+    private void seedCounts(Object[]... rows) {
+        List<Object[]> counts = new ArrayList<>(List.of(rows));
+        when(rideRepository.findAllFavoritesCounts()).thenReturn(counts);
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(ranking, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
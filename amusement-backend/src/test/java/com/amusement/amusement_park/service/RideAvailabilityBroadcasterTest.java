@@ -0,0 +1,249 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.RideAvailabilityBroadcaster;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideAvailabilityBroadcasterTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private RideAvailabilityBroadcaster broadcaster;
+
+    private static final Instant NOON = Instant.parse("2026-07-01T12:00:00Z");
+
+    private final List<Ride> rides = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        broadcaster = new RideAvailabilityBroadcaster();
+        ReflectionTestUtils.setField(broadcaster, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", new ObjectMapper());
+        setClock(NOON);
+
+        for (long id = 1; id <= 3; id++) {
+            Ride ride = new Ride("Ride " + id, "Description", ThrillLevel.MEDIUM, 8, 5);
+            ride.setId(id);
+            rides.add(ride);
+        }
+        when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_sendsSnapshotThenOnlyChangedRides() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter);
+
+        String snapshot = emitter.next();
+        assertTrue(snapshot.contains("event:snapshot"));
+        assertTrue(snapshot.contains("\"rideId\":3"));
+
+        rides.get(1).setIsOperational(false);
+        changed(2L, RideChangedEvent.Reason.STATUS_CHANGED);
+        String delta = emitter.next();
+        assertTrue(delta.contains("event:ride"));
+        assertTrue(delta.contains("{\"rideId\":2,\"available\":false,\"operational\":false,\"underMaintenance\":false}"));
+
+        rides.remove(0);
+        changed(1L, RideChangedEvent.Reason.DELETED);
+        String removed = emitter.next();
+        assertTrue(removed.contains("event:removed"));
+        assertTrue(removed.contains("{\"rideId\":1}"));
+
+        // An event without an availability change sends nothing
+        changed(3L, RideChangedEvent.Reason.UPDATED);
+        broadcaster.heartbeat();
+        assertTrue(emitter.next().contains(":keep-alive"));
+    }
+
+    @Test
+    void broadcast_fansOutToManySubscribersAndDropsBrokenOnes() throws InterruptedException {
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            broadcaster.subscribe(emitter);
+        }
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.fail = true;
+        broadcaster.subscribe(broken);
+        for (RecordingEmitter emitter : emitters) {
+            emitter.next();
+        }
+        awaitSubscribers(2_000);
+
+        rides.get(0).setIsOperational(false);
+        changed(1L, RideChangedEvent.Reason.STATUS_CHANGED);
+
+        for (RecordingEmitter emitter : emitters) {
+            assertTrue(emitter.next().contains("\"rideId\":1"));
+        }
+        // One catalog read for the snapshot and one for the change
+        verify(rideRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void broadcast_evictsASubscriberThatFallsBehindWithoutHoldingUpTheOthers() throws InterruptedException {
+        RecordingEmitter healthy = new RecordingEmitter();
+        HungEmitter hung = new HungEmitter();
+        broadcaster.subscribe(hung);
+        broadcaster.subscribe(healthy);
+        healthy.next();
+        assertTrue(hung.entered.await(5, TimeUnit.SECONDS));
+
+        // Far more deltas than the hung client's outbox holds
+        for (int i = 0; i < 100; i++) {
+            rides.get(0).setIsOperational(i % 2 == 1);
+            changed(1L, RideChangedEvent.Reason.STATUS_CHANGED);
+            assertTrue(healthy.next().contains("\"operational\":" + (i % 2 == 1)));
+        }
+
+        awaitSubscribers(1);
+        assertTrue(hung.interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(hung.completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void heartbeat_evictsASubscriberWhoseWriteHangs() throws InterruptedException {
+        RecordingEmitter healthy = new RecordingEmitter();
+        HungEmitter hung = new HungEmitter();
+        broadcaster.subscribe(hung);
+        broadcaster.subscribe(healthy);
+        healthy.next();
+        assertTrue(hung.entered.await(5, TimeUnit.SECONDS));
+
+        broadcaster.heartbeat();
+        assertTrue(healthy.next().contains(":keep-alive"));
+        assertEquals(2, broadcaster.getSubscriberCount());
+
+        // Stamp the healthy subscriber's latest write at the later time, so only the hung write is overdue
+        setClock(NOON.plusSeconds(10));
+        rides.get(0).setIsOperational(false);
+        changed(1L, RideChangedEvent.Reason.STATUS_CHANGED);
+        assertTrue(healthy.next().contains("event:ride"));
+        broadcaster.heartbeat();
+        assertTrue(healthy.next().contains(":keep-alive"));
+        assertTrue(hung.interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(hung.completed.await(5, TimeUnit.SECONDS));
+        awaitSubscribers(1);
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broadcaster.getSubscriberCount() != count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, broadcaster.getSubscriberCount());
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(broadcaster, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private void changed(Long rideId, RideChangedEvent.Reason reason) {
+        rideCatalogCache.onRideChanged(new RideChangedEvent(rideId, reason));
+        broadcaster.onRideChanged(new RideChangedEvent(rideId, reason));
+    }
+
+    // Captures the framed text of every event written to it
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private boolean fail;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder text = new StringBuilder();
+            items.forEach(item -> text.append(item.getData()));
+            sent.add(text.toString());
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No event was sent");
+            return event;
+        }
+    }
+
+    // A client whose first write never finishes, as when it stops reading
+    private static class HungEmitter extends SseEmitter {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            entered.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new InterruptedIOException("Write aborted");
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
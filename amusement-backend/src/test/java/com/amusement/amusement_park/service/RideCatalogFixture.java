@@ -0,0 +1,55 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The ride catalog wired over mocked repositories, the way Spring wires it:
+ * the maintenance interval index, the DTO assembler and the catalog cache.
+ */
+final class RideCatalogFixture {
+
+    private final MaintenanceIntervalIndex maintenanceIntervalIndex = new MaintenanceIntervalIndex();
+    private final RideDtoAssembler rideDtoAssembler = new RideDtoAssembler();
+    private final RideCatalogCache rideCatalogCache = new RideCatalogCache();
+
+    private RideCatalogFixture(RideRepository rideRepository, MaintenanceAlertRepository maintenanceAlertRepository,
+                               RecurringMaintenanceScheduleRepository recurringScheduleRepository,
+                               RidePhotoRepository ridePhotoRepository) {
+        ReflectionTestUtils.setField(maintenanceIntervalIndex, "maintenanceAlertRepository", maintenanceAlertRepository);
+        ReflectionTestUtils.setField(maintenanceIntervalIndex, "recurringScheduleRepository", recurringScheduleRepository);
+
+        ReflectionTestUtils.setField(rideDtoAssembler, "maintenanceAlertRepository", maintenanceAlertRepository);
+        ReflectionTestUtils.setField(rideDtoAssembler, "ridePhotoRepository", ridePhotoRepository);
+        ReflectionTestUtils.setField(rideDtoAssembler, "maintenanceIntervalIndex", maintenanceIntervalIndex);
+
+        ReflectionTestUtils.setField(rideCatalogCache, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(rideCatalogCache, "maintenanceIntervalIndex", maintenanceIntervalIndex);
+        ReflectionTestUtils.setField(rideCatalogCache, "rideDtoAssembler", rideDtoAssembler);
+    }
+
+    static RideCatalogFixture over(RideRepository rideRepository, MaintenanceAlertRepository maintenanceAlertRepository,
+                                   RecurringMaintenanceScheduleRepository recurringScheduleRepository,
+                                   RidePhotoRepository ridePhotoRepository) {
+        return new RideCatalogFixture(rideRepository, maintenanceAlertRepository, recurringScheduleRepository,
+                ridePhotoRepository);
+    }
+
+    MaintenanceIntervalIndex getMaintenanceIntervalIndex() {
+        return maintenanceIntervalIndex;
+    }
+
+    RideDtoAssembler getRideDtoAssembler() {
+        return rideDtoAssembler;
+    }
+
+    RideCatalogCache getRideCatalogCache() {
+        return rideCatalogCache;
+    }
+}
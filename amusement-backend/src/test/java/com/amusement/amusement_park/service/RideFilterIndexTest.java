@@ -0,0 +1,158 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideFilterIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideFilterIndexTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private RideFilterIndex rideFilterIndex;
+
+    private final List<Ride> rides = new ArrayList<>();
+
+    private final Random random = new Random(7);
+
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        rideFilterIndex = new RideFilterIndex();
+        ReflectionTestUtils.setField(rideFilterIndex, "rideCatalogCache", rideCatalogCache);
+
+        when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+    }
+
+    @Test
+    void match_appliesAgeHeightAndStatusBoundsExactly() {
+        Ride kiddie = addRide(ThrillLevel.LOW, 3, 10, null, true);
+        Ride coaster = addRide(ThrillLevel.EXTREME, 14, null, 140, true);
+        Ride closed = addRide(ThrillLevel.EXTREME, 12, 120, 130, false);
+
+        assertEquals(Set.of(kiddie.getId()), match(null, 10, 100, null, null));
+        assertEquals(Set.of(coaster.getId(), closed.getId()), match(ThrillLevel.EXTREME, 14, 140, null, null));
+        assertEquals(Set.of(closed.getId()), match(null, 30, 139, null, null));
+        assertEquals(Set.of(closed.getId()), match(null, null, null, false, null));
+        assertEquals(Set.of(coaster.getId()), match(null, 121, 400, null, true));
+        assertEquals(Set.of(), match(null, -1, null, null, null));
+    }
+
+    @Test
+    void match_agreesWithAScanAcrossIncrementalChanges() {
+        for (int i = 0; i < 150; i++) {
+            addRide();
+        }
+        assertMatchesScan();
+
+        // Edit, delete and add rides, then let the index catch up with the catalog
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                Ride ride = rides.get(random.nextInt(rides.size()));
+                ride.setIsOperational(!ride.getIsOperational());
+                ride.setMinAge(random.nextInt(18));
+            }
+            for (int i = 0; i < 15; i++) {
+                rides.remove(random.nextInt(rides.size()));
+            }
+            for (int i = 0; i < 25; i++) {
+                addRide();
+            }
+            rideCatalogCache.invalidate();
+            assertMatchesScan();
+        }
+    }
+
+    private void assertMatchesScan() {
+        List<RideDto> catalog = rideCatalogCache.current().getRides();
+        ThrillLevel[] thrillLevels = ThrillLevel.values();
+        for (int i = 0; i < 400; i++) {
+            ThrillLevel thrillLevel = random.nextBoolean() ? thrillLevels[random.nextInt(thrillLevels.length)] : null;
+            Integer age = random.nextBoolean() ? random.nextInt(130) : null;
+            Integer heightCm = random.nextBoolean() ? 40 + random.nextInt(230) : null;
+            Boolean isOperational = random.nextInt(3) == 0 ? random.nextBoolean() : null;
+            Boolean isAvailable = random.nextInt(3) == 0 ? random.nextBoolean() : null;
+
+            Set<Long> expected = catalog.stream()
+                    .filter(ride -> thrillLevel == null || ride.getThrillLevel() == thrillLevel)
+                    .filter(ride -> age == null || (ride.getMinAge() <= age
+                            && (ride.getMaxAge() == null || ride.getMaxAge() >= age)))
+                    .filter(ride -> heightCm == null || ride.getHeightRequirementCm() == null
+                            || ride.getHeightRequirementCm() <= heightCm)
+                    .filter(ride -> isOperational == null || isOperational.equals(ride.getIsOperational()))
+                    .filter(ride -> isAvailable == null || isAvailable.equals(ride.getIsAvailable()))
+                    .map(RideDto::getId)
+                    .collect(Collectors.toSet());
+            assertEquals(expected, match(thrillLevel, age, heightCm, isOperational, isAvailable));
+        }
+    }
+
+    private Set<Long> match(ThrillLevel thrillLevel, Integer age, Integer heightCm,
+                            Boolean isOperational, Boolean isAvailable) {
+        List<Long> rideIds = rideFilterIndex.match(thrillLevel, age, heightCm, isOperational, isAvailable);
+        Set<Long> unique = new HashSet<>(rideIds);
+        assertEquals(rideIds.size(), unique.size());
+        return unique;
+    }
+
+    private Ride addRide() {
+        ThrillLevel[] thrillLevels = ThrillLevel.values();
+        int minAge = random.nextInt(18);
+        Integer maxAge = random.nextInt(3) == 0 ? minAge + random.nextInt(110 - minAge) : null;
+        Integer height = random.nextBoolean() ? 50 + random.nextInt(201) : null;
+        return addRide(thrillLevels[random.nextInt(thrillLevels.length)], minAge, maxAge, height,
+                random.nextInt(4) != 0);
+    }
+
+    private Ride addRide(ThrillLevel thrillLevel, int minAge, Integer maxAge, Integer heightCm, boolean operational) {
+        long id = nextId++;
+        Ride ride = new Ride("Ride " + id, "Description", thrillLevel, minAge, 5);
+        ride.setId(id);
+        ride.setMaxAge(maxAge);
+        ride.setHeightRequirementCm(heightCm);
+        ride.setIsOperational(operational);
+        rides.add(ride);
+        return ride;
+    }
+}
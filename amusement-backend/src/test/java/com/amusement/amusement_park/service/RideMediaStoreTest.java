@@ -0,0 +1,105 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.service.attraction.RideMediaStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RideMediaStoreTest {
+
+    @TempDir
+    Path mediaDir;
+
+    private RideMediaStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RideMediaStore();
+        ReflectionTestUtils.setField(store, "mediaDir", mediaDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void store_namesFilesByContentAndWritesThumbnails() throws Exception {
+        byte[] png = png(1200, 600);
+
+        RideMediaStore.StoredMedia media = store.store(new ByteArrayInputStream(png));
+        RideMediaStore.StoredMedia again = store.store(new ByteArrayInputStream(png));
+
+        assertTrue(media.key().matches("[0-9a-f]{64}\\.png"));
+        assertEquals("image/png", media.contentType());
+        assertEquals(png.length, media.sizeBytes());
+        assertEquals(1200, media.width());
+        assertEquals(600, media.height());
+        assertEquals(media.key(), again.key());
+        assertTrue(store.awaitThumbnails(10, TimeUnit.SECONDS));
+
+        RideMediaStore.MediaFile small = store.find(media.key(), "small").orElseThrow();
+        assertTrue(small.exact());
+        assertEquals(160, ImageIO.read(small.path().toFile()).getWidth());
+        assertEquals(80, ImageIO.read(small.path().toFile()).getHeight());
+        assertTrue(store.find(media.key(), "large").orElseThrow().path().toString().endsWith("-w1024.png"));
+        // One original and three thumbnails, no temporary files left behind
+        assertEquals(4, fileCount());
+    }
+
+    @Test
+    void store_rejectsFilesThatAreNotImages() throws IOException {
+        byte[] text = "not an image".getBytes(StandardCharsets.UTF_8);
+        byte[] brokenGif = "GIF89a-but-nothing-else".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(IllegalArgumentException.class, () -> store.store(new ByteArrayInputStream(text)));
+        assertThrows(IllegalArgumentException.class, () -> store.store(new ByteArrayInputStream(brokenGif)));
+        assertEquals(0, fileCount());
+    }
+
+    @Test
+    void find_fallsBackToTheOriginalAndIgnoresUnknownKeys() throws Exception {
+        RideMediaStore.StoredMedia media = store.store(new ByteArrayInputStream(png(100, 50)));
+        assertTrue(store.awaitThumbnails(10, TimeUnit.SECONDS));
+
+        RideMediaStore.MediaFile file = store.find(media.key(), "medium").orElseThrow();
+        assertFalse(file.exact());
+        assertEquals("\"" + media.key() + "\"", file.etag());
+        assertTrue(store.find("../secret.png", null).isEmpty());
+        assertTrue(store.find("0".repeat(64) + ".png", null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.find(media.key(), "huge"));
+        assertEquals(List.of(), List.copyOf(RideMediaStore.variantsFor(100).keySet()));
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(mediaDir)) {
+            return files.count();
+        }
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x += 7) {
+            image.setRGB(x, x * height / width, 0xFF3366CC);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,132 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.event.attraction.FavoriteChangedEvent;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.service.attraction.RideRecommendationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideRecommendationEngineTest {
+
+    @Mock
+    private UserFavoriteRepository userFavoriteRepository;
+
+    private RideRecommendationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = newEngine();
+    }
+
+    @Test
+    void similarTo_ranksRidesFavoritedTogetherAndSkipsIneligible() {
+        // Ride 1 shares two users with ride 2 and one with ride 3
+        seed(new long[][] { { 1, 1 }, { 1, 2 }, { 2, 1 }, { 2, 2 }, { 2, 3 }, { 3, 3 }, { 3, 4 } });
+
+        assertEquals(List.of(2L, 3L), engine.similarTo(1L, 5, id -> true));
+        assertEquals(List.of(3L), engine.similarTo(1L, 5, id -> id != 2L));
+        assertEquals(List.of(), engine.similarTo(99L, 5, id -> true));
+        verify(userFavoriteRepository, times(1)).findAllUserRidePairs();
+    }
+
+    @Test
+    void recommendFor_excludesTheUsersOwnFavorites() {
+        seed(new long[][] { { 1, 1 }, { 1, 2 }, { 2, 1 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 4, 1 } });
+
+        // User 4 likes ride 1, whose co-favorites are ride 2 (twice) and ride 3
+        assertEquals(List.of(2L, 3L), engine.recommendFor(4L, 5, id -> true));
+        assertEquals(List.of(3L), engine.recommendFor(1L, 5, id -> true));
+        assertEquals(List.of(), engine.recommendFor(42L, 5, id -> true));
+    }
+
+    @Test
+    void incrementalUpdates_matchARebuildFromScratch() {
+        Random random = new Random(11);
+        List<long[]> initial = new ArrayList<>();
+        List<long[]> current = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            long[] pair = { random.nextInt(600), random.nextInt(40) };
+            if (current.stream().noneMatch(p -> p[0] == pair[0] && p[1] == pair[1])) {
+                initial.add(pair);
+                current.add(pair);
+            }
+        }
+        seed(initial.toArray(new long[0][]));
+        engine.similarTo(0L, 1, id -> true);
+
+        for (int i = 0; i < 2_000; i++) {
+            if (random.nextBoolean() && !current.isEmpty()) {
+                long[] pair = current.remove(random.nextInt(current.size()));
+                engine.onFavoriteChanged(new FavoriteChangedEvent(pair[0], pair[1], false));
+            } else {
+                long[] pair = { random.nextInt(600), random.nextInt(40) };
+                if (current.stream().noneMatch(p -> p[0] == pair[0] && p[1] == pair[1])) {
+                    current.add(pair);
+                }
+                // A duplicate add is ignored
+                engine.onFavoriteChanged(new FavoriteChangedEvent(pair[0], pair[1], true));
+            }
+        }
+        engine.onRideChanged(new RideChangedEvent(7L, RideChangedEvent.Reason.DELETED));
+        current.removeIf(pair -> pair[1] == 7L);
+
+        RideRecommendationEngine rebuilt = newEngine();
+        seed(current.toArray(new long[0][]));
+        for (long rideId = 0; rideId < 40; rideId++) {
+            assertEquals(rebuilt.similarTo(rideId, 40, id -> true), engine.similarTo(rideId, 40, id -> true));
+        }
+        for (long userId = 0; userId < 600; userId += 37) {
+            assertEquals(rebuilt.recommendFor(userId, 10, id -> true), engine.recommendFor(userId, 10, id -> true));
+        }
+    }
+
+    @Test
+    void queries_stayUnderAMillisecond() {
+        Random random = new Random(3);
+        List<long[]> pairs = new ArrayList<>();
+        for (long userId = 0; userId < 20_000; userId++) {
+            for (int i = 0; i < 8; i++) {
+                pairs.add(new long[] { userId, random.nextInt(150) });
+            }
+        }
+        seed(pairs.toArray(new long[0][]));
+        engine.similarTo(1L, 10, id -> true);
+
+        int queries = 2_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            engine.similarTo(i % 150, 10, id -> id % 3 != 0);
+            engine.recommendFor(i, 10, id -> id % 3 != 0);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / (2 * queries);
+        assertTrue(micros < 1_000, "Average query took " + micros + " us");
+    }
+
+    private RideRecommendationEngine newEngine() {
+        RideRecommendationEngine engine = new RideRecommendationEngine();
+        ReflectionTestUtils.setField(engine, "userFavoriteRepository", userFavoriteRepository);
+        return engine;
+    }
+
+    // Favorites as {userId, rideId} pairs
+    private void seed(long[][] pairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long[] pair : pairs) {
+            rows.add(new Object[] { pair[0], pair[1] });
+        }
+        when(userFavoriteRepository.findAllUserRidePairs()).thenReturn(rows);
+    }
+}
@@ -0,0 +1,101 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.RideSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideSearchIndexTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @InjectMocks
+    private RideSearchIndex rideSearchIndex;
+
+    private Ride dragon;
+    private Ride carousel;
+
+    @BeforeEach
+    void setUp() {
+        dragon = ride(1L, "Dragon Coaster", "Loops over the lake", "North shore");
+        carousel = ride(2L, "Carousel", "A gentle ride for dragon fans", "Kids zone");
+        when(rideRepository.findAll()).thenReturn(List.of(dragon, carousel));
+    }
+
+    @Test
+    void search_matchesWordPrefixes() {
+        assertEquals(Set.of(1L), rideSearchIndex.search("coast").keySet());
+        assertTrue(rideSearchIndex.search("lak").containsKey(1L));
+    }
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        Map<Long, Double> scores = rideSearchIndex.search("Dragon");
+
+        assertEquals(2, scores.size());
+        assertTrue(scores.get(1L) > scores.get(2L));
+    }
+
+    @Test
+    void search_requiresEveryWordToMatch() {
+        assertEquals(List.of(1L), List.copyOf(rideSearchIndex.search("dragon lake").keySet()));
+        assertTrue(rideSearchIndex.search("dragon volcano").isEmpty());
+    }
+
+    @Test
+    void onRideChanged_reindexesAndRemovesRides() {
+        rideSearchIndex.search("dragon");
+
+        carousel.setName("Volcano Carousel");
+        carousel.setDescription("Spins slowly");
+        when(rideRepository.findById(2L)).thenReturn(Optional.of(carousel));
+        rideSearchIndex.onRideChanged(new RideChangedEvent(2L, RideChangedEvent.Reason.UPDATED));
+
+        assertEquals(List.of(1L), List.copyOf(rideSearchIndex.search("dragon").keySet()));
+        assertTrue(rideSearchIndex.search("volc").containsKey(2L));
+
+        rideSearchIndex.onRideChanged(new RideChangedEvent(1L, RideChangedEvent.Reason.DELETED));
+        assertTrue(rideSearchIndex.search("dragon").isEmpty());
+        verify(rideRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onRideChanged_duringTheBuildIsAppliedOnceItFinishes() {
+        Ride renamed = ride(2L, "Volcano Carousel", "Spins slowly", "Kids zone");
+        when(rideRepository.findAll()).thenAnswer(invocation -> {
+            // Committed after the rides were read, so the build holds the old text
+            rideSearchIndex.onRideChanged(new RideChangedEvent(2L, RideChangedEvent.Reason.UPDATED));
+            rideSearchIndex.onRideChanged(new RideChangedEvent(1L, RideChangedEvent.Reason.STATUS_CHANGED));
+            return List.of(dragon, carousel);
+        });
+        when(rideRepository.findById(2L)).thenReturn(Optional.of(renamed));
+
+        assertEquals(List.of(1L), List.copyOf(rideSearchIndex.search("dragon").keySet()));
+        assertTrue(rideSearchIndex.search("volc").containsKey(2L));
+        verify(rideRepository, never()).findById(1L);
+    }
+
+    private Ride ride(Long id, String name, String description, String location) {
+        Ride ride = new Ride(name, description, ThrillLevel.MEDIUM, 8, 5);
+        ride.setId(id);
+        ride.setLocationDescription(location);
+        return ride;
+    }
+}
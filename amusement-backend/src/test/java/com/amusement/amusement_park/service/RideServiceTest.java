@@ -0,0 +1,255 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.RecurrenceFrequency;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.attraction.RideDto;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.RecurringMaintenanceSchedule;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.UserFavoriteRepository;
+import com.amusement.amusement_park.service.attraction.FavoriteCountAccumulator;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+import com.amusement.amusement_park.service.attraction.RideFilterIndex;
+import com.amusement.amusement_park.service.attraction.RideService;
+import com.amusement.amusement_park.service.attraction.WaitTimeEstimator;
+import com.amusement.amusement_park.util.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideServiceTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private UserFavoriteRepository userFavoriteRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    private RideDtoAssembler rideDtoAssembler;
+
+    private MaintenanceIntervalIndex maintenanceIntervalIndex;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private FavoriteCountAccumulator favoriteCountAccumulator;
+
+    private RideService rideService;
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        maintenanceIntervalIndex = catalog.getMaintenanceIntervalIndex();
+        rideDtoAssembler = catalog.getRideDtoAssembler();
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        favoriteCountAccumulator = new FavoriteCountAccumulator();
+        ReflectionTestUtils.setField(favoriteCountAccumulator, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(favoriteCountAccumulator, "eventPublisher", mock(ApplicationEventPublisher.class));
+
+        rideService = new RideService();
+        ReflectionTestUtils.setField(rideService, "favoriteCountAccumulator", favoriteCountAccumulator);
+        ReflectionTestUtils.setField(rideService, "rideRepository", rideRepository);
+        ReflectionTestUtils.setField(rideService, "rideDtoAssembler", rideDtoAssembler);
+        ReflectionTestUtils.setField(rideService, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(rideService, "waitTimeEstimator", new WaitTimeEstimator());
+
+        RideFilterIndex rideFilterIndex = new RideFilterIndex();
+        ReflectionTestUtils.setField(rideFilterIndex, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(rideService, "rideFilterIndex", rideFilterIndex);
+    }
+
+    @Test
+    void getAllRides_statementCountDoesNotGrowWithPageSize() {
+        int smallPageStatements = statementsForPageOf(5);
+        int largePageStatements = statementsForPageOf(50);
+
+        // One query for the catalog and one for photos; favorites counts are
+        // kept by the accumulator and alerts come from the interval index
+        assertEquals(2, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        verify(userFavoriteRepository, never()).countByRideId(anyLong());
+    }
+
+    @Test
+    void getAllRides_servesRepeatedReadsFromCatalog() {
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides(3));
+
+        rideService.getAllRides(0, 10, "name", "asc", null, null, null);
+        rideService.getRideById(2L);
+        rideService.getAvailableRides();
+
+        verify(rideRepository, times(1)).findAll(any(Sort.class));
+        assertEquals(2L, rideCatalogCache.getStats().get("hits"));
+
+        rideCatalogCache.invalidate();
+        rideService.getRideById(2L);
+        verify(rideRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    @Test
+    void getAllRides_addsUnflushedFavoritesToStoredCounts() {
+        List<Ride> rides = rides(2);
+        rides.get(1).setFavoritesCount(5L);
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides);
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[] { 2L, 5L });
+        when(rideRepository.findAllFavoritesCounts()).thenReturn(counts);
+
+        rideService.getAllRides(0, 10, "name", "asc", null, null, null);
+        favoriteCountAccumulator.record(2L, 1);
+        favoriteCountAccumulator.record(2L, 1);
+        Page<RideDto> page = rideService.getAllRides(0, 10, "name", "asc", null, null, null);
+
+        // The catalog snapshot is reused and stays unmodified
+        verify(rideRepository, times(1)).findAll(any(Sort.class));
+        assertEquals(0, page.getContent().get(0).getFavoritesCount());
+        assertEquals(7, page.getContent().get(1).getFavoritesCount());
+        assertEquals(5, rideCatalogCache.current().getRide(2L).getFavoritesCount());
+        assertEquals(7L, rideService.getFavoritesCount(2L));
+    }
+
+    @Test
+    void getAllRides_marksRidesWithAlertsInEffectUnavailable() {
+        List<Ride> rides = rides(2);
+        MaintenanceAlert alert = new MaintenanceAlert(rides.get(0), AlertType.INSPECTION, "Annual inspection",
+                LocalDateTime.now().minusHours(1), Priority.MEDIUM);
+        alert.setId(10L);
+        alert.setEndTime(LocalDateTime.now().plusHours(1));
+        when(maintenanceAlertRepository.findByIsActiveTrue()).thenReturn(List.of(alert));
+        when(maintenanceAlertRepository.findAllWithRideByIdIn(List.of(10L))).thenReturn(List.of(alert));
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides);
+
+        Page<RideDto> page = rideService.getAllRides(0, 10, "name", "asc", null, null, null);
+
+        assertEquals(false, page.getContent().get(0).getIsAvailable());
+        assertEquals(1, page.getContent().get(0).getActiveMaintenanceAlerts().size());
+        assertEquals(true, page.getContent().get(1).getIsAvailable());
+    }
+
+    @Test
+    void getAllRides_reportsRecurringOccurrencesWithoutAlertRows() {
+        List<Ride> rides = rides(2);
+        LocalDateTime now = LocalDateTime.now();
+        RecurringMaintenanceSchedule schedule = new RecurringMaintenanceSchedule();
+        schedule.setId(3L);
+        schedule.setRide(rides.get(1));
+        schedule.setAlertType(AlertType.SCHEDULED_MAINTENANCE);
+        schedule.setTitle("Nightly safety sweep");
+        schedule.setPriority(Priority.LOW);
+        schedule.setFrequency(RecurrenceFrequency.DAILY);
+        schedule.setStartTimeOfDay(now.minusMinutes(30).toLocalTime());
+        schedule.setDurationMinutes(60);
+        schedule.setValidFrom(now.minusDays(7).toLocalDate());
+        when(recurringScheduleRepository.findByIsActiveTrue()).thenReturn(List.of(schedule));
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides);
+
+        Page<RideDto> page = rideService.getAllRides(0, 10, "name", "asc", null, null, null);
+
+        RideDto ride = page.getContent().get(1);
+        assertEquals(false, ride.getIsAvailable());
+        assertEquals(3L, ride.getActiveMaintenanceAlerts().get(0).getRecurringScheduleId());
+        assertEquals(true, page.getContent().get(0).getIsAvailable());
+        verify(maintenanceAlertRepository, never()).findAllWithRideByIdIn(anyCollection());
+    }
+
+    @Test
+    void scrollRides_walksEveryRideOnceInListingOrder() {
+        List<Ride> rides = rides(23);
+        for (Ride ride : rides) {
+            ride.setMinAge((int) (ride.getId() % 4));
+        }
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides);
+
+        List<Long> expected = rideService.getAllRides(0, 100, "minAge", "desc", null, null, null).getContent()
+                .stream().map(RideDto::getId).collect(Collectors.toList());
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<RideDto> page = rideService.scrollRides(cursor, 5, "minAge", "desc", null, null, null, false);
+            page.getContent().forEach(ride -> walked.add(ride.getId()));
+            assertNull(page.getTotalElements());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        assertEquals(23L, rideService.scrollRides(null, 5, "minAge", "desc", null, null, null, true).getTotalElements());
+    }
+
+    @Test
+    void scrollRides_resumesAfterTheCursorRideWhenItIsDeleted() {
+        List<Ride> rides = rides(6);
+        when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+
+        CursorPage<RideDto> first = rideService.scrollRides(null, 3, "name", "asc", null, null, null, false);
+        rides.remove(2);
+        rideCatalogCache.invalidate();
+        CursorPage<RideDto> second = rideService.scrollRides(first.getNextCursor(), 3, "name", "asc", null, null, null, false);
+
+        assertEquals(List.of(4L, 5L, 6L), second.getContent().stream().map(RideDto::getId).collect(Collectors.toList()));
+        assertFalse(second.isHasNext());
+        assertThrows(IllegalArgumentException.class,
+                () -> rideService.scrollRides("%%%", 3, "name", "asc", null, null, null, false));
+    }
+
+    private int statementsForPageOf(int size) {
+        // Load the interval index and favorites counts up front so only per-page queries are counted
+        maintenanceIntervalIndex.nextChangeAfter(LocalDateTime.now());
+        favoriteCountAccumulator.count(1L);
+        rideCatalogCache.invalidate();
+        Mockito.<Object>clearInvocations(rideRepository, userFavoriteRepository, maintenanceAlertRepository, ridePhotoRepository);
+        when(rideRepository.findAll(any(Sort.class))).thenReturn(rides(size));
+
+        Page<RideDto> page = rideService.getAllRides(0, size, "name", "asc", null, null, null);
+        assertEquals(size, page.getContent().size());
+
+        return mockingDetails(rideRepository).getInvocations().size()
+                + mockingDetails(userFavoriteRepository).getInvocations().size()
+                + mockingDetails(maintenanceAlertRepository).getInvocations().size()
+                + mockingDetails(ridePhotoRepository).getInvocations().size();
+    }
+
+    private List<Ride> rides(int count) {
+        List<Ride> rides = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Ride ride = new Ride("Ride " + i, "Description " + i, ThrillLevel.MEDIUM, 8, 5);
+            ride.setId((long) i);
+            rides.add(ride);
+        }
+        return rides;
+    }
+}
@@ -0,0 +1,172 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.Enums.UptimeState;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.entity.attraction.RideUptimeDay;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.RideUptimeDayRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideUptimeRecorder;
+import com.amusement.amusement_park.util.TransitionLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RideUptimeRecorderTest {
+
+    private static final Instant NOON = Instant.parse("2026-06-01T12:00:00Z");
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+    private static final LocalDate JUNE_2 = LocalDate.of(2026, 6, 2);
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Mock
+    private RideUptimeDayRepository rideUptimeDayRepository;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private RideUptimeRecorder recorder;
+
+    private final List<Ride> rides = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        recorder = new RideUptimeRecorder();
+        ReflectionTestUtils.setField(recorder, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(recorder, "rideUptimeDayRepository", rideUptimeDayRepository);
+        setClock(NOON);
+
+        for (long id = 1; id <= 3; id++) {
+            Ride ride = new Ride("Ride " + id, "Description", ThrillLevel.MEDIUM, 8, 5);
+            ride.setId(id);
+            rides.add(ride);
+        }
+        rides.get(1).setIsOperational(false);
+        when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+
+        // The catalog judges alerts by the real clock, so these are in effect whatever the test clock says
+        LocalDateTime realNow = LocalDateTime.now();
+        MaintenanceAlert inspection = new MaintenanceAlert(rides.get(2), AlertType.INSPECTION, "Check",
+                realNow.minusHours(1), Priority.LOW);
+        inspection.setId(10L);
+        MaintenanceAlert emergency = new MaintenanceAlert(rides.get(2), AlertType.EMERGENCY_CLOSURE, "Fault",
+                realNow.minusHours(1), Priority.HIGH);
+        emergency.setId(11L);
+        when(maintenanceAlertRepository.findByIsActiveTrue()).thenReturn(List.of(inspection, emergency));
+        when(maintenanceAlertRepository.findAllWithRideByIdIn(any())).thenReturn(List.of(inspection, emergency));
+    }
+
+    @Test
+    void records_transitionsAndSecondsPerCause() {
+        recorder.seed();
+
+        setClock(NOON.plusSeconds(1_800));
+        rides.get(0).setIsOperational(false);
+        rideCatalogCache.invalidate();
+        recorder.onRideChanged(new RideChangedEvent(1L, RideChangedEvent.Reason.STATUS_CHANGED));
+        setClock(NOON.plusSeconds(3_600));
+
+        RideUptimeRecorder.Totals coaster = recorder.totals(1L, JUNE_1, JUNE_1);
+        assertEquals(1_800, coaster.upSeconds());
+        assertEquals(1_800, coaster.downSeconds());
+        assertEquals(1_800L, coaster.seconds().get(UptimeState.OUT_OF_SERVICE));
+        // The most urgent alert in effect is the cause
+        assertEquals(3_600L, recorder.totals(3L, JUNE_1, JUNE_1).seconds().get(UptimeState.EMERGENCY_CLOSURE));
+        assertEquals(List.of(
+                        new RideUptimeRecorder.Transition(LocalDateTime.of(2026, 6, 1, 12, 0), UptimeState.UP),
+                        new RideUptimeRecorder.Transition(LocalDateTime.of(2026, 6, 1, 12, 30), UptimeState.OUT_OF_SERVICE)),
+                recorder.transitions(1L, JUNE_1));
+        verify(rideUptimeDayRepository, never()).sumSecondsBetween(any(), any(), any());
+    }
+
+    @Test
+    void tick_closesTheDayAtMidnightAndAddsStoredDaysToToday() {
+        recorder.tick();
+        setClock(NOON.plusSeconds(14 * 3_600));
+        recorder.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RideUptimeDay>> saved = ArgumentCaptor.forClass(List.class);
+        verify(rideUptimeDayRepository, times(2)).saveAll(saved.capture());
+        RideUptimeDay closedDay = saved.getValue().stream()
+                .filter(row -> row.getRideId() == 1L && row.getDay().equals(JUNE_1))
+                .findFirst().orElseThrow();
+        assertEquals(12 * 3_600, closedDay.getUpSeconds());
+        assertEquals(1, TransitionLog.decode(0, closedDay.getTransitions()).size());
+
+        when(rideUptimeDayRepository.sumSecondsBetween(eq(1L), eq(JUNE_1), eq(JUNE_1)))
+                .thenReturn(List.<Object[]>of(new Object[] { 43_200L, 0L, 0L, 0L, 0L, 0L }));
+        RideUptimeRecorder.Totals totals = recorder.totals(1L, JUNE_1, JUNE_2);
+
+        assertEquals(43_200 + 7_200, totals.upSeconds());
+        assertEquals(List.of(new RideUptimeRecorder.Transition(LocalDateTime.of(2026, 6, 2, 0, 0), UptimeState.UP)),
+                recorder.transitions(1L, JUNE_2));
+    }
+
+    @Test
+    void seed_continuesTodaysRowsAfterARestart() {
+        long tenOClock = NOON.getEpochSecond() - 7_200;
+        TransitionLog log = new TransitionLog(JUNE_1.atStartOfDay(ZoneOffset.UTC).toEpochSecond());
+        log.append(tenOClock, UptimeState.UP.ordinal());
+        RideUptimeDay stored = new RideUptimeDay(1L, JUNE_1);
+        stored.setId(5L);
+        stored.setTransitions(log.toByteArray());
+        stored.setUpSeconds(3_600);
+        when(rideUptimeDayRepository.findByDay(JUNE_1)).thenReturn(List.of(stored));
+        rides.get(0).setIsOperational(false);
+
+        recorder.seed();
+        setClock(NOON.plusSeconds(600));
+
+        RideUptimeRecorder.Totals totals = recorder.totals(1L, JUNE_1, JUNE_1);
+        assertEquals(3_600, totals.upSeconds());
+        assertEquals(600L, totals.seconds().get(UptimeState.OUT_OF_SERVICE));
+        assertEquals(List.of(UptimeState.UP, UptimeState.OUT_OF_SERVICE),
+                recorder.transitions(1L, JUNE_1).stream().map(RideUptimeRecorder.Transition::state).toList());
+    }
+
+    private void setClock(Instant instant) {
+        ReflectionTestUtils.setField(recorder, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
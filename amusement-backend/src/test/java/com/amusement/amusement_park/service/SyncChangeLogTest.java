@@ -0,0 +1,135 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.event.attraction.RideChangedEvent;
+import com.amusement.amusement_park.event.sync.CatalogEntityChangedEvent;
+import com.amusement.amusement_park.repository.sync.SyncChangeRepository;
+import com.amusement.amusement_park.service.sync.SyncChangeLog;
+import com.amusement.amusement_park.service.ticket.BlockSequenceAllocator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncChangeLogTest {
+
+    @Mock
+    private SyncChangeRepository syncChangeRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BlockSequenceAllocator sequenceAllocator;
+
+    private SyncChangeLog syncChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        syncChangeLog = new SyncChangeLog();
+        ReflectionTestUtils.setField(syncChangeLog, "syncChangeRepository", syncChangeRepository);
+        ReflectionTestUtils.setField(syncChangeLog, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(syncChangeLog, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(syncChangeLog, "sequenceAllocator", sequenceAllocator);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_stampsEachEntityOnceWithTheNextVersions() {
+        when(sequenceAllocator.advance(eq("SYNC-VERSION"), anyInt(), any())).thenReturn(11L, 13L);
+        when(sequenceAllocator.peek("SYNC-VERSION")).thenReturn(OptionalLong.of(14));
+        syncChangeLog.onCatalogEntityChanged(new CatalogEntityChangedEvent(SyncEntityType.FOOD_ITEM, List.of(3L, 4L, 3L), false));
+        syncChangeLog.onRideChanged(new RideChangedEvent(7L, RideChangedEvent.Reason.DELETED));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        List<Object[]> food = rows.getAllValues().get(0);
+        assertEquals(2, food.size());
+        // The last change to an entity decides its place
+        assertArrayEquals(new Object[] { "FOOD_ITEM", 4L, 11L, false }, Arrays.copyOf(food.get(0), 4));
+        assertArrayEquals(new Object[] { "FOOD_ITEM", 3L, 12L, false }, Arrays.copyOf(food.get(1), 4));
+        assertArrayEquals(new Object[] { "RIDE", 7L, 13L, true }, Arrays.copyOf(rows.getAllValues().get(1).get(0), 4));
+        assertEquals(13, syncChangeLog.currentVersion());
+        verify(sequenceAllocator).advance(eq("SYNC-VERSION"), eq(2), any());
+        verify(sequenceAllocator).advance(eq("SYNC-VERSION"), eq(1), any());
+    }
+
+    @Test
+    void record_startsTheSharedCounterAboveExistingStamps() {
+        when(syncChangeRepository.findMaxVersion()).thenReturn(10L);
+        when(sequenceAllocator.advance(eq("SYNC-VERSION"), eq(1), any()))
+                .thenThrow(new DuplicateKeyException("Created by another node"))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(2).getAsLong() + 1);
+
+        syncChangeLog.record(SyncEntityType.RIDE, List.of(2L), false);
+
+        // Retried at once, in a transaction of its own
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.get(0)[2].equals(11L)));
+    }
+
+    @Test
+    void currentVersion_readsTheCommittedCounter() {
+        when(sequenceAllocator.peek("SYNC-VERSION")).thenReturn(OptionalLong.of(42), OptionalLong.empty());
+        when(syncChangeRepository.findMaxVersion()).thenReturn(10L);
+
+        // Another node stamped up to 41
+        assertEquals(41, syncChangeLog.currentVersion());
+        // Before the counter existed
+        assertEquals(10, syncChangeLog.currentVersion());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void record_keepsChangesThatFailedToWriteAndRetriesThem() {
+        // The failed stamp rolled back, so the same version is taken again
+        when(sequenceAllocator.advance(eq("SYNC-VERSION"), eq(1), any())).thenReturn(11L);
+        when(sequenceAllocator.peek("SYNC-VERSION")).thenReturn(OptionalLong.of(12));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0]);
+
+        syncChangeLog.record(SyncEntityType.MERCHANDISE_ITEM, List.of(5L), false);
+        // Reading the version writes what is still pending first
+        assertEquals(11, syncChangeLog.currentVersion());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertEquals(11L, rows.getAllValues().get(1).get(0)[2]);
+    }
+
+    @Test
+    void changesSince_skipsTheQueryWhenTheClientIsUpToDate() {
+        when(sequenceAllocator.peek("SYNC-VERSION")).thenReturn(OptionalLong.of(11));
+
+        assertTrue(syncChangeLog.changesSince(10, 50).isEmpty());
+        syncChangeLog.changesSince(4, 50);
+
+        verify(syncChangeRepository, times(1)).findByVersionGreaterThanOrderByVersionAsc(eq(4L), any(Limit.class));
+    }
+}
@@ -0,0 +1,166 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.SyncEntityType;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.dto.sync.SyncChangesDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.entity.foodmerchorder.FoodItem;
+import com.amusement.amusement_park.entity.sync.SyncChange;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.FoodItemRepository;
+import com.amusement.amusement_park.repository.foodmerchorder.MerchandiseItemRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.RideDtoAssembler;
+import com.amusement.amusement_park.service.sync.SyncChangeLog;
+import com.amusement.amusement_park.service.sync.SyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Mock
+    private FoodItemRepository foodItemRepository;
+
+    @Mock
+    private MerchandiseItemRepository merchandiseItemRepository;
+
+    @Mock
+    private SyncChangeLog syncChangeLog;
+
+    private RideDtoAssembler rideDtoAssembler;
+
+    private SyncService syncService;
+
+    private final List<Ride> rides = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideDtoAssembler = catalog.getRideDtoAssembler();
+        RideCatalogCache rideCatalogCache = catalog.getRideCatalogCache();
+
+        syncService = new SyncService();
+        ReflectionTestUtils.setField(syncService, "syncChangeLog", syncChangeLog);
+        ReflectionTestUtils.setField(syncService, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(syncService, "rideDtoAssembler", rideDtoAssembler);
+        ReflectionTestUtils.setField(syncService, "maintenanceAlertRepository", maintenanceAlertRepository);
+        ReflectionTestUtils.setField(syncService, "foodItemRepository", foodItemRepository);
+        ReflectionTestUtils.setField(syncService, "merchandiseItemRepository", merchandiseItemRepository);
+
+        for (long id = 1; id <= 2; id++) {
+            Ride ride = new Ride("Ride " + id, "Description", ThrillLevel.MEDIUM, 8, 5);
+            ride.setId(id);
+            rides.add(ride);
+        }
+        lenient().when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> new ArrayList<>(rides));
+    }
+
+    @Test
+    void getChanges_sendsEverythingWithoutAVersion() {
+        when(syncChangeLog.currentVersion()).thenReturn(42L);
+        when(foodItemRepository.findAll()).thenReturn(List.of(food(3L)));
+
+        SyncChangesDto changes = syncService.getChanges(null, 50);
+
+        assertTrue(changes.isFull());
+        assertEquals(42, changes.getVersion());
+        assertEquals(2, changes.getRides().size());
+        assertEquals(1, changes.getFoodItems().size());
+        verify(syncChangeLog, never()).changesSince(anyLong(), anyInt());
+    }
+
+    @Test
+    void getChanges_sendsCurrentStateAndTombstonesSinceAVersion() {
+        when(syncChangeLog.currentVersion()).thenReturn(20L);
+        when(syncChangeLog.changesSince(10, 51)).thenReturn(List.of(
+                change(SyncEntityType.RIDE, 2L, 12L, false),
+                change(SyncEntityType.FOOD_ITEM, 3L, 13L, false),
+                change(SyncEntityType.FOOD_ITEM, 4L, 14L, false),
+                change(SyncEntityType.MERCHANDISE_ITEM, 9L, 15L, true)));
+        when(foodItemRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(food(3L)));
+
+        SyncChangesDto changes = syncService.getChanges(10L, 50);
+
+        assertFalse(changes.isFull());
+        assertFalse(changes.isHasMore());
+        assertEquals(20, changes.getVersion());
+        assertEquals(List.of(2L), changes.getRides().stream().map(ride -> ride.getId()).toList());
+        assertEquals(1, changes.getFoodItems().size());
+        // Food item 4 was deleted before this read, so it goes out as a tombstone
+        assertEquals(Map.of(SyncEntityType.MERCHANDISE_ITEM, List.of(9L), SyncEntityType.FOOD_ITEM, List.of(4L)),
+                changes.getDeleted());
+    }
+
+    @Test
+    void getChanges_pagesByVersion() {
+        when(syncChangeLog.currentVersion()).thenReturn(20L);
+        when(syncChangeLog.changesSince(10, 2)).thenReturn(List.of(
+                change(SyncEntityType.RIDE, 1L, 11L, true),
+                change(SyncEntityType.RIDE, 5L, 12L, true)));
+
+        SyncChangesDto changes = syncService.getChanges(10L, 1);
+
+        assertTrue(changes.isHasMore());
+        assertEquals(11, changes.getVersion());
+        assertEquals(Map.of(SyncEntityType.RIDE, List.of(1L)), changes.getDeleted());
+    }
+
+    @Test
+    void getChanges_resyncsAClientAheadOfTheServer() {
+        when(syncChangeLog.currentVersion()).thenReturn(5L);
+
+        SyncChangesDto changes = syncService.getChanges(99L, 50);
+
+        assertTrue(changes.isFull());
+        assertEquals(5, changes.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> syncService.getChanges(1L, 0));
+    }
+
+    private static SyncChange change(SyncEntityType type, Long id, Long version, boolean deleted) {
+        SyncChange change = new SyncChange();
+        change.setEntityType(type);
+        change.setEntityId(id);
+        change.setVersion(version);
+        change.setDeleted(deleted);
+        return change;
+    }
+
+    private static FoodItem food(Long id) {
+        FoodItem item = new FoodItem();
+        item.setId(id);
+        item.setName("Pretzel " + id);
+        item.setPrice(new BigDecimal("4.50"));
+        return item;
+    }
+}
@@ -0,0 +1,294 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.exception.SoldOutException;
+import com.amusement.amusement_park.repository.ticket.TicketRepository;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketInventoryTest {
+
+    private static final Instant NOON = Instant.parse("2026-12-24T12:00:00Z");
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 12, 25);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    // Stands in for ticket_inventory_days: capacity and allocated per type and day
+    private final Map<String, int[]> table = new HashMap<>();
+    // Days given their own capacity
+    private final Set<String> overridden = new HashSet<>();
+    // Plays the row lock: one transaction at a time across all nodes
+    private final ReentrantLock rowLock = new ReentrantLock();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            rowLock.lock();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            rowLock.unlock();
+            return null;
+        }).when(transactionManager).commit(any());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            int[] row = table.get(key(invocation.getArgument(2), invocation.getArgument(3)));
+            return row == null ? List.of() : List.of(row.clone());
+        });
+        lenient().when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            String sql = (String) args[0];
+            if (sql.startsWith("INSERT")) {
+                table.put(key(args[1], args[2]), new int[] { (Integer) args[3], (Integer) args[4] });
+            } else if (sql.startsWith("DELETE")) {
+                List<String> deleted = table.keySet().stream().filter(fromDay(args[1], args[2])).toList();
+                deleted.forEach(table::remove);
+                return deleted.size();
+            } else if (sql.contains("day >= ?")) {
+                table.forEach((key, row) -> {
+                    if (fromDay(args[3], args[4]).test(key)) {
+                        row[0] = (Integer) args[1];
+                    }
+                });
+            } else if (sql.contains("SET allocated")) {
+                table.get(key(args[3], args[4]))[1] += (Integer) args[1];
+            } else {
+                table.get(key(args[3], args[4]))[0] = (Integer) args[1];
+                overridden.add(key(args[3], args[4]));
+            }
+            return 1;
+        });
+    }
+
+    @Test
+    void reserve_neverSellsMoreThanCapacityAcrossNodes() throws Exception {
+        TicketType ticketType = ticketType(1, 1000);
+        List<TicketInventory> nodes = List.of(inventory(50), inventory(50));
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                TicketInventory node = nodes.get(t % 2);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        try {
+                            node.reserve(ticketType, HOLIDAY, 1);
+                            sold.incrementAndGet();
+                        } catch (SoldOutException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, sold.get());
+        assertEquals(600, refused.get());
+        assertEquals(1000, table.get(key(1, Date.valueOf(HOLIDAY)))[1]);
+    }
+
+    @Test
+    void reserve_countsTicketsSoldBeforeAndSkipsUnlimitedTypes() {
+        when(ticketRepository.countByTicketTypeTicketTypeIdAndValidFrom(1, HOLIDAY)).thenReturn(8L);
+        TicketInventory inventory = inventory(50);
+        TicketType limited = ticketType(1, 10);
+
+        inventory.reserve(limited, HOLIDAY, 2);
+        SoldOutException e = assertThrows(SoldOutException.class, () -> inventory.reserve(limited, HOLIDAY, 1));
+        assertEquals(1, e.getTicketTypeId());
+        assertEquals(HOLIDAY, e.getDay());
+
+        TicketType unlimited = ticketType(2, null);
+        for (int i = 0; i < 500; i++) {
+            inventory.reserve(unlimited, HOLIDAY, 1);
+        }
+        assertNull(table.get(key(2, Date.valueOf(HOLIDAY))));
+    }
+
+    @Test
+    void reserve_takesGroupsWholeOrNotAtAll() {
+        TicketInventory inventory = inventory(5);
+        TicketType ticketType = ticketType(1, 12);
+
+        inventory.reserve(ticketType, HOLIDAY, 8);
+        assertThrows(SoldOutException.class, () -> inventory.reserve(ticketType, HOLIDAY, 5));
+        inventory.reserve(ticketType, HOLIDAY, 4);
+        assertThrows(SoldOutException.class, () -> inventory.reserve(ticketType, HOLIDAY, 1));
+
+        inventory.release(1, HOLIDAY, 3);
+        inventory.reserve(ticketType, HOLIDAY, 3);
+        assertEquals(12, table.get(key(1, Date.valueOf(HOLIDAY)))[1]);
+    }
+
+    @Test
+    void reserveAll_givesBackEarlierTypesWhenALaterOneIsSoldOut() {
+        TicketInventory inventory = inventory(5);
+        TicketType adult = ticketType(1, 10);
+        TicketType child = ticketType(2, 2);
+        Map<TicketType, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(adult, 10);
+        quantities.put(child, 3);
+
+        assertThrows(SoldOutException.class, () -> inventory.reserveAll(quantities, HOLIDAY));
+
+        // All ten adult places are back on this node
+        inventory.reserve(adult, HOLIDAY, 10);
+        assertEquals(10, table.get(key(1, Date.valueOf(HOLIDAY)))[1]);
+    }
+
+    @Test
+    void reconcile_handsIdlePermitsBackToOtherNodes() {
+        TicketType ticketType = ticketType(1, 60);
+        TicketInventory first = inventory(50);
+        TicketInventory second = inventory(50);
+
+        first.reserve(ticketType, HOLIDAY, 1);
+        second.reserve(ticketType, HOLIDAY, 10);
+        assertThrows(SoldOutException.class, () -> second.reserve(ticketType, HOLIDAY, 1));
+
+        // Still in use: nothing moves
+        first.reconcile();
+        assertEquals(60, table.get(key(1, Date.valueOf(HOLIDAY)))[1]);
+
+        setClock(first, NOON.plusSeconds(6 * 60));
+        first.reconcile();
+        assertEquals(11, table.get(key(1, Date.valueOf(HOLIDAY)))[1]);
+        second.reserve(ticketType, HOLIDAY, 49);
+        assertThrows(SoldOutException.class, () -> first.reserve(ticketType, HOLIDAY, 1));
+    }
+
+    @Test
+    void setCapacity_overridesTheDailyCapacityForOneDay() {
+        TicketType ticketType = ticketType(1, 100);
+        TicketInventory inventory = inventory(50);
+        inventory.reserve(ticketType, HOLIDAY, 1);
+
+        inventory.setCapacity(ticketType, HOLIDAY, 20);
+
+        assertArrayEquals(new int[] { 20, 1 }, table.get(key(1, Date.valueOf(HOLIDAY))));
+        inventory.reserve(ticketType, HOLIDAY, 19);
+        assertThrows(SoldOutException.class, () -> inventory.reserve(ticketType, HOLIDAY, 1));
+        assertThrows(IllegalArgumentException.class, () -> inventory.setCapacity(ticketType, HOLIDAY, -1));
+
+        // A day can be limited even for a type without a daily capacity
+        TicketType unlimited = ticketType(2, null);
+        inventory.setCapacity(unlimited, HOLIDAY, 1);
+        inventory.reserve(unlimited, HOLIDAY, 1);
+        assertThrows(SoldOutException.class, () -> inventory.reserve(unlimited, HOLIDAY, 1));
+    }
+
+    @Test
+    void setDailyCapacity_changesTheDaysAheadThatWereNotOverridden() {
+        TicketType ticketType = ticketType(1, 100);
+        TicketInventory inventory = inventory(50);
+        LocalDate yesterday = HOLIDAY.minusDays(2);
+        LocalDate boxingDay = HOLIDAY.plusDays(1);
+        inventory.reserve(ticketType, yesterday, 1);
+        inventory.reserve(ticketType, HOLIDAY, 1);
+        inventory.reserve(ticketType, boxingDay, 1);
+        inventory.setCapacity(ticketType, boxingDay, 300);
+
+        ticketType.setDailyCapacity(10);
+        inventory.setDailyCapacity(ticketType);
+
+        assertEquals(100, table.get(key(1, Date.valueOf(yesterday)))[0]);
+        assertEquals(10, table.get(key(1, Date.valueOf(HOLIDAY)))[0]);
+        assertEquals(300, table.get(key(1, Date.valueOf(boxingDay)))[0]);
+        // This node's leased permits went back, so the lower capacity applies at once
+        inventory.reserve(ticketType, HOLIDAY, 9);
+        assertThrows(SoldOutException.class, () -> inventory.reserve(ticketType, HOLIDAY, 1));
+
+        ticketType.setDailyCapacity(null);
+        inventory.setDailyCapacity(ticketType);
+
+        assertNull(table.get(key(1, Date.valueOf(HOLIDAY))));
+        assertEquals(300, table.get(key(1, Date.valueOf(boxingDay)))[0]);
+        for (int i = 0; i < 100; i++) {
+            inventory.reserve(ticketType, HOLIDAY, 1);
+        }
+    }
+
+    private TicketInventory inventory(int leaseSize) {
+        TicketInventory inventory = new TicketInventory();
+        ReflectionTestUtils.setField(inventory, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(inventory, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(inventory, "ticketRepository", ticketRepository);
+        ReflectionTestUtils.setField(inventory, "leaseSize", leaseSize);
+        setClock(inventory, NOON);
+        return inventory;
+    }
+
+    private static void setClock(TicketInventory inventory, Instant instant) {
+        ReflectionTestUtils.setField(inventory, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private static TicketType ticketType(int id, Integer dailyCapacity) {
+        TicketType ticketType = new TicketType();
+        ticketType.setTicketTypeId(id);
+        ticketType.setDailyCapacity(dailyCapacity);
+        return ticketType;
+    }
+
+    private static String key(Object ticketTypeId, Object day) {
+        return ticketTypeId + "|" + day;
+    }
+
+    // Rows of a type from a day on that were not overridden; ISO dates sort as text
+    private Predicate<String> fromDay(Object ticketTypeId, Object day) {
+        String prefix = ticketTypeId + "|";
+        return key -> key.startsWith(prefix) && key.compareTo(key(ticketTypeId, day)) >= 0 && !overridden.contains(key);
+    }
+}
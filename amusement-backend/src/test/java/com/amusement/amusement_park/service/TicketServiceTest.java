@@ -0,0 +1,248 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.dto.ticket.GroupTicketPurchaseRequest;
+import com.amusement.amusement_park.dto.ticket.TicketResponse;
+import com.amusement.amusement_park.entity.ticket.Ticket;
+import com.amusement.amusement_park.entity.ticket.TicketType;
+import com.amusement.amusement_park.entity.user.User;
+import com.amusement.amusement_park.event.ticket.TicketSalesChangedEvent;
+import com.amusement.amusement_park.exception.NotFoundException;
+import com.amusement.amusement_park.exception.SoldOutException;
+import com.amusement.amusement_park.repository.ticket.TicketRepository;
+import com.amusement.amusement_park.repository.user.UserRepository;
+import com.amusement.amusement_park.service.ticket.BlockSequenceAllocator;
+import com.amusement.amusement_park.service.ticket.GateTokenService;
+import com.amusement.amusement_park.service.ticket.TicketInventory;
+import com.amusement.amusement_park.service.ticket.TicketRevocationList;
+import com.amusement.amusement_park.service.ticket.TicketService;
+import com.amusement.amusement_park.service.ticket.TicketTypeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketServiceTest {
+
+    @Mock
+    private TicketRepository repo;
+
+    @Mock
+    private TicketTypeService ticketTypeService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BlockSequenceAllocator sequenceAllocator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private GateTokenService gateTokenService;
+
+    @Mock
+    private TicketRevocationList ticketRevocationList;
+
+    @Mock
+    private TicketInventory ticketInventory;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TicketService ticketService;
+
+    // Rows per batch sent to the database
+    private final List<Integer> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong nextId = new AtomicLong(100);
+        lenient().when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    BatchPreparedStatementSetter setter = invocation.getArgument(1);
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    batches.add(setter.getBatchSize());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keyHolder.getKeyList().add(Map.of("GENERATED_KEY", nextId.getAndIncrement()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+    }
+
+    @Test
+    void purchaseGroup_writesMixedTicketsInBatchesWithReservedCodes() {
+        when(ticketTypeService.getById(1)).thenReturn(ticketType(1, "Adult", "50.00", 1));
+        when(ticketTypeService.getById(2)).thenReturn(ticketType(2, "Child", "30.00", 2));
+        when(sequenceAllocator.next(startsWith("TKT-"), eq(600), any())).thenReturn(41L);
+        when(sequenceAllocator.next(startsWith("INV-"), eq(600), any())).thenReturn(7L);
+
+        List<TicketResponse> responses = ticketService.purchaseGroup(request(LocalDate.of(2026, 7, 1), item(1, 400), item(2, 200)));
+
+        assertEquals(600, responses.size());
+        assertEquals(List.of(500, 100), batches);
+        String year = String.valueOf(LocalDate.now().getYear());
+        TicketResponse first = responses.get(0);
+        assertEquals(100L, first.getTicketId());
+        assertEquals("TKT-" + year + "-041", first.getTicketCode());
+        assertEquals("INV-" + year + "-007", first.getInvoiceId());
+        assertEquals(LocalDate.of(2026, 7, 2), first.getValidTo());
+        TicketResponse last = responses.get(599);
+        assertEquals(699L, last.getTicketId());
+        assertEquals("TKT-" + year + "-640", last.getTicketCode());
+        assertEquals("Child", last.getTicketTypeName());
+        assertEquals(new BigDecimal("30.00"), last.getTotalAmount());
+        // Each ticket type is looked up once and no ticket goes through the repository
+        verify(ticketTypeService, times(1)).getById(1);
+        verifyNoInteractions(repo);
+
+        ArgumentCaptor<TicketSalesChangedEvent> event = ArgumentCaptor.forClass(TicketSalesChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(600, event.getValue().getTicketDelta());
+        assertEquals(0, new BigDecimal("26000.00").compareTo(event.getValue().getAmountDelta()));
+    }
+
+    @Test
+    void purchaseGroup_rejectsOversizedGroupsAndUnknownTypesBeforeWriting() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ticketService.purchaseGroup(request(null, item(1, TicketService.MAX_GROUP_SIZE + 1))));
+
+        when(ticketTypeService.getById(9)).thenThrow(new NotFoundException("TicketType not found with id: 9"));
+        assertThrows(NotFoundException.class, () -> ticketService.purchaseGroup(request(null, item(9, 2))));
+
+        verifyNoInteractions(jdbcTemplate, sequenceAllocator);
+    }
+
+    @Test
+    void purchaseGroup_reservesEveryTypeOnceAndWritesNothingWhenSoldOut() {
+        TicketType adult = ticketType(1, "Adult", "50.00", 1);
+        TicketType child = ticketType(2, "Child", "30.00", 1);
+        LocalDate day = LocalDate.of(2026, 12, 25);
+        when(ticketTypeService.getById(1)).thenReturn(adult);
+        when(ticketTypeService.getById(2)).thenReturn(child);
+        doThrow(new SoldOutException(2, day)).when(ticketInventory).reserveAll(any(), eq(day));
+
+        assertThrows(SoldOutException.class, () -> ticketService.purchaseGroup(request(day, item(1, 2), item(2, 3), item(1, 1))));
+
+        verify(ticketInventory).reserveAll(Map.of(adult, 3, child, 3), day);
+        verify(ticketInventory, never()).releaseAll(any(), any());
+        verifyNoInteractions(jdbcTemplate, sequenceAllocator);
+    }
+
+    @Test
+    void purchaseReserved_writesTicketsWithoutTouchingTheInventory() {
+        when(ticketTypeService.getById(1)).thenReturn(ticketType(1, "Adult", "50.00", 1));
+        when(sequenceAllocator.next(startsWith("TKT-"), eq(2), any())).thenReturn(1L);
+        when(sequenceAllocator.next(startsWith("INV-"), eq(2), any())).thenReturn(1L);
+
+        assertEquals(2, ticketService.purchaseReserved(request(LocalDate.of(2026, 12, 25), item(1, 2))).size());
+
+        verifyNoInteractions(ticketInventory);
+    }
+
+    @Test
+    void delete_revokesTheTicketsGateTokensAndFreesItsPlace() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(4L);
+        ticket.setTicketType(ticketType(1, "Adult", "50.00", 1));
+        ticket.setValidFrom(LocalDate.of(2026, 7, 2));
+        ticket.setValidTo(LocalDate.of(2026, 7, 3));
+        ticket.setTotalAmount(new BigDecimal("50.00"));
+        when(repo.findById(4L)).thenReturn(Optional.of(ticket));
+
+        ticketService.delete(4L);
+
+        verify(repo).deleteById(4L);
+        verify(ticketRevocationList).revoke(4L, LocalDate.of(2026, 7, 3), "DELETED");
+        verify(ticketInventory).release(1, LocalDate.of(2026, 7, 2), 1);
+    }
+
+    @Test
+    void delete_keepsThePlaceWhenTheRevocationCannotBeWritten() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(4L);
+        ticket.setTicketType(ticketType(1, "Adult", "50.00", 1));
+        ticket.setValidTo(LocalDate.of(2026, 7, 3));
+        when(repo.findById(4L)).thenReturn(Optional.of(ticket));
+        when(ticketRevocationList.revoke(anyLong(), any(), anyString())).thenThrow(new IllegalStateException("down"));
+
+        // The delete rolls back with it, so the ticket still holds its place
+        assertThrows(IllegalStateException.class, () -> ticketService.delete(4L));
+
+        verifyNoInteractions(ticketInventory, eventPublisher);
+    }
+
+    @Test
+    void getWithGateToken_reissuesTheTokenOnlyForTheTicketsHolder() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(4L);
+        ticket.setUserId(3L);
+        ticket.setTicketType(ticketType(1, "Adult", "50.00", 1));
+        ticket.setPaymentStatus(Ticket.PaymentStatus.PAID);
+        when(repo.findById(4L)).thenReturn(Optional.of(ticket));
+        when(gateTokenService.issue(ticket)).thenReturn("token");
+        when(userRepository.findByEmail("guest@example.com")).thenReturn(Optional.of(user(3L)));
+        when(userRepository.findByEmail("other@example.com")).thenReturn(Optional.of(user(8L)));
+
+        assertEquals("token", ticketService.getWithGateToken(4L, "guest@example.com").getGateToken());
+        assertThrows(AccessDeniedException.class, () -> ticketService.getWithGateToken(4L, "other@example.com"));
+        assertThrows(AccessDeniedException.class, () -> ticketService.getWithGateToken(4L, "unknown@example.com"));
+        verify(gateTokenService, times(1)).issue(ticket);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static GroupTicketPurchaseRequest request(LocalDate validFrom, GroupTicketPurchaseRequest.Item... items) {
+        GroupTicketPurchaseRequest request = new GroupTicketPurchaseRequest();
+        request.setUserId(3L);
+        request.setValidFrom(validFrom);
+        request.setPaymentStatus("PAID");
+        request.setPaymentMode("CARD");
+        request.setTickets(List.of(items));
+        return request;
+    }
+
+    private static GroupTicketPurchaseRequest.Item item(int ticketTypeId, int quantity) {
+        GroupTicketPurchaseRequest.Item item = new GroupTicketPurchaseRequest.Item();
+        item.setTicketTypeId(ticketTypeId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static TicketType ticketType(int id, String name, String price, int validityDays) {
+        TicketType ticketType = new TicketType();
+        ticketType.setTicketTypeId(id);
+        ticketType.setName(name);
+        ticketType.setPrice(new BigDecimal(price));
+        ticketType.setValidityDays(validityDays);
+        ticketType.setIsVip(false);
+        return ticketType;
+    }
+}
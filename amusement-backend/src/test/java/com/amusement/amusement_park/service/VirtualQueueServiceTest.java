@@ -0,0 +1,219 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+import com.amusement.amusement_park.dto.attraction.VirtualQueueTicketDto;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.entity.attraction.VirtualQueueEntry;
+import com.amusement.amusement_park.exception.attraction.AlreadyInVirtualQueueException;
+import com.amusement.amusement_park.exception.attraction.VirtualQueueEntryNotFoundException;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.repository.attraction.VirtualQueueEntryRepository;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.VirtualQueueService;
+import com.amusement.amusement_park.service.attraction.VirtualQueueWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VirtualQueueServiceTest {
+
+    private static final LocalDateTime OPENING = LocalDateTime.of(2026, 6, 1, 9, 0);
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Mock
+    private VirtualQueueEntryRepository virtualQueueEntryRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private VirtualQueueWriter virtualQueueWriter;
+
+    private VirtualQueueService virtualQueueService;
+
+    private Ride ride;
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        virtualQueueWriter = new VirtualQueueWriter();
+        ReflectionTestUtils.setField(virtualQueueWriter, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(virtualQueueWriter, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        virtualQueueService = new VirtualQueueService();
+        ReflectionTestUtils.setField(virtualQueueService, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(virtualQueueService, "virtualQueueEntryRepository", virtualQueueEntryRepository);
+        ReflectionTestUtils.setField(virtualQueueService, "virtualQueueWriter", virtualQueueWriter);
+        setClock(OPENING);
+
+        // Ten riders every five minutes
+        ride = new Ride("Comet", "Coaster", ThrillLevel.HIGH, 10, 5);
+        ride.setId(1L);
+        ride.setCapacity(10);
+        lenient().when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> List.of(ride));
+    }
+
+    @Test
+    void callDueBatches_callsOneBatchOfCapacityPerRideCycle() {
+        for (long userId = 1; userId <= 25; userId++) {
+            virtualQueueService.joinQueue(1L, userId);
+        }
+        assertEquals(OPENING.plusMinutes(10), virtualQueueService.getTicket(1L, 25L).getEstimatedReturnAt());
+
+        assertEquals(10, virtualQueueService.callDueBatches());
+        setClock(OPENING.plusMinutes(2));
+        assertEquals(0, virtualQueueService.callDueBatches());
+        setClock(OPENING.plusMinutes(5));
+        assertEquals(10, virtualQueueService.callDueBatches());
+
+        VirtualQueueTicketDto called = virtualQueueService.getTicket(1L, 15L);
+        assertEquals(VirtualQueueStatus.CALLED, called.getStatus());
+        assertEquals(OPENING.plusMinutes(5), called.getReturnWindowStart());
+        assertEquals(5, virtualQueueService.getQueueStatus(1L).getWaiting());
+        assertThrows(AlreadyInVirtualQueueException.class, () -> virtualQueueService.joinQueue(1L, 25L));
+    }
+
+    @Test
+    void callDueBatches_pausesWhileTheRideIsUnavailable() {
+        for (long userId = 1; userId <= 30; userId++) {
+            virtualQueueService.joinQueue(1L, userId);
+        }
+        virtualQueueService.callDueBatches();
+
+        // Closed for maintenance, as MaintenanceAlertService does
+        ride.setIsOperational(false);
+        rideCatalogCache.invalidate();
+        setClock(OPENING.plusMinutes(5));
+        assertEquals(0, virtualQueueService.callDueBatches());
+        assertTrue(virtualQueueService.getQueueStatus(1L).getPaused());
+        assertTrue(virtualQueueService.getTicket(1L, 30L).getQueuePaused());
+
+        ride.setIsOperational(true);
+        rideCatalogCache.invalidate();
+        setClock(OPENING.plusMinutes(40));
+        assertEquals(10, virtualQueueService.callDueBatches());
+        assertFalse(virtualQueueService.getQueueStatus(1L).getPaused());
+        assertEquals(OPENING.plusMinutes(45), virtualQueueService.getQueueStatus(1L).getNextCallAt());
+    }
+
+    @Test
+    void writer_persistsJoinsAndStatusChangesInBatches() {
+        for (long userId = 1; userId <= 12; userId++) {
+            virtualQueueService.joinQueue(1L, userId);
+        }
+        virtualQueueService.leaveQueue(1L, 12L);
+        virtualQueueService.callDueBatches();
+
+        assertEquals(23, virtualQueueWriter.flush());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), batches.capture());
+        assertTrue(sql.getAllValues().get(0).startsWith("INSERT"));
+        assertEquals(12, batches.getAllValues().get(0).size());
+        assertEquals(11, batches.getAllValues().get(1).size());
+        assertEquals(0, virtualQueueWriter.flush());
+        assertThrows(VirtualQueueEntryNotFoundException.class, () -> virtualQueueService.leaveQueue(1L, 12L));
+    }
+
+    @Test
+    void writer_keepsWritesWhileTheDatabaseIsDown() {
+        virtualQueueService.joinQueue(1L, 1L);
+        virtualQueueService.joinQueue(1L, 2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("down"))
+                .thenReturn(new int[0]);
+
+        assertThrows(CannotGetJdbcConnectionException.class, () -> virtualQueueWriter.flush());
+        assertEquals(2, virtualQueueWriter.pendingCount());
+        assertEquals(2, virtualQueueWriter.flush());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void writer_dropsOnlyTheWritesTheDatabaseRejects() {
+        for (long userId = 1; userId <= 3; userId++) {
+            virtualQueueService.joinQueue(1L, userId);
+        }
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DuplicateKeyException("Duplicate entry"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            if (Long.valueOf(2L).equals(invocation.getArgument(2))) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            return 1;
+        });
+
+        assertEquals(2, virtualQueueWriter.flush());
+
+        assertEquals(0, virtualQueueWriter.pendingCount());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+        assertEquals(0, virtualQueueWriter.flush());
+    }
+
+    @Test
+    void restore_continuesPositionsFromStorage() {
+        List<Object[]> positions = new ArrayList<>();
+        positions.add(new Object[] { 1L, 40L, 30L });
+        when(virtualQueueEntryRepository.findPositionsByRide()).thenReturn(positions);
+        VirtualQueueEntry waiting = new VirtualQueueEntry();
+        waiting.setRideId(1L);
+        waiting.setUserId(7L);
+        waiting.setPosition(35L);
+        waiting.setStatus(VirtualQueueStatus.WAITING);
+        waiting.setJoinedAt(OPENING.minusHours(1));
+        when(virtualQueueEntryRepository.findOpenEntries(any())).thenReturn(List.of(waiting));
+
+        virtualQueueService.restore();
+
+        assertEquals(4L, virtualQueueService.getTicket(1L, 7L).getGuestsAhead());
+        assertEquals(41L, virtualQueueService.joinQueue(1L, 8L).getPosition());
+        assertEquals(2, virtualQueueService.getQueueStatus(1L).getWaiting());
+    }
+
+    private void setClock(LocalDateTime time) {
+        ReflectionTestUtils.setField(virtualQueueService, "clock", Clock.fixed(time.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,118 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.VirtualQueueStatus;
+import com.amusement.amusement_park.service.attraction.VirtualRideQueue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualRideQueueTest {
+
+    private static final LocalDateTime OPENING = LocalDateTime.of(2026, 6, 1, 9, 0);
+    private static final Duration CYCLE = Duration.ofMinutes(5);
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    @Test
+    void join_handsOutUniquePositionsUnderABurst() throws InterruptedException {
+        VirtualRideQueue queue = new VirtualRideQueue(1L, 0, 0, OPENING);
+        ConcurrentLinkedQueue<VirtualRideQueue.Ticket> tickets = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 16; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    // Every guest tries to join twice
+                    long userId = thread * 1_000L + i % 1_000;
+                    VirtualRideQueue.Ticket ticket = queue.join(userId, OPENING);
+                    if (ticket != null) {
+                        tickets.add(ticket);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(16_000, tickets.size());
+        assertEquals(16_000, queue.getWaitingCount());
+        Set<Long> positions = new HashSet<>();
+        tickets.forEach(ticket -> positions.add(ticket.getPosition()));
+        assertEquals(16_000, positions.size());
+        assertEquals(16_000L, positions.stream().mapToLong(Long::longValue).max().getAsLong());
+    }
+
+    @Test
+    void cancelRacingWithCalls_settlesEachTicketOnce() throws InterruptedException {
+        VirtualRideQueue queue = new VirtualRideQueue(1L, 0, 0, OPENING);
+        List<VirtualRideQueue.Ticket> tickets = new ArrayList<>();
+        for (long userId = 1; userId <= 5_000; userId++) {
+            tickets.add(queue.join(userId, OPENING));
+        }
+
+        ConcurrentLinkedQueue<VirtualRideQueue.Ticket> cancelled = new ConcurrentLinkedQueue<>();
+        Thread canceller = new Thread(() -> {
+            for (long userId = 1; userId <= 5_000; userId += 2) {
+                VirtualRideQueue.Ticket ticket = queue.cancel(userId);
+                if (ticket != null) {
+                    cancelled.add(ticket);
+                }
+            }
+        });
+        canceller.start();
+        List<VirtualRideQueue.Ticket> called = new ArrayList<>();
+        LocalDateTime now = OPENING;
+        while (canceller.isAlive() || queue.getWaitingCount() > 0) {
+            called.addAll(queue.callBatch(now, 50, CYCLE, WINDOW));
+            now = now.plus(CYCLE);
+        }
+        canceller.join();
+
+        assertEquals(5_000, called.size() + cancelled.size());
+        for (VirtualRideQueue.Ticket ticket : called) {
+            assertEquals(VirtualQueueStatus.CALLED, ticket.getStatus());
+        }
+        for (VirtualRideQueue.Ticket ticket : cancelled) {
+            assertEquals(VirtualQueueStatus.CANCELLED, ticket.getStatus());
+        }
+        assertEquals(0, queue.getWaitingCount());
+    }
+
+    @Test
+    void callBatch_givesReturnWindowsAndExpiresThem() {
+        VirtualRideQueue queue = new VirtualRideQueue(1L, 0, 0, OPENING);
+        for (long userId = 1; userId <= 25; userId++) {
+            queue.join(userId, OPENING);
+        }
+        VirtualRideQueue.Ticket last = queue.ticketOf(25L);
+        assertEquals(OPENING.plus(CYCLE.multipliedBy(2)), queue.estimateReturnAt(last, OPENING, 10, CYCLE));
+
+        List<VirtualRideQueue.Ticket> batch = queue.callBatch(OPENING, 10, CYCLE, WINDOW);
+
+        assertEquals(10, batch.size());
+        assertEquals(OPENING.plus(WINDOW), batch.get(0).getReturnWindowEnd());
+        assertFalse(queue.isDue(OPENING.plusMinutes(4)));
+        assertEquals(14L, queue.guestsAhead(last));
+        // A called guest can't join again until their window is over
+        assertNull(queue.join(1L, OPENING.plusMinutes(1)));
+
+        queue.expireCalled(OPENING.plus(WINDOW));
+        assertNull(queue.ticketOf(1L));
+        assertNotNull(queue.join(1L, OPENING.plus(WINDOW)));
+    }
+}
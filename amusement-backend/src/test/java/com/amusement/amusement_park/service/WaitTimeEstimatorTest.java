@@ -0,0 +1,176 @@
+package com.amusement.amusement_park.service;
+
+import com.amusement.amusement_park.Enums.AlertType;
+import com.amusement.amusement_park.Enums.Priority;
+import com.amusement.amusement_park.Enums.ThrillLevel;
+import com.amusement.amusement_park.entity.attraction.MaintenanceAlert;
+import com.amusement.amusement_park.entity.attraction.Ride;
+import com.amusement.amusement_park.repository.attraction.MaintenanceAlertRepository;
+import com.amusement.amusement_park.repository.attraction.RecurringMaintenanceScheduleRepository;
+import com.amusement.amusement_park.repository.attraction.RidePhotoRepository;
+import com.amusement.amusement_park.repository.attraction.RideRepository;
+import com.amusement.amusement_park.service.attraction.MaintenanceIntervalIndex;
+import com.amusement.amusement_park.service.attraction.RideCatalogCache;
+import com.amusement.amusement_park.service.attraction.VirtualQueueService;
+import com.amusement.amusement_park.service.attraction.WaitTimeEstimator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitTimeEstimatorTest {
+
+    // The catalog judges availability by the real clock, so estimates start from it too
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+    @Mock
+    private RideRepository rideRepository;
+
+    @Mock
+    private MaintenanceAlertRepository maintenanceAlertRepository;
+
+    @Mock
+    private RecurringMaintenanceScheduleRepository recurringScheduleRepository;
+
+    @Mock
+    private RidePhotoRepository ridePhotoRepository;
+
+    @Mock
+    private VirtualQueueService virtualQueueService;
+
+    private RideCatalogCache rideCatalogCache;
+
+    private WaitTimeEstimator estimator;
+
+    private Ride coaster;
+
+    private Ride carousel;
+
+    @BeforeEach
+    void setUp() {
+        RideCatalogFixture catalog = RideCatalogFixture.over(rideRepository, maintenanceAlertRepository,
+                recurringScheduleRepository, ridePhotoRepository);
+        MaintenanceIntervalIndex maintenanceIntervalIndex = catalog.getMaintenanceIntervalIndex();
+        rideCatalogCache = catalog.getRideCatalogCache();
+
+        estimator = new WaitTimeEstimator();
+        ReflectionTestUtils.setField(estimator, "rideCatalogCache", rideCatalogCache);
+        ReflectionTestUtils.setField(estimator, "maintenanceIntervalIndex", maintenanceIntervalIndex);
+        ReflectionTestUtils.setField(estimator, "virtualQueueService", virtualQueueService);
+        setClock(NOW);
+
+        // 120 riders an hour, and 40 an hour on the default capacity of 20
+        coaster = new Ride("Comet", "Coaster", ThrillLevel.HIGH, 10, 5);
+        coaster.setId(1L);
+        coaster.setCapacity(10);
+        carousel = new Ride("Carousel", "Horses", ThrillLevel.LOW, 3, 30);
+        carousel.setId(2L);
+        lenient().when(rideRepository.findAll(any(Sort.class))).thenAnswer(invocation -> List.of(carousel, coaster));
+    }
+
+    @Test
+    void recompute_combinesReportedAndVirtualQueuesWithThroughput() {
+        when(virtualQueueService.getWaitingCounts()).thenReturn(Map.of(1L, 60));
+        estimator.reportQueueLength(1L, 60);
+        estimator.reportQueueLength(2L, 20);
+
+        WaitTimeEstimator.Snapshot snapshot = estimator.recompute();
+
+        assertEquals(60, snapshot.get(1L).minutes());
+        assertEquals(120, snapshot.get(1L).queueLength());
+        assertEquals(30, snapshot.get(2L).minutes());
+        assertEquals(60, estimator.waitMinutes(1L));
+    }
+
+    @Test
+    void recompute_smoothesTowardNewSamples() {
+        when(virtualQueueService.getWaitingCounts()).thenReturn(Map.of());
+        estimator.reportQueueLength(1L, 120);
+        estimator.recompute();
+
+        // One smoothing time constant later the estimate has moved 1 - 1/e of the way
+        estimator.reportQueueLength(1L, 0);
+        setClock(NOW.plusMinutes(5));
+        assertEquals(22, estimator.recompute().get(1L).minutes());
+
+        // Samples expire, so a silent operator does not freeze the estimate
+        estimator.reportQueueLength(1L, 240);
+        setClock(NOW.plusMinutes(40));
+        assertEquals(0, estimator.recompute().get(1L).minutes());
+    }
+
+    @Test
+    void recompute_addsDowntimeStartingBeforeTheQueueClears() {
+        when(virtualQueueService.getWaitingCounts()).thenReturn(Map.of());
+        MaintenanceAlert alert = new MaintenanceAlert(coaster, AlertType.INSPECTION, "Brake check",
+                NOW.plusMinutes(10), Priority.HIGH);
+        alert.setId(5L);
+        alert.setEndTime(NOW.plusMinutes(40));
+        when(maintenanceAlertRepository.findByIsActiveTrue()).thenReturn(List.of(alert));
+        estimator.reportQueueLength(1L, 60);
+        estimator.reportQueueLength(2L, 10);
+
+        WaitTimeEstimator.Snapshot snapshot = estimator.recompute();
+
+        // 30 minutes of queue plus 30 minutes closed; the carousel is unaffected
+        assertEquals(60, snapshot.get(1L).minutes());
+        assertEquals(15, snapshot.get(2L).minutes());
+    }
+
+    @Test
+    void recompute_followsBackToBackClosuresPastTheOriginalBoardingTime() {
+        when(virtualQueueService.getWaitingCounts()).thenReturn(Map.of());
+        MaintenanceAlert first = new MaintenanceAlert(coaster, AlertType.INSPECTION, "Brake check",
+                NOW.plusMinutes(10), Priority.HIGH);
+        first.setId(5L);
+        first.setEndTime(NOW.plusMinutes(40));
+        // Starts after the queue would have cleared, but before the delayed boarding
+        MaintenanceAlert second = new MaintenanceAlert(coaster, AlertType.SCHEDULED_MAINTENANCE, "Chain lift",
+                NOW.plusMinutes(45), Priority.HIGH);
+        second.setId(6L);
+        second.setEndTime(NOW.plusMinutes(65));
+        when(maintenanceAlertRepository.findByIsActiveTrue()).thenReturn(List.of(first, second));
+        estimator.reportQueueLength(1L, 60);
+
+        // 30 minutes of queue plus 30 and then 20 minutes closed
+        assertEquals(80, estimator.recompute().get(1L).minutes());
+    }
+
+    @Test
+    void recompute_reportsClosedRidesAndKeepsVersionWhenNothingChanged() {
+        when(virtualQueueService.getWaitingCounts()).thenReturn(Map.of());
+        carousel.setIsOperational(false);
+
+        WaitTimeEstimator.Snapshot first = estimator.recompute();
+        setClock(NOW.plusMinutes(1));
+        WaitTimeEstimator.Snapshot second = estimator.recompute();
+
+        assertFalse(first.get(2L).open());
+        assertNull(first.get(2L).minutes());
+        assertEquals(0, first.get(1L).minutes());
+        assertSame(first, second);
+
+        estimator.reportQueueLength(1L, 12);
+        assertTrue(estimator.recompute().getVersion() > first.getVersion());
+    }
+
+    private void setClock(LocalDateTime time) {
+        ZoneId zone = ZoneId.systemDefault();
+        ReflectionTestUtils.setField(estimator, "clock", Clock.fixed(time.atZone(zone).toInstant(), zone));
+    }
+}
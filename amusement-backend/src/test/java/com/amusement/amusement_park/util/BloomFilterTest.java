@@ -0,0 +1,44 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_findsEveryAddedKeyAndFewOthers() {
+        BloomFilter filter = BloomFilter.forCapacity(10_000, 0.001);
+        for (long key = 1; key <= 10_000; key++) {
+            filter.add(key * 7);
+        }
+
+        for (long key = 1; key <= 10_000; key++) {
+            assertTrue(filter.mightContain(key * 7));
+        }
+        int falsePositives = 0;
+        for (long key = 1_000_000; key < 1_100_000; key++) {
+            if (filter.mightContain(key * 7 + 1)) {
+                falsePositives++;
+            }
+        }
+        // 0.1% of 100,000 is 100; allow for chance
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(0, filter.getNumBits() % 64);
+    }
+
+    @Test
+    void fromLongArray_answersLikeTheOriginal() {
+        BloomFilter filter = new BloomFilter(1000, 5);
+        filter.add(42);
+        filter.add(-3);
+
+        BloomFilter copy = BloomFilter.fromLongArray(filter.toLongArray(), filter.getHashes());
+
+        assertEquals(1024, copy.getNumBits());
+        assertTrue(copy.mightContain(42));
+        assertTrue(copy.mightContain(-3));
+        assertFalse(copy.mightContain(43));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+    }
+}
@@ -0,0 +1,38 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTest {
+
+    @Test
+    void parse_readsSingleRangesAndClampsTheEnd() {
+        ByteRange range = ByteRange.parse("bytes=10-19", 100);
+        assertEquals(10, range.getStart());
+        assertEquals(10, range.getCount());
+        assertEquals("bytes 10-19/100", range.contentRange());
+        assertTrue(range.isPartial());
+
+        assertEquals("bytes 90-99/100", ByteRange.parse("bytes=90-", 100).contentRange());
+        assertEquals("bytes 95-99/100", ByteRange.parse("bytes=95-500", 100).contentRange());
+        assertEquals("bytes 70-99/100", ByteRange.parse("bytes=-30", 100).contentRange());
+        assertEquals("bytes 0-99/100", ByteRange.parse("bytes=-300", 100).contentRange());
+    }
+
+    @Test
+    void parse_servesTheWholeFileForMissingOrUnsupportedHeaders() {
+        assertFalse(ByteRange.parse(null, 100).isPartial());
+        assertFalse(ByteRange.parse("bytes=0-9,20-29", 100).isPartial());
+        assertFalse(ByteRange.parse("items=0-9", 100).isPartial());
+        assertFalse(ByteRange.parse("bytes=abc", 100).isPartial());
+        assertFalse(ByteRange.parse("bytes=20-10", 100).isPartial());
+        assertEquals(100, ByteRange.parse("bytes=0-", 100).getCount());
+    }
+
+    @Test
+    void parse_returnsNullWhenNothingCanBeSent() {
+        assertNull(ByteRange.parse("bytes=100-", 100));
+        assertNull(ByteRange.parse("bytes=-0", 100));
+    }
+}
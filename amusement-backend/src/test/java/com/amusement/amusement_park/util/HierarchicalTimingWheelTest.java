@@ -0,0 +1,56 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advance_firesItemsAtTheirDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 3, 0);
+        wheel.schedule(2500, "soon");
+        wheel.schedule(90_000, "later");
+
+        assertTrue(wheel.advance(2000).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(3000));
+        assertTrue(wheel.advance(89_000).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(90_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_returnsOverdueItemsImmediately() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 64, 2, 10_000);
+        wheel.schedule(5000, "overdue");
+
+        assertEquals(List.of("overdue"), wheel.advance(10_000));
+    }
+
+    @Test
+    void advance_cascadesHigherLevelsAndOverflowWithoutFiringEarly() {
+        // Two levels of 8 slots cover 64 ticks; anything further overflows
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 8, 2, 0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            long deadline = 1 + random.nextInt(1000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1; now <= 1000; now++) {
+            for (Long deadline : wheel.advance(now)) {
+                assertEquals(now, deadline.longValue(), "fired at the wrong tick");
+                fired.add(deadline);
+            }
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
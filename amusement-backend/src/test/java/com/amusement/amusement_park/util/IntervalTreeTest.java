@@ -0,0 +1,93 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void queries_treatOpenEndedIntervalsAsUnbounded() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, "closed");
+        tree.put(2, 30, IntervalTree.OPEN_END, "open");
+
+        assertTrue(tree.anyActiveAt(10));
+        assertFalse(tree.anyActiveAt(20));
+        assertTrue(tree.anyActiveAt(1_000_000));
+        assertEquals(List.of("closed"), tree.overlapping(20, 25));
+        assertEquals(List.of("open"), tree.overlapping(40, 50));
+        assertEquals(20, tree.nextBoundaryAfter(15));
+        assertEquals(30, tree.nextBoundaryAfter(20));
+        assertEquals(IntervalTree.OPEN_END, tree.nextBoundaryAfter(30));
+    }
+
+    @Test
+    void put_replacesIntervalWithSameId() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.put(1, 10, 20, "first");
+        tree.put(1, 50, 60, "moved");
+
+        assertEquals(1, tree.size());
+        assertFalse(tree.anyActiveAt(15));
+        assertEquals(List.of("moved"), tree.activeAt(55));
+    }
+
+    @Test
+    void queries_matchBruteForceAfterRandomInsertsAndRemovals() {
+        IntervalTree<Long> tree = new IntervalTree<>();
+        Map<Long, long[]> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 2000; step++) {
+            long id = random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(id) != null, tree.remove(id));
+            } else {
+                long start = random.nextInt(1000);
+                long end = random.nextInt(10) == 0 ? IntervalTree.OPEN_END : start + random.nextInt(100);
+                tree.put(id, start, end, id);
+                expected.put(id, new long[] { start, end });
+            }
+
+            long t = random.nextInt(1100);
+            long to = t + random.nextInt(50);
+            List<Long> active = new ArrayList<>();
+            List<Long> overlapping = new ArrayList<>();
+            long next = IntervalTree.OPEN_END;
+            for (Map.Entry<Long, long[]> entry : expected.entrySet()) {
+                long[] range = entry.getValue();
+                if (range[0] <= t && range[1] > t) {
+                    active.add(entry.getKey());
+                }
+                if (range[0] <= to && range[1] >= t) {
+                    overlapping.add(entry.getKey());
+                }
+                if (range[0] > t) {
+                    next = Math.min(next, range[0]);
+                }
+                if (range[1] > t && range[1] != IntervalTree.OPEN_END) {
+                    next = Math.min(next, range[1]);
+                }
+            }
+
+            assertEquals(expected.size(), tree.size());
+            assertEquals(!active.isEmpty(), tree.anyActiveAt(t));
+            assertEquals(sorted(active), sorted(tree.activeAt(t)));
+            assertEquals(sorted(overlapping), sorted(tree.overlapping(t, to)));
+            assertEquals(next, tree.nextBoundaryAfter(t));
+        }
+    }
+
+    private static List<Long> sorted(List<Long> values) {
+        List<Long> copy = new ArrayList<>(values);
+        copy.sort(null);
+        return copy;
+    }
+}
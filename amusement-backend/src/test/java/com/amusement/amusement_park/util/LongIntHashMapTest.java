@@ -0,0 +1,59 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void addTo_startsFromZeroAndRemoveReturnsLastValue() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(0, map.get(5L));
+        assertEquals(2, map.addTo(5L, 2));
+        assertEquals(-1, map.addTo(0L, -1));
+        assertTrue(map.containsKey(0L));
+
+        assertEquals(2, map.remove(5L));
+        assertEquals(0, map.remove(5L));
+        assertFalse(map.containsKey(5L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapAfterRandomUpdatesAndRemovals() {
+        LongIntHashMap map = new LongIntHashMap();
+        LongObjectHashMap<String> objects = new LongObjectHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            // Clustered keys with negatives exercise probe runs that wrap around
+            long key = random.nextInt(2_000) * 64L - 10_000;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                objects.remove(key);
+                expected.remove(key);
+            } else {
+                int delta = random.nextInt(5) + 1;
+                map.addTo(key, delta);
+                expected.merge(key, delta, Integer::sum);
+                objects.put(key, String.valueOf(expected.get(key)));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), objects.size());
+        expected.forEach((key, value) -> {
+            assertEquals(value, map.get(key));
+            assertEquals(String.valueOf(value), objects.get(key));
+        });
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+        assertEquals(expected.size(), map.keys().length);
+    }
+}
@@ -0,0 +1,67 @@
+package com.amusement.amusement_park.util;
+
+import com.amusement.amusement_park.Enums.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void startsOverlapping_expandsEveryOtherWeekAndSkipsExceptions() {
+        // 2026-10-05 is a Monday
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2,
+                Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), LocalTime.of(2, 0), Duration.ofHours(3),
+                LocalDate.of(2026, 10, 5), null, Set.of(LocalDate.of(2026, 10, 8)));
+
+        List<LocalDateTime> starts = rule.startsOverlapping(
+                LocalDateTime.of(2026, 10, 1, 0, 0), LocalDateTime.of(2026, 10, 31, 23, 59));
+
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 10, 5, 2, 0),
+                LocalDateTime.of(2026, 10, 19, 2, 0),
+                LocalDateTime.of(2026, 10, 22, 2, 0)), starts);
+    }
+
+    @Test
+    void isActiveAt_coversOccurrencesRunningPastMidnight() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, LocalTime.of(23, 0),
+                Duration.ofHours(2), LocalDate.of(2026, 10, 1), null, null);
+
+        assertTrue(rule.isActiveAt(LocalDateTime.of(2026, 10, 2, 0, 30)));
+        assertFalse(rule.isActiveAt(LocalDateTime.of(2026, 10, 2, 1, 0)));
+        assertFalse(rule.isActiveAt(LocalDateTime.of(2026, 10, 1, 22, 59)));
+        assertEquals(LocalDateTime.of(2026, 10, 2, 1, 0), rule.nextBoundaryAfter(LocalDateTime.of(2026, 10, 2, 0, 30)));
+        assertEquals(LocalDateTime.of(2026, 10, 2, 23, 0), rule.nextBoundaryAfter(LocalDateTime.of(2026, 10, 2, 1, 0)));
+    }
+
+    @Test
+    void boundaries_stopAtValidUntil() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null, LocalTime.of(10, 0),
+                Duration.ofHours(1), LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 3), null);
+
+        assertEquals(LocalDateTime.of(2026, 10, 3, 11, 0), rule.nextBoundaryAfter(LocalDateTime.of(2026, 10, 3, 10, 30)));
+        assertNull(rule.nextBoundaryAfter(LocalDateTime.of(2026, 10, 3, 11, 0)));
+        assertNull(rule.nextStartAfter(LocalDateTime.of(2026, 10, 3, 10, 0)));
+    }
+
+    @Test
+    void constructor_rejectsOccurrencesLongerThanADay() {
+        assertThrows(IllegalArgumentException.class, () -> new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null,
+                LocalTime.of(10, 0), Duration.ofHours(25), LocalDate.of(2026, 10, 1), null, null));
+    }
+
+    @Test
+    void constructor_rejectsOccurrencesShorterThanAMinute() {
+        assertThrows(IllegalArgumentException.class, () -> new RecurrenceRule(RecurrenceFrequency.DAILY, 1, null,
+                LocalTime.of(10, 0), Duration.ofSeconds(30), LocalDate.of(2026, 10, 1), null, null));
+    }
+}
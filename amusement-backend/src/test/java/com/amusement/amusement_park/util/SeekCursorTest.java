@@ -0,0 +1,24 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeekCursorTest {
+
+    @Test
+    void decode_readsBackWhatWasEncoded() {
+        SeekCursor cursor = SeekCursor.decode(new SeekCursor(42, "2026-10-18").encode());
+        assertEquals(42, cursor.getId());
+        assertEquals("2026-10-18", cursor.getValue());
+        assertEquals(7, SeekCursor.decode(SeekCursor.afterId(7).encode()).getIntId());
+        assertNull(SeekCursor.decode(" "));
+    }
+
+    @Test
+    void decode_rejectsForgedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode("not a cursor!"));
+        SeekCursor oversized = SeekCursor.decode(SeekCursor.afterId(Integer.MAX_VALUE + 1L).encode());
+        assertThrows(IllegalArgumentException.class, oversized::getIntId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKIndexTest {
+
+    @Test
+    void top_ordersByScoreThenKey() {
+        TopKIndex<Long> index = new TopKIndex<>();
+        index.set(3L, 5);
+        index.set(1L, 5);
+        index.set(2L, 9);
+        index.adjust(4L, 1);
+
+        assertEquals(List.of(2L, 1L, 3L), index.top(3));
+        assertEquals(List.of(2L, 1L, 3L, 4L), index.top(10));
+
+        index.adjust(4L, 10);
+        index.remove(2L);
+        assertEquals(List.of(4L, 1L), index.top(2));
+        assertEquals(0.0, index.score(2L));
+    }
+
+    @Test
+    void transformAll_keepsRankingConsistent() {
+        TopKIndex<Long> index = new TopKIndex<>();
+        index.set(1L, 8);
+        index.set(2L, 4);
+
+        index.transformAll(score -> score / 4);
+        index.adjust(2L, 0.5);
+
+        assertEquals(2.0, index.score(1L));
+        assertEquals(List.of(1L, 2L), index.top(2));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void top_matchesSortingAfterRandomUpdates() {
+        TopKIndex<Long> index = new TopKIndex<>();
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long key = random.nextInt(200);
+            if (random.nextInt(10) == 0) {
+                index.remove(key);
+                expected.remove(key);
+            } else {
+                double delta = random.nextInt(7) - 2;
+                index.adjust(key, delta);
+                expected.merge(key, delta, Double::sum);
+            }
+        }
+
+        List<Long> sorted = expected.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .limit(25)
+                .collect(Collectors.toList());
+        assertEquals(sorted, index.top(25));
+        assertEquals(expected.size(), index.size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.amusement.amusement_park.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransitionLogTest {
+
+    @Test
+    void append_encodesGapsAsVarintsAndRejectsGoingBack() {
+        TransitionLog log = new TransitionLog(1_000);
+        log.append(1_000, 0);
+        log.append(1_100, 3);
+        log.append(1_100 + 86_400, 1);
+
+        // Two bytes each for the short gaps, four for a day-long one
+        assertEquals(8, log.byteLength());
+        assertEquals(3, log.size());
+        assertEquals(1_100 + 86_400, log.getLastSecond());
+        assertThrows(IllegalArgumentException.class, () -> log.append(1_099, 0));
+        assertThrows(IllegalArgumentException.class, () -> log.append(90_000, 256));
+    }
+
+    @Test
+    void decode_roundTripsAndKeepsAppending() {
+        Random random = new Random(3);
+        long base = 1_780_000_000L;
+        TransitionLog log = new TransitionLog(base);
+        List<long[]> expected = new ArrayList<>();
+        long second = base;
+        for (int i = 0; i < 5_000; i++) {
+            second += random.nextInt(4) == 0 ? random.nextInt(1 << 20) : random.nextInt(200);
+            int state = random.nextInt(6);
+            log.append(second, state);
+            expected.add(new long[] { second, state });
+        }
+
+        TransitionLog decoded = TransitionLog.decode(base, log.toByteArray());
+        decoded.append(second + 5, 2);
+        expected.add(new long[] { second + 5, 2 });
+
+        List<long[]> actual = new ArrayList<>();
+        decoded.forEach((epochSecond, state) -> actual.add(new long[] { epochSecond, state }));
+        assertEquals(expected.size(), decoded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+}